@@ -20,13 +20,14 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.util.Callback;
 import javafx.util.Duration;
+import net.sf.latexdraw.actions.UndoBudget;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.instruments.FrameController;
+import net.sf.latexdraw.util.LCommandLine;
 import net.sf.latexdraw.util.LPath;
 import net.sf.latexdraw.util.LangTool;
 import net.sf.latexdraw.view.jfx.Canvas;
 import org.malai.action.ActionsRegistry;
-import org.malai.undo.UndoCollector;
 
 import java.io.IOException;
 
@@ -55,7 +56,8 @@ public class LaTeXDraw extends Application {
 		System.setProperty("sun.java2d.opengl","true");
 
 		Thread.setDefaultUncaughtExceptionHandler(BadaboomCollector.INSTANCE);
-		UndoCollector.INSTANCE.setSizeMax(30);
+		// The undo history is bounded by the memory it retains.
+		UndoBudget.INSTANCE.install();
 		ActionsRegistry.INSTANCE.setSizeMax(30);
 		// Creating the required directories.
 		LPath.INSTANCE.checkDirectories();
@@ -67,13 +69,23 @@ public class LaTeXDraw extends Application {
 	 * @param args The parameters.
 	 */
 	public static void main(String[] args) {
-		// val cmdLine = new LCommandLine()
-		// cmdLine.parse(args) match {
-		// case CmdLineState.APPLICATION => launchLatexdraw(cmdLine)
-		// case CmdLineState.STOP =>
-		// case CmdLineState.APPLICATION_FILENAME => launchLatexdraw(cmdLine)
-		// }
-		launch(args);
+		final LCommandLine cmdLine = new LCommandLine();
+
+		switch(cmdLine.parse(args)) {
+			case STOP:
+				break;
+			case BATCH:
+				// The conversion is headless: no JavaFX stage is created.
+				try {
+					System.exit(cmdLine.convert()==0 ? 0 : 1);
+				}catch(final Exception ex) {
+					ex.printStackTrace();
+					System.exit(2);
+				}
+				break;
+			default:
+				launch(args);
+		}
 	}
 
 	Pane		splashLayout;
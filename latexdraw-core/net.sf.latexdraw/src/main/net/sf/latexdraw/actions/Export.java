@@ -1,33 +1,36 @@
 package net.sf.latexdraw.actions;
 
-import java.awt.image.BufferedImage;
+import java.awt.geom.Rectangle2D;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Locale;
-
-import javax.imageio.IIOImage;
-import javax.imageio.ImageIO;
-import javax.imageio.ImageWriteParam;
-import javax.imageio.ImageWriter;
-import javax.imageio.plugins.bmp.BMPImageWriteParam;
-import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
-import javax.imageio.stream.ImageOutputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 
 import org.malai.action.Action;
 
 import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
 import net.sf.latexdraw.glib.views.latex.LaTeXGenerator;
 import net.sf.latexdraw.glib.views.pst.PSTCodeGenerator;
+import net.sf.latexdraw.glib.views.raster.RasterExporter;
+import net.sf.latexdraw.glib.views.raster.ShapesPainter;
 import net.sf.latexdraw.lang.LangTool;
 import net.sf.latexdraw.ui.dialog.ExportDialog;
+import net.sf.latexdraw.util.ExportJob;
+import net.sf.latexdraw.util.ExportJobs;
 
 /**
  * This action allows to export a drawing in different formats.
+ * The exports that compile the drawing with latex (EPS, PDF) are submitted to the export jobs and are asynchronous:
+ * the job of the export gives its progress and can be cancelled; its processes are killed if they exceed the
+ * timeout of the export jobs.
  * <br>
  * This file is part of LaTeXDraw<br>
  * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
@@ -60,6 +63,15 @@ public class Export extends Action {
 	/** The PST generator to use. */
 	protected PSTCodeGenerator pstGen;
 
+	/** The resolution of the pictures (PNG, JPG, BMP) in dots per inch. */
+	protected double resolution;
+
+	/** The engine that executes the compilations of the drawing. */
+	protected ExportJobs exportJobs;
+
+	/** The job of the latest compilation of the drawing or null. */
+	protected ExportJob<Boolean> job;
+
 
 
 	/**
@@ -69,6 +81,8 @@ public class Export extends Action {
 	public Export() {
 		super();
 		exported = false;
+		resolution = IShape.PPC * 2.54;
+		exportJobs = ExportJobs.INSTANCE;
 	}
 
 
@@ -133,9 +147,8 @@ public class Export extends Action {
 
 	@Override
 	public boolean canDo() {
-		return false;
-//		return canvas!=null && format!=null && dialogueBox!=null &&
-//				(format==ExportFormat.BMP || format==ExportFormat.JPG || format==ExportFormat.PNG || pstGen!=null);
+		// The pictures are painted from the drawing of the PST generator.
+		return format!=null && dialogueBox!=null && pstGen!=null;
 	}
 
 
@@ -152,15 +165,7 @@ public class Export extends Action {
 	 * @return true if the picture was well created.
 	 */
 	protected boolean exportAsPNG(final File file) {
-		final BufferedImage rendImage = createRenderedImage();
-		boolean success = false;
-
-		try {
-			ImageIO.write(rendImage, "png", file);  //$NON-NLS-1$
-			success = true;
-		}catch(final IOException e) { BadaboomCollector.INSTANCE.add(e); }
-		rendImage.flush();
-		return success;
+		return exportAsPicture(file, "png", 1f); //$NON-NLS-1$
 	}
 
 
@@ -171,67 +176,67 @@ public class Export extends Action {
 	 * @return true if the picture was well created.
 	 */
 	protected boolean exportAsJPG(final File file) {
-		final BufferedImage rendImage = createRenderedImage();
-		boolean success = false;
-
-		try {
-			final ImageWriteParam iwparam 	= new JPEGImageWriteParam(Locale.getDefault());
-			final ImageWriter iw 			= ImageIO.getImageWritersByFormatName("jpg").next();//$NON-NLS-1$
-			try(final ImageOutputStream ios = ImageIO.createImageOutputStream(file)){
-				iwparam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-				iwparam.setCompressionQuality(1f-dialogueBox.getCompressionRate()/100f);
-				iw.setOutput(ios);
-				iw.write(null, new IIOImage(rendImage, null, null), iwparam);
-				iw.dispose();
-				success = true;
-			}
-	    }catch(final IOException e) { BadaboomCollector.INSTANCE.add(e); }
-		rendImage.flush();
-		return success;
+		return exportAsPicture(file, "jpg", 1f-dialogueBox.getCompressionRate()/100f); //$NON-NLS-1$
 	}
 
 
 
 	/**
-	 * Creates a ps document of the given views (compiled using latex).
+	 * Creates a ps document of the given views (compiled using latex). The latex document is generated by the calling
+	 * thread; its compilation is submitted to the export jobs.
 	 * @param file The targeted location.
-	 * @return True: the file has been created.
+	 * @return True if the compilation has been submitted (see getJob).
 	 * @since 3.0
 	 */
 	protected boolean exportAsEPS(final File file) {
-//		File psFile;
-//
-//		try{
-//			psFile = LaTeXGenerator.createEPSFile(canvas.getDrawing(), file.getAbsolutePath(), canvas, pstGen);
-//		}catch(final Exception e) {
-//			BadaboomCollector.INSTANCE.add(e);
-//			psFile = null;
-//		}
-//
-//		return psFile!=null && psFile.exists();
-		return false;
+		return submit(LaTeXGenerator.prepareEPSFile(pstGen.getSynchro().getDrawing(), file.getAbsolutePath(), pstGen.getSynchro(), pstGen));
 	}
 
 
 
 	/**
-	 * Creates a pdf document of the given views (compiled using latex).
+	 * Creates a pdf document of the given views (compiled using latex). The latex document is generated by the calling
+	 * thread; its compilation is submitted to the export jobs.
 	 * @param file The targeted location.
-	 * @return True: the file has been created.
+	 * @return True if the compilation has been submitted (see getJob).
 	 * @since 3.0
 	 */
 	protected boolean exportAsPDF(final File file) {
-//		File pdfFile;
-//
-//		try{
-//			pdfFile = LaTeXGenerator.createPDFFile(canvas.getDrawing(), file.getAbsolutePath(), canvas, format==ExportFormat.PDF_CROP, pstGen);
-//		} catch(final Exception e) {
-//			BadaboomCollector.INSTANCE.add(e);
-//			pdfFile = null;
-//		}
-//
-//		return pdfFile!=null && pdfFile.exists();
-		return false;
+		return submit(LaTeXGenerator.preparePDFFile(pstGen.getSynchro().getDrawing(), file.getAbsolutePath(), pstGen.getSynchro(),
+				format==ExportFormat.PDF_CROP, pstGen));
+	}
+
+
+	/**
+	 * Submits the given compilation to the export jobs. The errors of the compilation are collected by BadaboomCollector.
+	 * @param compilation The compilation that gives the created file (see LaTeXGenerator). May be null.
+	 * @return True if the compilation has been submitted.
+	 * @since 4.0
+	 */
+	private boolean submit(final Supplier<File> compilation) {
+		if(compilation==null) {
+			job = null;
+			return false;
+		}
+
+		try {
+			job = exportJobs.submit(j -> {
+				try {
+					final File created = compilation.get();
+					return created!=null && created.exists();
+				}catch(final CancellationException ex) {
+					throw ex;
+				}catch(final RuntimeException ex) {
+					BadaboomCollector.INSTANCE.add(ex);
+					throw ex;
+				}
+			});
+			return true;
+		}catch(final RejectedExecutionException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+			job = null;
+			return false;
+		}
 	}
 
 
@@ -265,56 +270,33 @@ public class Export extends Action {
 	 * @return true if the picture was successfully created.
 	 */
 	protected boolean exportAsBMP(final File file){
-		final BufferedImage rendImage = createRenderedImage();
-		boolean success = false;
-
-		try {
-			final ImageWriteParam iwparam	= new BMPImageWriteParam();
-			final ImageWriter iw			= ImageIO.getImageWritersByFormatName("bmp").next();//$NON-NLS-1$
-			try(final ImageOutputStream ios	= ImageIO.createImageOutputStream(file)) {
-				iwparam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-				iw.setOutput(ios);
-				iw.write(null, new IIOImage(rendImage, null, null), iwparam);
-				iw.dispose();
-				success = true;
-			}
-	    }catch(final IOException e) { BadaboomCollector.INSTANCE.add(e); }
-		rendImage.flush();
-		return success;
+		return exportAsPicture(file, "bmp", 1f); //$NON-NLS-1$
 	}
 
 
 
 	/**
-	 * @return A buffered image that contains given views (not null).
-	 * @since 3.0
+	 * Exports the drawing as a picture painted in tiles (see RasterExporter): the memory used does not depend on
+	 * the resolution of the picture.
+	 * @param file The targeted location.
+	 * @param imageFormat The ImageIO name of the format of the picture.
+	 * @param quality The quality of the lossy formats, between 0 and 1.
+	 * @return true if the picture was successfully created.
+	 * @since 4.0
 	 */
-	protected BufferedImage createRenderedImage() {
-//		final IPoint tr 	= canvas.getTopRightDrawingPoint();
-//		final IPoint bl 	= canvas.getBottomLeftDrawingPoint();
-//		final int width		= (int)Math.abs(tr.getX()-bl.getX());
-//		final int height 	= (int)Math.abs(bl.getY()-tr.getY());
-//		final BufferedImage bi 	= new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-//		final Graphics2D graphic 	= bi.createGraphics();
-//
-//		graphic.setColor(Color.WHITE);
-//		graphic.fillRect(0, 0, width, height);
-//		graphic.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-//		graphic.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-//		graphic.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
-//		graphic.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-//		graphic.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-//
-//		graphic.translate(-bl.getX(), -tr.getY());
-//
-//		synchronized(canvas.getViews()){
-//			for(final IViewShape view : canvas.getViews())
-//				view.paint(graphic, null);
-//		}
-//
-//		graphic.dispose();
-//		return bi;
-		return null;
+	protected boolean exportAsPicture(final File file, final String imageFormat, final float quality) {
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		// The bounds of the models: the canvas may only have the views of the shapes close to its viewport.
+		pstGen.getSynchro().getDrawing().getFullBounds(bounds);
+
+		try {
+			RasterExporter.INSTANCE.export(new ShapesPainter(pstGen.getSynchro().getDrawing().getShapes()), bounds,
+											RasterExporter.getScale(resolution), imageFormat, file, quality);
+			return true;
+		}catch(final IOException | RuntimeException e) {
+			BadaboomCollector.INSTANCE.add(e);
+			return false;
+		}
 	}
 
 
@@ -345,6 +327,37 @@ public class Export extends Action {
 //	}
 
 
+	/**
+	 * @param dpi The resolution of the pictures (PNG, JPG, BMP) in dots per inch. By default, the resolution of the
+	 * drawing (IShape.PPC pixels per centimetre). Must be positive.
+	 * @since 4.0
+	 */
+	public void setResolution(final double dpi) {
+		if(dpi>0.)
+			resolution = dpi;
+	}
+
+
+	/**
+	 * @param jobs The engine that executes the compilations of the drawing (ExportJobs.INSTANCE by default). Must not be null.
+	 * @since 4.0
+	 */
+	public void setExportJobs(final ExportJobs jobs) {
+		if(jobs!=null)
+			exportJobs = jobs;
+	}
+
+
+	/**
+	 * @return The job of the latest compilation of the drawing (EPS or PDF exports), or null. The job gives the progress
+	 * of the compilation and its result (true if the file has been created), and can be cancelled.
+	 * @since 4.0
+	 */
+	public ExportJob<Boolean> getJob() {
+		return job;
+	}
+
+
 	/**
 	 * @param gen The PST generator to use for latex, ps, or pdf exports.
 	 * @since 3.0
@@ -41,9 +41,10 @@ class InsertPSTCode extends Action with DrawingAction with Undoable {
 
 
 	protected def doActionBody() {
-		PSTParser.cleanErrors
 		try {
-			new PSTParser().parsePSTCode(_code.get) match {
+			val result = new PSTParser().parse(_code.get)
+
+			result.shapes match {
 				case Some(group) if !group.isEmpty =>
 					val sh = if(group.size()>1) group else group.getShapeAt(0)
 					val br = sh.getBottomRightPoint
@@ -55,15 +56,21 @@ class InsertPSTCode extends Action with DrawingAction with Undoable {
 					sh.translate(tx, ty)
 					redo
 					if(_statusBar.isDefined) _statusBar.get.setText(LangTool.INSTANCE.getString16("LaTeXDrawFrame.36"))
-				case _ => if(_statusBar.isDefined) _statusBar.get.setText(LangTool.INSTANCE.getString16("LaTeXDrawFrame.33"))
+				case _ => result.failure match {
+					case Some(ex) =>
+						BadaboomCollector.INSTANCE.add(ex)
+						if(_statusBar.isDefined) _statusBar.get.setText(LangTool.INSTANCE.getString16("LaTeXDrawFrame.34"))
+					case None => if(_statusBar.isDefined) _statusBar.get.setText(LangTool.INSTANCE.getString16("LaTeXDrawFrame.33"))
+				}
 			}
+
+			result.errors.foreach{str => BadaboomCollector.INSTANCE.add(new ParseException(str, -1))}
 		}catch{
 			case ex : Throwable =>
 				BadaboomCollector.INSTANCE.add(ex)
 				if(_statusBar.isDefined) _statusBar.get.setText(LangTool.INSTANCE.getString16("LaTeXDrawFrame.34"))
 			}
 
-		PSTParser.errorLogs.foreach{str => BadaboomCollector.INSTANCE.add(new ParseException(str, -1))}
 		done
 	}
 
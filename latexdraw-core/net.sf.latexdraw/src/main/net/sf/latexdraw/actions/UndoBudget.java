@@ -0,0 +1,191 @@
+package net.sf.latexdraw.actions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.malai.undo.UndoCollector;
+import org.malai.undo.UndoHandler;
+import org.malai.undo.Undoable;
+
+/**
+ * Bounds the undo history by the memory it retains rather than only by its number of entries: the actions
+ * implementing UndoFootprint give an estimation of their memory footprint. When the sum of the footprints of the
+ * undoable and redoable actions exceeds the budget, the oldest undoable actions are removed from the history.
+ * So that numerous light actions (e.g. translations) can be undone while a few heavy ones (e.g. the deletion
+ * of thousands of shapes) do not fill the memory.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  any later version.<br>
+ * <br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ * <br>
+ * @author Arnaud Blouin
+ * @date 2015-11-14
+ * @since 4.0
+ */
+public class UndoBudget implements UndoHandler {
+	/** The default maximal number of bytes retained by the undo history: 64 MiB. */
+	public static final long DEFAULT_BUDGET = 64L * 1024L * 1024L;
+
+	/** The default maximal number of entries of the undo history. */
+	public static final int DEFAULT_SIZE_MAX = 500;
+
+	/** The estimated footprint of the undoable actions that do not implement UndoFootprint. */
+	public static final long DEFAULT_FOOTPRINT = 256L;
+
+	/** The budget of the undo history of the application. */
+	public static final UndoBudget INSTANCE = new UndoBudget(DEFAULT_BUDGET, DEFAULT_SIZE_MAX);
+
+	/** An undoable action and its estimated footprint. */
+	private static final class Entry {
+		final Undoable undoable;
+		final long bytes;
+
+		Entry(final Undoable undoable, final long bytes) {
+			super();
+			this.undoable = undoable;
+			this.bytes = bytes;
+		}
+	}
+
+	/** The undoable actions, the last one first. */
+	private final Deque<Entry> undos;
+
+	/** The redoable actions, the last undone one first. */
+	private final Deque<Entry> redos;
+
+	/** The maximal number of bytes retained by the history. */
+	private final long budget;
+
+	/** The maximal number of entries of the history. */
+	private final int sizeMax;
+
+	/** Removes the evicted actions from the undo history. */
+	private final UndoEviction eviction;
+
+	/** The sum of the footprints of the undoable and redoable actions. */
+	private long footprint;
+
+
+	/**
+	 * Creates a budget of the undo collector of the application.
+	 * @param budget The maximal number of bytes retained by the history. Must be positive.
+	 * @param sizeMax The maximal number of entries of the history. Must be positive.
+	 * @throws IllegalArgumentException If one of the parameters is not valid.
+	 */
+	public UndoBudget(final long budget, final int sizeMax) {
+		this(budget, sizeMax, UndoEviction.COLLECTOR);
+	}
+
+
+	/**
+	 * Creates a budget.
+	 * @param budget The maximal number of bytes retained by the history. Must be positive.
+	 * @param sizeMax The maximal number of entries of the history. Must be positive.
+	 * @param eviction Removes the evicted actions from the history. Must not be null.
+	 * @throws IllegalArgumentException If one of the parameters is not valid.
+	 */
+	public UndoBudget(final long budget, final int sizeMax, final UndoEviction eviction) {
+		super();
+		if(budget <= 0 || sizeMax <= 0 || eviction == null)
+			throw new IllegalArgumentException("The budget and the maximal size must be positive and the eviction defined"); //$NON-NLS-1$
+		this.budget = budget;
+		this.sizeMax = sizeMax;
+		this.eviction = eviction;
+		undos = new ArrayDeque<>();
+		redos = new ArrayDeque<>();
+	}
+
+
+	/**
+	 * Sets the maximal number of entries of the undo collector and registers the budget as a handler of the collector.
+	 */
+	public void install() {
+		UndoCollector.INSTANCE.setSizeMax(sizeMax);
+		UndoCollector.INSTANCE.addHandler(this);
+	}
+
+
+	/**
+	 * @return The estimated number of bytes retained by the undoable and redoable actions.
+	 */
+	public long getFootprint() {
+		return footprint;
+	}
+
+
+	/**
+	 * @return The number of undoable actions.
+	 */
+	public int getNbUndos() {
+		return undos.size();
+	}
+
+
+	/**
+	 * @return The estimated footprint of the given undoable action.
+	 */
+	public static long getFootprint(final Undoable undoable) {
+		return undoable instanceof UndoFootprint ? Math.max(0L, ((UndoFootprint)undoable).getUndoFootprint()) : DEFAULT_FOOTPRINT;
+	}
+
+
+	@Override
+	public void onUndoableAdded(final Undoable undoable) {
+		// Adding an undoable action removes the redoable ones.
+		redos.forEach(entry -> footprint -= entry.bytes);
+		redos.clear();
+
+		final Entry entry = new Entry(undoable, getFootprint(undoable));
+		undos.push(entry);
+		footprint += entry.bytes;
+
+		// The collector removes the oldest action when its maximal size is reached.
+		if(undos.size() > sizeMax)
+			footprint -= undos.removeLast().bytes;
+
+		trim();
+	}
+
+
+	@Override
+	public void onUndoableUndo(final Undoable undoable) {
+		if(!undos.isEmpty() && undos.peek().undoable == undoable)
+			redos.push(undos.pop());
+	}
+
+
+	@Override
+	public void onUndoableRedo(final Undoable undoable) {
+		if(!redos.isEmpty() && redos.peek().undoable == undoable)
+			undos.push(redos.pop());
+	}
+
+
+	@Override
+	public void onUndoableCleared() {
+		undos.clear();
+		redos.clear();
+		footprint = 0L;
+	}
+
+
+	/**
+	 * Evicts the oldest undoable actions while the budget is exceeded.
+	 * The last undoable action is always kept.
+	 */
+	private void trim() {
+		while(footprint > budget && undos.size() > 1) {
+			final Entry oldest = undos.removeLast();
+			footprint -= oldest.bytes;
+			eviction.evict(oldest.undoable);
+		}
+	}
+}
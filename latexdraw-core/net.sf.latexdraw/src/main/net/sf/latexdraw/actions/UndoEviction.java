@@ -0,0 +1,35 @@
+package net.sf.latexdraw.actions;
+
+import org.malai.undo.UndoCollector;
+import org.malai.undo.Undoable;
+
+/**
+ * Removes the undoable actions evicted from the undo history by UndoBudget.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  any later version.<br>
+ * <br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ * <br>
+ * @author Arnaud Blouin
+ * @date 2015-11-24
+ * @since 4.0
+ */
+@FunctionalInterface
+public interface UndoEviction {
+	/** Removes the evicted actions from the undo stack of the undo collector of the application. */
+	UndoEviction COLLECTOR = undoable -> UndoCollector.INSTANCE.getUndo().removeLastOccurrence(undoable);
+
+	/**
+	 * Removes the given undoable action from the undo history. The other actions are not modified.
+	 * @param undoable The evicted action: the oldest undoable action of the history.
+	 */
+	void evict(final Undoable undoable);
+}
@@ -0,0 +1,86 @@
+package net.sf.latexdraw.actions;
+
+import java.util.List;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.Color;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+
+/**
+ * This interface permits undoable actions to give an estimation of the memory they retain to be undone or redone.
+ * The undo history is bounded by this estimation (see UndoBudget).<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  any later version.<br>
+ * <br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ * <br>
+ * @author Arnaud Blouin
+ * @date 2015-11-14
+ * @since 4.0
+ */
+public interface UndoFootprint {
+	/** The estimated size in bytes of a reference or of a small object header. */
+	long REF_BYTES = 16L;
+
+	/** The estimated size in bytes of a shape without its points. */
+	long SHAPE_BYTES = 512L;
+
+	/** The estimated size in bytes of a point of a shape. */
+	long POINT_BYTES = 32L;
+
+	/** The estimated size in bytes of a colour (four doubles). */
+	long COLOUR_BYTES = 48L;
+
+	/**
+	 * @return The estimated number of bytes the action retains to be undone or redone. The objects shared
+	 * with the drawing (e.g. the shapes of the drawing) should not be considered, except the shapes the
+	 * action is the only one to reference (e.g. deleted shapes).
+	 */
+	long getUndoFootprint();
+
+	/**
+	 * @return The estimated number of bytes of the given shape (0 if null).
+	 */
+	static long getShapeFootprint(final IShape shape) {
+		if(shape instanceof IGroup)
+			return ((IGroup)shape).getShapes().stream().mapToLong(sh -> getShapeFootprint(sh)).sum() + SHAPE_BYTES;
+		return shape == null ? 0L : SHAPE_BYTES + shape.getNbPoints() * POINT_BYTES;
+	}
+
+
+	/**
+	 * @return The estimated number of bytes of the given values of a property of shapes (0 if null), as returned
+	 * by the groups: the doubles, integers and booleans are stored in arrays of primitives; the enumeration
+	 * constants are shared; the other values are referenced objects.
+	 */
+	static long getValuesFootprint(final List<?> values) {
+		return values==null ? 0L : values.stream().mapToLong(value -> getValueFootprint(value)).sum();
+	}
+
+	/**
+	 * @return The estimated number of bytes of a value of a property of a shape stored in the values of a group.
+	 */
+	static long getValueFootprint(final Object value) {
+		if(value==null || value instanceof Boolean)
+			return 1L;
+		if(value instanceof Double || value instanceof Long)
+			return Double.BYTES;
+		if(value instanceof Integer || value instanceof Float)
+			return Integer.BYTES;
+		if(value instanceof Enum<?>)
+			return REF_BYTES;
+		if(value instanceof Color)
+			return REF_BYTES + COLOUR_BYTES;
+		if(value instanceof CharSequence)
+			return REF_BYTES * 3 + 2L * ((CharSequence)value).length();
+		return REF_BYTES * 2;
+	}
+}
@@ -2,8 +2,8 @@ package net.sf.latexdraw.actions.shape
 
 import org.malai.undo.Undoable
 import net.sf.latexdraw.actions.Modifying
+import net.sf.latexdraw.actions.UndoFootprint
 import net.sf.latexdraw.util.LangTool
-import java.util.stream.Collectors
 
 /**
  * This action cuts the selected shapes.<br>
@@ -23,19 +23,22 @@ import java.util.stream.Collectors
  * @author Arnaud BLOUIN
  * @since 3.0
  */
-class CutShapes extends CopyShapes with Undoable with Modifying {
+class CutShapes extends CopyShapes with Undoable with Modifying with UndoFootprint {
 	/** The index of the cut shapes. */
-	var _positionShapes : java.util.List[Int] = _
+	var _positionShapes : Array[Int] = _
 
 
 	override def doActionBody() {
 		// Removing the shapes.
 		val drawingSh	= selection.get.drawing.get.getShapes
 
-		_positionShapes = selection.get.shapes.stream.map[Int]{sh =>
+		val shapes = selection.get.shapes
+		_positionShapes = new Array[Int](shapes.size)
+		for(i <- 0 until shapes.size) {
+			val sh = shapes.get(i)
 			copiedShapes.add(sh)
-			drawingSh.indexOf(sh)
-		}.collect(Collectors.toList())
+			_positionShapes(i) = drawingSh.indexOf(sh)
+		}
 
 		deleteShapes
 		selection.get.shapes.clear
@@ -60,10 +63,18 @@ class CutShapes extends CopyShapes with Undoable with Modifying {
 
 	override def undo() {
 		val dr = _selection.get.drawing.get
-		for(i <- 0 to _positionShapes.size-1) dr.addShape(copiedShapes.get(i), _positionShapes.get(i))
+		for(i <- 0 until _positionShapes.length) dr.addShape(copiedShapes.get(i), _positionShapes(i))
 		dr.setModified(true)
 	}
 
 
+	/** The cut shapes are only referenced by the action. */
+	override def getUndoFootprint = {
+		var bytes = UndoFootprint.REF_BYTES * copiedShapes.size
+		copiedShapes.forEach{sh => bytes += UndoFootprint.getShapeFootprint(sh)}
+		if(_positionShapes!=null) bytes += 4L * _positionShapes.length
+		bytes
+	}
+
 	override def getUndoName = LangTool.INSTANCE.getBundle.getString("LaTeXDrawFrame.44")
 }
@@ -5,8 +5,8 @@ import org.malai.undo.Undoable
 import net.sf.latexdraw.actions.DrawingAction
 import net.sf.latexdraw.actions.Modifying
 import net.sf.latexdraw.actions.ShapesAction
+import net.sf.latexdraw.actions.UndoFootprint
 import net.sf.latexdraw.lang.LangTool
-import java.util.stream.Collectors
 
 /**
  * This action removes shapes from a drawing.<br>
@@ -26,9 +26,9 @@ import java.util.stream.Collectors
  * @author Arnaud BLOUIN
  * @since 3.0
  */
-class DeleteShapes extends Action with ShapesAction with DrawingAction with Undoable with Modifying {
+class DeleteShapes extends Action with ShapesAction with DrawingAction with Undoable with Modifying with UndoFootprint {
 	/** The index of the deleted shapes into the original list. */
-	var positionShapes : java.util.List[Int] = _
+	var positionShapes : Array[Int] = _
 
 
 	def isRegisterable = true
@@ -36,11 +36,12 @@ class DeleteShapes extends Action with ShapesAction with DrawingAction with Undo
 	protected def doActionBody() = {
 		val dr = _drawing.get
 		val drawingSh = dr.getShapes
-		positionShapes = _shapes.stream.map[Int]{sh =>
-			val pos = drawingSh.indexOf(sh)
+		positionShapes = new Array[Int](_shapes.size)
+		for(i <- 0 until _shapes.size) {
+			val sh = _shapes.get(i)
+			positionShapes(i) = drawingSh.indexOf(sh)
 			dr.removeShape(sh)
-			pos
-		}.collect(Collectors.toList())
+		}
 		dr.setModified(true)
 	}
 
@@ -48,8 +49,8 @@ class DeleteShapes extends Action with ShapesAction with DrawingAction with Undo
 
 	override def undo() {
 		val dr = _drawing.get
-		for(i <- positionShapes.size-1 to 0 by -1)
-			dr.addShape(_shapes.get(i), positionShapes.get(i))
+		for(i <- positionShapes.length-1 to 0 by -1)
+			dr.addShape(_shapes.get(i), positionShapes(i))
 		dr.setModified(true)
 	}
 
@@ -57,5 +58,13 @@ class DeleteShapes extends Action with ShapesAction with DrawingAction with Undo
 		doActionBody
 	}
 
+	/** The deleted shapes are only referenced by the action. */
+	override def getUndoFootprint = {
+		var bytes = UndoFootprint.REF_BYTES * _shapes.size
+		_shapes.forEach{sh => bytes += UndoFootprint.getShapeFootprint(sh)}
+		if(positionShapes!=null) bytes += 4L * positionShapes.length
+		bytes
+	}
+
 	override def getUndoName = LangTool.INSTANCE.getStringActions("Actions.5")
 }
@@ -32,10 +32,14 @@ class MirrorShapes extends Action with ShapeAction[IShape] with Undoable with Mo
 	override protected def doActionBody() {
 		val sh = _shape.get
 
-		if(_horizontally)
-			sh.mirrorHorizontal(sh.getGravityCentre)
-		else
-			sh.mirrorVertical(sh.getGravityCentre)
+		// The JavaFX properties of the points are notified once, at the end of the mirroring.
+		sh.beginUpdate()
+		try {
+			if(_horizontally)
+				sh.mirrorHorizontal(sh.getGravityCentre)
+			else
+				sh.mirrorVertical(sh.getGravityCentre)
+		}finally sh.endUpdate()
 		sh.setModified(true)
 	}
 
@@ -3,6 +3,7 @@ package net.sf.latexdraw.actions.shape;
 import java.util.List;
 
 import net.sf.latexdraw.actions.Modifying;
+import net.sf.latexdraw.actions.UndoFootprint;
 import net.sf.latexdraw.glib.models.interfaces.prop.IArcProp;
 import net.sf.latexdraw.glib.models.interfaces.prop.IAxesProp;
 import net.sf.latexdraw.glib.models.interfaces.prop.IDotProp;
@@ -36,13 +37,16 @@ import org.malai.undo.Undoable;
  * @author Arnaud BLOUIN
  * @since 3.0
  */
-public class ModifyShapeProperty extends ShapePropertyAction implements Undoable, Modifying {
+public class ModifyShapeProperty extends ShapePropertyAction implements Undoable, Modifying, UndoFootprint {
 	/** The shape to modify. */
 	protected IGroup shapes;
 
-	/** The old value of the property. */
+	/** The old values of the property, when the shapes had different values (null otherwise). */
 	protected List<?> oldValue;
 
+	/** The old value of the property, when all the shapes had the same value: a single value is retained (null otherwise). */
+	protected Object oldUniformValue;
+
 
     @Override
 	public void flush() {
@@ -57,6 +61,8 @@ public class ModifyShapeProperty extends ShapePropertyAction implements Undoable
 			oldValue.clear();
 			oldValue = null;
 		}
+
+		oldUniformValue = null;
 	}
 
 
@@ -68,7 +74,10 @@ public class ModifyShapeProperty extends ShapePropertyAction implements Undoable
 
 	@Override
 	public void undo() {
-		property.setPropertyValueList(shapes, oldValue);
+		if(oldUniformValue==null)
+			property.setPropertyValueList(shapes, oldValue);
+		else
+			property.setPropertyValue(shapes, oldUniformValue);
 		shapes.setModified(true);
 	}
 
@@ -79,6 +88,14 @@ public class ModifyShapeProperty extends ShapePropertyAction implements Undoable
 	}
 
 
+	@Override
+	public long getUndoFootprint() {
+		// The modified shapes belong to the drawing: only the references and the old values are retained.
+		final long refs = shapes==null ? 0L : shapes.getShapes().size() * UndoFootprint.REF_BYTES;
+		return refs + (oldUniformValue==null ? UndoFootprint.getValuesFootprint(oldValue) : UndoFootprint.getValueFootprint(oldUniformValue));
+	}
+
+
 	@Override
 	public String getUndoName() {
 		return property==null ? "" : property.getMessage(); //$NON-NLS-1$
@@ -100,12 +117,32 @@ public class ModifyShapeProperty extends ShapePropertyAction implements Undoable
 
 	@Override
 	protected void doActionBody() {
-		if(oldValue==null)
-			oldValue = property.getPropertyValues(shapes);
+		if(oldValue==null && oldUniformValue==null) {
+			final List<?> values = property.getPropertyValues(shapes);
+			oldUniformValue = getUniformValue(values);
+			if(oldUniformValue==null)
+				oldValue = values;
+		}
 		applyValue(value);
 	}
 
 
+	/**
+	 * @return The value of all the given values if they are equal, or null if they differ or if one of them is null
+	 * (the property is not supported by one of the shapes).
+	 */
+	private static Object getUniformValue(final List<?> values) {
+		if(values==null || values.isEmpty())
+			return null;
+
+		final Object first = values.get(0);
+		for(final Object val : values)
+			if(val==null || !val.equals(first))
+				return null;
+		return first;
+	}
+
+
 	/**
 	 * Sets the group of shapes to modify.
 	 * @param group The group of shapes to modify.
@@ -4,6 +4,7 @@ import org.malai.action.Action
 import org.malai.undo.Undoable
 import net.sf.latexdraw.actions.DrawingAction
 import net.sf.latexdraw.actions.Modifying
+import net.sf.latexdraw.actions.UndoFootprint
 import net.sf.latexdraw.glib.models.interfaces.shape.IShape
 import net.sf.latexdraw.actions.ShapeAction
 import net.sf.latexdraw.glib.models.interfaces.shape.IGroup
@@ -29,7 +30,7 @@ import net.sf.latexdraw.lang.LangTool
  * @author Arnaud BLOUIN
  * @since 3.0
  */
-class MoveBackForegroundShapes extends Action with ShapeAction[IGroup] with DrawingAction with Undoable with Modifying {
+class MoveBackForegroundShapes extends Action with ShapeAction[IGroup] with DrawingAction with Undoable with Modifying with UndoFootprint {
 	/** Defines whether the shapes must be placed in the foreground. */
 	var foreground = false
 
@@ -117,6 +118,9 @@ class MoveBackForegroundShapes extends Action with ShapeAction[IGroup] with Draw
 
 	override def getUndoName = LangTool.INSTANCE.getStringActions("Actions.8")
 
+	/** The moved shapes belong to the drawing: only their references and their former positions are retained. */
+	override def getUndoFootprint = if(formerId==null) 0L else formerId.length * (4L + UndoFootprint.REF_BYTES)
+
 	override def isRegisterable = true
 
 	/** Defines whether the shapes must be placed in the foreground. */
@@ -57,8 +57,12 @@ class RotateShapes extends Action with ShapeAction[IShape] with Undoable with Mo
 	 * @param angleIncrement The increment to add to the rotation angle of the shape.
 	 */
 	private def rotateShapes(angleIncrement : Double) {
-		_shape.get.addToRotationAngle(_gc.get, angleIncrement)
-		_shape.get.setModified(true)
+		val sh = _shape.get
+		// The JavaFX properties of the points are notified once, at the end of the rotation.
+		sh.beginUpdate()
+		try sh.addToRotationAngle(_gc.get, angleIncrement)
+		finally sh.endUpdate()
+		sh.setModified(true)
 	}
 
 
@@ -88,9 +88,18 @@ class ScaleShapes extends Action with ShapeAction[IGroup] with DrawingAction wit
 	}
 
 
+	/** Scales the shapes: the JavaFX properties of their points are notified once, at the end of the scaling. */
+	private def scale(width : Double, height : Double) {
+		val sh = _shape.get
+		sh.beginUpdate()
+		try sh.scale(width, height, _refPosition.get, bound)
+		finally sh.endUpdate()
+	}
+
+
 	override def undo() {
 		val sh = _shape.get
-		sh.scale(oldWidth, oldHeight, _refPosition.get, bound)
+		scale(oldWidth, oldHeight)
 		sh.setModified(true)
 		_drawing.get.setModified(true)
 		updateBound(sh.getTopLeftPoint, sh.getBottomRightPoint)
@@ -125,7 +134,7 @@ class ScaleShapes extends Action with ShapeAction[IGroup] with DrawingAction wit
 
 	override def redo() {
 		val sh = _shape.get
-		sh.scale(scaledWidth(_newX), scaledHeight(_newY), _refPosition.get, bound)
+		scale(scaledWidth(_newX), scaledHeight(_newY))
 		sh.setModified(true)
 		_drawing.get.setModified(true)
 		updateBound(sh.getTopLeftPoint, sh.getBottomRightPoint)
@@ -5,6 +5,7 @@ import org.malai.undo.Undoable
 import net.sf.latexdraw.actions.DrawingAction
 import net.sf.latexdraw.actions.Modifying
 import net.sf.latexdraw.actions.ShapeAction
+import net.sf.latexdraw.actions.UndoFootprint
 import net.sf.latexdraw.glib.models.GLibUtilities
 import net.sf.latexdraw.glib.models.interfaces.shape.IGroup
 import net.sf.latexdraw.util.LNumber
@@ -29,7 +30,7 @@ import net.sf.latexdraw.lang.LangTool
  * @author Arnaud BLOUIN
  * @since 3.0
  */
-class TranslateShapes extends Action with ShapeAction[IGroup] with DrawingAction with Undoable with Modifying {
+class TranslateShapes extends Action with ShapeAction[IGroup] with DrawingAction with Undoable with Modifying with UndoFootprint {
 	/** The x vector translation. */
 	var _tx : Double = 0.0
 
@@ -52,7 +53,7 @@ class TranslateShapes extends Action with ShapeAction[IGroup] with DrawingAction
 
 	protected def doActionBody() {
 		if(!LNumber.equalsDouble(_tx - performedTx, 0.0) || !LNumber.equalsDouble(_ty - performedTy, 0.0)) {
-			_shape.get.translate(_tx-performedTx, _ty-performedTy)
+			translate(_tx-performedTx, _ty-performedTy)
 			_shape.get.setModified(true)
 			_drawing.get.setModified(true)
 			performedTx = _tx
@@ -64,15 +65,24 @@ class TranslateShapes extends Action with ShapeAction[IGroup] with DrawingAction
 	override def canDo =  _drawing.isDefined && _shape.isDefined && !_shape.get.isEmpty && GLibUtilities.isValidPoint(_tx, _ty)
 
 
+	/** Translates the shapes: the JavaFX properties of their points are notified once, at the end of the translation. */
+	private def translate(tx : Double, ty : Double) {
+		val sh = _shape.get
+		sh.beginUpdate()
+		try sh.translate(tx, ty)
+		finally sh.endUpdate()
+	}
+
+
 	override def undo() {
-		_shape.get.translate(-_tx, -_ty)
+		translate(-_tx, -_ty)
 		_shape.get.setModified(true)
 		_drawing.get.setModified(true)
 	}
 
 
 	override def redo() {
-		_shape.get.translate(_tx, _ty)
+		translate(_tx, _ty)
 		_shape.get.setModified(true)
 		_drawing.get.setModified(true)
 	}
@@ -81,6 +91,10 @@ class TranslateShapes extends Action with ShapeAction[IGroup] with DrawingAction
 	override def getUndoName = LangTool.INSTANCE.getStringActions("Actions.32")
 
 
+	/** The translated shapes belong to the drawing: only their references and the translation vectors are retained. */
+	override def getUndoFootprint = (if(_shape.isDefined) _shape.get.size * UndoFootprint.REF_BYTES else 0L) + 4L * java.lang.Double.BYTES
+
+
 	/**
 	 * @param tx The x vector translation.
 	 */
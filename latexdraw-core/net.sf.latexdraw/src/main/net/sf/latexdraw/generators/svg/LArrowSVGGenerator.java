@@ -24,6 +24,7 @@ import net.sf.latexdraw.parsers.svg.path.SVGPathSegList;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegMoveto;
 import net.sf.latexdraw.util.LNamespace;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines an SVG generator for arrows.<br>
@@ -228,8 +229,8 @@ class LArrowSVGGenerator {
 		final SVGElement circle = new SVGCircleElement(doc);
 		final double r 			= (arrow.getDotSizeDim()+arrow.getDotSizeNum()*lineWidth)/2.-lineWidth/2.;
 
-		circle.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_DOT_SIZE_NUM, String.valueOf(arrow.getDotSizeNum()));
-		circle.setAttribute(SVGAttributes.SVG_R, String.valueOf(r/lineWidth));
+		circle.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_DOT_SIZE_NUM, LNumberFormatter.SVG.format(arrow.getDotSizeNum()));
+		circle.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(r/lineWidth));
 		circle.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(shape.getFillingCol(), true));
 		circle.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(isShadow ? shape.getShadowCol() : shape.getLineColour(), true));
 		circle.setStrokeWidth(1);
@@ -245,8 +246,8 @@ class LArrowSVGGenerator {
 		final SVGElement circle = new SVGCircleElement(doc);
 		final double r 			= (arrow.getDotSizeDim()+arrow.getDotSizeNum()*lineWidth)/2.;
 
-		circle.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_DOT_SIZE_NUM, String.valueOf(arrow.getDotSizeNum()));
-		circle.setAttribute(SVGAttributes.SVG_R, String.valueOf(r/lineWidth));
+		circle.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_DOT_SIZE_NUM, LNumberFormatter.SVG.format(arrow.getDotSizeNum()));
+		circle.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(r/lineWidth));
 		circle.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(isShadow ? shape.getShadowCol() : shape.getLineColour(), true));
 		marker.appendChild(circle);
 
@@ -262,7 +263,7 @@ class LArrowSVGGenerator {
 		final SVGPathSegList path 	= new SVGPathSegList();
 		final double x 				= arrow.getArrowStyle()==ArrowStyle.BAR_IN ? arrow.isLeftArrow() ? 0.5 : -0.5 : 0.;
 
-		bar.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_TBAR_SIZE_NUM, String.valueOf(arrow.getTBarSizeNum()));
+		bar.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_TBAR_SIZE_NUM, LNumberFormatter.SVG.format(arrow.getTBarSizeNum()));
 		path.add(new SVGPathSegMoveto(x, -width/(lineWidth*2.), false));
 		path.add(new SVGPathSegLineto(x, width/(lineWidth*2.), false));
 		bar.setPathData(path);
@@ -302,7 +303,7 @@ class LArrowSVGGenerator {
 		}
 
 		marker.appendChild(bar);
-		bar.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_TBAR_SIZE_NUM, String.valueOf(arrow.getTBarSizeNum()));
+		bar.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_TBAR_SIZE_NUM, LNumberFormatter.SVG.format(arrow.getTBarSizeNum()));
 		bar.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(isShadow ? shape.getShadowCol() : shape.getLineColour(), true));
 		bar.setAttribute(SVGAttributes.SVG_FILL, SVGAttributes.SVG_VALUE_NONE);
 		bar.setPathData(path);
@@ -334,7 +335,7 @@ class LArrowSVGGenerator {
 		path.add(new SVGPathSegClosePath());
 
 		marker.appendChild(arrowSVG);
-		arrowSVG.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_SIZE_NUM, String.valueOf(arrow.getArrowSizeNum()));
+		arrowSVG.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_SIZE_NUM, LNumberFormatter.SVG.format(arrow.getArrowSizeNum()));
 		arrowSVG.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(isShadow ? shape.getShadowCol() : shape.getLineColour(), true));
 		arrowSVG.setAttribute(SVGAttributes.SVG_D, path.toString());
 	}
@@ -361,7 +362,7 @@ class LArrowSVGGenerator {
 		marker.appendChild(rbracket);
 		rbracket.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(isShadow ? shape.getShadowCol() : shape.getLineColour(), true));
 		rbracket.setAttribute(SVGAttributes.SVG_FILL, SVGAttributes.SVG_VALUE_NONE);
-		rbracket.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_TBAR_SIZE_NUM, String.valueOf(arrow.getTBarSizeNum()));
+		rbracket.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_TBAR_SIZE_NUM, LNumberFormatter.SVG.format(arrow.getTBarSizeNum()));
 		rbracket.setPathData(path);
 		rbracket.setStrokeWidth(1);
 	}
@@ -393,7 +394,7 @@ class LArrowSVGGenerator {
 		path.add(new SVGPathSegClosePath());
 
 		marker.appendChild(arrowSVG);
-		arrowSVG.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_SIZE_NUM, String.valueOf(arrow.getArrowSizeNum()));
+		arrowSVG.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ARROW_SIZE_NUM, LNumberFormatter.SVG.format(arrow.getArrowSizeNum()));
 		arrowSVG.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(isShadow ? shape.getShadowCol() : shape.getLineColour(), true));
 		arrowSVG.setAttribute(SVGAttributes.SVG_D, path.toString());
 	}
@@ -449,7 +450,7 @@ class LArrowSVGGenerator {
 			toSVGRoundIn(doc, isShadow, marker);
 
 		if(!LNumber.equalsDouble(gapPostion,0.))
-			marker.setAttribute(SVGAttributes.SVG_REF_X, String.valueOf(gapPostion/lineWidth));
+			marker.setAttribute(SVGAttributes.SVG_REF_X, LNumberFormatter.SVG.format(gapPostion/lineWidth));
 
 		marker.setAttribute(SVGAttributes.SVG_OVERFLOW, SVGAttributes.SVG_VALUE_VISIBLE);
 		marker.setAttribute(SVGAttributes.SVG_ORIENT, SVGAttributes.SVG_VALUE_AUTO);
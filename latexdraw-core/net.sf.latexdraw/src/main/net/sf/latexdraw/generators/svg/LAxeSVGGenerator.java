@@ -14,6 +14,7 @@ import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGNodeList;
 import net.sf.latexdraw.parsers.svg.parsers.SVGPointsParser;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for an shape.<br>
@@ -163,12 +164,12 @@ class LAxeSVGGenerator extends LShapeSVGGenerator<IAxes> {
 		root.setStroke(shape.getLineColour());
 
 		root.setAttribute(pref+LNamespace.XML_STYLE, shape.getAxesStyle().toString());
-		root.setAttribute(pref+LNamespace.XML_GRID_START, shape.getGridStartX() + " " + shape.getGridStartY()); //$NON-NLS-1$
-		root.setAttribute(pref+LNamespace.XML_GRID_END, shape.getGridEndX() + " " + shape.getGridEndY());//$NON-NLS-1$
-		root.setAttribute(pref+LNamespace.XML_GRID_ORIGIN, shape.getOriginX() + " " + shape.getOriginY());//$NON-NLS-1$
-		root.setAttribute(pref+LNamespace.XML_AXE_INCREMENT, shape.getIncrementX() + " " + shape.getIncrementY());//$NON-NLS-1$
-		root.setAttribute(pref+LNamespace.XML_AXE_DIST_LABELS, shape.getDistLabelsX() + " " + shape.getDistLabelsY());//$NON-NLS-1$
-		root.setAttribute(pref+LNamespace.XML_AXE_TICKS_SIZE, String.valueOf(shape.getTicksSize()));
+		root.setAttribute(pref+LNamespace.XML_GRID_START, LNumberFormatter.SVG.format(shape.getGridStartX()) + ' ' + LNumberFormatter.SVG.format(shape.getGridStartY()));
+		root.setAttribute(pref+LNamespace.XML_GRID_END, LNumberFormatter.SVG.format(shape.getGridEndX()) + ' ' + LNumberFormatter.SVG.format(shape.getGridEndY()));
+		root.setAttribute(pref+LNamespace.XML_GRID_ORIGIN, LNumberFormatter.SVG.format(shape.getOriginX()) + ' ' + LNumberFormatter.SVG.format(shape.getOriginY()));
+		root.setAttribute(pref+LNamespace.XML_AXE_INCREMENT, LNumberFormatter.SVG.format(shape.getIncrementX()) + ' ' + LNumberFormatter.SVG.format(shape.getIncrementY()));
+		root.setAttribute(pref+LNamespace.XML_AXE_DIST_LABELS, LNumberFormatter.SVG.format(shape.getDistLabelsX()) + ' ' + LNumberFormatter.SVG.format(shape.getDistLabelsY()));
+		root.setAttribute(pref+LNamespace.XML_AXE_TICKS_SIZE, LNumberFormatter.SVG.format(shape.getTicksSize()));
 		root.setAttribute(pref+LNamespace.XML_AXE_SHOW_ORIGIN, String.valueOf(shape.isShowOrigin()));
 		root.setAttribute(pref+LNamespace.XML_AXE_SHOW_TICKS, shape.getTicksDisplayed().toString());
 		root.setAttribute(pref+LNamespace.XML_AXE_LABELS_STYLE, shape.getLabelsDisplayed().toString());
@@ -19,6 +19,7 @@ import net.sf.latexdraw.parsers.svg.path.SVGPathSegCurvetoCubic;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegList;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegMoveto;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for a Bézier curve.<br>
@@ -207,7 +208,7 @@ class LBezierCurveSVGGenerator extends LShapeSVGGenerator<IBezierCurve> {
 		}
 
 		setSVGAttributes(doc, elt, false);
-		elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE +':'+ LNamespace.XML_ROTATION, String.valueOf(shape.getRotationAngle()));
+		elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE +':'+ LNamespace.XML_ROTATION, LNumberFormatter.SVG.format(shape.getRotationAngle()));
 
 		if(!shape.isClosed()) {
 			setSVGArrow(shape, elt, 0, false, doc, defs);
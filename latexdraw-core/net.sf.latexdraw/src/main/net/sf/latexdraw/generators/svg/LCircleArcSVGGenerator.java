@@ -19,6 +19,7 @@ import net.sf.latexdraw.parsers.svg.path.SVGPathSegLineto;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegList;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegMoveto;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for an arc.<br>
@@ -170,7 +171,7 @@ class LCircleArcSVGGenerator extends LShapeSVGGenerator<ICircleArc> {
 
         setSVGRotationAttribute(root);
         setSVGAttributes(doc, elt, true);
-        elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE +':'+ LNamespace.XML_ROTATION, String.valueOf(rotationAngle));
+        elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE +':'+ LNamespace.XML_ROTATION, LNumberFormatter.SVG.format(rotationAngle));
 
 		setSVGArrow(shape, elt, 0, false, doc, defs);
 		setSVGArrow(shape, elt, 1, false, doc, defs);
@@ -87,9 +87,20 @@ class LCircleSVGGenerator extends LShapeSVGGenerator<ICircle> {
 	 * @since 3.0
 	 */
 	protected void setCircleParameters(final SVGCircleElement circleElt, final double gap) {
-		final double radius  = circleElt.getR()-gap/2.;
+		setCircleParameters(circleElt.getCx(), circleElt.getCy(), circleElt.getR(), gap);
+	}
+
+
+
+	/**
+	 * Sets the circle parameters using the values of an SVG circle.
+	 * @param gap The gap used to define the latexdraw circle.
+	 * @since 4.0
+	 */
+	protected void setCircleParameters(final double cx, final double cy, final double r, final double gap) {
+		final double radius  = r-gap/2.;
 		shape.setWidth(radius*2.);
-		shape.setPosition(circleElt.getCx()-radius, circleElt.getCy()+radius);
+		shape.setPosition(cx-radius, cy+radius);
 	}
 
 
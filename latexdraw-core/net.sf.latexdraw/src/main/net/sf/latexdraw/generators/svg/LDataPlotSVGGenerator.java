@@ -0,0 +1,198 @@
+package net.sf.latexdraw.generators.svg;
+
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.DotStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDot;
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotDecimation;
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle;
+import net.sf.latexdraw.glib.views.PlotViewHelper;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGGElement;
+import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
+import net.sf.latexdraw.util.PlotDataReader;
+
+/**
+ * Defines a SVG generator for plotted data points.<br>
+ * The data points are saved in a latexdraw attribute (X and Y coordinates interleaved) so that
+ * the plot is loaded with all its points, whatever the decimation used to draw it.<br>
+ *<br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-20<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class LDataPlotSVGGenerator extends LShapeSVGGenerator<IDataPlot> {
+	static final String XML_TYPE_DATA_PLOT	= "dataplot"; //$NON-NLS-1$
+	static final String XML_DATA 			= "data"; //$NON-NLS-1$
+	static final String XML_DECIMATION 		= "decimation"; //$NON-NLS-1$
+	static final String XML_THRESHOLD 		= "decimationThreshold"; //$NON-NLS-1$
+
+
+	protected LDataPlotSVGGenerator(final IDataPlot plot) {
+		super(plot);
+	}
+
+
+	/**
+	 * Creates a data plot from a latexdraw-SVG element.
+	 * @param elt The source element.
+	 */
+	protected LDataPlotSVGGenerator(final SVGGElement elt, final boolean withTransformation) {
+		this(ShapeFactory.createDataPlot(ShapeFactory.createPoint(), new double[0], new double[0]));
+
+		setSVGParameters(elt);
+
+		final String data = elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + XML_DATA);
+		if(data!=null)
+			setData(PlotDataReader.INSTANCE.read(data));
+
+		shape.setPlotStyle(PlotStyle.getPlotStyle(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LPlotSVGGenerator.XML_STYLE)));
+
+		try { shape.setDecimation(PlotDecimation.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + XML_DECIMATION)));}
+		catch(IllegalArgumentException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		try { shape.setDecimationThreshold(Integer.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + XML_THRESHOLD)));}
+		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		try { shape.setX(Double.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_POSITION_X)));}
+		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		try { shape.setY(Double.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_POSITION_Y)));}
+		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		try { shape.setXScale(Double.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LPlotSVGGenerator.XML_XSCALE)));}
+		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		try { shape.setYScale(Double.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LPlotSVGGenerator.XML_YSCALE)));}
+		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		try { shape.setDotStyle(DotStyle.getStyle(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_DOT_SHAPE)));}
+		catch(IllegalArgumentException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		try { shape.setDiametre(Double.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_SIZE)));}
+		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		setSVGShadowParameters(getLaTeXDrawElement(elt, LNamespace.XML_TYPE_SHADOW));
+		setSVGDbleBordersParameters(getLaTeXDrawElement(elt, LNamespace.XML_TYPE_DBLE_BORDERS));
+
+		if(withTransformation)
+			applyTransformations(elt);
+	}
+
+
+	/**
+	 * Sets the data points of the plot from the given interleaved X and Y coordinates (the last one is ignored if odd).
+	 */
+	private void setData(final double[] data) {
+		final int nbPts = data.length / 2;
+		final double[] xs = new double[nbPts];
+		final double[] ys = new double[nbPts];
+
+		for(int i=0; i<nbPts; i++) {
+			xs[i] = data[2*i];
+			ys[i] = data[2*i+1];
+		}
+		shape.setData(xs, ys);
+	}
+
+
+	@Override
+	public SVGElement toSVG(final SVGDocument doc) {
+		if(doc==null || doc.getFirstChild().getDefs()==null)
+			return null;
+
+		final SVGElement root = new SVGGElement(doc);
+
+		if(shape.hasShadow()) {
+			final SVGGElement shad = new SVGGElement(doc);
+			toSVGPlot(shad, doc);
+			setSVGShadowAttributes(shad, false);
+			root.appendChild(shad);
+		}
+
+		if(shape.hasDbleBord()) {
+			final SVGGElement dble = new SVGGElement(doc);
+			toSVGPlot(dble, doc);
+			setSVGDoubleBordersAttributes(dble);
+			root.appendChild(dble);
+		}
+
+		toSVGPlot(root, doc);
+
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_TYPE, XML_TYPE_DATA_PLOT);
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LPlotSVGGenerator.XML_STYLE, shape.getPlotStyle().getPSTToken());
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_DECIMATION, shape.getDecimation().name());
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_THRESHOLD, Integer.toString(shape.getDecimationThreshold()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LPlotSVGGenerator.XML_XSCALE, LNumberFormatter.DATA.format(shape.getXScale()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LPlotSVGGenerator.XML_YSCALE, LNumberFormatter.DATA.format(shape.getYScale()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_DOT_SHAPE, shape.getDotStyle().getPSTToken());
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_SIZE, LNumberFormatter.SVG.format(shape.getDiametre()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POSITION_X, LNumberFormatter.SVG.format(shape.getX()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POSITION_Y, LNumberFormatter.SVG.format(shape.getY()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_DATA, getData());
+		root.setAttribute(SVGAttributes.SVG_ID, getSVGID());
+		setSVGAttributes(doc, root, true);
+
+		return root;
+	}
+
+
+	/**
+	 * @return The data points of the plot: the X and Y coordinates interleaved.
+	 */
+	private String getData() {
+		final double[] xs = shape.getDataX();
+		final double[] ys = shape.getDataY();
+		final StringBuilder data = new StringBuilder(xs.length * 16);
+
+		for(int i=0; i<xs.length; i++) {
+			if(i>0) data.append(' ');
+			LNumberFormatter.DATA.append(data, xs[i]).append(' ');
+			LNumberFormatter.DATA.append(data, ys[i]);
+		}
+		return data.toString();
+	}
+
+
+	/**
+	 * Adds to the given element the SVG elements drawing the plotted points (see IDataPlot::getPlottedX).
+	 */
+	private void toSVGPlot(final SVGElement elt, final SVGDocument doc) {
+		if(shape.getNbDataPoints()==0)
+			return;
+
+		switch(shape.getPlotStyle()) {
+			case LINE:
+				elt.appendChild(SVGShapesFactory.INSTANCE.createSVGElement(PlotViewHelper.INSTANCE.updateLine(shape), doc));
+				break;
+			case CURVE:
+			case ECURVE:
+			case CCURVE:
+				elt.appendChild(SVGShapesFactory.INSTANCE.createSVGElement(PlotViewHelper.INSTANCE.updateCurve(shape), doc));
+				break;
+			case DOTS:
+				for(final IDot dot : PlotViewHelper.INSTANCE.updatePoints(shape))
+					elt.appendChild(SVGShapesFactory.INSTANCE.createSVGElement(dot, doc));
+				break;
+			case POLYGON:
+				elt.appendChild(SVGShapesFactory.INSTANCE.createSVGElement(PlotViewHelper.INSTANCE.updatePolygon(shape), doc));
+				break;
+		}
+	}
+}
@@ -90,10 +90,21 @@ class LEllipseSVGGenerator extends LShapeSVGGenerator<IEllipse> {
 	 * @since 3.0
 	 */
 	protected void setEllipseParameters(final SVGEllipseElement ellipseElt, final double gap) {
-		final double width  = 2.*ellipseElt.getRx()-gap;
-		final double height	= 2.*ellipseElt.getRy()-gap;
+		setEllipseParameters(ellipseElt.getCx(), ellipseElt.getCy(), ellipseElt.getRx(), ellipseElt.getRy(), gap);
+	}
+
+
+
+	/**
+	 * Sets the ellipse parameters using the values of an SVG ellipse.
+	 * @param gap The gap used to define the latexdraw ellipse.
+	 * @since 4.0
+	 */
+	protected void setEllipseParameters(final double cx, final double cy, final double rx, final double ry, final double gap) {
+		final double width  = 2.*rx-gap;
+		final double height	= 2.*ry-gap;
 
-		shape.setPosition(ellipseElt.getCx()-width/2., ellipseElt.getCy()+height/2.);
+		shape.setPosition(cx-width/2., cy+height/2.);
 		shape.setWidth(width);
 		shape.setHeight(height);
 	}
@@ -20,6 +20,7 @@ import net.sf.latexdraw.parsers.svg.path.SVGPathSegLineto;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegList;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegMoveto;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for a free hand drawing.<br>
@@ -68,7 +69,7 @@ class LFreeHandSVGGenerator extends LShapeSVGGenerator<IFreehand> {
 			throw new IllegalArgumentException();
 
 		for(final Point2D pt : pts)
-			shape.addPoint(ShapeFactory.createPoint(pt.getX(), pt.getY()));
+			shape.addPoint(pt.getX(), pt.getY());
 
 		setSVGLatexdrawParameters(elt);
 		setSVGParameters(main);
@@ -239,7 +240,7 @@ class LFreeHandSVGGenerator extends LShapeSVGGenerator<IFreehand> {
 		root.appendChild(elt);
 
 		setSVGAttributes(doc, elt, false);
-		elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_ROTATION, String.valueOf(shape.getRotationAngle()));
+		elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_ROTATION, LNumberFormatter.SVG.format(shape.getRotationAngle()));
 
 		return root;
 	}
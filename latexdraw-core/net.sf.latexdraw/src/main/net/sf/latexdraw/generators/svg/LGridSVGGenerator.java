@@ -15,6 +15,7 @@ import net.sf.latexdraw.parsers.svg.*;
 import net.sf.latexdraw.parsers.svg.parsers.SVGPointsParser;
 import net.sf.latexdraw.util.LNamespace;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 import sun.font.FontDesignMetrics;
 
 import java.awt.*;
@@ -241,15 +242,15 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 		subgridDots.setAttribute(prefix+LNamespace.XML_TYPE, LNamespace.XML_TYPE_GRID_SUB);
 		subgridDots.setAttribute(prefix+LNamespace.XML_GRID_DOTS, String.valueOf(subGridDots));
 		subgridDots.setAttribute(prefix+LNamespace.XML_GRID_SUB_DIV, String.valueOf(subGridDots));
-		subgridDots.setAttribute(prefix+LNamespace.XML_GRID_WIDTH, String.valueOf(subGridWidth));
+		subgridDots.setAttribute(prefix+LNamespace.XML_GRID_WIDTH, LNumberFormatter.SVG.format(subGridWidth));
 
 		for(double i=0, n=tlx; i<nbX; i++, n+=xSubStep)
 			for(double j=0, m=tly; j<=nbY; j++, m+=ySubStep)
 				for(double k=0; k<subGridDots; k++) {
 					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(n+k*dotStep));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(m));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(subGridWidth/2.));
+					dot.setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(n+k*dotStep));
+					dot.setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(m));
+					dot.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(subGridWidth/2.));
 					subgridDots.appendChild(dot);
 				}
 
@@ -257,16 +258,16 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 			for(double i=0, m=tlx; i<=nbX; i++, m+=xSubStep)
 				for(double k=0; k<subGridDots; k++) {
 					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(m));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(n+k*dotStep));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(subGridWidth/2.));
+					dot.setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(m));
+					dot.setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(n+k*dotStep));
+					dot.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(subGridWidth/2.));
 					subgridDots.appendChild(dot);
 				}
 
 		dot = new SVGCircleElement(document);
-		dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(brx));
-		dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(bry));
-		dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(subGridWidth/2.));
+		dot.setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(brx));
+		dot.setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(bry));
+		dot.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(subGridWidth/2.));
 
 		elt.appendChild(subgridDots);
 	}
@@ -287,7 +288,7 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 		final SVGElement subgrids = new SVGGElement(document);
 		SVGElement line;
 
-		subgrids.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(subGridWidth));
+		subgrids.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, LNumberFormatter.SVG.format(subGridWidth));
 		subgrids.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(subGridColour, true));
 		subgrids.setAttribute(SVGAttributes.SVG_STROKE_LINECAP, SVGAttributes.SVG_LINECAP_VALUE_ROUND);
 		subgrids.setAttribute(prefix+LNamespace.XML_TYPE, LNamespace.XML_TYPE_GRID_SUB);
@@ -297,20 +298,20 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 		for(k=minX, i=posX; k<maxX; i+=xStep, k++)
 			for(j=0; j<=subGridDiv; j++) {
 				line = new SVGLineElement(document);
-				line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(i+xSubStep*j));
-				line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(i+xSubStep*j));
-				line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(bry));
-				line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(tly));
+				line.setAttribute(SVGAttributes.SVG_X1, LNumberFormatter.SVG.format(i+xSubStep*j));
+				line.setAttribute(SVGAttributes.SVG_X2, LNumberFormatter.SVG.format(i+xSubStep*j));
+				line.setAttribute(SVGAttributes.SVG_Y1, LNumberFormatter.SVG.format(bry));
+				line.setAttribute(SVGAttributes.SVG_Y2, LNumberFormatter.SVG.format(tly));
 				subgrids.appendChild(line);
 			}
 
 		for(k=minY, i=posY; k<maxY; i-=yStep, k++)
 			for(j=0; j<=subGridDiv; j++) {
 				line = new SVGLineElement(document);
-				line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(tlx));
-				line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(brx));
-				line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(i-ySubStep*j));
-				line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(i-ySubStep*j));
+				line.setAttribute(SVGAttributes.SVG_X1, LNumberFormatter.SVG.format(tlx));
+				line.setAttribute(SVGAttributes.SVG_X2, LNumberFormatter.SVG.format(brx));
+				line.setAttribute(SVGAttributes.SVG_Y1, LNumberFormatter.SVG.format(i-ySubStep*j));
+				line.setAttribute(SVGAttributes.SVG_Y2, LNumberFormatter.SVG.format(i-ySubStep*j));
 				subgrids.appendChild(line);
 			}
 
@@ -339,15 +340,15 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 		gridDotsElt.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(linesColour, true));
 		gridDotsElt.setAttribute(prefix+LNamespace.XML_TYPE, LNamespace.XML_TYPE_GRID);
 		gridDotsElt.setAttribute(prefix+LNamespace.XML_GRID_DOTS, String.valueOf(gridDots));
-		gridDotsElt.setAttribute(prefix+LNamespace.XML_GRID_WIDTH, String.valueOf(gridWidth));
+		gridDotsElt.setAttribute(prefix+LNamespace.XML_GRID_WIDTH, LNumberFormatter.SVG.format(gridWidth));
 
 		for(k=minX, i=posX; k<=maxX; i+=xStep, k++)
 			for(m=tly, n=minY; n<maxY; n++, m+=absStep)
 				for(l=0, j=m; l<gridDots; l++, j+=dotStep) {
 					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(i));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(j));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(gridWidth/2.));
+					dot.setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(i));
+					dot.setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(j));
+					dot.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(gridWidth/2.));
 					gridDotsElt.appendChild(dot);
 				}
 
@@ -355,16 +356,16 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 			for(m=tlx, n=minX; n<maxX; n++, m+=absStep)
 				for(l=0, j=m; l<gridDots; l++, j+=dotStep) {
 					dot = new SVGCircleElement(document);
-					dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(j));
-					dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(i));
-					dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(gridWidth/2.));
+					dot.setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(j));
+					dot.setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(i));
+					dot.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(gridWidth/2.));
 					gridDotsElt.appendChild(dot);
 				}
 
 		dot = new SVGCircleElement(document);
-		dot.setAttribute(SVGAttributes.SVG_CX, String.valueOf(brx));
-		dot.setAttribute(SVGAttributes.SVG_CY, String.valueOf(bry));
-		dot.setAttribute(SVGAttributes.SVG_R, String.valueOf(gridWidth/2.));
+		dot.setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(brx));
+		dot.setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(bry));
+		dot.setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(gridWidth/2.));
 		gridDotsElt.appendChild(dot);
 
 		elt.appendChild(gridDotsElt);
@@ -382,26 +383,26 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 		final SVGElement grids = new SVGGElement(document);
 		SVGElement line;
 
-		grids.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(gridWidth));
+		grids.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, LNumberFormatter.SVG.format(gridWidth));
 		grids.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(linesColour, true));
 		grids.setAttribute(SVGAttributes.SVG_STROKE_LINECAP, SVGAttributes.SVG_LINECAP_VALUE_SQUARE);
 		grids.setAttribute(prefix+LNamespace.XML_TYPE, LNamespace.XML_TYPE_GRID);
 
 		for(k=minX, i=posX; k<=maxX; i+=xStep, k++) {
 			line = new SVGLineElement(document);
-			line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(i));
-			line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(i));
-			line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(bry));
-			line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(tly));
+			line.setAttribute(SVGAttributes.SVG_X1, LNumberFormatter.SVG.format(i));
+			line.setAttribute(SVGAttributes.SVG_X2, LNumberFormatter.SVG.format(i));
+			line.setAttribute(SVGAttributes.SVG_Y1, LNumberFormatter.SVG.format(bry));
+			line.setAttribute(SVGAttributes.SVG_Y2, LNumberFormatter.SVG.format(tly));
 			grids.appendChild(line);
 		}
 
 		for(k=minY, i=posY; k<=maxY; i-=yStep, k++) {
 			line = new SVGLineElement(document);
-			line.setAttribute(SVGAttributes.SVG_X1, String.valueOf(tlx));
-			line.setAttribute(SVGAttributes.SVG_X2, String.valueOf(brx));
-			line.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(i));
-			line.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(i));
+			line.setAttribute(SVGAttributes.SVG_X1, LNumberFormatter.SVG.format(tlx));
+			line.setAttribute(SVGAttributes.SVG_X2, LNumberFormatter.SVG.format(brx));
+			line.setAttribute(SVGAttributes.SVG_Y1, LNumberFormatter.SVG.format(i));
+			line.setAttribute(SVGAttributes.SVG_Y2, LNumberFormatter.SVG.format(i));
 			grids.appendChild(line);
 		}
 
@@ -548,10 +549,10 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 		root.setAttribute(prefix+LNamespace.XML_TYPE, LNamespace.XML_TYPE_GRID);
 		root.setAttribute(prefix+LNamespace.XML_GRID_X_SOUTH, String.valueOf(shape.isXLabelSouth()));
 		root.setAttribute(prefix+LNamespace.XML_GRID_Y_WEST, String.valueOf(shape.isYLabelWest()));
-		root.setAttribute(prefix+LNamespace.XML_GRID_UNIT, String.valueOf(shape.getUnit()));
-		root.setAttribute(prefix+LNamespace.XML_GRID_END, shape.getGridEndX() + " " + shape.getGridEndY());//$NON-NLS-1$
-		root.setAttribute(prefix+LNamespace.XML_GRID_START, shape.getGridStartX() + " " + shape.getGridStartY());//$NON-NLS-1$
-		root.setAttribute(prefix+LNamespace.XML_GRID_ORIGIN, shape.getOriginX() + " " + shape.getOriginY());//$NON-NLS-1$
+		root.setAttribute(prefix+LNamespace.XML_GRID_UNIT, LNumberFormatter.SVG.format(shape.getUnit()));
+		root.setAttribute(prefix+LNamespace.XML_GRID_END, LNumberFormatter.SVG.format(shape.getGridEndX()) + ' ' + LNumberFormatter.SVG.format(shape.getGridEndY()));
+		root.setAttribute(prefix+LNamespace.XML_GRID_START, LNumberFormatter.SVG.format(shape.getGridStartX()) + ' ' + LNumberFormatter.SVG.format(shape.getGridStartY()));
+		root.setAttribute(prefix+LNamespace.XML_GRID_ORIGIN, LNumberFormatter.SVG.format(shape.getOriginX()) + ' ' + LNumberFormatter.SVG.format(shape.getOriginY()));
 		createSVGGrid(root, doc);
 		setSVGRotationAttribute(root);
 
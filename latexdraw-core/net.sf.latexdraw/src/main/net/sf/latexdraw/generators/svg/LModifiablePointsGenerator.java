@@ -3,7 +3,6 @@ package net.sf.latexdraw.generators.svg;
 import java.awt.geom.Point2D;
 import java.util.List;
 
-import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.parsers.svg.AbstractPointsElement;
 import net.sf.latexdraw.parsers.svg.SVGPathElement;
@@ -54,7 +53,7 @@ abstract class LModifiablePointsGenerator<S extends IModifiablePointsShape> exte
 			throw new IllegalArgumentException();
 
 		for(final Point2D pt : ptsPol)
-			shape.addPoint(ShapeFactory.createPoint(pt.getX(), pt.getY()));
+			shape.addPoint(pt.getX(), pt.getY());
 	}
 
 
@@ -79,7 +78,7 @@ abstract class LModifiablePointsGenerator<S extends IModifiablePointsShape> exte
 				throw new IllegalArgumentException("The given SVG path element is not a polygon."); //$NON-NLS-1$
 
 			pt = ((SVGPathSegLineto)seg).getPoint();
-			shape.addPoint(ShapeFactory.createPoint(pt.getX(), pt.getY()));
+			shape.addPoint(pt.getX(), pt.getY());
 		}
 
 		setSVGParameters(elt);
@@ -10,6 +10,7 @@ import net.sf.latexdraw.parsers.svg.SVGElement;
 import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGImageElement;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for an picture.<br>
@@ -88,8 +89,8 @@ class LPictureSVGGenerator extends LShapeSVGGenerator<IPicture> {
 		root.setAttribute(SVGAttributes.SVG_ID, getSVGID());
 
 		img = new SVGImageElement(doc, shape.getPathSource());
-		img.setAttribute(SVGAttributes.SVG_X, String.valueOf(shape.getPosition().getX()));
-		img.setAttribute(SVGAttributes.SVG_Y, String.valueOf(shape.getPosition().getY()));
+		img.setAttribute(SVGAttributes.SVG_X, LNumberFormatter.SVG.format(shape.getPosition().getX()));
+		img.setAttribute(SVGAttributes.SVG_Y, LNumberFormatter.SVG.format(shape.getPosition().getY()));
 		img.setAttribute(SVGAttributes.SVG_HEIGHT, String.valueOf(shape.getImage().getHeight(null)));
 		img.setAttribute(SVGAttributes.SVG_WIDTH, String.valueOf(shape.getImage().getWidth(null)));
 		setSVGRotationAttribute(root);
@@ -12,6 +12,7 @@ import net.sf.latexdraw.parsers.svg.SVGDocument;
 import net.sf.latexdraw.parsers.svg.SVGElement;
 import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for a plotted functions.<br>
@@ -164,13 +165,13 @@ class LPlotSVGGenerator extends LShapeSVGGenerator<IPlot> {
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_POLAR, Boolean.toString(shape.isPolar()));
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_EQ, shape.getPlotEquation());
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_STYLE, shape.getPlotStyle().getPSTToken());
-		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_MIN, Double.toString(shape.getPlotMinX()));
-		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_MAX, Double.toString(shape.getPlotMaxX()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_MIN, LNumberFormatter.DATA.format(shape.getPlotMinX()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_MAX, LNumberFormatter.DATA.format(shape.getPlotMaxX()));
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_NB_POINTS, Integer.toString(shape.getNbPlottedPoints()));
-		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_XSCALE, Double.toString(shape.getXScale()));
-		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_YSCALE, Double.toString(shape.getYScale()));
-		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POSITION_X, Double.toString(shape.getX()));
-		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POSITION_Y, Double.toString(shape.getY()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_XSCALE, LNumberFormatter.DATA.format(shape.getXScale()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_YSCALE, LNumberFormatter.DATA.format(shape.getYScale()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POSITION_X, LNumberFormatter.SVG.format(shape.getX()));
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POSITION_Y, LNumberFormatter.SVG.format(shape.getY()));
 		root.setAttribute(SVGAttributes.SVG_ID, getSVGID());
 		setSVGAttributes(doc, root, true);
 		
@@ -14,6 +14,7 @@ import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGPathElement;
 import net.sf.latexdraw.parsers.svg.SVGPolygonElement;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for a polygon.<br>
@@ -111,8 +112,10 @@ class LPolygonSVGGenerator extends LModifiablePointsGenerator<IPolygon> {
         root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_TYPE, LNamespace.XML_TYPE_POLYGON);
         root.setAttribute(SVGAttributes.SVG_ID, getSVGID());
 
-        for(final IPoint pt : shape.getPoints())
-     	   pointsBuilder.append(pt.getX()).append(',').append(pt.getY()).append(' ');
+        for(final IPoint pt : shape.getPoints()) {
+     	   LNumberFormatter.SVG.append(pointsBuilder, pt.getX()).append(',');
+     	   LNumberFormatter.SVG.append(pointsBuilder, pt.getY()).append(' ');
+        }
 
         final String points = pointsBuilder.toString();
 
@@ -134,7 +137,7 @@ class LPolygonSVGGenerator extends LModifiablePointsGenerator<IPolygon> {
         try { elt.setPoints(points); }catch(final ParseException ex) { BadaboomCollector.INSTANCE.add(ex); }
         root.appendChild(elt);
         setSVGAttributes(doc, elt, true);
-        elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE +':'+ LNamespace.XML_ROTATION, String.valueOf(shape.getRotationAngle()));
+        elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE +':'+ LNamespace.XML_ROTATION, LNumberFormatter.SVG.format(shape.getRotationAngle()));
 
         if(shape.hasDbleBord()) {
         	final SVGPolygonElement dblBord = new SVGPolygonElement(doc);
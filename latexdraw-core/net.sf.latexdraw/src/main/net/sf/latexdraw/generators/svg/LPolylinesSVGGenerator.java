@@ -18,6 +18,7 @@ import net.sf.latexdraw.parsers.svg.SVGLineElement;
 import net.sf.latexdraw.parsers.svg.SVGPathElement;
 import net.sf.latexdraw.parsers.svg.SVGPolyLineElement;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for some joined lines.<br>
@@ -142,8 +143,10 @@ class LPolylinesSVGGenerator extends LModifiablePointsGenerator<IPolyline> {
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_TYPE, LNamespace.XML_TYPE_JOINED_LINES);
 		root.setAttribute(SVGAttributes.SVG_ID, getSVGID());
 
-		for(final IPoint pt : pts)
-			points.append(pt.getX()).append(',').append(pt.getY()).append(' ');
+		for(final IPoint pt : pts) {
+			LNumberFormatter.SVG.append(points, pt.getX()).append(',');
+			LNumberFormatter.SVG.append(points, pt.getY()).append(' ');
+		}
 
 		final String pointsStr = points.toString();
 
@@ -175,7 +178,7 @@ class LPolylinesSVGGenerator extends LModifiablePointsGenerator<IPolyline> {
 		}
 
 		setSVGAttributes(doc, elt, false);
-		elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_ROTATION, String.valueOf(shape.getRotationAngle()));
+		elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_ROTATION, LNumberFormatter.SVG.format(shape.getRotationAngle()));
 
 		setSVGArrow(shape, elt, 0, false, doc, defs);
 		setSVGArrow(shape, elt, shape.getNbArrows()-1, false, doc, defs);
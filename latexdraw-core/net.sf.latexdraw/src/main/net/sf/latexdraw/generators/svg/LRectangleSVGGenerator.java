@@ -11,6 +11,7 @@ import net.sf.latexdraw.parsers.svg.SVGElement;
 import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGRectElement;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for a rectangle.<br>
@@ -104,13 +105,20 @@ class LRectangleSVGGenerator extends LShapeSVGGenerator<IRectangle> {
 			return ;
 
 		setSVGParameters(elt);
+		setSVGRectParameters(elt.getX(), elt.getY(), elt.getWidth(), elt.getHeight(), elt.getRx());
+	}
+
 
-		final double rx	= elt.getRx();
+	/**
+	 * Sets the position, the size and the roundness of the latexdraw rectangle using the values of an SVG rectangle.
+	 * @since 4.0
+	 */
+	protected void setSVGRectParameters(final double x, final double y, final double width, final double height, final double rx) {
 		final double gap= getPositionGap();
 
-		shape.setPosition(elt.getX()+gap/2., elt.getY()+elt.getHeight()-gap/2.);
-		shape.setWidth(elt.getWidth()-gap);
-		shape.setHeight(elt.getHeight()-gap);
+		shape.setPosition(x+gap/2., y+height-gap/2.);
+		shape.setWidth(width-gap);
+		shape.setHeight(height-gap);
 		shape.setLineArc(2.*rx/(min(shape.getHeight(), shape.getWidth())- (shape.hasDbleBord() ? shape.getDbleBordSep()+shape.getThickness() : 0.)));
 	}
 
@@ -180,7 +188,7 @@ class LRectangleSVGGenerator extends LShapeSVGGenerator<IRectangle> {
 			final double add = shape.isDbleBorderable() ? shape.getDbleBordSep() + shape.getThickness() : 0.;
 			final double value = 0.5*(min(shape.getWidth(), shape.getHeight())-add)*shape.getLineArc();
 
-			elt.setAttribute(SVGAttributes.SVG_RX, String.valueOf(value));
+			elt.setAttribute(SVGAttributes.SVG_RX, LNumberFormatter.SVG.format(value));
 		}
 	}
 }
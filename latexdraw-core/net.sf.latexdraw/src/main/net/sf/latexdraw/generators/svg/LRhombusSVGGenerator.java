@@ -15,6 +15,7 @@ import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGPolygonElement;
 import net.sf.latexdraw.parsers.svg.parsers.SVGPointsParser;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines an SVG generator for a polygon.<br>
@@ -103,7 +104,16 @@ class LRhombusSVGGenerator extends LShapeSVGGenerator<IRhombus> {
 	    if(p2.getX()<p3.getX())
 	    	cornerGap2*=-1;
 
-        final String points = String.valueOf(p1.getX()) + ',' + (p1.getY() - cornerGap1) + ' ' + (p2.getX() + cornerGap2) + ',' + p2.getY() + ' ' + p3.getX() + ',' + (p3.getY() + cornerGap1) + ' ' + (tl.getX() - cornerGap2) + ',' + p2.getY();
+        final StringBuilder pointsBuilder = new StringBuilder();
+        LNumberFormatter.SVG.append(pointsBuilder, p1.getX()).append(',');
+        LNumberFormatter.SVG.append(pointsBuilder, p1.getY() - cornerGap1).append(' ');
+        LNumberFormatter.SVG.append(pointsBuilder, p2.getX() + cornerGap2).append(',');
+        LNumberFormatter.SVG.append(pointsBuilder, p2.getY()).append(' ');
+        LNumberFormatter.SVG.append(pointsBuilder, p3.getX()).append(',');
+        LNumberFormatter.SVG.append(pointsBuilder, p3.getY() + cornerGap1).append(' ');
+        LNumberFormatter.SVG.append(pointsBuilder, tl.getX() - cornerGap2).append(',');
+        LNumberFormatter.SVG.append(pointsBuilder, p2.getY());
+        final String points = pointsBuilder.toString();
 
         root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_TYPE, LNamespace.XML_TYPE_RHOMBUS);
         root.setAttribute(SVGAttributes.SVG_ID, getSVGID());
@@ -125,8 +135,16 @@ class LRhombusSVGGenerator extends LShapeSVGGenerator<IRhombus> {
 		elt = new SVGPolygonElement(doc);
 		elt.setAttribute(SVGAttributes.SVG_POINTS, points);
 		root.appendChild(elt);
-		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POINTS, String.valueOf(tl.getX()) + ' ' +
-                tl.getY() + ' ' + br.getX() + ' ' + tl.getY() + ' ' + tl.getX() + ' ' + br.getY() + ' ' + br.getX() + ' ' + br.getY());
+		final StringBuilder ltdPoints = new StringBuilder();
+		LNumberFormatter.SVG.append(ltdPoints, tl.getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPoints, tl.getY()).append(' ');
+		LNumberFormatter.SVG.append(ltdPoints, br.getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPoints, tl.getY()).append(' ');
+		LNumberFormatter.SVG.append(ltdPoints, tl.getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPoints, br.getY()).append(' ');
+		LNumberFormatter.SVG.append(ltdPoints, br.getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPoints, br.getY());
+		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POINTS, ltdPoints.toString());
 
 		if(shape.hasDbleBord()) {
 			final SVGElement dblBord = new SVGPolygonElement(doc);
@@ -18,6 +18,7 @@ import net.sf.latexdraw.parsers.svg.path.SVGPathSegList;
 import net.sf.latexdraw.parsers.svg.path.SVGPathSegMoveto;
 import net.sf.latexdraw.util.LNamespace;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -200,22 +201,31 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 	 * @since 2.0.0
 	 */
 	protected void setSVGShadowParameters(final SVGElement elt) {
-		if(elt==null || !shape.isShadowable())
+		if(elt!=null)
+			setSVGShadowParameters(elt.getFill(), elt.getStroke(), elt.getTransform());
+	}
+
+
+
+	/**
+	 * Sets the shadow parameters of the figure using the values of an element having "type:shadow".
+	 * @param fill The fill of the shadow element.
+	 * @param strok The stroke of the shadow element (may be null).
+	 * @param tl The transformations of the shadow element.
+	 * @since 4.0
+	 */
+	protected void setSVGShadowParameters(final String fill, final Color strok, final SVGTransformList tl) {
+		if(!shape.isShadowable())
 			return ;
 
 		if(shape.isFillable()) {
-			final String fill = elt.getFill();
-
 			if(fill!=null && !fill.equals(SVGAttributes.SVG_VALUE_NONE) && !fill.startsWith(SVG_URL_TOKEN_BEGIN))
 				shape.setShadowCol(CSSColors.INSTANCE.getRGBColour(fill));
 		}else {
-			final Color strok = elt.getStroke();
-
 			if(strok!=null)
 				shape.setShadowCol(strok);
 		}
 
-		final SVGTransformList tl = elt.getTransform();
 		SVGTransform t;
 		double tx;
         double ty;
@@ -275,11 +285,21 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 	 * @since 2.0.0
 	 */
 	protected void setSVGDbleBordersParameters(final SVGElement elt) {
-		if(elt==null)
-			return ;
+		if(elt!=null)
+			setSVGDbleBordersParameters(elt.getStrokeWidth(), elt.getStroke());
+	}
+
+
 
-		shape.setDbleBordSep(elt.getStrokeWidth());
-		shape.setDbleBordCol(elt.getStroke());
+	/**
+	 * Sets the double borders parameters of the figure using the values of an element having "type:dbleborders".
+	 * @param sep The stroke width of the double borders element.
+	 * @param col The stroke of the double borders element.
+	 * @since 4.0
+	 */
+	protected void setSVGDbleBordersParameters(final double sep, final Color col) {
+		shape.setDbleBordSep(sep);
+		shape.setDbleBordCol(col);
 		shape.setThickness((shape.getThickness()-shape.getDbleBordSep())/2.);
 		shape.setHasDbleBord(true);
 	}
@@ -288,15 +308,20 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 
 
 	protected void setSVGLatexdrawParameters(final SVGElement elt) {
-		if(elt==null)
-			return ;
+		if(elt!=null)
+			setSVGLatexdrawParameters(elt.getAttribute(elt.getUsablePrefix(LNamespace.LATEXDRAW_NAMESPACE_URI)+LNamespace.XML_BORDERS_POS));
+	}
 
-		if(shape.isBordersMovable()) {
-			final String bp = elt.getAttribute(elt.getUsablePrefix(LNamespace.LATEXDRAW_NAMESPACE_URI)+LNamespace.XML_BORDERS_POS);
 
-			if(bp!=null)
-				shape.setBordersPosition(BorderPos.getStyle(bp));
-		}
+
+	/**
+	 * Sets the latexdraw parameters of the figure.
+	 * @param bp The value of the latexdraw attribute defining the position of the borders (may be null).
+	 * @since 4.0
+	 */
+	protected void setSVGLatexdrawParameters(final String bp) {
+		if(bp!=null && shape.isBordersMovable())
+			shape.setBordersPosition(BorderPos.getStyle(bp));
 	}
 
 
@@ -473,7 +498,7 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 
 		if(shape.hasDbleBord()) {
 			elt.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(shape.getDbleBordCol(), true));
-			elt.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(shape.getDbleBordSep()));
+			elt.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, LNumberFormatter.SVG.format(shape.getDbleBordSep()));
 			elt.setAttribute(SVGAttributes.SVG_FILL, SVGAttributes.SVG_VALUE_NONE);
 			elt.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_TYPE, LNamespace.XML_TYPE_DBLE_BORDERS);
 		}
@@ -502,7 +527,7 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 			elt.setAttribute(SVGAttributes.SVG_TRANSFORM,
 				SVGTransform.createTranslation(shape.getShadowSize(), 0.) + " " + //$NON-NLS-1$
 				SVGTransform.createTranslation(pt.getX()-gcx-shape.getShadowSize(), pt.getY()-gcy));
-			elt.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(shape.hasDbleBord() ?
+			elt.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, LNumberFormatter.SVG.format(shape.hasDbleBord() ?
 								shape.getThickness()*2+shape.getDbleBordSep() : shape.getThickness()));
 			elt.setAttribute(SVGAttributes.SVG_FILL, shadowFills || shape.isFilled() ? CSSColors.INSTANCE.getColorName(shape.getShadowCol(), true) : SVGAttributes.SVG_VALUE_NONE);
 			elt.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(shape.getShadowCol(), true));
@@ -536,7 +561,7 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 			LShapeSVGGenerator.setThickness(root, shape.getThickness(), shape.hasDbleBord(), shape.getDbleBordSep());
 			root.setStroke(shape.getLineColour());
 			if(shape.getLineColour().getO()<1.0)
-				root.setAttribute(SVGAttributes.SVG_STROKE_OPACITY, String.valueOf((float)LNumber.getCutNumber(shape.getLineColour().getO())));
+				root.setAttribute(SVGAttributes.SVG_STROKE_OPACITY, LNumberFormatter.SVG.format(shape.getLineColour().getO()));
 		}
 
 		// Setting the filling properties.
@@ -544,7 +569,7 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 			if((shape.isFilled() || shape.hasShadow() && shadowFills) && !shape.hasHatchings() && !shape.hasGradient()) {
 				root.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(shape.getFillingCol(), true));
 				if(shape.getFillingCol().getO()<1.0)
-					root.setAttribute(SVGAttributes.SVG_FILL_OPACITY, String.valueOf((float)LNumber.getCutNumber(shape.getFillingCol().getO())));
+					root.setAttribute(SVGAttributes.SVG_FILL_OPACITY, LNumberFormatter.SVG.format(shape.getFillingCol().getO()));
 			}
 			else
 				// Setting the filling colour.
@@ -567,10 +592,10 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 
                             getGradientPoints(p1, p2, true);
 
-		            		grad.setAttribute(SVGAttributes.SVG_X1, String.valueOf(p1.x));
-		            		grad.setAttribute(SVGAttributes.SVG_Y1, String.valueOf(p1.y));
-		            		grad.setAttribute(SVGAttributes.SVG_X2, String.valueOf(p2.x));
-		            		grad.setAttribute(SVGAttributes.SVG_Y2, String.valueOf(p2.y));
+		            		grad.setAttribute(SVGAttributes.SVG_X1, LNumberFormatter.SVG.format(p1.x));
+		            		grad.setAttribute(SVGAttributes.SVG_Y1, LNumberFormatter.SVG.format(p1.y));
+		            		grad.setAttribute(SVGAttributes.SVG_X2, LNumberFormatter.SVG.format(p2.x));
+		            		grad.setAttribute(SVGAttributes.SVG_Y2, LNumberFormatter.SVG.format(p2.y));
 		            		grad.setAttribute(SVGAttributes.SVG_GRADIENT_UNITS, SVGAttributes.SVG_UNITS_VALUE_USR);
 		        		}
 
@@ -583,7 +608,7 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 		        		}
 
 		        		stop = new SVGStopElement(doc);
-		        		stop.setAttribute(SVGAttributes.SVG_OFFSET, String.valueOf(gradMidPt));
+		        		stop.setAttribute(SVGAttributes.SVG_OFFSET, LNumberFormatter.SVG.format(gradMidPt));
 		        		stop.setAttribute(SVGAttributes.SVG_STOP_COLOR, CSSColors.INSTANCE.getColorName(shape.getGradColEnd(), true));
 		        		grad.appendChild(stop);
 
@@ -608,8 +633,8 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 
 		        			root.setAttribute(SVGAttributes.SVG_FILL, SVG_URL_TOKEN_BEGIN + id + ')');
 		        			hatch.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_TYPE, shape.getFillingStyle().getLatexToken());
-		        			hatch.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ROTATION, String.valueOf(shape.getHatchingsAngle()));
-		        			hatch.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_SIZE, String.valueOf(shape.getHatchingsSep()));
+		        			hatch.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_ROTATION, LNumberFormatter.SVG.format(shape.getHatchingsAngle()));
+		        			hatch.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_SIZE, LNumberFormatter.SVG.format(shape.getHatchingsSep()));
 		        			hatch.setAttribute(SVGAttributes.SVG_PATTERN_UNITS, SVGAttributes.SVG_UNITS_VALUE_USR);
 		        			hatch.setAttribute(SVGAttributes.SVG_ID, id);
 		        			hatch.setAttribute(SVGAttributes.SVG_X, "0"); //$NON-NLS-1$
@@ -617,7 +642,7 @@ abstract class LShapeSVGGenerator<S extends IShape> {
 		        			hatch.setAttribute(SVGAttributes.SVG_WIDTH,  String.valueOf((int)max.getX()));
 		        			hatch.setAttribute(SVGAttributes.SVG_HEIGHT, String.valueOf((int)max.getY()));
 		        			gPath.setAttribute(SVGAttributes.SVG_STROKE, CSSColors.INSTANCE.getColorName(shape.getHatchingsCol(), true));
-		        			gPath.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(shape.getHatchingsWidth()));
+		        			gPath.setAttribute(SVGAttributes.SVG_STROKE_WIDTH, LNumberFormatter.SVG.format(shape.getHatchingsWidth()));
 		        			gPath.setAttribute(SVGAttributes.SVG_STROKE_DASHARRAY, SVGAttributes.SVG_VALUE_NONE);
 
 		        			path.setAttribute(SVGAttributes.SVG_D, getSVGHatchingsPath().toString());
@@ -11,6 +11,7 @@ import net.sf.latexdraw.parsers.svg.SVGElement;
 import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGRectElement;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for a square.<br>
@@ -86,12 +87,19 @@ class LSquareSVGGenerator extends LShapeSVGGenerator<ISquare> {
 			return ;
 
 		setSVGParameters(elt);
+		setSVGRectParameters(elt.getX(), elt.getY(), elt.getWidth(), elt.getHeight(), elt.getRx());
+	}
+
 
-		final double rx	= elt.getRx();
+	/**
+	 * Sets the position, the size and the roundness of the latexdraw square using the values of an SVG rectangle.
+	 * @since 4.0
+	 */
+	protected void setSVGRectParameters(final double x, final double y, final double width, final double height, final double rx) {
 		final double gap= getPositionGap();
 
-		shape.setPosition(elt.getX()+gap/2., elt.getY()+elt.getHeight()-gap/2.);
-		shape.setWidth(elt.getWidth()-gap);
+		shape.setPosition(x+gap/2., y+height-gap/2.);
+		shape.setWidth(width-gap);
 		shape.setLineArc(2.*rx/(shape.getWidth() - (shape.hasDbleBord() ? shape.getDbleBordSep()+shape.getThickness() : 0.)));
 	}
 
@@ -160,7 +168,7 @@ class LSquareSVGGenerator extends LShapeSVGGenerator<ISquare> {
 			final double add = shape.isDbleBorderable() ? shape.getDbleBordSep() + shape.getThickness() : 0.;
 			final double value = 0.5*(min(shape.getWidth(), shape.getHeight())-add)*shape.getLineArc();
 
-			elt.setAttribute(SVGAttributes.SVG_RX, String.valueOf(value));
+			elt.setAttribute(SVGAttributes.SVG_RX, LNumberFormatter.SVG.format(value));
 		}
 	}
 }
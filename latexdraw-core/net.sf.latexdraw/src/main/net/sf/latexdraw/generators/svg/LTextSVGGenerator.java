@@ -15,6 +15,7 @@ import net.sf.latexdraw.parsers.svg.SVGElements;
 import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGTextElement;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a SVG generator for a text.<br>
@@ -120,8 +121,8 @@ class LTextSVGGenerator extends LShapeSVGGenerator<IText> {
 		root.setAttribute(SVGAttributes.SVG_FILL, CSSColors.INSTANCE.getColorName(shape.getLineColour(), true));
 		root.setAttribute(ltdPref + LNamespace.XML_POSITION, String.valueOf(shape.getTextPosition().getLatexToken()));
 
-		txt.setAttribute(SVGAttributes.SVG_X, String.valueOf(shape.getX()));
-		txt.setAttribute(SVGAttributes.SVG_Y, String.valueOf(shape.getY()));
+		txt.setAttribute(SVGAttributes.SVG_X, LNumberFormatter.SVG.format(shape.getX()));
+		txt.setAttribute(SVGAttributes.SVG_Y, LNumberFormatter.SVG.format(shape.getY()));
 		txt.appendChild(doc.createTextNode(shape.getText()));
 		root.appendChild(txt);
 
@@ -15,6 +15,7 @@ import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGPolygonElement;
 import net.sf.latexdraw.parsers.svg.parsers.SVGPointsParser;
 import net.sf.latexdraw.util.LNamespace;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines an SVG generator for a triangle.<br>
@@ -118,11 +119,24 @@ class LTriangleSVGGenerator extends LShapeSVGGenerator<ITriangle> {
 	    if(p1y>p2y)
 	    	cornerGap1*=-1;
 
-		final String points = p1x + "," + (p1y - cornerGap1) + " " + //$NON-NLS-1$//$NON-NLS-2$
-						(p2x - cornerGap2) + "," + (p2y + (p1y<p2y ? gap : -gap)) + " " + //$NON-NLS-1$//$NON-NLS-2$
-						(p3x + cornerGap2) + "," + (p2y + (p1y<p2y ? gap : -gap));//$NON-NLS-1$
-	    final String ltdPoints = pt1.getX() + " " + pt1.getY() + " " + shape.getPtAt(1).getX() + " " + shape.getPtAt(1).getY() +//$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
-	    					" " + shape.getPtAt(2).getX() + " " + shape.getPtAt(2).getY() + " " + pt2.getX() + " " + pt2.getY();//$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$
+		final StringBuilder pointsBuilder = new StringBuilder();
+		LNumberFormatter.SVG.append(pointsBuilder, p1x).append(',');
+		LNumberFormatter.SVG.append(pointsBuilder, p1y - cornerGap1).append(' ');
+		LNumberFormatter.SVG.append(pointsBuilder, p2x - cornerGap2).append(',');
+		LNumberFormatter.SVG.append(pointsBuilder, p2y + (p1y<p2y ? gap : -gap)).append(' ');
+		LNumberFormatter.SVG.append(pointsBuilder, p3x + cornerGap2).append(',');
+		LNumberFormatter.SVG.append(pointsBuilder, p2y + (p1y<p2y ? gap : -gap));
+		final String points = pointsBuilder.toString();
+		final StringBuilder ltdPointsBuilder = new StringBuilder();
+		LNumberFormatter.SVG.append(ltdPointsBuilder, pt1.getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPointsBuilder, pt1.getY()).append(' ');
+		LNumberFormatter.SVG.append(ltdPointsBuilder, shape.getPtAt(1).getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPointsBuilder, shape.getPtAt(1).getY()).append(' ');
+		LNumberFormatter.SVG.append(ltdPointsBuilder, shape.getPtAt(2).getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPointsBuilder, shape.getPtAt(2).getY()).append(' ');
+		LNumberFormatter.SVG.append(ltdPointsBuilder, pt2.getX()).append(' ');
+		LNumberFormatter.SVG.append(ltdPointsBuilder, pt2.getY());
+		final String ltdPoints = ltdPointsBuilder.toString();
 
 		if(shape.hasShadow()){
 			final SVGElement shad = new SVGPolygonElement(doc);
@@ -1,5 +1,33 @@
 package net.sf.latexdraw.generators.svg;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGDefsElement;
+import net.sf.latexdraw.parsers.svg.SVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGGElement;
+import net.sf.latexdraw.parsers.svg.SVGSVGElement;
+import net.sf.latexdraw.parsers.svg.SVGStreamWriter;
+import net.sf.latexdraw.util.LNamespace;
+
 /**
  * Defines a generator that creates SVG documents from drawings.<br>
  *<br>
@@ -20,12 +48,199 @@ package net.sf.latexdraw.generators.svg;
  * @version 3.0
  */
 public class SVGDocumentGenerator { //implements ISOpenSaver<LFrame, JLabel> {
-	/** The singleton that allows the save/load latexdraw SVG documents. */
-	public static final SVGDocumentGenerator INSTANCE = new SVGDocumentGenerator();
+	/** The singleton that allows the save/load latexdraw SVG documents. The shapes are converted in the common fork-join pool. */
+	public static final SVGDocumentGenerator INSTANCE = new SVGDocumentGenerator(ForkJoinPool.commonPool());
+
+	/** The number of shapes converted in parallel per thread before being written. */
+	private static final int SHAPES_PER_THREAD = 32;
 
+	/** The threads that convert the shapes or null: the shapes are converted in the current thread. */
+	private final ForkJoinPool pool;
 
-	private SVGDocumentGenerator() {
+
+	/**
+	 * Creates a generator.
+	 * @param pool The threads that convert the shapes into SVG elements in parallel, or null to convert them
+	 * sequentially. Whatever the pool, the generated documents are identical.
+	 * @since 4.0
+	 */
+	public SVGDocumentGenerator(final ForkJoinPool pool) {
 		super();
+		this.pool = pool;
+	}
+
+
+	/**
+	 * Creates the SVG document of the given shapes: the SVG elements of all the shapes are kept in the document.
+	 * @param shapes The shapes to convert.
+	 * @return The SVG document (see SVGDocument.saveSVGDocument).
+	 * @since 4.0
+	 */
+	public SVGDocument toSVG(final List<IShape> shapes) {
+		final SVGDocument doc = new SVGDocument();
+		final SVGGElement g = createSkeleton(doc);
+		final SVGDefsElement defs = doc.getFirstChild().getDefs();
+
+		for(int i=0, size=shapes.size(); i<size; i+=getChunkSize())
+			for(final SVGFragment fragment : generate(shapes.subList(i, Math.min(size, i+getChunkSize())))) {
+				if(fragment.element!=null) {
+					fragment.element.setOwnerDocument(doc);
+					g.appendChild(fragment.element);
+				}
+				for(final SVGElement def : fragment.defs) {
+					def.setOwnerDocument(doc);
+					defs.appendChild(def);
+				}
+			}
+
+		return doc;
+	}
+
+
+	/**
+	 * Saves the given shapes in a latexdraw SVG document, with the markup of toSVG and SVGDocument.saveSVGDocument.
+	 * The SVG document is streamed: the SVG elements of the shapes are written in the file as soon as they are
+	 * created and then dropped, so that neither the whole SVG tree nor the whole text exists in memory.
+	 * Only the definitions (gradients, arrows, etc.), shared by the shapes, are kept until the end of the document.
+	 * The shapes are converted in parallel by chunks and written in their order.<br>
+	 * The document is streamed in a temporary file of the folder of the target that then replaces the target:
+	 * if the conversion of a shape fails, the target is not modified.
+	 * @param shapes The shapes to save.
+	 * @param file The SVG document to create. Replaced if it exists.
+	 * @throws IOException If the document cannot be written.
+	 * @since 4.0
+	 */
+	public void save(final List<IShape> shapes, final File file) throws IOException {
+		final Path target = file.toPath().toAbsolutePath();
+		// A hidden file of the same folder, so that it can be moved atomically over the target.
+		final Path temp = Files.createTempFile(target.getParent(), '.' + target.getFileName().toString() + '-', ".tmp"); //$NON-NLS-1$
+
+		try {
+			copyPermissions(target, temp);
+			write(shapes, temp);
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}catch(final AtomicMoveNotSupportedException ex) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+
+	/** Gives the temporary file the permissions of the document it replaces (temporary files are private). */
+	private static void copyPermissions(final Path target, final Path temp) throws IOException {
+		if(Files.exists(target))
+			try {
+				Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+			}catch(final UnsupportedOperationException ex) {
+				// Not a POSIX file system.
+			}
+	}
+
+
+	/** Streams the SVG document of the given shapes in the given file. */
+	private void write(final List<IShape> shapes, final Path path) throws IOException {
+		final SVGDocument doc = new SVGDocument();
+		final SVGSVGElement root = doc.getFirstChild();
+		final SVGGElement g = createSkeleton(doc);
+		final List<SVGElement> defs = new ArrayList<>();
+
+		try(final FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			final OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+			final SVGStreamWriter writer = new SVGStreamWriter(output, Charset.defaultCharset(), doc.getXmlVersion())) {
+			boolean empty = true;
+
+			writer.writeStartElement(root);
+
+			for(int i=0, size=shapes.size(); i<size; i+=getChunkSize())
+				for(final SVGFragment fragment : generate(shapes.subList(i, Math.min(size, i+getChunkSize())))) {
+					if(fragment.element!=null) {
+						if(empty) {
+							writer.writeStartElement(g);
+							empty = false;
+						}
+						writer.writeNode(fragment.element);
+					}
+					defs.addAll(fragment.defs);
+				}
+
+			if(empty)
+				writer.writeNode(g);
+			else
+				writer.writeEndElement();
+
+			// The definitions are not appended to the defs element of the document: appending is linear in its size.
+			if(defs.isEmpty())
+				writer.writeNode(root.getDefs());
+			else {
+				writer.writeStartElement(root.getDefs());
+				for(final SVGElement def : defs)
+					writer.writeNode(def);
+				writer.writeEndElement();
+			}
+		}
+	}
+
+
+	/** @return The number of shapes converted before being merged into the document. */
+	private int getChunkSize() {
+		return pool==null ? 1 : pool.getParallelism() * SHAPES_PER_THREAD;
+	}
+
+
+	/**
+	 * Converts the given shapes into SVG fragments, in parallel if the generator has a pool.
+	 * @return The fragments in the order of the shapes.
+	 */
+	private List<SVGFragment> generate(final List<IShape> shapes) {
+		if(pool==null || shapes.size()<2)
+			return shapes.stream().map(SVGFragment::new).collect(Collectors.toList());
+
+		final List<ForkJoinTask<SVGFragment>> tasks = shapes.stream().map(sh -> pool.submit(() -> new SVGFragment(sh))).collect(Collectors.toList());
+		return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+	}
+
+
+	/**
+	 * The SVG element of a shape and the definitions it uses. A fragment is generated in its own SVG document so that
+	 * the shapes can be converted concurrently: the IDs of the elements and of the definitions are computed from
+	 * the shapes and not from the document, so the fragments can then be merged in any document.
+	 */
+	private static final class SVGFragment {
+		/** The SVG element of the shape or null if the shape is not supported. */
+		final SVGElement element;
+
+		/** The definitions added by the generator of the shape, in their order. */
+		final List<SVGElement> defs;
+
+		SVGFragment(final IShape shape) {
+			final SVGDocument doc = new SVGDocument();
+			final SVGDefsElement fragmentDefs = new SVGDefsElement(doc);
+			doc.getFirstChild().appendChild(fragmentDefs);
+			element = SVGShapesFactory.INSTANCE.createSVGElement(shape, doc);
+			defs = new ArrayList<>();
+			for(int i=0, size=fragmentDefs.getChildNodes().getLength(); i<size; i++)
+				defs.add((SVGElement)fragmentDefs.getChildNodes().item(i));
+		}
+	}
+
+
+	/**
+	 * Adds to the root of the given document its attributes, the group of the shapes, and the definitions.
+	 * @return The group that contains the shapes.
+	 */
+	private static SVGGElement createSkeleton(final SVGDocument doc) {
+		final SVGSVGElement root = doc.getFirstChild();
+		final SVGGElement g = new SVGGElement(doc);
+
+		root.appendChild(g);
+		root.appendChild(new SVGDefsElement(doc));
+		root.setAttribute("xmlns:"+LNamespace.LATEXDRAW_NAMESPACE, LNamespace.LATEXDRAW_NAMESPACE_URI);//$NON-NLS-1$
+		root.setAttribute(SVGAttributes.SVG_VERSION, "1.1");//$NON-NLS-1$
+		root.setAttribute("baseProfile", "full");//$NON-NLS-1$ //$NON-NLS-2$
+		return g;
 	}
 
 
@@ -4,6 +4,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IAxes;
 import net.sf.latexdraw.glib.models.interfaces.shape.IBezierCurve;
 import net.sf.latexdraw.glib.models.interfaces.shape.ICircle;
 import net.sf.latexdraw.glib.models.interfaces.shape.ICircleArc;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IDot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IEllipse;
 import net.sf.latexdraw.glib.models.interfaces.shape.IFreehand;
@@ -62,6 +63,7 @@ public final class SVGShapesFactory {
 	public SVGElement createSVGElement(final IShape shape, final SVGDocument doc) {
 		if(shape instanceof IGroup) return new LGroupSVGGenerator((IGroup)shape).toSVG(doc);
 		if(shape instanceof IPlot) return new LPlotSVGGenerator((IPlot)shape).toSVG(doc);
+		if(shape instanceof IDataPlot) return new LDataPlotSVGGenerator((IDataPlot)shape).toSVG(doc);
 		if(shape instanceof ISquare) return new LSquareSVGGenerator((ISquare)shape).toSVG(doc);
 		if(shape instanceof IRectangle) return new LRectangleSVGGenerator((IRectangle)shape).toSVG(doc);
 		if(shape instanceof IText) return new LTextSVGGenerator((IText)shape).toSVG(doc);
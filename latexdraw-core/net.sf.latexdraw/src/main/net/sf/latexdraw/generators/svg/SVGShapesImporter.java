@@ -0,0 +1,267 @@
+package net.sf.latexdraw.generators.svg;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.parsers.svg.MalformedSVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGDefsElement;
+import net.sf.latexdraw.parsers.svg.SVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGElements;
+import net.sf.latexdraw.parsers.svg.SVGSVGElement;
+import net.sf.latexdraw.parsers.svg.SVGStreamReader;
+import net.sf.latexdraw.util.LNamespace;
+
+/**
+ * Imports the shapes of SVG documents while the document is streamed.<br>
+ * The latexdraw g elements whose type is supported by SVGStreamedShapeFactory are converted straight from
+ * the attributes read in the stream: no SVG element is created for them. Groups of latexdraw shapes are
+ * read the same way. The other elements (foreign SVG, other latexdraw types) are created as SVG elements
+ * one at a time and converted using IShapeSVGFactory; the elements converted into shapes are then released.
+ * Since the shapes may refer to the defs of the document, the elements met before the defs are converted
+ * once the whole document has been read.<br>
+ * The g elements of the root that only gather shapes (layers) are transparent: their shapes are imported.<br>
+ *<br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-05<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public final class SVGShapesImporter {
+	/** The singleton. */
+	public static final SVGShapesImporter INSTANCE = new SVGShapesImporter();
+
+
+	private SVGShapesImporter() {
+		super();
+	}
+
+
+	/**
+	 * Imports the shapes of the given SVG document.
+	 * @param uri The location of the SVG document.
+	 * @param shapes The group that will contain the imported shapes (in the order of the document).
+	 * @return The read SVG document: its root, defs and the elements that are not shapes (the elements of the shapes are not kept).
+	 * @throws MalformedSVGDocument If the document is not valid.
+	 * @throws IOException If the document cannot be read.
+	 */
+	public SVGDocument importShapes(final URI uri, final IGroup shapes) throws MalformedSVGDocument, IOException {
+		final SVGDocument doc = new SVGDocument();
+
+		try(InputStream input = new BufferedInputStream(new FileInputStream(uri.getPath()))) {
+			final XMLStreamReader reader = SVGStreamReader.createXMLStreamReader(input);
+
+			try {
+				final SVGStreamReader svgReader = new SVGStreamReader(doc);
+				final SVGSVGElement root = svgReader.readRoot(reader);
+
+				if(root==null)
+					throw new MalformedSVGDocument();
+
+				new ShapesReader(reader, svgReader, root).read(shapes);
+			}finally {
+				reader.close();
+			}
+		}catch(final XMLStreamException e) {
+			BadaboomCollector.INSTANCE.add(e);
+			throw new MalformedSVGDocument();
+		}
+
+		return doc;
+	}
+
+
+	/**
+	 * Converts the given SVG element into a shape. The element is released if it is converted.
+	 */
+	private static IShape createShape(final SVGElement elt, final SVGElement parent) {
+		final IShape sh = IShapeSVGFactory.INSTANCE.createShape(elt);
+		if(sh!=null)
+			parent.removeChild(elt);
+		return sh;
+	}
+
+
+	/**
+	 * The state of the import of one document.
+	 */
+	private static final class ShapesReader {
+		final XMLStreamReader reader;
+		final SVGStreamReader svgReader;
+		final SVGSVGElement root;
+		/** The elements read before the defs of the document: they are converted at the end. */
+		final List<PendingElement> pending;
+		boolean defsRead;
+
+		ShapesReader(final XMLStreamReader reader, final SVGStreamReader svgReader, final SVGSVGElement root) {
+			super();
+			this.reader = reader;
+			this.svgReader = svgReader;
+			this.root = root;
+			pending = new ArrayList<>();
+			defsRead = false;
+		}
+
+
+		void read(final IGroup shapes) throws XMLStreamException {
+			readChildren(root, shapes);
+
+			// The index of a pending element supposes that all the previous pending elements are shapes.
+			int nbNotShapes = 0;
+
+			for(final PendingElement elt : pending) {
+				final int size = shapes.size();
+				shapes.addShape(createShape(elt.element, elt.parent), elt.index-nbNotShapes);
+				if(shapes.size()==size)
+					nbNotShapes++;
+			}
+		}
+
+
+		/**
+		 * Reads the children of the given element up to its end tag.
+		 * @return The number of SVG elements read.
+		 */
+		int readChildren(final SVGElement parent, final IGroup shapes) throws XMLStreamException {
+			int nbElements = 0;
+
+			while(reader.hasNext())
+				switch(reader.next()) {
+					case XMLStreamConstants.START_ELEMENT:
+						if(readElement(parent, shapes))
+							nbElements++;
+						break;
+					case XMLStreamConstants.END_ELEMENT:
+						return nbElements;
+					default:
+						break;
+				}
+
+			return nbElements;
+		}
+
+
+		/**
+		 * Reads the element on which the reader is placed and adds its shape (if any) to the given group.
+		 * @return True if the element is an SVG element.
+		 */
+		boolean readElement(final SVGElement parent, final IGroup shapes) throws XMLStreamException {
+			final String name = SVGStreamReader.getName(reader);
+
+			if(SVGElements.SVG_G.equals(name) || name.endsWith(':'+SVGElements.SVG_G)) {
+				final SVGStreamedElement tag = new SVGStreamedElement(reader, null, parent);
+				final String type = tag.getType();
+
+				if(parent==root && (type==null || type.isEmpty()) && tag.getTransform()==null)
+					return readLayer(parent, shapes);
+
+				if(defsRead && SVGStreamedShapeFactory.INSTANCE.isSupported(type)) {
+					shapes.addShape(SVGStreamedShapeFactory.INSTANCE.createShape(reader, tag, root));
+					return true;
+				}
+
+				if(defsRead && LNamespace.XML_TYPE_GROUP.equals(type))
+					return readGroup(parent, shapes);
+			}
+
+			final SVGElement elt = svgReader.readElement(reader, parent);
+
+			if(elt==null)
+				return false;
+
+			if(elt instanceof SVGDefsElement) {
+				defsRead = defsRead || parent==root;
+				return true;
+			}
+
+			if(defsRead)
+				shapes.addShape(createShape(elt, parent));
+			else
+				pending.add(new PendingElement(elt, parent, shapes.size()+pending.size()));
+
+			return true;
+		}
+
+
+		/**
+		 * Reads the shapes of a layer: they are added to the given group.
+		 */
+		boolean readLayer(final SVGElement parent, final IGroup shapes) throws XMLStreamException {
+			final SVGElement layer = svgReader.readStartElement(reader, parent);
+
+			if(layer==null) {
+				SVGStreamReader.skipElement(reader);
+				return false;
+			}
+
+			readChildren(layer, shapes);
+			return true;
+		}
+
+
+		/**
+		 * Reads a group of latexdraw shapes as IShapeSVGFactory and LGroupSVGGenerator do.
+		 */
+		boolean readGroup(final SVGElement parent, final IGroup shapes) throws XMLStreamException {
+			final SVGElement g = svgReader.readStartElement(reader, parent);
+
+			if(g==null) {
+				SVGStreamReader.skipElement(reader);
+				return false;
+			}
+
+			final IGroup group = ShapeFactory.createGroup();
+			final int nbElements = readChildren(g, group);
+			parent.removeChild(g);
+
+			if(nbElements==1) {
+				if(!group.isEmpty())
+					shapes.addShape(group.getShapeAt(0));
+			}else if(nbElements>1)
+				shapes.addShape(group);
+
+			return true;
+		}
+	}
+
+
+	/**
+	 * An element read before the defs of the document and its future index in the imported shapes.
+	 */
+	private static final class PendingElement {
+		final SVGElement element;
+		final SVGElement parent;
+		final int index;
+
+		PendingElement(final SVGElement element, final SVGElement parent, final int index) {
+			super();
+			this.element = element;
+			this.parent = parent;
+			this.index = index;
+		}
+	}
+}
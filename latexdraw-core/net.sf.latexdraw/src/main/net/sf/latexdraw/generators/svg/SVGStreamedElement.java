@@ -0,0 +1,291 @@
+package net.sf.latexdraw.generators.svg;
+
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamReader;
+
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.glib.models.interfaces.shape.Color;
+import net.sf.latexdraw.parsers.svg.CSSColors;
+import net.sf.latexdraw.parsers.svg.CSSStyleList;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGStreamReader;
+import net.sf.latexdraw.parsers.svg.SVGTransformList;
+import net.sf.latexdraw.parsers.svg.parsers.CSSStyleParser;
+import net.sf.latexdraw.parsers.svg.parsers.SVGLengthParser;
+import net.sf.latexdraw.util.LNamespace;
+
+/**
+ * The tag of an element of an SVG stream: its attributes are read once from the stream into a map.
+ * Contrary to an SVG element, it has no child and is not part of a tree: it only knows its parent tag
+ * (or, for the top tag, the SVG element that contains it) to get the inherited presentation attributes
+ * as SVGElement does.<br>
+ *<br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-12<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+final class SVGStreamedElement {
+	/** The name of the tag with its prefix. */
+	private final String name;
+
+	/** The SVG prefix of the tag followed by ':' or an empty string. */
+	private final String prefix;
+
+	/** The latexdraw prefix usable in the tag followed by ':' or an empty string. */
+	private final String ltdPrefix;
+
+	/** The attributes of the tag by name. */
+	private final Map<String, String> attributes;
+
+	/** The parsed style attribute (may be null). */
+	private final CSSStyleList stylesCSS;
+
+	/** The parsed transform attribute (may be null). */
+	private final SVGTransformList transform;
+
+	/** The parent tag (may be null). */
+	private final SVGStreamedElement parent;
+
+	/** The SVG element that contains the tag, used when the tag has no parent tag (may be null). */
+	private final SVGElement context;
+
+
+	/**
+	 * Reads the tag on which the given reader is placed.
+	 * @param reader The reader placed on a start tag.
+	 * @param parentTag The parent tag or null.
+	 * @param parentElt The SVG element that contains the tag when it has no parent tag.
+	 */
+	SVGStreamedElement(final XMLStreamReader reader, final SVGStreamedElement parentTag, final SVGElement parentElt) {
+		super();
+		final int size = reader.getAttributeCount();
+		String ltdPref = null;
+
+		parent 	= parentTag;
+		context = parentTag==null ? parentElt : null;
+		name 	= SVGStreamReader.getName(reader);
+		attributes = new HashMap<>(size*2);
+
+		for(int i=0; i<size; i++) {
+			final String attrName = SVGStreamReader.getAttributeName(reader, i);
+			final String value = reader.getAttributeValue(i);
+			attributes.put(attrName, value);
+
+			if(attrName.startsWith("xmlns:") && LNamespace.LATEXDRAW_NAMESPACE_URI.equals(value)) //$NON-NLS-1$
+				ltdPref = attrName.substring(6) + ':';
+		}
+
+		final int index = name.indexOf(':');
+		prefix = index==-1 ? "" : name.substring(0, index+1); //$NON-NLS-1$
+
+		if(ltdPref!=null)
+			ltdPrefix = ltdPref;
+		else if(parent!=null)
+			ltdPrefix = parent.ltdPrefix;
+		else
+			ltdPrefix = context==null ? "" : context.lookupPrefixUsable(LNamespace.LATEXDRAW_NAMESPACE_URI); //$NON-NLS-1$
+
+		final String style = getAttribute(prefix+SVGAttributes.SVG_STYLE);
+
+		if(style==null)
+			stylesCSS = null;
+		else {
+			stylesCSS = new CSSStyleList();
+			try { new CSSStyleParser(style, stylesCSS).parse(); }
+			catch(final ParseException e) { BadaboomCollector.INSTANCE.add(e); }
+		}
+
+		final String trans = getAttribute(prefix+SVGAttributes.SVG_TRANSFORM);
+		transform = trans==null ? null : new SVGTransformList(trans);
+	}
+
+
+	/**
+	 * @return The name of the tag without its prefix.
+	 */
+	String getLocalName() {
+		return name.substring(prefix.length());
+	}
+
+
+	/**
+	 * @return The prefix of the tag followed by ':' or an empty string.
+	 * @see SVGElement#getUsablePrefix()
+	 */
+	String getUsablePrefix() {
+		return prefix;
+	}
+
+
+	/**
+	 * @param attrName The name of an attribute (with its prefix, if any).
+	 * @return The value of the attribute or null.
+	 */
+	String getAttribute(final String attrName) {
+		return attributes.get(attrName);
+	}
+
+
+	/**
+	 * @param attrName The name of a latexdraw attribute (without prefix).
+	 * @return The value of the attribute or null.
+	 */
+	String getLatexdrawAttribute(final String attrName) {
+		return attributes.get(ltdPrefix + attrName);
+	}
+
+
+	/**
+	 * @return The latexdraw type of the tag or null.
+	 */
+	String getType() {
+		return getLatexdrawAttribute(LNamespace.XML_TYPE);
+	}
+
+
+	/**
+	 * @see SVGElement#getSVGAttribute(String, String)
+	 */
+	String getSVGAttribute(final String attrName) {
+		final String value = getAttribute(prefix+attrName);
+		return value==null && stylesCSS!=null ? stylesCSS.get(attrName) : value;
+	}
+
+
+	/**
+	 * @return The parsed style attribute (may be null).
+	 */
+	CSSStyleList getStylesCSS() {
+		return stylesCSS;
+	}
+
+
+	/**
+	 * @return The transformations of the tag (may be null).
+	 */
+	SVGTransformList getTransform() {
+		return transform;
+	}
+
+
+	/**
+	 * @return The transformations of the parents of the tag followed by its transformations.
+	 * @see SVGElement#getWholeTransform()
+	 */
+	SVGTransformList getWholeTransform() {
+		final SVGTransformList tl;
+
+		if(parent!=null)
+			tl = parent.getWholeTransform();
+		else
+			tl = context==null ? new SVGTransformList() : context.getWholeTransform();
+
+		if(transform!=null)
+			tl.addAll(transform);
+
+		return tl;
+	}
+
+
+	/**
+	 * @param attrName The name of a coordinate attribute (without prefix).
+	 * @return The value of the coordinate or 0.
+	 */
+	double getCoordinate(final String attrName) {
+		final String v = getAttribute(prefix+attrName);
+
+		try { return v==null ? 0. : new SVGLengthParser(v).parseCoordinate().getValue(); }
+		catch(final ParseException e) { return 0.; }
+	}
+
+
+	/**
+	 * @param attrName The name of a length attribute (without prefix).
+	 * @param defaultValue The value returned when the attribute is not defined or not valid.
+	 * @return The value of the length.
+	 */
+	double getLength(final String attrName, final double defaultValue) {
+		final String v = getAttribute(prefix+attrName);
+
+		try { return v==null ? defaultValue : new SVGLengthParser(v).parseLength().getValue(); }
+		catch(final ParseException e) { return defaultValue; }
+	}
+
+
+	/**
+	 * @see SVGElement#getStrokeWidth()
+	 */
+	double getStrokeWidth() {
+		final String swStr = getSVGAttribute(SVGAttributes.SVG_STROKE_WIDTH);
+
+		if(swStr==null)
+			return parent!=null ? parent.getStrokeWidth() : context==null ? 1. : context.getStrokeWidth();
+
+		try { return new SVGLengthParser(swStr).parseLength().getValue(); }
+		catch(final ParseException e) { return 1.; }
+	}
+
+
+	/**
+	 * @see SVGElement#getStrokeDasharray()
+	 */
+	String getStrokeDasharray() {
+		final String da = getSVGAttribute(SVGAttributes.SVG_STROKE_DASHARRAY);
+
+		if(da!=null)
+			return da;
+		return parent!=null ? parent.getStrokeDasharray() : context==null ? SVGAttributes.SVG_VALUE_NONE : context.getStrokeDasharray();
+	}
+
+
+	/**
+	 * @see SVGElement#getStrokeLinecap()
+	 */
+	String getStrokeLinecap() {
+		final String linecap = getSVGAttribute(SVGAttributes.SVG_STROKE_LINECAP);
+
+		if(linecap!=null)
+			return linecap;
+		return parent!=null ? parent.getStrokeLinecap() : context==null ? SVGAttributes.SVG_LINECAP_VALUE_BUTT : context.getStrokeLinecap();
+	}
+
+
+	/**
+	 * @see SVGElement#getFill()
+	 */
+	String getFill() {
+		final String fill = getSVGAttribute(SVGAttributes.SVG_FILL);
+
+		if(fill!=null)
+			return fill;
+		return parent!=null ? parent.getFill() : context==null ? CSSColors.CSS_BLACK_NAME : context.getFill();
+	}
+
+
+	/**
+	 * @see SVGElement#getStroke()
+	 */
+	Color getStroke() {
+		final String stroke = getSVGAttribute(SVGAttributes.SVG_STROKE);
+
+		if(stroke!=null)
+			return CSSColors.INSTANCE.getRGBColour(stroke);
+		return parent!=null ? parent.getStroke() : context==null ? null : context.getStroke();
+	}
+}
@@ -0,0 +1,325 @@
+package net.sf.latexdraw.generators.svg;
+
+import java.awt.geom.Point2D;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.Color;
+import net.sf.latexdraw.glib.models.interfaces.shape.IArrow;
+import net.sf.latexdraw.glib.models.interfaces.shape.IModifiablePointsShape;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGElements;
+import net.sf.latexdraw.parsers.svg.SVGSVGElement;
+import net.sf.latexdraw.parsers.svg.SVGStreamReader;
+import net.sf.latexdraw.parsers.svg.SVGTransformList;
+import net.sf.latexdraw.parsers.svg.parsers.SVGPointsParser;
+import net.sf.latexdraw.util.LNamespace;
+
+/**
+ * Creates latexdraw shapes from the g elements of an SVG stream, without creating any SVG element:
+ * the attributes of the g tag and of its children are read from the stream and mapped to the shape.
+ * Only the latexdraw types given by isSupported are mapped; the other elements must be converted
+ * with IShapeSVGFactory. The format logic (gaps, shadows, double borders, arrows) is shared with the
+ * SVG generators.<br>
+ *<br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-12<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+final class SVGStreamedShapeFactory {
+	/** The singleton. */
+	public static final SVGStreamedShapeFactory INSTANCE = new SVGStreamedShapeFactory();
+
+
+	private SVGStreamedShapeFactory() {
+		super();
+	}
+
+
+	/**
+	 * @param type A latexdraw type of shape.
+	 * @return True if the shapes of this type can be created from the stream.
+	 */
+	boolean isSupported(final String type) {
+		if(type==null)
+			return false;
+
+		switch(type) {
+			case LNamespace.XML_TYPE_RECT:
+			case LNamespace.XML_TYPE_SQUARE:
+			case LNamespace.XML_TYPE_ELLIPSE:
+			case LNamespace.XML_TYPE_CIRCLE:
+			case LNamespace.XML_TYPE_POLYGON:
+			case LNamespace.XML_TYPE_LINE:
+			case LNamespace.XML_TYPE_JOINED_LINES:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+
+	/**
+	 * Creates the shape of the latexdraw g tag on which the given reader is placed.
+	 * @param reader The reader placed on the start tag of the g element. It is then placed on its end tag.
+	 * @param g The attributes of the g tag (its type must be supported).
+	 * @param root The root of the SVG document: its defs must have been read.
+	 * @return The created shape or null if the element is not valid.
+	 * @throws XMLStreamException If the stream is not a valid XML document.
+	 */
+	IShape createShape(final XMLStreamReader reader, final SVGStreamedElement g, final SVGSVGElement root) throws XMLStreamException {
+		SVGStreamedElement main = null;
+		SVGStreamedElement shadow = null;
+		SVGStreamedElement dbleBorders = null;
+		boolean end = false;
+
+		// As getLaTeXDrawElement does, the first untyped child is the main element.
+		while(!end && reader.hasNext())
+			switch(reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					final SVGStreamedElement child = new SVGStreamedElement(reader, g, null);
+					final String type = child.getType();
+					SVGStreamReader.skipElement(reader);
+
+					if(type==null) {
+						if(main==null)
+							main = child;
+					}else if(shadow==null && LNamespace.XML_TYPE_SHADOW.equals(type))
+						shadow = child;
+					else if(dbleBorders==null && LNamespace.XML_TYPE_DBLE_BORDERS.equals(type))
+						dbleBorders = child;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					end = true;
+					break;
+				default:
+					break;
+			}
+
+		try {
+			if(main==null)
+				throw new IllegalArgumentException();
+
+			switch(g.getType()) {
+				case LNamespace.XML_TYPE_RECT: return createRectangle(new LRectangleSVGGenerator(ShapeFactory.createRectangle()), g, main, shadow, dbleBorders, root);
+				case LNamespace.XML_TYPE_SQUARE: return createRectangle(new LSquareSVGGenerator(ShapeFactory.createSquare()), g, main, shadow, dbleBorders, root);
+				case LNamespace.XML_TYPE_ELLIPSE: return createEllipse(g, main, shadow, dbleBorders, root);
+				case LNamespace.XML_TYPE_CIRCLE: return createCircle(g, main, shadow, dbleBorders, root);
+				case LNamespace.XML_TYPE_POLYGON: return createPolygon(g, main, shadow, dbleBorders, root);
+				default: return createPolyline(g, main, shadow, dbleBorders, root);
+			}
+		}
+		catch(final Exception ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		return null;
+	}
+
+
+	/**
+	 * Creates a rectangle or a square as LRectangleSVGGenerator.initRectangle and LSquareSVGGenerator.initRectangle do.
+	 */
+	private IShape createRectangle(final LShapeSVGGenerator<?> gen, final SVGStreamedElement g, final SVGStreamedElement main,
+								final SVGStreamedElement shadow, final SVGStreamedElement dbleBorders, final SVGSVGElement root) {
+		final double width = main.getLength(SVGAttributes.SVG_WIDTH, Double.NaN);
+		final double height = main.getLength(SVGAttributes.SVG_HEIGHT, Double.NaN);
+		final double rx = main.getLength(SVGAttributes.SVG_RX, 0.);
+
+		// The checks of SVGRectElement.
+		if(!SVGElements.SVG_RECT.equals(main.getLocalName()) || Double.isNaN(width) || Double.isNaN(height) ||
+			width<0. || height<0. || rx<0. || main.getLength(SVGAttributes.SVG_RY, 0.)<0.)
+			throw new IllegalArgumentException();
+
+		gen.setSVGLatexdrawParameters(g.getLatexdrawAttribute(LNamespace.XML_BORDERS_POS));
+		setParameters(gen, main, root);
+
+		if(gen instanceof LSquareSVGGenerator)
+			((LSquareSVGGenerator)gen).setSVGRectParameters(main.getCoordinate(SVGAttributes.SVG_X), main.getCoordinate(SVGAttributes.SVG_Y), width, height, rx);
+		else
+			((LRectangleSVGGenerator)gen).setSVGRectParameters(main.getCoordinate(SVGAttributes.SVG_X), main.getCoordinate(SVGAttributes.SVG_Y), width, height, rx);
+
+		setShadowParameters(gen, shadow);
+		setDbleBordersParameters(gen, dbleBorders);
+		applyTransformations(gen, g);
+		return gen.getShape();
+	}
+
+
+	/**
+	 * Creates an ellipse as LEllipseSVGGenerator(SVGGElement, boolean) does.
+	 */
+	private IShape createEllipse(final SVGStreamedElement g, final SVGStreamedElement main, final SVGStreamedElement shadow,
+								final SVGStreamedElement dbleBorders, final SVGSVGElement root) {
+		final LEllipseSVGGenerator gen = new LEllipseSVGGenerator(ShapeFactory.createEllipse());
+		final double rx = main.getLength(SVGAttributes.SVG_RX, Double.NaN);
+		final double ry = main.getLength(SVGAttributes.SVG_RY, Double.NaN);
+
+		// The checks of SVGEllipseElement.
+		if(!SVGElements.SVG_ELLIPSE.equals(main.getLocalName()) || Double.isNaN(rx) || Double.isNaN(ry) || rx<0. || ry<0.)
+			throw new IllegalArgumentException();
+
+		gen.setSVGLatexdrawParameters(g.getLatexdrawAttribute(LNamespace.XML_BORDERS_POS));
+		setParameters(gen, main, root);
+		gen.setEllipseParameters(main.getCoordinate(SVGAttributes.SVG_CX), main.getCoordinate(SVGAttributes.SVG_CY), rx, ry, gen.getPositionGap());
+		setShadowParameters(gen, shadow);
+		setDbleBordersParameters(gen, dbleBorders);
+		applyTransformations(gen, g);
+		return gen.getShape();
+	}
+
+
+	/**
+	 * Creates a circle as LCircleSVGGenerator(SVGGElement, boolean) does.
+	 */
+	private IShape createCircle(final SVGStreamedElement g, final SVGStreamedElement main, final SVGStreamedElement shadow,
+								final SVGStreamedElement dbleBorders, final SVGSVGElement root) {
+		final LCircleSVGGenerator gen = new LCircleSVGGenerator(ShapeFactory.createCircle());
+		final double r = main.getLength(SVGAttributes.SVG_R, Double.NaN);
+
+		// The checks of SVGCircleElement.
+		if(!SVGElements.SVG_CIRCLE.equals(main.getLocalName()) || Double.isNaN(r) || r<0.)
+			throw new IllegalArgumentException();
+
+		gen.setSVGLatexdrawParameters(g.getLatexdrawAttribute(LNamespace.XML_BORDERS_POS));
+		setParameters(gen, main, root);
+		setShadowParameters(gen, shadow);
+		setDbleBordersParameters(gen, dbleBorders);
+		gen.setCircleParameters(main.getCoordinate(SVGAttributes.SVG_CX), main.getCoordinate(SVGAttributes.SVG_CY), r, gen.getPositionGap());
+		applyTransformations(gen, g);
+		return gen.getShape();
+	}
+
+
+	/**
+	 * Creates a polygon as LPolygonSVGGenerator(SVGGElement, boolean) does.
+	 */
+	private IShape createPolygon(final SVGStreamedElement g, final SVGStreamedElement main, final SVGStreamedElement shadow,
+								final SVGStreamedElement dbleBorders, final SVGSVGElement root) {
+		final LPolygonSVGGenerator gen = new LPolygonSVGGenerator(ShapeFactory.createPolygon());
+
+		if(!SVGElements.SVG_POLYGON.equals(main.getLocalName()))
+			throw new IllegalArgumentException();
+
+		gen.setSVGLatexdrawParameters(g.getLatexdrawAttribute(LNamespace.XML_BORDERS_POS));
+		setParameters(gen, main, root);
+		addPoints(gen.getShape(), main);
+		setShadowParameters(gen, shadow);
+		setDbleBordersParameters(gen, dbleBorders);
+		applyTransformations(gen, g);
+		return gen.getShape();
+	}
+
+
+	/**
+	 * Creates a line or joined lines as LPolylinesSVGGenerator(SVGGElement, boolean) does.
+	 */
+	private IShape createPolyline(final SVGStreamedElement g, final SVGStreamedElement main, final SVGStreamedElement shadow,
+								final SVGStreamedElement dbleBorders, final SVGSVGElement root) {
+		final LPolylinesSVGGenerator gen = new LPolylinesSVGGenerator(ShapeFactory.createPolyline());
+
+		if(SVGElements.SVG_POLY_LINE.equals(main.getLocalName()))
+			addPoints(gen.getShape(), main);
+		else if(SVGElements.SVG_LINE.equals(main.getLocalName())) {
+			gen.getShape().addPoint(ShapeFactory.createPoint(main.getCoordinate(SVGAttributes.SVG_X1), main.getCoordinate(SVGAttributes.SVG_Y1)));
+			gen.getShape().addPoint(ShapeFactory.createPoint(main.getCoordinate(SVGAttributes.SVG_X2), main.getCoordinate(SVGAttributes.SVG_Y2)));
+		}else
+			throw new IllegalArgumentException();
+
+		setParameters(gen, main, root);
+		gen.setSVGLatexdrawParameters(g.getLatexdrawAttribute(LNamespace.XML_BORDERS_POS));
+		setShadowParameters(gen, shadow);
+		setDbleBordersParameters(gen, dbleBorders);
+
+		final IArrow arrow1 = gen.getShape().getArrowAt(0);
+		final IArrow arrow2 = gen.getShape().getArrowAt(-1);
+		gen.setSVGArrow(arrow1, main.getAttribute(main.getUsablePrefix()+SVGAttributes.SVG_MARKER_START), root, SVGAttributes.SVG_MARKER_START);
+		gen.setSVGArrow(arrow2, main.getAttribute(main.getUsablePrefix()+SVGAttributes.SVG_MARKER_END), root, SVGAttributes.SVG_MARKER_END);
+		gen.homogeniseArrows(arrow1, arrow2);
+		applyTransformations(gen, g);
+		return gen.getShape();
+	}
+
+
+	/**
+	 * Adds the points of the given polyline or polygon tag to the shape.
+	 * @throws IllegalArgumentException If the points are not valid.
+	 */
+	private static void addPoints(final IModifiablePointsShape shape, final SVGStreamedElement elt) {
+		final String points = elt.getAttribute(elt.getUsablePrefix()+SVGAttributes.SVG_POINTS);
+		final List<Point2D> pts = points==null ? null : SVGPointsParser.getPoints(points);
+
+		if(pts==null)
+			throw new IllegalArgumentException();
+
+		for(final Point2D pt : pts)
+			shape.addPoint(pt.getX(), pt.getY());
+	}
+
+
+	/**
+	 * Sets the global parameters of the shape as LShapeSVGGenerator.setSVGParameters does.
+	 */
+	private static void setParameters(final LShapeSVGGenerator<?> gen, final SVGStreamedElement elt, final SVGSVGElement root) {
+		final IShape shape = gen.getShape();
+
+		if(shape.isThicknessable())
+			shape.setThickness(elt.getStrokeWidth());
+
+		gen.setSVGLatexdrawParameters(elt.getLatexdrawAttribute(LNamespace.XML_BORDERS_POS));
+		shape.setLineColour(elt.getStroke());
+
+		final String opacityStr = elt.getAttribute(SVGAttributes.SVG_STROKE_OPACITY);
+		final Color lineCol = shape.getLineColour();
+		if(opacityStr!=null)
+			try { shape.setLineColour(ShapeFactory.createColor(lineCol.getR(), lineCol.getG(), lineCol.getB(), Double.valueOf(opacityStr)));}
+			catch(final NumberFormatException ex) { BadaboomCollector.INSTANCE.add(ex); }
+
+		if(shape.isLineStylable())
+			LShapeSVGGenerator.setDashedDotted(shape, elt.getStrokeDasharray(), elt.getStrokeLinecap());
+
+		if(shape.isFillable())
+			LShapeSVGGenerator.setFill(shape, elt.getFill(), elt.getAttribute(SVGAttributes.SVG_FILL_OPACITY), root.getDefs());
+
+		CSSStylesGenerator.INSTANCE.setCSSStyles(shape, elt.getStylesCSS(), root.getDefs());
+	}
+
+
+	private static void setShadowParameters(final LShapeSVGGenerator<?> gen, final SVGStreamedElement shadow) {
+		if(shadow!=null)
+			gen.setSVGShadowParameters(shadow.getFill(), shadow.getStroke(), shadow.getTransform());
+	}
+
+
+	private static void setDbleBordersParameters(final LShapeSVGGenerator<?> gen, final SVGStreamedElement dbleBorders) {
+		if(dbleBorders!=null)
+			gen.setSVGDbleBordersParameters(dbleBorders.getStrokeWidth(), dbleBorders.getStroke());
+	}
+
+
+	/**
+	 * Applies the transformations of the g tag and of the elements that contain it, as LShapeSVGGenerator.applyTransformations does.
+	 */
+	private static void applyTransformations(final LShapeSVGGenerator<?> gen, final SVGStreamedElement g) {
+		final SVGTransformList tl = g.getWholeTransform();
+
+		for(int i = tl.size()-1; i>=0; i--)
+			gen.applyTransformation(tl.get(i));
+	}
+}
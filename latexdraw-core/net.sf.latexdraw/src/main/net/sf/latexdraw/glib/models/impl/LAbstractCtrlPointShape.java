@@ -1,7 +1,6 @@
 package net.sf.latexdraw.glib.models.impl;
 
 import java.awt.geom.Rectangle2D;
-import java.util.ArrayList;
 import java.util.List;
 
 import net.sf.latexdraw.glib.models.GLibUtilities;
@@ -47,8 +46,12 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	 */
     protected LAbstractCtrlPointShape() {
 		super();
-		firstCtrlPts  = new ArrayList<>();
-		secondCtrlPts = new ArrayList<>();
+		final LPackedPoints first  = new LPackedPoints();
+		final LPackedPoints second = new LPackedPoints();
+		first.setChangeHandler(this::changed);
+		second.setChangeHandler(this::changed);
+		firstCtrlPts  = first;
+		secondCtrlPts = second;
 	}
 
 
@@ -273,6 +276,12 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	}
 
 
+	@Override
+	public void addPoint(final double x, final double y) {
+		addPoint(ShapeFactory.createPoint(x, y), -1);
+	}
+
+
 	@Override
 	protected void copyPoints(final IShape sh) {
 		super.copyPoints(sh);
@@ -290,6 +299,14 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	}
 
 
+	@Override
+	protected void setPointsUpdating(final boolean updating) {
+		super.setPointsUpdating(updating);
+		setPointsUpdating(firstCtrlPts, updating);
+		setPointsUpdating(secondCtrlPts, updating);
+	}
+
+
 	@Override
 	public void translate(final double tx, final double ty) {
 		super.translate(tx, ty);
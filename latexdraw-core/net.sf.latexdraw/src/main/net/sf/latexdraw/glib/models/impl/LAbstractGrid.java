@@ -1,5 +1,7 @@
 package net.sf.latexdraw.glib.models.impl;
 
+import java.awt.geom.Rectangle2D;
+
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.prop.IStdGridProp;
@@ -111,6 +113,16 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	}
 
 
+	@Override
+	public void getBounds(final Rectangle2D bounds) {
+		if(bounds!=null) {
+			final IPoint tl = getTopLeftPoint();
+			final IPoint br = getBottomRightPoint();
+			bounds.setFrameFromDiagonal(tl.getX(), tl.getY(), br.getX(), br.getY());
+		}
+	}
+
+
 	@Override
 	public IPoint getTopRightPoint() {
 		final IPoint pos  = getPosition();
@@ -146,8 +158,10 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 
 	@Override
 	public void setLabelsSize(final int labelsSize) {
-		if(labelsSize>=0)
+		if(labelsSize>=0) {
 			labelSize = labelsSize;
+			changed();
+		}
 	}
 
 
@@ -201,15 +215,19 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 
 	@Override
 	public void setGridEndX(final double x) {
-		if(x>=gridStartx && GLibUtilities.isValidCoordinate(x))
+		if(x>=gridStartx && GLibUtilities.isValidCoordinate(x)) {
 			gridEndx = x;
+			changed();
+		}
 	}
 
 
 	@Override
 	public void setGridEndY(final double y) {
-		if(y>=gridStarty && GLibUtilities.isValidCoordinate(y))
+		if(y>=gridStarty && GLibUtilities.isValidCoordinate(y)) {
 			gridEndy = y;
+			changed();
+		}
 	}
 
 
@@ -222,15 +240,19 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 
 	@Override
 	public void setGridStartX(final double x) {
-		if(x<=gridEndx && GLibUtilities.isValidCoordinate(x))
+		if(x<=gridEndx && GLibUtilities.isValidCoordinate(x)) {
 			gridStartx = x;
+			changed();
+		}
 	}
 
 
 	@Override
 	public void setGridStartY(final double y) {
-		if(y<=gridEndy && GLibUtilities.isValidCoordinate(y))
+		if(y<=gridEndy && GLibUtilities.isValidCoordinate(y)) {
 			gridStarty = y;
+			changed();
+		}
 	}
 
 
@@ -243,15 +265,19 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 
 	@Override
 	public void setOriginX(final double x) {
-		if(GLibUtilities.isValidCoordinate(x))
+		if(GLibUtilities.isValidCoordinate(x)) {
 			originx = x;
+			changed();
+		}
 	}
 
 
 	@Override
 	public void setOriginY(final double y) {
-		if(GLibUtilities.isValidCoordinate(y))
+		if(GLibUtilities.isValidCoordinate(y)) {
 			originy = y;
+			changed();
+		}
 	}
 
 
@@ -68,17 +68,23 @@ private[impl] trait LArc extends IArc with LArrowableShape {
 	override def getArcStyle: ArcStyle = style
 
 	override def setAngleEnd(angleEnd:Double) {
-		if(GLibUtilities.isValidCoordinate(angleEnd))
+		if(GLibUtilities.isValidCoordinate(angleEnd)) {
 			this.endAngle = angleEnd
+			LShape.changed(this)
+		}
 	}
 
 	override def setAngleStart(angleStart:Double) {
-		if(GLibUtilities.isValidCoordinate(angleStart))
+		if(GLibUtilities.isValidCoordinate(angleStart)) {
 			this.startAngle = angleStart
+			LShape.changed(this)
+		}
 	}
 
 	override def setArcStyle(styl:ArcStyle) {
-		if(styl!=null)
+		if(styl!=null) {
 			this.style = styl
+			LShape.changed(this)
+		}
 	}
 }
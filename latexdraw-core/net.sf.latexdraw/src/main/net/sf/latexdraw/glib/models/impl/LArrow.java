@@ -113,6 +113,7 @@ class LArrow implements IArrow {
 		style 			= model.getArrowStyle();
 		tBarSizeDim 	= model.getTBarSizeDim();
 		tBarSizeNum 	= model.getTBarSizeNum();
+		LShape.changed(owner);
 	}
 
 	@Override
@@ -245,68 +246,90 @@ class LArrow implements IArrow {
 
 	@Override
 	public void setArrowInset(final double inset) {
-		if(inset>=0)
+		if(inset>=0) {
 			arrowInset = inset;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setArrowLength(final double lgth) {
-		if(lgth>=0)
+		if(lgth>=0) {
 			arrowLength = lgth;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setArrowSizeDim(final double arrowSizeDim) {
-		if(arrowSizeDim>0.)
+		if(arrowSizeDim>0.) {
 			this.arrowSizeDim = arrowSizeDim;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setArrowSizeNum(final double arrowSizeNum) {
-		if(arrowSizeNum>=0.)
+		if(arrowSizeNum>=0.) {
 			this.arrowSizeNum = arrowSizeNum;
+			LShape.changed(owner);
+		}
 	}
 
 
 	@Override
 	public void setArrowStyle(final ArrowStyle arrowStyle) {
-		if(arrowStyle!=null)
+		if(arrowStyle!=null) {
 			style = arrowStyle;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setBracketNum(final double bracketNum) {
-		if(bracketNum>=0.)
+		if(bracketNum>=0.) {
 			this.bracketNum = bracketNum;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setDotSizeDim(final double dotSizeDim) {
-		if(dotSizeDim>0.)
+		if(dotSizeDim>0.) {
 			this.dotSizeDim = dotSizeDim;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setDotSizeNum(final double dotSizeNum) {
-		if(dotSizeNum>=0.1)
+		if(dotSizeNum>=0.1) {
 			this.dotSizeNum = dotSizeNum;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setRBracketNum(final double rBracketNum) {
-		if(rBracketNum>=0.)
+		if(rBracketNum>=0.) {
 			this.rBracketNum = rBracketNum;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setTBarSizeDim(final double tbarSizeDim) {
-		if(tbarSizeDim>0.)
+		if(tbarSizeDim>0.) {
 			tBarSizeDim = tbarSizeDim;
+			LShape.changed(owner);
+		}
 	}
 
 	@Override
 	public void setTBarSizeNum(final double tBarSizeNum) {
-		if(tBarSizeNum>=0.)
+		if(tBarSizeNum>=0.) {
 			this.tBarSizeNum = tBarSizeNum;
+			LShape.changed(owner);
+		}
 	}
 }
@@ -22,6 +22,7 @@ private[impl] trait LArrowableShape extends IArrowableShape {
 			arrows.clear
 			for(i <- 0 until arr.getNbArrows)
 				arrows += ShapeFactory.createArrow(arr.getArrowAt(i), this)
+			LShape.changed(this)
 		}else {
 			sh match {
 				case arr:IArrowableShape =>
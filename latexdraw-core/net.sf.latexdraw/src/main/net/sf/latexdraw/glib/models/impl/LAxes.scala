@@ -162,53 +162,72 @@ private[impl] class LAxes(pt:IPoint) extends LAbstractGrid(pt) with IAxes with L
 	override def isShowOrigin = showOrigin
 
 	override def setAxesStyle(axesStyle:AxesStyle) {
-		if(axesStyle!=null)
+		if(axesStyle!=null) {
 			this.axesStyle = axesStyle
+			changed()
+		}
 	}
 
 	override def setDistLabelsX(distLabelsX:Double) {
-		if(distLabelsX>0 && GLibUtilities.isValidCoordinate(distLabelsX))
-				this.distLabelsX = distLabelsX
+		if(distLabelsX>0 && GLibUtilities.isValidCoordinate(distLabelsX)) {
+			this.distLabelsX = distLabelsX
+			changed()
+		}
 	}
 
 	override def setDistLabelsY(distLabelsY:Double) {
-		if(distLabelsY>0 && GLibUtilities.isValidCoordinate(distLabelsY))
+		if(distLabelsY>0 && GLibUtilities.isValidCoordinate(distLabelsY)) {
 			this.distLabelsY = distLabelsY
+			changed()
+		}
 	}
 
 	override def setIncrementX(increment:Double) {
-		if(increment>0 && GLibUtilities.isValidCoordinate(increment))
+		if(increment>0 && GLibUtilities.isValidCoordinate(increment)) {
 			this.incrementX = increment
+			changed()
+		}
 	}
 
 
 	override def setIncrementY(increment:Double) {
-		if(increment>0 && GLibUtilities.isValidCoordinate(increment))
+		if(increment>0 && GLibUtilities.isValidCoordinate(increment)) {
 			this.incrementY = increment
+			changed()
+		}
 	}
 
 	override def setLabelsDisplayed(labelsDisplayed:PlottingStyle) {
-		if(labelsDisplayed!=null)
+		if(labelsDisplayed!=null) {
 			this.labelsDisplayed = labelsDisplayed
+			changed()
+		}
 	}
 
 	override def setShowOrigin(showOrigin:Boolean) {
 		this.showOrigin = showOrigin
+		changed()
 	}
 
 	override def setTicksDisplayed(ticksDisplayed:PlottingStyle) {
-		if(ticksDisplayed!=null)
+		if(ticksDisplayed!=null) {
 			this.ticksDisplayed = ticksDisplayed
+			changed()
+		}
 	}
 
 	override def setTicksSize(ticksSize:Double) {
-		if(ticksSize>0 && GLibUtilities.isValidCoordinate(ticksSize))
+		if(ticksSize>0 && GLibUtilities.isValidCoordinate(ticksSize)) {
 			this.ticksSize = ticksSize
+			changed()
+		}
 	}
 
 	override def setTicksStyle(ticksStyle:TicksStyle) {
-		if(ticksStyle!=null)
+		if(ticksStyle!=null) {
 			this.ticksStyle = ticksStyle
+			changed()
+		}
 	}
 
 	override def getStep = IShape.PPC
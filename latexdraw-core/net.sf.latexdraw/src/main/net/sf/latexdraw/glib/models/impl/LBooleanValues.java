@@ -0,0 +1,84 @@
+package net.sf.latexdraw.glib.models.impl;
+
+import java.util.BitSet;
+
+/**
+ * Defines a list of booleans stored in a bit set (see LPrimitiveValues).<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-13<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class LBooleanValues extends LPrimitiveValues<Boolean> {
+	private final BitSet values;
+
+	/** The number of values the bit set can contain without growing. */
+	private int capacity;
+
+
+	/**
+	 * Creates an empty list.
+	 * @param capacity The expected number of values.
+	 */
+	LBooleanValues(final int capacity) {
+		super();
+		this.capacity = Math.max(0, capacity);
+		values = new BitSet(this.capacity);
+	}
+
+
+	/**
+	 * Adds the given value at the end of the list.
+	 * @return True.
+	 */
+	public boolean add(final boolean value) {
+		values.set(append(), value);
+		return true;
+	}
+
+
+	@Override
+	protected int capacity() {
+		return capacity;
+	}
+
+
+	@Override
+	protected void setCapacity(final int cap) {
+		capacity = cap;
+	}
+
+
+	@Override
+	protected void move(final int from, final int to, final int length) {
+		if(to > from)
+			for(int i = length - 1; i >= 0; i--)
+				values.set(to + i, values.get(from + i));
+		else
+			for(int i = 0; i < length; i++)
+				values.set(to + i, values.get(from + i));
+	}
+
+
+	@Override
+	protected void store(final int index, final Boolean value) {
+		values.set(index, value);
+	}
+
+
+	@Override
+	protected Boolean load(final int index) {
+		return values.get(index);
+	}
+}
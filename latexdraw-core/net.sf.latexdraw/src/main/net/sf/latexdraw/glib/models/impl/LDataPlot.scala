@@ -0,0 +1,247 @@
+package net.sf.latexdraw.glib.models.impl
+
+import java.awt.geom.Rectangle2D
+
+import net.sf.latexdraw.glib.models.GLibUtilities
+import net.sf.latexdraw.glib.models.ShapeFactory
+import net.sf.latexdraw.glib.models.interfaces.prop.IDotProp
+import net.sf.latexdraw.glib.models.interfaces.shape.Color
+import net.sf.latexdraw.glib.models.interfaces.shape.DotStyle
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot
+import net.sf.latexdraw.glib.models.interfaces.shape.IPoint
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotDecimation
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle
+import net.sf.latexdraw.glib.models.interfaces.shape.Position
+import net.sf.latexdraw.glib.views.pst.PSTricksConstants
+
+/**
+ * Implementation of the plotted data points.
+ * @since 4.0
+ * @author Arnaud Blouin
+ */
+private[impl] class LDataPlot(pt:IPoint, private var xs:Array[Double], private var ys:Array[Double]) extends LPositionShape(pt) with IDataPlot with LScalable {
+	private var style:PlotStyle = PlotStyle.LINE
+	private var decimation:PlotDecimation = PlotDecimation.NONE
+	private var threshold:Int = 1000
+
+	/** The extents of the data points. */
+	private var minX = 0.0
+	private var maxX = 0.0
+	private var minY = 0.0
+	private var maxY = 0.0
+
+	/** The cached plotted points (null when they must be recomputed). */
+	private var plotted:Array[Array[Double]] = null
+
+	private var dotStyle = DotStyle.DOT
+	private var dotDiametre = PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM*IShape.PPC+PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM
+
+	require(xs!=null && ys!=null && xs.length==ys.length, "Parameter not valid: the X and Y coordinates must have the same length")
+	updateExtents()
+
+
+	override def copy(sh:IShape) {
+		super.copy(sh)
+
+		sh match {
+			case plot:IDataPlot =>
+				style = plot.getPlotStyle
+				decimation = plot.getDecimation
+				threshold = plot.getDecimationThreshold
+				dotStyle = plot.getDotStyle
+				dotDiametre = plot.getDiametre
+				xscale = plot.getXScale
+				yscale = plot.getYScale
+				setData(plot.getDataX, plot.getDataY)
+			case dot:IDotProp =>
+				dotStyle = dot.getDotStyle
+				dotDiametre = dot.getDiametre
+				changed()
+			case _ =>
+		}
+	}
+
+
+	override def mirrorVertical(origin:IPoint) {
+		val gc = getGravityCentre
+		if(GLibUtilities.isValidPoint(origin) && !origin.equals(gc, 0.0001))
+			translate(0, gc.verticalSymmetry(origin).getY-gc.getY)
+	}
+
+	override def mirrorHorizontal(origin:IPoint) {
+		val gc = getGravityCentre
+		if(GLibUtilities.isValidPoint(origin) && !origin.equals(gc, 0.0001))
+			translate(gc.horizontalSymmetry(origin).getX-gc.getX, 0)
+	}
+
+
+	override def getNbDataPoints = xs.length
+
+	override def getDataX = xs
+
+	override def getDataY = ys
+
+	override def setData(dataX:Array[Double], dataY:Array[Double]) {
+		if(dataX!=null && dataY!=null && dataX.length==dataY.length) {
+			xs = dataX
+			ys = dataY
+			plotted = null
+			updateExtents()
+			changed()
+		}
+	}
+
+	/** Computes the extents of the data points. */
+	private def updateExtents() {
+		if(xs.isEmpty) {
+			minX = 0.0
+			maxX = 0.0
+			minY = 0.0
+			maxY = 0.0
+		}else {
+			minX = xs(0)
+			maxX = xs(0)
+			minY = ys(0)
+			maxY = ys(0)
+			var i = 1
+			while(i<xs.length) {
+				minX = math.min(minX, xs(i))
+				maxX = math.max(maxX, xs(i))
+				minY = math.min(minY, ys(i))
+				maxY = math.max(maxY, ys(i))
+				i += 1
+			}
+		}
+	}
+
+	override def getDataMinX = minX
+
+	override def getDataMaxX = maxX
+
+	override def getDataMinY = minY
+
+	override def getDataMaxY = maxY
+
+	override def getPlotStyle = style
+
+	override def setPlotStyle(plotStyle:PlotStyle) {
+		if(plotStyle!=null) {
+			style = plotStyle
+			stateChanged()
+			changed()
+		}
+	}
+
+	override def getDecimation = decimation
+
+	override def setDecimation(deci:PlotDecimation) {
+		if(deci!=null && deci!=decimation) {
+			decimation = deci
+			plotted = null
+			changed()
+		}
+	}
+
+	override def getDecimationThreshold = threshold
+
+	override def setDecimationThreshold(thres:Int) {
+		if(thres>3 && thres!=threshold) {
+			threshold = thres
+			plotted = null
+			changed()
+		}
+	}
+
+	override def getPlottedX = plottedPoints(0)
+
+	override def getPlottedY = plottedPoints(1)
+
+	/** @return The plotted points, decimated if the data, the decimation or its threshold changed since the last computation. */
+	private def plottedPoints = {
+		if(plotted==null)
+			plotted = decimation.decimate(xs, ys, threshold)
+		plotted
+	}
+
+	override def isShowPtsable = false
+	override def isThicknessable = style!=PlotStyle.DOTS
+	override def isShadowable = style!=PlotStyle.DOTS
+	override def isLineStylable = style!=PlotStyle.DOTS
+	override def isInteriorStylable = style!=PlotStyle.DOTS
+	override def isFillable = style!=PlotStyle.DOTS || dotStyle.isFillable
+	override def isDbleBorderable = style!=PlotStyle.DOTS
+
+	override def getTopLeftPoint = {
+		val pos = getPosition
+		ShapeFactory.createPoint(pos.getX+minX*IShape.PPC*xscale, pos.getY-maxY*IShape.PPC*yscale)
+	}
+
+	override def getBottomRightPoint = {
+		val pos = getPosition
+		ShapeFactory.createPoint(pos.getX+maxX*IShape.PPC*xscale, pos.getY-minY*IShape.PPC*yscale)
+	}
+
+	override def getTopRightPoint = {
+		val pos = getPosition
+		ShapeFactory.createPoint(pos.getX+maxX*IShape.PPC*xscale, pos.getY-maxY*IShape.PPC*yscale)
+	}
+
+	override def getBottomLeftPoint = {
+		val pos = getPosition
+		ShapeFactory.createPoint(pos.getX+minX*IShape.PPC*xscale, pos.getY-minY*IShape.PPC*yscale)
+	}
+
+	override def getBounds(bounds:Rectangle2D) {
+		if(bounds!=null) {
+			val pos = getPosition
+			bounds.setFrameFromDiagonal(pos.getX+minX*IShape.PPC*xscale, pos.getY-maxY*IShape.PPC*yscale,
+					pos.getX+maxX*IShape.PPC*xscale, pos.getY-minY*IShape.PPC*yscale)
+		}
+	}
+
+	protected override def scaleSetPointsWithRatio(pts:java.util.List[IPoint], prevWidth:Double, prevHeight:Double, pos:Position, bound:Rectangle2D) {
+		scaleSetPoints(pts, prevWidth, prevHeight, pos, bound)
+	}
+
+	protected override def scaleSetPoints(pts:java.util.List[IPoint], prevWidth:Double, prevHeight:Double, pos:Position, bound:Rectangle2D) {
+		pos match {
+			case Position.EAST => getPtAt(0).translate(bound.getWidth-prevWidth, 0.0)
+			case Position.WEST => getPtAt(0).translate(prevWidth-bound.getWidth, 0.0)
+			case Position.SOUTH => getPtAt(0).translate(0.0, bound.getHeight-prevHeight)
+			case Position.NORTH => getPtAt(0).translate(0.0, prevHeight-bound.getHeight)
+			case Position.NE => getPtAt(0).translate(bound.getWidth-prevWidth, prevHeight-bound.getHeight)
+			case Position.NW => getPtAt(0).translate(prevWidth-bound.getWidth, prevHeight-bound.getHeight)
+			case Position.SE => getPtAt(0).translate(bound.getWidth-prevWidth, bound.getHeight-prevHeight)
+			case Position.SW => getPtAt(0).translate(prevWidth-bound.getWidth, bound.getHeight-prevHeight)
+		}
+	}
+
+	override def getPosition = getPtAt(0)
+
+
+	def getDiametre(): Double = dotDiametre
+
+	def getDotFillingCol(): Color = super.getFillingCol
+
+	def getDotStyle(): DotStyle = dotStyle
+
+	def setDiametre(diam: Double) {
+		if(diam>0.0 && GLibUtilities.isValidCoordinate(diam)) {
+			dotDiametre = diam
+			changed()
+		}
+	}
+
+	def setDotFillingCol(col: Color) {
+		setFillingCol(col)
+	}
+
+	def setDotStyle(dotst: DotStyle) {
+		if(dotst!=null) {
+			dotStyle = dotst
+			stateChanged()
+			changed()
+		}
+	}
+}
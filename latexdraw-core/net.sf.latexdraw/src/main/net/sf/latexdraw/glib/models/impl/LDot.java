@@ -71,15 +71,20 @@ class LDot extends LPositionShape implements IDot {
 
 	@Override
 	public void setDotStyle(final DotStyle style) {
-		if(style != null)
+		if(style != null) {
 			this.style = style;
+			stateChanged();
+			changed();
+		}
 	}
 
 
 	@Override
 	public void setDiametre(final double diam) {
-		if(diam > 0. && GLibUtilities.isValidCoordinate(diam))
+		if(diam > 0. && GLibUtilities.isValidCoordinate(diam)) {
 			this.diametre = diam;
+			changed();
+		}
 	}
 
 
@@ -210,6 +215,18 @@ class LDot extends LPositionShape implements IDot {
 
 
 
+	@Override
+	public void getBounds(final Rectangle2D bounds) {
+		if(bounds!=null) {
+			final IPoint tl = ShapeFactory.createPoint();
+			final IPoint br = ShapeFactory.createPoint();
+			getTopLeftBottomRightPoints(tl, br);
+			bounds.setFrameFromDiagonal(tl.getX(), tl.getY(), br.getX(), br.getY());
+		}
+	}
+
+
+
 	/**
 	 * Gives the top-left point and the bottom-right point of the dot
 	 * considering its current style.
@@ -1,5 +1,7 @@
 package net.sf.latexdraw.glib.models.impl
 
+import java.awt.geom.Rectangle2D
+
 import org.malai.mapping.MappingRegistry
 import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing
 import net.sf.latexdraw.glib.models.interfaces.shape.IShape
@@ -30,6 +32,9 @@ private[impl] class LDrawing extends IDrawing with LSetShapes {
 	/** Defined if the shape has been modified. */
 	var modified = false
 
+	/** The spatial index of the shapes of the drawing. */
+	private val index = new LSpatialIndex(shapes, LSpatialIndex.CELL_SIZE)
+
 
 	override def getSelection = selection
 
@@ -68,6 +73,30 @@ private[impl] class LDrawing extends IDrawing with LSetShapes {
 		this.modified = modified
 	}
 
+	override def getShapesAt(x : Double, y : Double) = index.getShapesAt(x, y)
+
+	override def getShapesIn(minX : Double, minY : Double, maxX : Double, maxY : Double) = index.getShapesIn(minX, minY, maxX, maxY)
+
+	override def getFullBounds(bounds : Rectangle2D) {
+		if(shapes.isEmpty)
+			bounds.setRect(0.0, 0.0, 0.0, 0.0)
+		else {
+			val shBounds = new Rectangle2D.Double()
+			var minX = Double.MaxValue
+			var minY = Double.MaxValue
+			var maxX = -Double.MaxValue
+			var maxY = -Double.MaxValue
+			shapes.forEach{sh =>
+				LSpatialIndex.getRotatedFullBounds(sh, shBounds)
+				minX = math.min(minX, shBounds.getMinX)
+				minY = math.min(minY, shBounds.getMinY)
+				maxX = math.max(maxX, shBounds.getMaxX)
+				maxY = math.max(maxY, shBounds.getMaxY)
+			}
+			bounds.setFrameFromDiagonal(minX, minY, maxX, maxY)
+		}
+	}
+
 	override def isModified = modified || shapes.stream.filter{_.isModified}.findAny.isPresent
 
 	override def reinit() = clear
@@ -57,12 +57,16 @@ private[impl] class LGroup() extends IShape
 
 	override def duplicate() = duplicateDeep(true)
 
+	private[impl] val summary = new LShapesSummary(shapes, this)
+
 	override def setModified(modified : Boolean) {
 		getShapes.forEach{_.setModified(modified)}
 	}
 
 	override def isModified() = getShapes.stream.filter{_.isModified}.findAny.isPresent
 
+	override def versionProperty() = summary.version.getReadOnlyProperty
+
 	override def duplicateDeep(duplicateShapes : Boolean) : IGroup = {
 		val dup = ShapeFactory.createGroup()
 
@@ -96,7 +100,7 @@ private[impl] class LGroup() extends IShape
 	}
 
 	override def getPlotPolarList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{
 				case sh : IPlotProp => list.add(sh.isPolar)
 				case _ => list.add(false)
@@ -108,13 +112,13 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IScalable => prop.setYScale(values.get(i))
+          case prop: IScalable => prop.setYScale(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
 
 	override def getYScaleList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case fh : IScalable => list.add(fh.getYScale)
 				case _ => list.add(null)
@@ -126,13 +130,13 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IScalable => prop.setXScale(values.get(i))
+          case prop: IScalable => prop.setXScale(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
 
 	override def getXScaleList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case fh : IScalable => list.add(fh.getXScale)
 				case _ => list.add(null)
@@ -144,13 +148,13 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IPlotProp => prop.setPlotMinX(values.get(i))
+          case prop: IPlotProp => prop.setPlotMinX(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
 
 	override def getPlotMinXList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case fh : IPlotProp => list.add(fh.getPlotMinX)
 				case _ => list.add(null)
@@ -162,13 +166,13 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IPlotProp => prop.setPlotMaxX(values.get(i))
+          case prop: IPlotProp => prop.setPlotMaxX(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
 
 	override def getPlotMaxXList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case fh : IPlotProp => list.add(fh.getPlotMaxX)
 				case _ => list.add(null)
@@ -186,7 +190,7 @@ private[impl] class LGroup() extends IShape
 	}
 
 	override def getNbPlottedPointsList: List[java.lang.Integer] = {
-		val list = new ArrayList[java.lang.Integer]()
+		val list = new LIntValues(shapes.size)
 		shapes.forEach{
 				case fh : IPlotProp => list.add(fh.getNbPlottedPoints)
 				case _ => list.add(null)
@@ -241,7 +245,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getFreeHandIntervalList: List[java.lang.Integer] = {
-		val list = new ArrayList[java.lang.Integer]()
+		val list = new LIntValues(shapes.size)
 		shapes.forEach{
 				case fh : IFreeHandProp => list.add(fh.getInterval)
 				case _ => list.add(null)
@@ -261,7 +265,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getFreeHandOpenList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{
 				case fh : IFreeHandProp => list.add(fh.isOpen)
 				case _ => list.add(null)
@@ -300,14 +304,14 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IGridProp => prop.setGridWidth(values.get(i))
+          case prop: IGridProp => prop.setGridWidth(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
 
 
 	override def getGridWidthList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case grid : IGridProp => list.add(grid.getGridWidth)
 				case _ => list.add(null)
@@ -320,14 +324,14 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IGridProp => prop.setSubGridWidth(values.get(i))
+          case prop: IGridProp => prop.setSubGridWidth(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
 
 
 	override def getSubGridWidthList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case grid : IGridProp => list.add(grid.getSubGridWidth)
 				case _ => list.add(null)
@@ -347,7 +351,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getGridDotsList: List[java.lang.Integer] = {
-		val list = new ArrayList[java.lang.Integer]()
+		val list = new LIntValues(shapes.size)
 		shapes.forEach{
 				case grid : IGridProp => list.add(grid.getGridDots)
 				case _ => list.add(null)
@@ -367,7 +371,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getSubGridDotsList: List[java.lang.Integer] = {
-		val list = new ArrayList[java.lang.Integer]()
+		val list = new LIntValues(shapes.size)
 		shapes.forEach{
 				case grid : IGridProp => list.add(grid.getSubGridDots)
 				case _ => list.add(null)
@@ -387,7 +391,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getSubGridDivList: List[java.lang.Integer] = {
-		val list = new ArrayList[java.lang.Integer]()
+		val list = new LIntValues(shapes.size)
 		shapes.forEach{
 				case grid : IGridProp => list.add(grid.getSubGridDiv)
 				case _ => list.add(null)
@@ -443,7 +447,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getAxesShowOriginList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{
 				case axes : IAxesProp => list.add(axes.isShowOrigin)
 				case _ => list.add(null)
@@ -468,14 +472,14 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IAxesProp => prop.setTicksSize(values.get(i))
+          case prop: IAxesProp => prop.setTicksSize(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
 
 
 	override def getAxesTicksSizeList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case axes : IAxesProp => list.add(axes.getTicksSize)
 				case _ => list.add(null)
@@ -519,7 +523,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getGridLabelSizeList: List[java.lang.Integer] = {
-		val list = new ArrayList[java.lang.Integer]()
+		val list = new LIntValues(shapes.size)
 		shapes.forEach{
 				case axes : IStdGridProp => list.add(axes.getLabelsSize)
 				case _ => list.add(null)
@@ -539,7 +543,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getGridXLabelSouthList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{
 				case axes : IGridProp => list.add(axes.isXLabelSouth)
 				case _ => list.add(null)
@@ -559,7 +563,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getGridYLabelWestList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{
 				case axes : IGridProp => list.add(axes.isYLabelWest)
 				case _ => list.add(null)
@@ -639,7 +643,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getAngleStartList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case arc : IArcProp => list.add(arc.getAngleStart)
 				case _ => list.add(null)
@@ -649,7 +653,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getAngleEndList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case arc : IArcProp => list.add(arc.getAngleEnd)
 				case _ => list.add(null)
@@ -661,7 +665,7 @@ private[impl] class LGroup() extends IShape
 	  getShapes.stream.map[ArcStyle]{case sh:IArcProp => sh.getArcStyle; case _ => ArcStyle.ARC}.collect(Collectors.toList())
 
 	override def getRotationAngleList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => list.add(sh.getRotationAngle)}
 		return list
 	}
@@ -673,7 +677,7 @@ private[impl] class LGroup() extends IShape
 	  getShapes.stream.map[String]{case sh:ITextProp => sh.getText; case _ => ""}.collect(Collectors.toList())
 
 	override def getHatchingsAngleList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isInteriorStylable match {
 				case true => list.add(sh.getHatchingsAngle)
 				case false => list.add(null)
@@ -684,7 +688,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getHatchingsWidthList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isInteriorStylable match {
 				case true => list.add(sh.getHatchingsWidth)
 				case false => list.add(null)
@@ -695,7 +699,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getHatchingsSepList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isInteriorStylable match {
 				case true => list.add(sh.getHatchingsSep)
 				case false => list.add(null)
@@ -706,7 +710,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getGradAngleList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isInteriorStylable match {
 				case true => list.add(sh.getGradAngle)
 				case false => list.add(null)
@@ -717,7 +721,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getGradMidPtList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isInteriorStylable match {
 				case true => list.add(sh.getGradMidPt)
 				case false => list.add(null)
@@ -728,7 +732,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getLineArcList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case lineArc : ILineArcProp => list.add(lineArc.getLineArc)
 				case _ => list.add(null)
@@ -743,7 +747,7 @@ private[impl] class LGroup() extends IShape
 	  getShapes.stream.map[Color]{sh => sh.isInteriorStylable match { case true => sh.getHatchingsCol; case false => DviPsColors.BLACK}}.collect(Collectors.toList())
 
 	override def hasDbleBordList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{sh => sh.isDbleBorderable match {
 				case true => list.add(sh.hasDbleBord)
 				case false => list.add(null)
@@ -754,7 +758,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getDbleBordSepList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isDbleBorderable match {
 				case true => list.add(sh.getDbleBordSep)
 				case false => list.add(null)
@@ -767,7 +771,7 @@ private[impl] class LGroup() extends IShape
 	  getShapes.stream.map[Color]{sh => sh.isDbleBorderable match { case true => sh.getDbleBordCol; case false => DviPsColors.BLACK}}.collect(Collectors.toList())
 
 	override def hasShadowList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{sh => sh.isShadowable match {
 				case true => list.add(sh.hasShadow)
 				case false => list.add(null)
@@ -778,7 +782,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getShadowSizeList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isShadowable match {
 				case true => list.add(sh.getShadowSize)
 				case false => list.add(null)
@@ -789,7 +793,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getShadowAngleList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isShadowable match {
 				case true => list.add(sh.getShadowAngle)
 				case false => list.add(null)
@@ -808,7 +812,7 @@ private[impl] class LGroup() extends IShape
 	  getShapes.stream.map[Color]{sh => sh.isInteriorStylable match { case true => sh.getGradColEnd; case false => DviPsColors.BLACK}}.collect(Collectors.toList())
 
 	override def getThicknessList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{sh => sh.isThicknessable match {
 				case true => list.add(sh.getThickness)
 				case false => list.add(null)
@@ -830,7 +834,7 @@ private[impl] class LGroup() extends IShape
 	  getShapes.stream.map[DotStyle]{case sh:IDotProp => sh.getDotStyle(); case _ => DotStyle.DOT}.collect(Collectors.toList())
 
 	override def getDotSizeList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(shapes.size)
 		shapes.forEach{
 				case dot : IDotProp => list.add(dot.getDiametre)
 				case _ => list.add(null)
@@ -843,7 +847,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IArcProp => prop.setAngleStart(values.get(i))
+          case prop: IArcProp => prop.setAngleStart(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
@@ -863,7 +867,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IArcProp => prop.setAngleEnd(values.get(i))
+          case prop: IArcProp => prop.setAngleEnd(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
@@ -882,7 +886,7 @@ private[impl] class LGroup() extends IShape
 	override def setRotationAngleList(values : List[java.lang.Double]) {
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
-				shapes.get(i).setRotationAngle(values.get(i))
+				shapes.get(i).setRotationAngle(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -910,7 +914,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isInteriorStylable)
-					shapes.get(i).setHatchingsAngle(values.get(i))
+					shapes.get(i).setHatchingsAngle(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -918,7 +922,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isInteriorStylable)
-					shapes.get(i).setHatchingsWidth(values.get(i))
+					shapes.get(i).setHatchingsWidth(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -926,7 +930,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isInteriorStylable)
-					shapes.get(i).setHatchingsSep(values.get(i))
+					shapes.get(i).setHatchingsSep(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -934,7 +938,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isInteriorStylable)
-					shapes.get(i).setGradAngle(values.get(i))
+					shapes.get(i).setGradAngle(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -942,7 +946,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isInteriorStylable)
-					shapes.get(i).setGradMidPt(values.get(i))
+					shapes.get(i).setGradMidPt(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -950,7 +954,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: ILineArcProp => prop.setLineArc(values.get(i))
+          case prop: ILineArcProp => prop.setLineArc(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
@@ -984,7 +988,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isDbleBorderable)
-					shapes.get(i).setDbleBordSep(values.get(i))
+					shapes.get(i).setDbleBordSep(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -1008,7 +1012,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isShadowable)
-					shapes.get(i).setShadowSize(values.get(i))
+					shapes.get(i).setShadowSize(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -1016,7 +1020,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isShadowable)
-					shapes.get(i).setShadowAngle(values.get(i))
+					shapes.get(i).setShadowAngle(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -1048,7 +1052,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				if(shapes.get(i).isThicknessable)
-					shapes.get(i).setThickness(values.get(i))
+					shapes.get(i).setThickness(LDoubleValues.getDouble(values, i))
 	}
 
 
@@ -1082,7 +1086,7 @@ private[impl] class LGroup() extends IShape
 		if(values!=null && values.size==shapes.size)
 			for(i <- 0 until values.size)
 				shapes.get(i) match {
-          case prop: IDotProp => prop.setDiametre(values.get(i))
+          case prop: IDotProp => prop.setDiametre(LDoubleValues.getDouble(values, i))
           case _ =>
         }
 	}
@@ -1097,7 +1101,7 @@ private[impl] class LGroup() extends IShape
 
 
 	override def getShowPointsList: List[java.lang.Boolean] = {
-		val list = new ArrayList[java.lang.Boolean]()
+		val list = new LBooleanValues(shapes.size)
 		shapes.forEach{sh => sh.isShowPtsable match {
 				case true => list.add(sh.isShowPts)
 				case false => list.add(null)
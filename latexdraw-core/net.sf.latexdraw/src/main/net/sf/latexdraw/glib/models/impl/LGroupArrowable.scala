@@ -1,6 +1,5 @@
 package net.sf.latexdraw.glib.models.impl
 
-import java.util.ArrayList
 import java.util.List
 import net.sf.latexdraw.glib.models.interfaces.shape.IArrow
 import net.sf.latexdraw.glib.models.interfaces.shape.ArrowStyle
@@ -42,13 +41,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setTBarSizeDim(values.get(j))
+          case shape: IArrowableShape => shape.setTBarSizeDim(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getTBarSizeDimList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getTBarSizeDim)
 				case _ => list.add(java.lang.Double.NaN)
@@ -61,13 +60,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setTBarSizeNum(values.get(j))
+          case shape: IArrowableShape => shape.setTBarSizeNum(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getTBarSizeNumList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getTBarSizeNum)
 				case _ => list.add(java.lang.Double.NaN)
@@ -80,13 +79,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setDotSizeNum(values.get(j))
+          case shape: IArrowableShape => shape.setDotSizeNum(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getDotSizeNumList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getDotSizeNum)
 				case _ => list.add(java.lang.Double.NaN)
@@ -99,13 +98,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setDotSizeDim(values.get(j))
+          case shape: IArrowableShape => shape.setDotSizeDim(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getDotSizeDimList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getDotSizeDim)
 				case _ => list.add(java.lang.Double.NaN)
@@ -118,13 +117,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setBracketNum(values.get(j))
+          case shape: IArrowableShape => shape.setBracketNum(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getBracketNumList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getBracketNum)
 				case _ => list.add(java.lang.Double.NaN)
@@ -137,13 +136,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setRBracketNum(values.get(j))
+          case shape: IArrowableShape => shape.setRBracketNum(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getRBracketNumList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getRBracketNum)
 				case _ => list.add(java.lang.Double.NaN)
@@ -156,13 +155,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setArrowSizeNum(values.get(j))
+          case shape: IArrowableShape => shape.setArrowSizeNum(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getArrowSizeNumList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getArrowSizeNum)
 				case _ => list.add(java.lang.Double.NaN)
@@ -175,13 +174,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setArrowSizeDim(values.get(j))
+          case shape: IArrowableShape => shape.setArrowSizeDim(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getArrowSizeDimList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getArrowSizeDim)
 				case _ => list.add(java.lang.Double.NaN)
@@ -194,13 +193,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setArrowLength(values.get(j))
+          case shape: IArrowableShape => shape.setArrowLength(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getArrowLengthList: java.util.List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getArrowLength)
 				case _ => list.add(java.lang.Double.NaN)
@@ -213,13 +212,13 @@ private[impl] trait LGroupArrowable extends IGroup {
 		if(values!=null && values.size==shapes.size)
 			for(j <- 0 until values.size)
 				shapes.get(j) match {
-          case shape: IArrowableShape => shape.setArrowInset(values.get(j))
+          case shape: IArrowableShape => shape.setArrowInset(LDoubleValues.getDouble(values, j))
           case _ =>
         }
 	}
 
 	override def getArrowInsetList: List[java.lang.Double] = {
-		val list = new ArrayList[java.lang.Double]()
+		val list = new LDoubleValues(getShapes.size)
 		getShapes.forEach{
 				case arr:IArrowableShape => list.add(arr.getArrowInset)
 				case _ => list.add(java.lang.Double.NaN)
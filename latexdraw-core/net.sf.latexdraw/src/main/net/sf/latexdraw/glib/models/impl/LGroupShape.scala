@@ -36,6 +36,9 @@ import java.util.Collections
  * @since 3.0
  */
 private[impl] trait LGroupShape extends IGroup {
+  /** The summary of the capabilities and of the states of the shapes of the group. */
+  private[impl] def summary : LShapesSummary
+
   override def copy(sh: IShape) {
     //TODO
   }
@@ -98,7 +101,7 @@ private[impl] trait LGroupShape extends IGroup {
     getShapes.stream.filter{_.isLineStylable}.forEach{_.setDotSep(dot)}
   }
   
-  override def shadowFillsShape() = getShapes.stream.filter{_.shadowFillsShape}.findAny.isPresent
+  override def shadowFillsShape() = summary.has(LShapesSummary.SHADOW_FILLS_SHAPE)
   
 	override def mirrorHorizontal(origin:IPoint) {
 		getShapes.forEach{_.mirrorHorizontal(origin)}
@@ -126,13 +129,13 @@ private[impl] trait LGroupShape extends IGroup {
 		}
 	}
 
-  override def isColourable = getShapes.stream.filter{_.isColourable}.findAny.isPresent
+  override def isColourable = summary.has(LShapesSummary.COLOURABLE)
 
-	override def isThicknessable = getShapes.stream.filter{_.isThicknessable}.findAny.isPresent
+	override def isThicknessable = summary.has(LShapesSummary.THICKNESSABLE)
 
-	override def isShowPtsable = getShapes.stream.filter{_.isShowPtsable}.findAny.isPresent
+	override def isShowPtsable = summary.has(LShapesSummary.SHOW_PTSABLE)
 
-	override def isShowPts = getShapes.stream.filter{shape => shape.isShowPtsable && shape.isShowPts}.findAny.isPresent
+	override def isShowPts = summary.has(LShapesSummary.SHOW_PTS)
 
 	override def setShowPts(show : Boolean) {
 		getShapes.stream.filter{_.isShowPtsable}.forEach{_.setShowPts(show)}
@@ -140,7 +143,7 @@ private[impl] trait LGroupShape extends IGroup {
 
 	override def getLineColour = if(size>0) getShapes.get(0).getLineColour else PSTricksConstants.DEFAULT_LINE_COLOR
 
-	override def isLineStylable = getShapes.stream.filter{_.isLineStylable}.findAny.isPresent
+	override def isLineStylable = summary.has(LShapesSummary.LINE_STYLABLE)
 
 	override def getLineStyle = 
 		getShapes.stream.filter{_.isLineStylable}.findFirst match {
@@ -152,7 +155,7 @@ private[impl] trait LGroupShape extends IGroup {
 		getShapes.stream.filter{_.isLineStylable}.forEach{_.setLineStyle(style)}
 	}
 
-	override def isBordersMovable = getShapes.stream.filter{_.isBordersMovable}.findAny.isPresent
+	override def isBordersMovable = summary.has(LShapesSummary.BORDERS_MOVABLE)
 
 	override def getBordersPosition =
 		getShapes.stream.filter{_.isBordersMovable}.findFirst match {
@@ -178,13 +181,13 @@ private[impl] trait LGroupShape extends IGroup {
 			case _ => PSTricksConstants.DEFAULT_DOUBLE_COLOR
 		}
 
-	override def hasDbleBord = getShapes.stream.filter{shape => shape.hasDbleBord && shape.isDbleBorderable }.findAny.isPresent
+	override def hasDbleBord = summary.has(LShapesSummary.DBLE_BORD)
 
 	override def setHasDbleBord(dbleBorders : Boolean) {
 		getShapes.stream.filter{_.isDbleBorderable}.forEach{_.setHasDbleBord(dbleBorders)}
 	}
 
-	override def isDbleBorderable = getShapes.stream.filter{_.isDbleBorderable}.findAny.isPresent
+	override def isDbleBorderable = summary.has(LShapesSummary.DBLE_BORDERABLE)
 
 	override def setDbleBordSep(dbleBorderSep : Double) {
 		getShapes.stream.filter{_.isDbleBorderable}.forEach{_.setDbleBordSep(dbleBorderSep)}
@@ -196,9 +199,9 @@ private[impl] trait LGroupShape extends IGroup {
 			case _ => Double.NaN
 		}
 
-	override def isShadowable = getShapes.stream.filter{_.isShadowable }.findAny.isPresent
+	override def isShadowable = summary.has(LShapesSummary.SHADOWABLE)
 
-	override def hasShadow = getShapes.stream.filter{shape => shape.isShadowable && shape.hasShadow }.findAny.isPresent
+	override def hasShadow = summary.has(LShapesSummary.SHADOW)
 
 	override def setHasShadow(shadow : Boolean) {
 		getShapes.stream.filter{_.isShadowable}.forEach{_.setHasShadow(shadow)}
@@ -248,11 +251,11 @@ private[impl] trait LGroupShape extends IGroup {
 	  getShapes.stream.filter{_.isFillable}.forEach{_.setFilled(filled)}
 	}
 
-	override def isFilled = getShapes.stream.filter{sh => sh.isFillable && sh.isFilled}.findAny.isPresent
+	override def isFilled = summary.has(LShapesSummary.FILLED)
 	
-	override def isFillable = getShapes.stream.filter{_.isFillable }.findAny.isPresent
+	override def isFillable = summary.has(LShapesSummary.FILLABLE)
 
-	override def isInteriorStylable = getShapes.stream.filter{_.isInteriorStylable }.findAny.isPresent
+	override def isInteriorStylable = summary.has(LShapesSummary.INTERIOR_STYLABLE)
 
 	override def setFillingCol(colour : Color) {
 		getShapes.stream.filter{_.isFillable}.forEach{_.setFillingCol(colour)}
@@ -345,6 +348,16 @@ private[impl] trait LGroupShape extends IGroup {
 		getShapes.stream.filter{_.isInteriorStylable}.forEach{_.setHatchingsWidth(hatchingsWidth)}
 	}
 
+	override def beginUpdate() {
+		getShapes.forEach{_.beginUpdate()}
+	}
+
+	override def endUpdate() {
+		getShapes.forEach{_.endUpdate()}
+	}
+
+	override def isUpdating = getShapes.stream.filter{_.isUpdating}.findAny.isPresent
+
 	override def translate(tx : Double, ty : Double) {
 	  getShapes.forEach{_.translate(tx, ty)}
 	}
@@ -364,90 +377,73 @@ private[impl] trait LGroupShape extends IGroup {
 
 	override def getRotationAngle = if(size>0) getShapes.get(0).getRotationAngle else 0.0
 
-	override def getGravityCentre = if(size==0) ShapeFactory.createPoint else getTopLeftPoint.getMiddlePoint(getBottomRightPoint)
-
-	override def getBottomRightPoint: IPoint = {
-		var x : Double = Double.NaN
-		var y : Double = Double.NaN
-
-		if(size>0) {
-			var br : IPoint = null
-			x = Double.MinValue
-			y = Double.MinValue
-
-			getShapes.forEach{shape =>
-				br = shape.getBottomRightPoint
-				if(br.getX>x)
-					x = br.getX
-				if(br.getY>y)
-					y = br.getY
+	override def getGravityCentre = if(size==0) ShapeFactory.createPoint else {
+		val bounds = new Rectangle2D.Double()
+		getBounds(bounds)
+		ShapeFactory.createPoint(bounds.getCenterX, bounds.getCenterY)
+	}
+
+	/**
+	 * Sets the given rectangle to the union of the bounds of the shapes of the group (NaN values if the group is empty).
+	 * A single rectangle is used to get the bounds of the shapes: no object is created per shape.
+	 */
+	override def getBounds(bounds : Rectangle2D) {
+		if(bounds!=null)
+			if(size==0)
+				bounds.setRect(Double.NaN, Double.NaN, Double.NaN, Double.NaN)
+			else {
+				var minX = Double.MaxValue
+				var minY = Double.MaxValue
+				var maxX = Double.MinValue
+				var maxY = Double.MinValue
+
+				getShapes.forEach{shape =>
+					shape.getBounds(bounds)
+					// The bounds of an empty group are NaN: they are ignored.
+					if(!bounds.getX.isNaN && !bounds.getY.isNaN) {
+						minX = math.min(minX, bounds.getMinX)
+						minY = math.min(minY, bounds.getMinY)
+						maxX = math.max(maxX, bounds.getMaxX)
+						maxY = math.max(maxY, bounds.getMaxY)
+					}
+				}
+				bounds.setFrameFromDiagonal(minX, minY, maxX, maxY)
 			}
+	}
+
+	override def getFullBounds(bounds : Rectangle2D) {
+		if(bounds!=null) {
+			val gap = getBorderGap
+			getBounds(bounds)
+			bounds.setFrameFromDiagonal(bounds.getMinX-gap, bounds.getMinY-gap, bounds.getMaxX+gap, bounds.getMaxY+gap)
 		}
-		return ShapeFactory.createPoint(x, y)
+	}
+
+	override def getBottomRightPoint: IPoint = {
+		val bounds = new Rectangle2D.Double()
+		getBounds(bounds)
+		ShapeFactory.createPoint(bounds.getMaxX, bounds.getMaxY)
 	}
 
 	override def getBottomLeftPoint: IPoint = {
-		var x : Double = Double.NaN
-		var y : Double = Double.NaN
-
-		if(size>0) {
-			var bl : IPoint = null
-			x = Double.MaxValue
-			y = Double.MinValue
-
-			getShapes.forEach{shape =>
-				bl = shape.getBottomLeftPoint
-				if(bl.getX<x)
-					x = bl.getX
-				if(bl.getY>y)
-					y = bl.getY
-			}
-		}
-		return ShapeFactory.createPoint(x, y)
+		val bounds = new Rectangle2D.Double()
+		getBounds(bounds)
+		ShapeFactory.createPoint(bounds.getMinX, bounds.getMaxY)
 	}
 
 	override def getTopLeftPoint: IPoint = {
-		var x : Double = Double.NaN
-		var y : Double = Double.NaN
-
-		if(size>0) {
-			var tl : IPoint = null
-			x = Double.MaxValue
-			y = Double.MaxValue
-
-			getShapes.forEach{shape =>
-				tl = shape.getTopLeftPoint
-				if(tl.getX<x)
-					x = tl.getX
-				if(tl.getY<y)
-					y = tl.getY
-			}
-		}
-		return ShapeFactory.createPoint(x, y)
+		val bounds = new Rectangle2D.Double()
+		getBounds(bounds)
+		ShapeFactory.createPoint(bounds.getMinX, bounds.getMinY)
 	}
 
 	override def getTopRightPoint: IPoint = {
-		var x : Double = Double.NaN
-		var y : Double = Double.NaN
-
-		if(size>0) {
-			var tr : IPoint = null
-			x = Double.MinValue
-			y = Double.MaxValue
-
-			getShapes.forEach{shape =>
-				tr = shape.getTopRightPoint
-				if(tr.getX>x)
-					x = tr.getX
-				if(tr.getY<y)
-					y = tr.getY
-			}
-		}
-
-		return ShapeFactory.createPoint(x, y)
+		val bounds = new Rectangle2D.Double()
+		getBounds(bounds)
+		ShapeFactory.createPoint(bounds.getMaxX, bounds.getMinY)
 	}
 
-	override def hasHatchings = getShapes.stream.filter{_.hasHatchings}.findAny.isPresent
+	override def hasHatchings = summary.has(LShapesSummary.HATCHINGS)
 
-	override def hasGradient = getShapes.stream.filter{_.hasGradient}.findAny.isPresent
+	override def hasGradient = summary.has(LShapesSummary.GRADIENT)
 }
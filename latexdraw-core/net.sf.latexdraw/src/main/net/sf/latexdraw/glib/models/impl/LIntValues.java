@@ -0,0 +1,77 @@
+package net.sf.latexdraw.glib.models.impl;
+
+import java.util.Arrays;
+
+/**
+ * Defines a list of integers stored in an array of primitives (see LPrimitiveValues).<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-13<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class LIntValues extends LPrimitiveValues<Integer> {
+	private int[] values;
+
+
+	/**
+	 * Creates an empty list.
+	 * @param capacity The expected number of values.
+	 */
+	LIntValues(final int capacity) {
+		super();
+		values = new int[Math.max(0, capacity)];
+	}
+
+
+	/**
+	 * Adds the given value at the end of the list without boxing it.
+	 * @return True.
+	 */
+	public boolean add(final int value) {
+		// append() may replace the array: it must be called before accessing the array.
+		final int index = append();
+		values[index] = value;
+		return true;
+	}
+
+
+	@Override
+	protected int capacity() {
+		return values.length;
+	}
+
+
+	@Override
+	protected void setCapacity(final int capacity) {
+		values = Arrays.copyOf(values, capacity);
+	}
+
+
+	@Override
+	protected void move(final int from, final int to, final int length) {
+		System.arraycopy(values, from, values, to, length);
+	}
+
+
+	@Override
+	protected void store(final int index, final Integer value) {
+		values[index] = value;
+	}
+
+
+	@Override
+	protected Integer load(final int index) {
+		return values[index];
+	}
+}
@@ -3,6 +3,7 @@ package net.sf.latexdraw.glib.models.impl;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
 
 /**
  * Defines a model of a shape that contains points that can be modified.<br>
@@ -24,11 +25,33 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
  * @since 3.0
  */
 abstract class LModifiablePointsShape extends LShape implements IModifiablePointsShape {
+	/** The points of the shape (the same list as 'points') packed in an array of doubles. */
+	protected final LPackedPoints packedPoints;
+
 	/**
 	 * Creates the shape.
 	 */
     protected LModifiablePointsShape() {
-		super();
+		super(new LPackedPoints());
+		packedPoints = (LPackedPoints) points;
+	}
+
+
+	@Override
+	public void translate(final double tx, final double ty) {
+		if(GLibUtilities.isValidPoint(tx, ty))
+			packedPoints.translate(tx, ty);
+	}
+
+
+	@Override
+	protected void copyPoints(final IShape sh) {
+		if(sh == null || !getClass().isInstance(sh))
+			return;
+		points.clear();
+		sh.getPoints().forEach(pt -> packedPoints.add(pt.getX(), pt.getY()));
+		// The capabilities of some shapes depend on their number of points (e.g. polylines).
+		stateChanged();
 	}
 
 
@@ -44,7 +67,7 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 			final IPoint gc2 = gc==null ? getGravityCentre() : gc;
 
 			super.setRotationAngle(rotationAngle);
-			points.forEach(pt -> pt.setPoint(pt.rotatePoint(gc2, diff)));
+			packedPoints.rotate(gc2, diff);
 		}
 	}
 
@@ -85,8 +108,12 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 
 	@Override
 	public IPoint removePoint(final int position) {
-		if(position>=-1 && position<points.size())
-			return points.remove(position==-1 ? points.size()-1 : position);
+		if(position>=-1 && position<points.size()) {
+			final IPoint removed = points.remove(position==-1 ? points.size()-1 : position);
+			// The capabilities of some shapes depend on their number of points (e.g. polylines).
+			stateChanged();
+			return removed;
+		}
 		return null;
 	}
 
@@ -103,6 +130,7 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 		else
 			points.add(position, pt);
 
+		stateChanged();
 		return pRemoved;
 	}
 
@@ -113,12 +141,23 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 	}
 
 
+	@Override
+	public void addPoint(final double x, final double y) {
+		if(GLibUtilities.isValidPoint(x, y)) {
+			packedPoints.add(x, y);
+			stateChanged();
+		}
+	}
+
+
 	@Override
 	public void addPoint(final IPoint pt, final int position) {
-		if(GLibUtilities.isValidPoint(pt) && position>=-1 && position<=points.size())
+		if(GLibUtilities.isValidPoint(pt) && position>=-1 && position<=points.size()) {
 			if(position==-1 || position==points.size())
 				points.add(pt);
 			else
 				points.add(position, pt);
+			stateChanged();
+		}
 	}
 }
@@ -0,0 +1,418 @@
+package net.sf.latexdraw.glib.models.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import net.sf.latexdraw.glib.models.GLibUtilities;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
+
+/**
+ * Defines a list of points which coordinates are packed in a single array of doubles (x and y interleaved).<br>
+ * The IPoint instances returned by the list are views of the array created on demand. All these views are pinned:
+ * they follow their point when the list is modified and are detached from the list (they keep their coordinates)
+ * when their point is removed. The views returned by get are weakly referenced so that the views no more used are
+ * not kept; the points added to the list and the points which JavaFX properties have been created are strongly referenced.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-02<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class LPackedPoints extends AbstractList<IPoint> implements RandomAccess {
+	/** The coordinates of the points: x0, y0, x1, y1, etc. */
+	double[] coords;
+
+	/** The number of points. */
+	private int size;
+
+	/**
+	 * The pinned points, indexed by their position (null if no point is pinned): LPoint instances
+	 * for the strongly referenced points, WeakReference instances for the views returned by get.
+	 */
+	private Object[] pinned;
+
+	/**
+	 * The bounds of the points (minX, minY, maxX, maxY) computed at the last bounds query, or null if the points
+	 * have been modified since. A new array is created at each computation so that the cached array is never modified.
+	 */
+	private volatile double[] bounds;
+
+	/** Called each time the points are modified (may be null). */
+	private Runnable changeHandler;
+
+	/** True while the shape of the points is updated: the JavaFX properties of the pinned points are updated at the end of the update. */
+	private boolean updating;
+
+
+	/**
+	 * Creates an empty list of points.
+	 */
+	LPackedPoints() {
+		super();
+		coords = new double[8];
+		size = 0;
+	}
+
+
+	@Override
+	public IPoint get(final int index) {
+		checkIndex(index);
+		LPoint pt = pinnedAt(index);
+
+		if(pt==null) {
+			pt = new LPoint(this, index);
+			if(pinned==null)
+				pinned = new Object[coords.length/2];
+			pinned[index] = new WeakReference<>(pt);
+		}
+		return pt;
+	}
+
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	@Override
+	public IPoint set(final int index, final IPoint pt) {
+		checkIndex(index);
+		final double x = pt.getX();
+		final double y = pt.getY();
+		final IPoint old = detachedCopy(index);
+
+		coords[index*2] = x;
+		coords[index*2+1] = y;
+		adopt(pt, index);
+		changed();
+
+		return old;
+	}
+
+
+	@Override
+	public void add(final int index, final IPoint pt) {
+		if(index<0 || index>size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// The coordinates must be read before shifting the array (the point may be stored in this list).
+		final double x = pt.getX();
+		final double y = pt.getY();
+
+		ensureCapacity(size+1);
+		System.arraycopy(coords, index*2, coords, index*2+2, (size-index)*2);
+
+		if(pinned!=null) {
+			System.arraycopy(pinned, index, pinned, index+1, size-index);
+			pinned[index] = null;
+			updatePinnedIndexes(index+1, size+1);
+		}
+
+		coords[index*2] = x;
+		coords[index*2+1] = y;
+		size++;
+		modCount++;
+		adopt(pt, index);
+		changed();
+	}
+
+
+	/**
+	 * Adds a point at the end of the list without creating any IPoint instance.
+	 * @param x The X-coordinate of the point.
+	 * @param y The Y-coordinate of the point.
+	 */
+	void add(final double x, final double y) {
+		ensureCapacity(size+1);
+		coords[size*2] = x;
+		coords[size*2+1] = y;
+		size++;
+		modCount++;
+		changed();
+	}
+
+
+	@Override
+	public IPoint remove(final int index) {
+		checkIndex(index);
+		final IPoint removed = detachedCopy(index);
+
+		System.arraycopy(coords, index*2+2, coords, index*2, (size-index-1)*2);
+
+		if(pinned!=null) {
+			System.arraycopy(pinned, index+1, pinned, index, size-index-1);
+			pinned[size-1] = null;
+			updatePinnedIndexes(index, size-1);
+		}
+
+		size--;
+		modCount++;
+		changed();
+		return removed;
+	}
+
+
+	@Override
+	public void clear() {
+		if(pinned!=null)
+			for(int i=0; i<size; i++) {
+				final LPoint pt = pinnedAt(i);
+				if(pt!=null)
+					pt.detach();
+				pinned[i] = null;
+			}
+		size = 0;
+		modCount++;
+		changed();
+	}
+
+
+	/**
+	 * Translates all the points.
+	 * @param tx The X translation.
+	 * @param ty The Y translation.
+	 */
+	void translate(final double tx, final double ty) {
+		for(int i=0, length=size*2; i<length; i+=2) {
+			coords[i] += tx;
+			coords[i+1] += ty;
+		}
+		syncPinned();
+		changed();
+	}
+
+
+	/**
+	 * Rotates all the points.
+	 * @param gc The centre of the rotation.
+	 * @param theta The angle of the rotation in radian.
+	 */
+	void rotate(final IPoint gc, final double theta) {
+		if(!GLibUtilities.isValidPoint(gc) || !GLibUtilities.isValidCoordinate(theta))
+			return;
+
+		// Rotating the unit vector provides the cosine and the sine with the same special cases
+		// (0, PI/2, PI, 3PI/2) as the rotation of a single point.
+		final IPoint unit = new LPoint(1., 0.).rotatePoint(new LPoint(), theta);
+		final double cos = unit.getX();
+		final double sin = unit.getY();
+		final double gx = gc.getX();
+		final double gy = gc.getY();
+		double x;
+		double y;
+
+		for(int i=0, length=size*2; i<length; i+=2) {
+			x = coords[i] - gx;
+			y = coords[i+1] - gy;
+			coords[i] = cos * x - sin * y + gx;
+			coords[i+1] = sin * x + cos * y + gy;
+		}
+		syncPinned();
+		changed();
+	}
+
+
+	/**
+	 * @return The bounds of the points: minX, minY, maxX, maxY (zeros if there is no point). The array is cached until
+	 * the points are modified: it must not be modified.
+	 */
+	double[] getBounds() {
+		double[] bds = bounds;
+
+		if(bds==null) {
+			bds = new double[4];
+
+			if(size>0) {
+				double minX = coords[0];
+				double minY = coords[1];
+				double maxX = minX;
+				double maxY = minY;
+
+				for(int i=2, length=size*2; i<length; i+=2) {
+					if(coords[i]<minX) minX = coords[i];
+					else if(coords[i]>maxX) maxX = coords[i];
+					if(coords[i+1]<minY) minY = coords[i+1];
+					else if(coords[i+1]>maxY) maxY = coords[i+1];
+				}
+				bds[0] = minX;
+				bds[1] = minY;
+				bds[2] = maxX;
+				bds[3] = maxY;
+			}
+			bounds = bds;
+		}
+		return bds;
+	}
+
+
+	/**
+	 * Flags the bounds of the points as outdated and notifies the change handler. Must be called when a coordinate
+	 * is modified outside this list.
+	 */
+	void pointModified() {
+		changed();
+	}
+
+
+	/**
+	 * Defines the object notified each time the points are modified (e.g. the shape of the points).
+	 * @param handler The handler to call. May be null.
+	 */
+	void setChangeHandler(final Runnable handler) {
+		changeHandler = handler;
+	}
+
+
+	private void changed() {
+		bounds = null;
+		if(changeHandler!=null)
+			changeHandler.run();
+	}
+
+
+	/**
+	 * @return True if the notifications of the JavaFX properties of the points are suspended (see setUpdating).
+	 */
+	boolean isUpdating() {
+		return updating;
+	}
+
+
+	/**
+	 * Suspends or resumes the notifications of the JavaFX properties of the points: while the shape is updated, the
+	 * coordinates are modified without updating the properties. The properties are then updated once at the end of the update.
+	 * @param upd True: the notifications are suspended.
+	 */
+	void setUpdating(final boolean upd) {
+		if(updating != upd) {
+			updating = upd;
+			if(!upd)
+				syncPinned();
+		}
+	}
+
+
+	/**
+	 * Pins the given point and references it strongly: the point will follow its position while the list is modified.
+	 * @param pt The point to pin. Must be stored in this list.
+	 */
+	void pin(final LPoint pt) {
+		if(pt.owner!=this)
+			return;
+		if(pinned==null)
+			pinned = new Object[coords.length/2];
+		pinned[pt.index] = pt;
+	}
+
+
+	/**
+	 * @return The point pinned at the given position or null. The reference of a collected view is cleared.
+	 */
+	private LPoint pinnedAt(final int index) {
+		if(pinned==null)
+			return null;
+
+		final Object obj = pinned[index];
+
+		if(obj instanceof LPoint)
+			return (LPoint) obj;
+		if(obj==null)
+			return null;
+
+		@SuppressWarnings("unchecked")
+		final LPoint pt = ((WeakReference<LPoint>) obj).get();
+		if(pt==null)
+			pinned[index] = null;
+		return pt;
+	}
+
+
+	/**
+	 * Removes the given point from this list: its coordinates are copied into the point.
+	 * @param pt The point to release. Must be stored in this list.
+	 */
+	private void release(final LPoint pt) {
+		if(pt.index>=0 && pt.index<size && pinnedAt(pt.index)==pt)
+			pinned[pt.index] = null;
+		pt.detach();
+	}
+
+
+	/**
+	 * Pins the given point at the given position if it is a LPoint, so that the given point stays the
+	 * point of the list (its coordinates must have been copied at the given position and no point must be pinned there).
+	 */
+	private void adopt(final IPoint pt, final int index) {
+		if(pt instanceof LPoint && ((LPoint)pt).owner!=this) {
+			final LPoint lpt = (LPoint) pt;
+			if(lpt.owner!=null)
+				lpt.owner.release(lpt);
+			lpt.owner = this;
+			lpt.index = index;
+			pin(lpt);
+		}
+	}
+
+
+	/**
+	 * @return A standalone point (not stored in this list) that has the coordinates of the point at the given position.
+	 * If the point at this position is pinned, it is detached from the list and returned.
+	 */
+	private IPoint detachedCopy(final int index) {
+		final LPoint pt = pinnedAt(index);
+		if(pt!=null) {
+			pinned[index] = null;
+			pt.detach();
+			return pt;
+		}
+		return new LPoint(coords[index*2], coords[index*2+1]);
+	}
+
+
+	private void updatePinnedIndexes(final int from, final int to) {
+		LPoint pt;
+		for(int i=from; i<to; i++) {
+			pt = pinnedAt(i);
+			if(pt!=null)
+				pt.index = i;
+		}
+	}
+
+
+	/** Updates the JavaFX properties of the pinned points: only the strongly referenced points may have properties. */
+	private void syncPinned() {
+		if(pinned!=null && !updating)
+			for(int i=0; i<size; i++)
+				if(pinned[i] instanceof LPoint)
+					((LPoint) pinned[i]).syncProperties();
+	}
+
+
+	private void ensureCapacity(final int capacity) {
+		if(capacity*2>coords.length) {
+			final int newLength = Math.max(capacity*2, coords.length*2);
+			coords = Arrays.copyOf(coords, newLength);
+			if(pinned!=null)
+				pinned = Arrays.copyOf(pinned, newLength/2);
+		}
+	}
+
+
+	private void checkIndex(final int index) {
+		if(index<0 || index>=size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -1,6 +1,7 @@
 package net.sf.latexdraw.glib.models.impl;
 
 import java.awt.Image;
+import java.awt.geom.Rectangle2D;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -159,6 +160,21 @@ class LPicture extends LPositionShape implements IPicture {
 	}
 
 
+	@Override
+	public void getBounds(final Rectangle2D bounds) {
+		if(bounds!=null) {
+			final IPoint pos = getPtAt(0);
+			bounds.setRect(pos.getX(), pos.getY(), getWidth(), getHeight());
+		}
+	}
+
+
+	@Override
+	public void getFullBounds(final Rectangle2D bounds) {
+		getBounds(bounds);
+	}
+
+
 	@Override
 	public IPoint getBottomRightPoint() {
 		final IPoint pos = getPtAt(0);
@@ -206,7 +222,11 @@ class LPicture extends LPositionShape implements IPicture {
 	@Override
 	public void setPathSource(final String pathSource) throws IOException {
 		this.pathSource = pathSource;
-		loadImage();
+		try {
+			loadImage();
+		}finally {
+			changed();
+		}
 	}
 
 	@Override
@@ -25,6 +25,14 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
 	private var nbPoints:Int = 50
 	private var style:PlotStyle = PlotStyle.CURVE
 	private var parser:PSFunctionParser = new PSFunctionParser(equation)
+
+	/** The cached Y coordinates of the plotted points, their extents, and the parameters used to compute them. */
+	private var sampledYs:Array[Double] = Array.emptyDoubleArray
+	private var sampledMinY = 0.0
+	private var sampledMaxY = 0.0
+	private var sampledParser:PSFunctionParser = null
+	private var sampledMinX = Double.NaN
+	private var sampledMaxX = Double.NaN
 	
 	private var dotStyle = DotStyle.DOT
 	private var dotDiametre = PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM*IShape.PPC+PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM
@@ -50,6 +58,7 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
       case dot:IDotProp =>
         dotStyle = dot.getDotStyle()
         dotDiametre = dot.getDiametre
+        changed()
 			case _ =>
 		}
 	}
@@ -69,14 +78,20 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
   
 
 	override def setPlotStyle(style:PlotStyle) {
-		if(style!=null) this.style = style
+		if(style!=null) {
+			this.style = style
+			stateChanged()
+			changed()
+		}
 	}
 
 	override def getPlotStyle = style
 
 	override def setNbPlottedPoints(nbPts:Int) {
-		if(nbPts>1)
+		if(nbPts>1) {
 			nbPoints = nbPts
+			changed()
+		}
 	}
 
 	override def isShowPtsable = false
@@ -90,27 +105,67 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
 	override def getPlottingStep = (maxX-minX)/(nbPoints-1)
 
 	override def getTopLeftPoint = {
-		val step = getPlottingStep
 		val pos = getPosition
-		ShapeFactory.createPoint(pos.getX+minX*IShape.PPC*xscale, pos.getY-(0 until nbPoints).map{x=>getY(minX+x*step)}.max*IShape.PPC*yscale)
+		ShapeFactory.createPoint(pos.getX+minX*IShape.PPC*xscale, pos.getY-getPlottedMaxY*IShape.PPC*yscale)
 	}
 
 	override def getBottomRightPoint = {
-		val step = getPlottingStep
 		val pos = getPosition
-		ShapeFactory.createPoint(pos.getX+maxX*IShape.PPC*xscale, pos.getY-(0 until nbPoints).map{x=>getY(minX+x*step)}.min*IShape.PPC*yscale)
+		ShapeFactory.createPoint(pos.getX+maxX*IShape.PPC*xscale, pos.getY-getPlottedMinY*IShape.PPC*yscale)
 	}
 
 	override def getTopRightPoint = {
-		val step = getPlottingStep
 		val pos = getPosition
-		ShapeFactory.createPoint(pos.getX+maxX*IShape.PPC*xscale, pos.getY-(0 until nbPoints).map{x=>getY(minX+x*step)}.max*IShape.PPC*yscale)
+		ShapeFactory.createPoint(pos.getX+maxX*IShape.PPC*xscale, pos.getY-getPlottedMaxY*IShape.PPC*yscale)
 	}
 
 	override def getBottomLeftPoint = {
-		val step = getPlottingStep
 		val pos = getPosition
-		ShapeFactory.createPoint(pos.getX+minX*IShape.PPC*xscale, pos.getY-(0 until nbPoints).map{x=>getY(minX+x*step)}.min*IShape.PPC*yscale)
+		ShapeFactory.createPoint(pos.getX+minX*IShape.PPC*xscale, pos.getY-getPlottedMinY*IShape.PPC*yscale)
+	}
+
+	override def getBounds(bounds:Rectangle2D) {
+		if(bounds!=null) {
+			val pos = getPosition
+			bounds.setFrameFromDiagonal(pos.getX+minX*IShape.PPC*xscale, pos.getY-getPlottedMaxY*IShape.PPC*yscale,
+					pos.getX+maxX*IShape.PPC*xscale, pos.getY-getPlottedMinY*IShape.PPC*yscale)
+		}
+	}
+
+	override def getPlottedYs = {
+		updatePlottedYs()
+		sampledYs
+	}
+
+	override def getPlottedMinY = {
+		updatePlottedYs()
+		sampledMinY
+	}
+
+	override def getPlottedMaxY = {
+		updatePlottedYs()
+		sampledMaxY
+	}
+
+	/** Computes the plotted points if the equation, the X bounds or the number of points changed since the last computation. */
+	private def updatePlottedYs() {
+		if((sampledParser ne parser) || sampledMinX!=minX || sampledMaxX!=maxX || sampledYs.length!=nbPoints) {
+			val ys = parser.getY(minX, getPlottingStep, new Array[Double](nbPoints))
+			var min = ys(0)
+			var max = ys(0)
+			var i = 1
+			while(i<ys.length) {
+				min = math.min(min, ys(i))
+				max = math.max(max, ys(i))
+				i += 1
+			}
+			sampledYs = ys
+			sampledMinY = min
+			sampledMaxY = max
+			sampledParser = parser
+			sampledMinX = minX
+			sampledMaxX = maxX
+		}
 	}
 	
 	protected override def scaleSetPointsWithRatio(pts:java.util.List[IPoint], prevWidth:Double, prevHeight:Double, pos:Position, bound:Rectangle2D) {
@@ -142,6 +197,7 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
 		if(eq!=null && !eq.isEmpty) {
 			equation = eq
       parser = new PSFunctionParser(equation)
+			changed()
 		}
 	}
 
@@ -151,18 +207,23 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
 
 	override def setPolar(pol:Boolean) {
 		polar = pol
+		changed()
 	}
 
 	override def isPolar = polar
 
 	override def setPlotMaxX(x:Double) {
-		if(GLibUtilities.isValidCoordinate(x) && x>minX)
+		if(GLibUtilities.isValidCoordinate(x) && x>minX) {
 			maxX = x
+			changed()
+		}
 	}
 
 	override def setPlotMinX(x:Double) {
-		if(GLibUtilities.isValidCoordinate(x) && x<maxX)
+		if(GLibUtilities.isValidCoordinate(x) && x<maxX) {
 			minX = x
+			changed()
+		}
 	}
 	
 	
@@ -173,7 +234,10 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
   def getDotStyle(): DotStyle = dotStyle
 
   def setDiametre(diam: Double) {
-  	if(diam>0.0 && GLibUtilities.isValidCoordinate(diam)) dotDiametre = diam
+  	if(diam>0.0 && GLibUtilities.isValidCoordinate(diam)) {
+  		dotDiametre = diam
+  		changed()
+  	}
   }
 
   def setDotFillingCol(col: Color) {
@@ -181,6 +245,10 @@ private[impl] class LPlot(pt:IPoint, var minX:Double, var maxX:Double, var equat
   }
 
   def setDotStyle(dotst: DotStyle) {
-  	if(dotst!=null) dotStyle = dotst
+  	if(dotst!=null) {
+  		dotStyle = dotst
+  		stateChanged()
+  		changed()
+  	}
   }
 }
@@ -34,9 +34,24 @@ import net.sf.latexdraw.util.LNumber;
  * @since 3.0
  */
 class LPoint implements IPoint {
-	final protected @NonNull DoubleProperty x;
+	/** The coordinates of the point when it is not stored in a packed array of points. */
+	protected double xCoord;
 
-	final protected @NonNull DoubleProperty y;
+	protected double yCoord;
+
+	/** The packed array of points that stores the coordinates of the point (null if the point is standalone). */
+	LPackedPoints owner;
+
+	/** The position of the point in its owner. */
+	int index;
+
+	/** True while the shape of the standalone point is updated: the JavaFX properties are updated at the end of the update. */
+	private boolean updating;
+
+	/** The JavaFX properties of the coordinates: they are created on demand only (see xProperty and yProperty). */
+	private DoubleProperty x;
+
+	private DoubleProperty y;
 
 	/**
 	 * Creates a Point2D with coordinates (0, 0).
@@ -60,8 +75,19 @@ class LPoint implements IPoint {
 	 */
 	protected LPoint(final double xCoord, final double yCoord) {
 		super();
-		x = new SimpleDoubleProperty(xCoord);
-		y = new SimpleDoubleProperty(yCoord);
+		this.xCoord = xCoord;
+		this.yCoord = yCoord;
+	}
+
+	/**
+	 * Creates a point stored in a packed array of points.
+	 * @param owner The packed array of points.
+	 * @param index The position of the point in the array.
+	 */
+	LPoint(final LPackedPoints owner, final int index) {
+		super();
+		this.owner = owner;
+		this.index = index;
 	}
 
 	@Override
@@ -185,14 +211,92 @@ class LPoint implements IPoint {
 
 	@Override
 	public void setX(final double newX) {
-		if(GLibUtilities.isValidCoordinate(newX))
-			x.set(newX);
+		if(GLibUtilities.isValidCoordinate(newX)) {
+			storeX(newX);
+			if(x != null && !isUpdating())
+				x.set(newX);
+		}
 	}
 
 	@Override
 	public void setY(final double newY) {
-		if(GLibUtilities.isValidCoordinate(newY))
-			y.set(newY);
+		if(GLibUtilities.isValidCoordinate(newY)) {
+			storeY(newY);
+			if(y != null && !isUpdating())
+				y.set(newY);
+		}
+	}
+
+	private void storeX(final double value) {
+		if(owner == null)
+			xCoord = value;
+		else if(Double.compare(owner.coords[index * 2], value) != 0) {
+			owner.coords[index * 2] = value;
+			owner.pointModified();
+		}
+	}
+
+	private void storeY(final double value) {
+		if(owner == null)
+			yCoord = value;
+		else if(Double.compare(owner.coords[index * 2 + 1], value) != 0) {
+			owner.coords[index * 2 + 1] = value;
+			owner.pointModified();
+		}
+	}
+
+	/**
+	 * Updates the JavaFX properties (if created) from the stored coordinates.
+	 * Used by the packed arrays of points after bulk modifications of their coordinates.
+	 */
+	void syncProperties() {
+		if(x != null && !x.isBound())
+			x.set(getX());
+		if(y != null && !y.isBound())
+			y.set(getY());
+	}
+
+	/**
+	 * @return True if the notifications of the JavaFX properties are suspended (see setUpdating).
+	 */
+	private boolean isUpdating() {
+		return owner == null?updating:owner.isUpdating();
+	}
+
+	/**
+	 * Suspends or resumes the notifications of the JavaFX properties of a standalone point: while its shape is
+	 * updated, the coordinates are modified without updating the properties. The properties are then updated once
+	 * at the end of the update. The points stored in a packed array of points are managed by their array.
+	 * @param upd True: the notifications are suspended.
+	 */
+	void setUpdating(final boolean upd) {
+		if(owner == null && updating != upd) {
+			updating = upd;
+			if(!upd)
+				syncProperties();
+		}
+	}
+
+	/**
+	 * @return True if one of the JavaFX properties of the point has been created.
+	 */
+	boolean hasProperties() {
+		return x != null || y != null;
+	}
+
+	/**
+	 * Copies the coordinates from the packed array of points into the point itself: the point is no more
+	 * stored in the packed array.
+	 */
+	void detach() {
+		if(owner != null) {
+			xCoord = getX();
+			yCoord = getY();
+			owner = null;
+			index = -1;
+			// The properties may not have been updated if the point is detached while its shape is updated.
+			syncProperties();
+		}
 	}
 
 	@Override
@@ -208,7 +312,7 @@ class LPoint implements IPoint {
 
 	@Override
 	public Point2D.Double toPoint2D() {
-		return new Point2D.Double(x.getValue(), y.getValue());
+		return new Point2D.Double(getX(), getY());
 	}
 
 	@Override
@@ -245,36 +349,56 @@ class LPoint implements IPoint {
 
 	@Override
 	public @NonNull DoubleProperty xProperty() {
+		if(x == null) {
+			x = new SimpleDoubleProperty(getX()) {
+				@Override
+				protected void invalidated() {
+					storeX(get());
+				}
+			};
+			if(owner != null)
+				owner.pin(this);
+		}
 		return x;
 	}
 
 	@Override
 	public @NonNull DoubleProperty yProperty() {
+		if(y == null) {
+			y = new SimpleDoubleProperty(getY()) {
+				@Override
+				protected void invalidated() {
+					storeY(get());
+				}
+			};
+			if(owner != null)
+				owner.pin(this);
+		}
 		return y;
 	}
 
 	@Override
 	public double getY() {
-		return y.get();
+		return owner == null?yCoord:owner.coords[index * 2 + 1];
 	}
 
 	@Override
 	public double getX() {
-		return x.get();
+		return owner == null?xCoord:owner.coords[index * 2];
 	}
 
 	@Override
-	public double distance(double xCoord, double yCoord) {
-		return Math.sqrt(Math.pow(xCoord - x.get(), 2) + Math.pow(yCoord - y.get(), 2));
+	public double distance(final double xc, final double yc) {
+		return Math.sqrt(Math.pow(xc - getX(), 2) + Math.pow(yc - getY(), 2));
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		long temp = Double.doubleToLongBits(x.doubleValue());
+		long temp = Double.doubleToLongBits(getX());
 		result = prime * result + (int)(temp ^ (temp >>> 32));
-		temp = Double.doubleToLongBits(y.doubleValue());
+		temp = Double.doubleToLongBits(getY());
 		result = prime * result + (int)(temp ^ (temp >>> 32));
 		return result;
 	}
@@ -286,15 +410,15 @@ class LPoint implements IPoint {
 		if(!(obj instanceof IPoint))
 			return false;
 		final IPoint other = (IPoint)obj;
-		if(Double.doubleToLongBits(x.doubleValue()) != Double.doubleToLongBits(other.getX()))
+		if(Double.doubleToLongBits(getX()) != Double.doubleToLongBits(other.getX()))
 			return false;
-		if(Double.doubleToLongBits(y.doubleValue()) != Double.doubleToLongBits(other.getY()))
+		if(Double.doubleToLongBits(getY()) != Double.doubleToLongBits(other.getY()))
 			return false;
 		return true;
 	}
 
 	@Override
 	public String toString() {
-		return "LPoint [x=" + x.doubleValue() + ", y=" + y.doubleValue() + "]";
+		return "LPoint [x=" + getX() + ", y=" + getY() + "]";
 	}
 }
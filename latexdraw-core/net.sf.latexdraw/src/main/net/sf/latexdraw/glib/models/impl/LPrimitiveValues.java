@@ -0,0 +1,163 @@
+package net.sf.latexdraw.glib.models.impl;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * Defines a list of values stored in an array of primitives: the values are not boxed.
+ * The null elements (e.g. a property not supported by a shape of a group) are flagged in a bit set.<br>
+ * Used by the groups to snapshot the values of the properties of their shapes (e.g. to undo a modification):
+ * a snapshot of a large group does not create an object per shape.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-13<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ * @param <E> The type of the boxed values.
+ */
+abstract class LPrimitiveValues<E> extends AbstractList<E> implements RandomAccess {
+	/** The positions of the null elements. */
+	private final BitSet nulls;
+
+	/** The number of values. */
+	protected int size;
+
+
+	LPrimitiveValues() {
+		super();
+		nulls = new BitSet();
+	}
+
+
+	/**
+	 * @return The number of values the array of primitives can contain.
+	 */
+	protected abstract int capacity();
+
+	/**
+	 * Sets the capacity of the array of primitives (the values are kept).
+	 */
+	protected abstract void setCapacity(final int capacity);
+
+	/**
+	 * Moves the primitives from the position 'from' to the position 'to' (see System.arraycopy).
+	 */
+	protected abstract void move(final int from, final int to, final int length);
+
+	/**
+	 * Stores the given non-null value at the given position of the array of primitives.
+	 */
+	protected abstract void store(final int index, final E value);
+
+	/**
+	 * @return The boxed value at the given position of the array of primitives.
+	 */
+	protected abstract E load(final int index);
+
+
+	/**
+	 * @return True if the element at the given position is null (i.e. undefined).
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 */
+	public boolean isNull(final int index) {
+		checkIndex(index);
+		return nulls.get(index);
+	}
+
+
+	/**
+	 * Reserves a place at the end of the list.
+	 * @return The position of the place.
+	 */
+	protected int append() {
+		if(size == capacity())
+			setCapacity(Math.max(8, size * 2));
+		modCount++;
+		return size++;
+	}
+
+
+	@Override
+	public E get(final int index) {
+		checkIndex(index);
+		return nulls.get(index) ? null : load(index);
+	}
+
+
+	@Override
+	public E set(final int index, final E element) {
+		final E old = get(index);
+		put(index, element);
+		return old;
+	}
+
+
+	@Override
+	public void add(final int index, final E element) {
+		if(index < 0 || index > size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+
+		append();
+		if(index < size - 1) {
+			move(index, index + 1, size - 1 - index);
+			for(int i = size - 1; i > index; i--)
+				nulls.set(i, nulls.get(i - 1));
+		}
+		put(index, element);
+	}
+
+
+	@Override
+	public E remove(final int index) {
+		final E old = get(index);
+		move(index + 1, index, size - 1 - index);
+		for(int i = index; i < size - 1; i++)
+			nulls.set(i, nulls.get(i + 1));
+		nulls.clear(size - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+
+	@Override
+	public void clear() {
+		size = 0;
+		nulls.clear();
+		modCount++;
+	}
+
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	/** Stores the given element (null or not) at the given valid position. */
+	private void put(final int index, final E element) {
+		if(element == null)
+			nulls.set(index);
+		else {
+			nulls.clear(index);
+			store(index, element);
+		}
+	}
+
+
+	protected void checkIndex(final int index) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
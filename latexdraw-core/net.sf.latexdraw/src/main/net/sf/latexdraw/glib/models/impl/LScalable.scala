@@ -13,13 +13,17 @@ trait LScalable extends IScalable {
 	var yscale:Double = 1.0
 
 	override def setXScale(xscale:Double) {
-		if(xscale>0 && GLibUtilities.isValidCoordinate(xscale))
+		if(xscale>0 && GLibUtilities.isValidCoordinate(xscale)) {
 			this.xscale = xscale
+			LShape.changed(this)
+		}
 	}
 
 	override def setYScale(yscale:Double) {
-		if(yscale>0 && GLibUtilities.isValidCoordinate(yscale))
+		if(yscale>0 && GLibUtilities.isValidCoordinate(yscale)) {
 			this.yscale = yscale
+			LShape.changed(this)
+		}
 	}
 
 	override def setScale(scale:Double) {
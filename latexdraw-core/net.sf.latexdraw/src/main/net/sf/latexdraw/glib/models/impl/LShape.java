@@ -1,7 +1,6 @@
 package net.sf.latexdraw.glib.models.impl;
 
 import java.awt.geom.Rectangle2D;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -9,8 +8,11 @@ import org.malai.mapping.MappingRegistry;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.BorderPos;
@@ -127,10 +129,34 @@ abstract class LShape implements ISingleShape {
 	/** Defined if the shape has been modified. */
 	protected boolean modified;
 
+	/** The number of nested updates in progress (see beginUpdate). */
+	private int updateDepth;
+
+	/** The number of updates of the shape (see updateProperty). */
+	private final ReadOnlyLongWrapper update;
+
+	/** The version of the shape, incremented each time the shape changes (see versionProperty). */
+	private final ReadOnlyLongWrapper version;
+
+	/** True if the shape changed during the update in progress: the version is incremented at the end of the update. */
+	private boolean changedDuringUpdate;
+
+	/** The groups containing the shape, notified when a state they summarise changes (see LShapesSummary). */
+	final LShapeObservers observers;
+
 	/**
-	 * The second default constructor
+	 * The second default constructor. The points of all the shapes are packed: the packed points notify the
+	 * shape when they are modified (see versionProperty) and cache their bounds.
 	 */
 	protected LShape() {
+		this(new LPackedPoints());
+	}
+
+	/**
+	 * Creates the shape.
+	 * @param pts The list that will contain the points of the shape.
+	 */
+	protected LShape(final List<IPoint> pts) {
 		super();
 		modified = false;
 		thickness = new SimpleDoubleProperty(2.0);
@@ -159,7 +185,21 @@ abstract class LShape implements ISingleShape {
 		gradColEnd = PSTricksConstants.DEFAULT_GRADIENT_END_COLOR;
 		gradMidPt = PSTricksConstants.DEFAULT_GRADIENT_MID_POINT;
 		showPts = false;
-		points = new ArrayList<>();
+		points = pts;
+		observers = new LShapeObservers();
+		update = new ReadOnlyLongWrapper();
+		version = new ReadOnlyLongWrapper();
+		// The filling style defines whether the shape is filled, hatched or has a gradient.
+		fillingStyle.addListener((obs, oldStyle, newStyle) -> stateChanged());
+
+		final ChangeListener<Object> onChange = (obs, oldValue, newValue) -> changed();
+		thickness.addListener(onChange);
+		lineColour.addListener(onChange);
+		lineStyle.addListener(onChange);
+		fillingStyle.addListener(onChange);
+		bordersPosition.addListener(onChange);
+		if(pts instanceof LPackedPoints)
+			((LPackedPoints) pts).setChangeHandler(this::changed);
 	}
 
 	@Override
@@ -202,6 +242,7 @@ abstract class LShape implements ISingleShape {
 			return;
 		points.clear();
 		sh.getPoints().forEach(pt -> points.add(ShapeFactory.createPoint(pt)));
+		stateChanged();
 	}
 
 	@Override
@@ -312,7 +353,11 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public IPoint getGravityCentre() {
-		return points.isEmpty()?ShapeFactory.createPoint():getTopLeftPoint().getMiddlePoint(getBottomRightPoint());
+		if(points.isEmpty())
+			return ShapeFactory.createPoint();
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		getBounds(bounds);
+		return ShapeFactory.createPoint(bounds.getCenterX(), bounds.getCenterY());
 	}
 
 	@Override
@@ -489,32 +534,42 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public void setDashSepBlack(final double dashSepBlack) {
-		if(dashSepBlack > 0 && GLibUtilities.isValidCoordinate(dashSepBlack))
+		if(dashSepBlack > 0 && GLibUtilities.isValidCoordinate(dashSepBlack)) {
 			this.dashSepBlack = dashSepBlack;
+			changed();
+		}
 	}
 
 	@Override
 	public void setDashSepWhite(final double dashSepWhite) {
-		if(dashSepWhite > 0 && GLibUtilities.isValidCoordinate(dashSepWhite))
+		if(dashSepWhite > 0 && GLibUtilities.isValidCoordinate(dashSepWhite)) {
 			this.dashSepWhite = dashSepWhite;
+			changed();
+		}
 	}
 
 	@Override
 	public void setDbleBordCol(final Color dbleBordCol) {
-		if(dbleBordCol != null && isDbleBorderable())
+		if(dbleBordCol != null && isDbleBorderable()) {
 			this.dbleBordCol = dbleBordCol;
+			changed();
+		}
 	}
 
 	@Override
 	public void setDbleBordSep(final double dbleBordSep) {
-		if(dbleBordSep >= 0 && isDbleBorderable() && GLibUtilities.isValidCoordinate(dbleBordSep))
+		if(dbleBordSep >= 0 && isDbleBorderable() && GLibUtilities.isValidCoordinate(dbleBordSep)) {
 			this.dbleBordSep = dbleBordSep;
+			changed();
+		}
 	}
 
 	@Override
 	public void setDotSep(final double dotSep) {
-		if(dotSep >= 0 && GLibUtilities.isValidCoordinate(dotSep))
+		if(dotSep >= 0 && GLibUtilities.isValidCoordinate(dotSep)) {
 			this.dotSep = dotSep;
+			changed();
+		}
 	}
 
 	@Override
@@ -578,8 +633,10 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public void setFillingCol(final Color fillingCol) {
-		if(fillingCol != null && isFillable())
+		if(fillingCol != null && isFillable()) {
 			this.fillingCol = fillingCol;
+			changed();
+		}
 	}
 
 	@Override
@@ -590,62 +647,84 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public void setGradAngle(final double gradAngle) {
-		if(GLibUtilities.isValidCoordinate(gradAngle) && isInteriorStylable())
+		if(GLibUtilities.isValidCoordinate(gradAngle) && isInteriorStylable()) {
 			this.gradAngle = gradAngle;
+			changed();
+		}
 	}
 
 	@Override
 	public void setGradColEnd(final Color gradColEnd) {
-		if(gradColEnd != null && isInteriorStylable())
+		if(gradColEnd != null && isInteriorStylable()) {
 			this.gradColEnd = gradColEnd;
+			changed();
+		}
 	}
 
 	@Override
 	public void setGradColStart(final Color gradColStart) {
-		if(gradColStart != null && isInteriorStylable())
+		if(gradColStart != null && isInteriorStylable()) {
 			this.gradColStart = gradColStart;
+			changed();
+		}
 	}
 
 	@Override
 	public void setGradMidPt(final double gradMidPt) {
-		if(gradMidPt >= 0 && gradMidPt <= 1 && isInteriorStylable())
+		if(gradMidPt >= 0 && gradMidPt <= 1 && isInteriorStylable()) {
 			this.gradMidPt = gradMidPt;
+			changed();
+		}
 	}
 
 	@Override
 	public void setHasDbleBord(final boolean hasDbleBord) {
-		if(isDbleBorderable())
+		if(isDbleBorderable()) {
 			this.hasDbleBord = hasDbleBord;
+			stateChanged();
+			changed();
+		}
 	}
 
 	@Override
 	public void setHasShadow(final boolean hasShadow) {
-		if(isShadowable())
+		if(isShadowable()) {
 			this.hasShadow = hasShadow;
+			stateChanged();
+			changed();
+		}
 	}
 
 	@Override
 	public void setHatchingsAngle(final double hatchingsAngle) {
-		if(GLibUtilities.isValidCoordinate(hatchingsAngle) && isInteriorStylable())
+		if(GLibUtilities.isValidCoordinate(hatchingsAngle) && isInteriorStylable()) {
 			this.hatchingsAngle = hatchingsAngle;
+			changed();
+		}
 	}
 
 	@Override
 	public void setHatchingsCol(final Color hatchingsCol) {
-		if(hatchingsCol != null && isInteriorStylable())
+		if(hatchingsCol != null && isInteriorStylable()) {
 			this.hatchingsCol = hatchingsCol;
+			changed();
+		}
 	}
 
 	@Override
 	public void setHatchingsSep(final double hatchingsSep) {
-		if(GLibUtilities.isValidCoordinate(hatchingsSep) && hatchingsSep >= 0 && isInteriorStylable())
+		if(GLibUtilities.isValidCoordinate(hatchingsSep) && hatchingsSep >= 0 && isInteriorStylable()) {
 			this.hatchingsSep = hatchingsSep;
+			changed();
+		}
 	}
 
 	@Override
 	public void setHatchingsWidth(final double hatchingsWidth) {
-		if(GLibUtilities.isValidCoordinate(hatchingsWidth) && hatchingsWidth > 0 && isInteriorStylable())
+		if(GLibUtilities.isValidCoordinate(hatchingsWidth) && hatchingsWidth > 0 && isInteriorStylable()) {
 			this.hatchingsWidth = hatchingsWidth;
+			changed();
+		}
 	}
 
 	@Override
@@ -707,32 +786,43 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public void setRotationAngle(final double rotationAngle) {
-		if(GLibUtilities.isValidCoordinate(rotationAngle))
+		if(GLibUtilities.isValidCoordinate(rotationAngle)) {
 			this.rotationAngle = rotationAngle;
+			changed();
+		}
 	}
 
 	@Override
 	public void setShadowAngle(final double shadowAngle) {
-		if(isShadowable() && GLibUtilities.isValidCoordinate(shadowAngle))
+		if(isShadowable() && GLibUtilities.isValidCoordinate(shadowAngle)) {
 			this.shadowAngle = shadowAngle;
+			changed();
+		}
 	}
 
 	@Override
 	public void setShadowCol(final Color shadowCol) {
-		if(shadowCol != null && isShadowable())
+		if(shadowCol != null && isShadowable()) {
 			this.shadowCol = shadowCol;
+			changed();
+		}
 	}
 
 	@Override
 	public void setShadowSize(final double shadowSize) {
-		if(isShadowable() && shadowSize > 0 && GLibUtilities.isValidCoordinate(shadowSize))
+		if(isShadowable() && shadowSize > 0 && GLibUtilities.isValidCoordinate(shadowSize)) {
 			this.shadowSize = shadowSize;
+			changed();
+		}
 	}
 
 	@Override
 	public void setShowPts(final boolean showPts) {
-		if(isShowPtsable())
+		if(isShowPtsable()) {
 			this.showPts = showPts;
+			stateChanged();
+			changed();
+		}
 	}
 
 	@Override
@@ -766,22 +856,122 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public IPoint getBottomRightPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.createPoint(Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).orElse(ShapeFactory.createPoint());
+		final double[] bounds = getPointsBounds();
+		return ShapeFactory.createPoint(bounds[2], bounds[3]);
 	}
 
 	@Override
 	public IPoint getBottomLeftPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.createPoint(Math.min(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).orElse(ShapeFactory.createPoint());
+		final double[] bounds = getPointsBounds();
+		return ShapeFactory.createPoint(bounds[0], bounds[3]);
 	}
 
 	@Override
 	public IPoint getTopLeftPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.createPoint(Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).orElse(ShapeFactory.createPoint());
+		final double[] bounds = getPointsBounds();
+		return ShapeFactory.createPoint(bounds[0], bounds[1]);
 	}
 
 	@Override
 	public IPoint getTopRightPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.createPoint(Math.max(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).orElse(ShapeFactory.createPoint());
+		final double[] bounds = getPointsBounds();
+		return ShapeFactory.createPoint(bounds[2], bounds[1]);
+	}
+
+	@Override
+	public void getBounds(final Rectangle2D bounds) {
+		if(bounds != null) {
+			final double[] bds = getPointsBounds();
+			bounds.setFrameFromDiagonal(bds[0], bds[1], bds[2], bds[3]);
+		}
+	}
+
+	@Override
+	public void getFullBounds(final Rectangle2D bounds) {
+		if(bounds != null) {
+			final double gap = getBorderGap();
+			getBounds(bounds);
+			bounds.setFrameFromDiagonal(bounds.getMinX() - gap, bounds.getMinY() - gap, bounds.getMaxX() + gap, bounds.getMaxY() + gap);
+		}
+	}
+
+	/**
+	 * @return The bounds of the points of the shape: minX, minY, maxX, maxY (zeros if the shape has no point).
+	 * The bounds of packed points are cached until the points are modified: the returned array must not be modified.
+	 */
+	protected double[] getPointsBounds() {
+		if(points instanceof LPackedPoints)
+			return ((LPackedPoints) points).getBounds();
+
+		final double[] bounds = new double[4];
+		final int size = points.size();
+
+		if(size > 0) {
+			IPoint pt = points.get(0);
+			bounds[0] = pt.getX();
+			bounds[1] = pt.getY();
+			bounds[2] = bounds[0];
+			bounds[3] = bounds[1];
+
+			for(int i = 1; i < size; i++) {
+				pt = points.get(i);
+				bounds[0] = Math.min(bounds[0], pt.getX());
+				bounds[1] = Math.min(bounds[1], pt.getY());
+				bounds[2] = Math.max(bounds[2], pt.getX());
+				bounds[3] = Math.max(bounds[3], pt.getY());
+			}
+		}
+		return bounds;
+	}
+
+	@Override
+	public void beginUpdate() {
+		if(updateDepth == 0)
+			setPointsUpdating(true);
+		updateDepth++;
+	}
+
+	@Override
+	public void endUpdate() {
+		if(updateDepth == 1) {
+			// The properties of the points are updated while the shape is still updating: the views
+			// ignore them and are refreshed once by the update property.
+			setPointsUpdating(false);
+			updateDepth = 0;
+			update.set(update.get() + 1);
+			if(changedDuringUpdate) {
+				changedDuringUpdate = false;
+				changed();
+			}
+		}else if(updateDepth > 1)
+			updateDepth--;
+	}
+
+	@Override
+	public boolean isUpdating() {
+		return updateDepth > 0;
+	}
+
+	/**
+	 * Suspends or resumes the notifications of the JavaFX properties of the points of the shape.
+	 * Should be overridden by the shapes having other points.
+	 * @param updating True: the notifications are suspended.
+	 */
+	protected void setPointsUpdating(final boolean updating) {
+		setPointsUpdating(points, updating);
+	}
+
+	/**
+	 * Suspends or resumes the notifications of the JavaFX properties of the given points.
+	 */
+	protected static void setPointsUpdating(final List<IPoint> pts, final boolean updating) {
+		if(pts instanceof LPackedPoints)
+			((LPackedPoints) pts).setUpdating(updating);
+		else
+			pts.forEach(pt -> {
+				if(pt instanceof LPoint)
+					((LPoint) pt).setUpdating(updating);
+			});
 	}
 
 	@Override
@@ -799,6 +989,38 @@ abstract class LShape implements ISingleShape {
 		this.modified = modified;
 	}
 
+	/**
+	 * Notifies the groups containing the shape that a state they summarise changed (see LShapesSummary).
+	 * @since 4.0
+	 */
+	protected void stateChanged() {
+		observers.stateChanged(this);
+	}
+
+	/**
+	 * Notifies that the shape changed: its version is incremented and the groups containing it are notified.
+	 * During an update (see beginUpdate), the notification is postponed to the end of the update.
+	 * @since 4.0
+	 */
+	void changed() {
+		if(updateDepth > 0)
+			changedDuringUpdate = true;
+		else {
+			version.set(version.get() + 1);
+			observers.changed(this);
+		}
+	}
+
+	/**
+	 * Notifies that the given shape changed if it is a shape of LaTeXDraw (see changed()).
+	 * Used by the traits that define properties of shapes.
+	 * @param shape The changed shape.
+	 */
+	static void changed(final Object shape) {
+		if(shape instanceof LShape)
+			((LShape) shape).changed();
+	}
+
 	@Override
 	public boolean isModified() {
 		return modified;
@@ -863,12 +1085,16 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public double getHeight() {
-		return Math.abs(getBottomLeftPoint().getY() - getTopLeftPoint().getY());
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		getBounds(bounds);
+		return bounds.getHeight();
 	}
 
 	@Override
 	public double getWidth() {
-		return Math.abs(getTopRightPoint().getX() - getTopLeftPoint().getX());
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		getBounds(bounds);
+		return bounds.getWidth();
 	}
 
 	@Override
@@ -895,4 +1121,14 @@ abstract class LShape implements ISingleShape {
 	public @NonNull ObjectProperty<FillingStyle> fillingProperty() {
 		return fillingStyle;
 	}
+
+	@Override
+	public @NonNull ReadOnlyLongProperty updateProperty() {
+		return update.getReadOnlyProperty();
+	}
+
+	@Override
+	public @NonNull ReadOnlyLongProperty versionProperty() {
+		return version.getReadOnlyProperty();
+	}
 }
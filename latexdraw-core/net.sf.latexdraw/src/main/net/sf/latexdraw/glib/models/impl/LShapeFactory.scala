@@ -14,6 +14,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IAxes
 import net.sf.latexdraw.glib.models.interfaces.shape.IBezierCurve
 import net.sf.latexdraw.glib.models.interfaces.shape.ICircle
 import net.sf.latexdraw.glib.models.interfaces.shape.ICircleArc
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot
 import net.sf.latexdraw.glib.models.interfaces.shape.IDot
 import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing
 import net.sf.latexdraw.glib.models.interfaces.shape.IEllipse
@@ -92,7 +93,9 @@ class LShapeFactory extends IShapeFactory {
 			  (classOf[IText], () => createText()),
 			  (classOf[LText], () => createText()),
 			  (classOf[IPlot], () => createPlot(createPoint, 1, 10, "x", false)),
-			  (classOf[LPlot], () => createPlot(createPoint, 1, 10, "x", false)))
+			  (classOf[LPlot], () => createPlot(createPoint, 1, 10, "x", false)),
+			  (classOf[IDataPlot], () => createDataPlot(createPoint, Array.emptyDoubleArray, Array.emptyDoubleArray)),
+			  (classOf[LDataPlot], () => createDataPlot(createPoint, Array.emptyDoubleArray, Array.emptyDoubleArray)))
 
 
 	override def newShape[T <: IShape](shapeClass : java.lang.Class[T]) : Optional[T] =
@@ -136,6 +139,8 @@ class LShapeFactory extends IShapeFactory {
 
 	override def createPlot(pos:IPoint, minX:Double, maxX:Double, eq:String, polar:Boolean) : IPlot = new LPlot(pos, minX, maxX, eq, polar)
 
+	override def createDataPlot(pos:IPoint, xs:Array[Double], ys:Array[Double]) : IDataPlot = new LDataPlot(pos, xs, ys)
+
 	override def createPoint(pt:Point2D):IPoint = if(pt==null) createPoint else createPoint(pt.getX, pt.getY)
 
 	override def createDrawing() : IDrawing = new LDrawing()
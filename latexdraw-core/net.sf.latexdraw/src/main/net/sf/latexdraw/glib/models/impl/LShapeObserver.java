@@ -0,0 +1,36 @@
+package net.sf.latexdraw.glib.models.impl;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+
+/**
+ * An observer of a shape, registered in the observers of the shape (see LShapeObservers).
+ * The groups observe their shapes to keep the summary of their shapes and their version up to date.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-21<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+interface LShapeObserver {
+	/**
+	 * Called when a capability or a state of the given shape summarised by the groups (see LShapesSummary) may have changed.
+	 * @param shape The observed shape.
+	 */
+	void onStateChanged(final IShape shape);
+
+	/**
+	 * Called when the given shape changed (see IShape::versionProperty).
+	 * @param shape The observed shape.
+	 */
+	void onChanged(final IShape shape);
+}
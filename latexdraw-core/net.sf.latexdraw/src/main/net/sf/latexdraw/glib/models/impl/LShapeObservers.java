@@ -0,0 +1,92 @@
+package net.sf.latexdraw.glib.models.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+
+/**
+ * The observers of a shape. A shape can be in several groups: it can have several observers.<br>
+ * The observers are weakly referenced: a group that is no more used (e.g. a former selection)
+ * does not need to remove itself from its shapes to be garbage collected.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-21<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+final class LShapeObservers {
+	/** The observers (null until an observer is added). */
+	private List<WeakReference<LShapeObserver>> observers;
+
+
+	/**
+	 * Adds an observer.
+	 * @param observer The observer to add. Nothing done if null.
+	 */
+	void add(final LShapeObserver observer) {
+		if(observer==null)
+			return;
+		if(observers==null)
+			observers = new ArrayList<>(1);
+		observers.add(new WeakReference<>(observer));
+	}
+
+
+	/**
+	 * Removes an observer.
+	 * @param observer The observer to remove.
+	 */
+	void remove(final LShapeObserver observer) {
+		if(observers!=null)
+			observers.removeIf(ref -> {
+				final LShapeObserver obs = ref.get();
+				return obs==null || obs==observer;
+			});
+	}
+
+
+	/**
+	 * Notifies the observers that a capability or a state of the given shape may have changed.
+	 * @param shape The observed shape.
+	 */
+	void stateChanged(final IShape shape) {
+		forEach(obs -> obs.onStateChanged(shape));
+	}
+
+
+	/**
+	 * Notifies the observers that the given shape changed.
+	 * @param shape The observed shape.
+	 */
+	void changed(final IShape shape) {
+		forEach(obs -> obs.onChanged(shape));
+	}
+
+
+	private void forEach(final Consumer<LShapeObserver> action) {
+		if(observers==null)
+			return;
+
+		// Backward, so that the references of the collected observers can be removed.
+		for(int i=observers.size()-1; i>=0; i--) {
+			final LShapeObserver obs = observers.get(i).get();
+			if(obs==null)
+				observers.remove(i);
+			else
+				action.accept(obs);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package net.sf.latexdraw.glib.models.impl
+
+import java.util.IdentityHashMap
+import javafx.beans.property.ReadOnlyLongWrapper
+import javafx.collections.ListChangeListener
+import javafx.collections.ObservableList
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape
+
+/**
+ * A summary of the capabilities (e.g. fillable, shadowable) and of the states (e.g. filled, with a shadow) of
+ * the shapes of a list: for each capability or state, the number of shapes having it is stored so that a group
+ * knows in constant time whether one of its shapes has it.<br>
+ * The counts are updated incrementally: when shapes are added to or removed from the list, and when a state of
+ * one of the shapes changes (the summary observes the shapes of the list, see LShape.stateChanged). The groups
+ * containing the group of the list are notified only when the capabilities or the states of the group change.<br>
+ * The summary also maintains the version of the group: it is incremented when the list changes and when one of
+ * its shapes changes, and the groups containing the group are notified.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-12<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+private[impl] class LShapesSummary(val shapes : ObservableList[IShape], val group : IShape) extends LShapeObserver {
+	import LShapesSummary._
+
+	/** The number of shapes having each capability or state. */
+	private val counts = new Array[Int](NB_FLAGS)
+
+	/** For each shape of the list: its capabilities and states (a mask of flags) and its number of occurrences in the list. */
+	private val entries = new IdentityHashMap[IShape, Entry]()
+
+	/** The groups containing the group of the list. */
+	private[impl] val observers = new LShapeObservers()
+
+	/** The version of the group (see IShape::versionProperty). */
+	private[impl] val version = new ReadOnlyLongWrapper()
+
+	shapes.forEach{sh => add(sh)}
+
+	shapes.addListener(new ListChangeListener[IShape] {
+		override def onChanged(evt : ListChangeListener.Change[_ <: IShape]) {
+			val before = mask
+			while(evt.next)
+				if(!evt.wasPermutated) {
+					val removed = evt.getRemoved
+					for(i <- 0 until removed.size) remove(removed.get(i))
+					val added = evt.getAddedSubList
+					for(i <- 0 until added.size) add(added.get(i))
+				}
+			notifyIfChanged(before)
+			changed()
+		}
+	})
+
+
+	/**
+	 * @return True if at least one shape has the given capability or state (one of the flags of LShapesSummary).
+	 */
+	def has(flag : Int) : Boolean = counts(flag)>0
+
+
+	/** Updates the counts with the new capabilities and states of the given shape of the list. */
+	override def onStateChanged(sh : IShape) {
+		val entry = entries.get(sh)
+		if(entry!=null) {
+			val flags = flagsOf(sh)
+			if(flags!=entry.flags) {
+				val before = mask
+				update(entry.flags, -entry.nb)
+				update(flags, entry.nb)
+				entry.flags = flags
+				notifyIfChanged(before)
+			}
+		}
+	}
+
+
+	override def onChanged(sh : IShape) {
+		if(entries.containsKey(sh))
+			changed()
+	}
+
+
+	/** Increments the version of the group and notifies the groups containing it. */
+	private def changed() {
+		version.set(version.get+1)
+		observers.changed(group)
+	}
+
+
+	private def add(sh : IShape) {
+		if(sh!=null) {
+			var entry = entries.get(sh)
+			if(entry==null) {
+				entry = new Entry(flagsOf(sh))
+				entries.put(sh, entry)
+				observersOf(sh).foreach{_.add(this)}
+			}
+			entry.nb += 1
+			update(entry.flags, 1)
+		}
+	}
+
+
+	private def remove(sh : IShape) {
+		val entry = entries.get(sh)
+		if(entry!=null) {
+			entry.nb -= 1
+			update(entry.flags, -1)
+			if(entry.nb==0) {
+				entries.remove(sh)
+				observersOf(sh).foreach{_.remove(this)}
+			}
+		}
+	}
+
+
+	/** Adds delta to the counts of the given flags. */
+	private def update(flags : Int, delta : Int) {
+		var i = 0
+		while(i<NB_FLAGS) {
+			if((flags & (1<<i))!=0) counts(i) += delta
+			i += 1
+		}
+	}
+
+
+	/** @return The flags that at least one shape has. */
+	private def mask : Int = {
+		var flags = 0
+		var i = 0
+		while(i<NB_FLAGS) {
+			if(counts(i)>0) flags |= 1<<i
+			i += 1
+		}
+		flags
+	}
+
+
+	/** Notifies the groups containing the group of the list if its capabilities or states changed. */
+	private def notifyIfChanged(before : Int) {
+		if(before!=mask)
+			observers.stateChanged(group)
+	}
+}
+
+
+private[impl] object LShapesSummary {
+	val COLOURABLE = 0
+	val THICKNESSABLE = 1
+	val LINE_STYLABLE = 2
+	val BORDERS_MOVABLE = 3
+	val SHOW_PTSABLE = 4
+	/** Show-points-able shapes showing their points. */
+	val SHOW_PTS = 5
+	val DBLE_BORDERABLE = 6
+	/** Double-borderable shapes having a double border. */
+	val DBLE_BORD = 7
+	val SHADOWABLE = 8
+	/** Shadowable shapes having a shadow. */
+	val SHADOW = 9
+	val FILLABLE = 10
+	/** Fillable shapes being filled. */
+	val FILLED = 11
+	val INTERIOR_STYLABLE = 12
+	val SHADOW_FILLS_SHAPE = 13
+	val HATCHINGS = 14
+	val GRADIENT = 15
+	/** The number of capabilities and states. */
+	val NB_FLAGS = 16
+
+	/** The capabilities and the states of a shape of the list and its number of occurrences in the list. */
+	private class Entry(var flags : Int) {
+		var nb = 0
+	}
+
+	/** @return The capabilities and the states of the given shape as a mask of flags. */
+	private def flagsOf(sh : IShape) : Int = {
+		var flags = 0
+		if(sh.isColourable) flags |= 1<<COLOURABLE
+		if(sh.isThicknessable) flags |= 1<<THICKNESSABLE
+		if(sh.isLineStylable) flags |= 1<<LINE_STYLABLE
+		if(sh.isBordersMovable) flags |= 1<<BORDERS_MOVABLE
+		if(sh.isShowPtsable) {
+			flags |= 1<<SHOW_PTSABLE
+			if(sh.isShowPts) flags |= 1<<SHOW_PTS
+		}
+		if(sh.isDbleBorderable) {
+			flags |= 1<<DBLE_BORDERABLE
+			if(sh.hasDbleBord) flags |= 1<<DBLE_BORD
+		}
+		if(sh.isShadowable) {
+			flags |= 1<<SHADOWABLE
+			if(sh.hasShadow) flags |= 1<<SHADOW
+		}
+		if(sh.isFillable) {
+			flags |= 1<<FILLABLE
+			if(sh.isFilled) flags |= 1<<FILLED
+		}
+		if(sh.isInteriorStylable) flags |= 1<<INTERIOR_STYLABLE
+		if(sh.shadowFillsShape) flags |= 1<<SHADOW_FILLS_SHAPE
+		if(sh.hasHatchings) flags |= 1<<HATCHINGS
+		if(sh.hasGradient) flags |= 1<<GRADIENT
+		flags
+	}
+
+	/** @return The observers of the given shape if it can be observed (the shapes of LaTeXDraw and the groups). */
+	private def observersOf(sh : IShape) : Option[LShapeObservers] = sh match {
+		case shape : LShape => Some(shape.observers)
+		case gp : LGroup => Some(gp.summary.observers)
+		case _ => None
+	}
+}
@@ -0,0 +1,305 @@
+package net.sf.latexdraw.glib.models.impl
+
+import java.awt.geom.Rectangle2D
+import java.util.IdentityHashMap
+
+import scala.collection.mutable.ArrayBuffer
+import scala.collection.mutable.HashMap
+
+import javafx.beans.value.ChangeListener
+import javafx.beans.value.ObservableValue
+import javafx.collections.ListChangeListener
+import javafx.collections.ObservableList
+import net.sf.latexdraw.glib.models.GLibUtilities
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape
+
+/**
+ * A spatial index of the shapes of a list: the bounds of the shapes are stored in the cells of a uniform grid
+ * so that the shapes intersecting a point or a rectangle are found without iterating over all the shapes.<br>
+ * The index listens the list to add and remove the shapes. It also listens the version of the indexed shapes (see
+ * IShape::versionProperty): the version of a group follows its shapes, so that modifying a shape of an indexed group
+ * flags the group as modified. The bounds of the modified shapes are then recomputed lazily, at the next query.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-09<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+private[impl] class LSpatialIndex(val shapes : ObservableList[IShape], val cellSize : Double) {
+	/** The indexed bounds of a shape and the cells it covers. */
+	private class Entry(val shape : IShape) {
+		var minX = 0.0
+		var minY = 0.0
+		var maxX = 0.0
+		var maxY = 0.0
+		var minCX = 0
+		var minCY = 0
+		var maxCX = 0
+		var maxCY = 0
+		/** True if the shape covers too many cells to be stored in the cells. */
+		var large = false
+		/** Flags the shape as modified when its version changes. */
+		val versionListener = new ChangeListener[Number] {
+			override def changed(obs : ObservableValue[_ <: Number], oldValue : Number, newValue : Number) {
+				markDirty(shape)
+			}
+		}
+
+		def intersects(x1 : Double, y1 : Double, x2 : Double, y2 : Double) = minX<=x2 && maxX>=x1 && minY<=y2 && maxY>=y1
+	}
+
+	private val entries = new IdentityHashMap[IShape, Entry]()
+	private val cells = HashMap.empty[Long, ArrayBuffer[Entry]]
+	private val largeEntries = ArrayBuffer.empty[Entry]
+	/** The shapes flagged as modified since the last query. */
+	private val dirty = new IdentityHashMap[IShape, Entry]()
+	/** The position of the shapes in the list, recomputed at the next query when the list changes. */
+	private val order = new IdentityHashMap[IShape, Integer]()
+	private var orderValid = false
+	/** The rectangle used to get the bounds of the shapes. */
+	private val bounds = new Rectangle2D.Double()
+
+	shapes.forEach{sh => add(sh)}
+
+	shapes.addListener(new ListChangeListener[IShape] {
+		override def onChanged(evt : ListChangeListener.Change[_ <: IShape]) {
+			while(evt.next)
+				if(!evt.wasPermutated) {
+					// The removed shapes are processed first since a shape can be removed and added again (e.g. when replaced).
+					val removed = evt.getRemoved
+					for(i <- 0 until removed.size) remove(removed.get(i))
+					val added = evt.getAddedSubList
+					for(i <- 0 until added.size) add(added.get(i))
+				}
+			orderValid = false
+		}
+	})
+
+
+	/**
+	 * Flags the given shape as modified: its bounds will be recomputed at the next query.
+	 */
+	def markDirty(sh : IShape) {
+		val entry = entries.get(sh)
+		if(entry!=null) dirty.put(sh, entry)
+	}
+
+
+	/**
+	 * @return The indexed shapes whose bounds contain the given point, in the order of the list.
+	 */
+	def getShapesAt(x : Double, y : Double) : java.util.List[IShape] = getShapesIn(x, y, x, y)
+
+
+	/**
+	 * @return The indexed shapes whose bounds intersect the given rectangle, in the order of the list.
+	 */
+	def getShapesIn(x1 : Double, y1 : Double, x2 : Double, y2 : Double) : java.util.List[IShape] = {
+		val found = new java.util.ArrayList[IShape]()
+
+		if(GLibUtilities.isValidPoint(x1, y1) && GLibUtilities.isValidPoint(x2, y2)) {
+			val minX = math.min(x1, x2)
+			val minY = math.min(y1, y2)
+			val maxX = math.max(x1, x2)
+			val maxY = math.max(y1, y2)
+			val minCX = cell(minX)
+			val minCY = cell(minY)
+			val maxCX = cell(maxX)
+			val maxCY = cell(maxY)
+
+			updateDirtyEntries()
+
+			if((maxCX.toLong-minCX+1)*(maxCY.toLong-minCY+1)>entries.size)
+				// Fewer shapes than cells to visit: the entries are all tested.
+				entries.values.forEach{entry => if(entry.intersects(minX, minY, maxX, maxY)) found.add(entry.shape)}
+			else {
+				var cx = minCX
+				while(cx<=maxCX) {
+					var cy = minCY
+					while(cy<=maxCY) {
+						cells.get(key(cx, cy)) match {
+							case Some(content) =>
+								content.foreach{entry =>
+									// A shape covering several cells is added once: in the first cell shared with the rectangle.
+									if(cx==math.max(entry.minCX, minCX) && cy==math.max(entry.minCY, minCY) && entry.intersects(minX, minY, maxX, maxY))
+										found.add(entry.shape)
+								}
+							case None =>
+						}
+						cy += 1
+					}
+					cx += 1
+				}
+				largeEntries.foreach{entry => if(entry.intersects(minX, minY, maxX, maxY)) found.add(entry.shape)}
+			}
+
+			if(found.size>1) {
+				updateOrder()
+				found.sort((sh1 : IShape, sh2 : IShape) => Integer.compare(order.get(sh1), order.get(sh2)))
+			}
+		}
+		found
+	}
+
+
+	private def add(sh : IShape) {
+		if(sh!=null && !entries.containsKey(sh)) {
+			val entry = new Entry(sh)
+			entries.put(sh, entry)
+			sh.versionProperty.addListener(entry.versionListener)
+			insert(entry)
+		}
+	}
+
+
+	private def remove(sh : IShape) {
+		if(sh!=null) {
+			val entry = entries.remove(sh)
+			if(entry!=null) {
+				dirty.remove(sh)
+				erase(entry)
+				sh.versionProperty.removeListener(entry.versionListener)
+			}
+		}
+	}
+
+
+	private def updateDirtyEntries() {
+		if(!dirty.isEmpty) {
+			dirty.values.forEach{entry =>
+				erase(entry)
+				insert(entry)
+			}
+			dirty.clear()
+		}
+	}
+
+
+	private def updateOrder() {
+		if(!orderValid) {
+			order.clear()
+			var i = 0
+			shapes.forEach{sh =>
+				order.put(sh, i)
+				i += 1
+			}
+			orderValid = true
+		}
+	}
+
+
+	/** Computes the bounds of the shape of the given entry and adds the entry to the cells it covers. */
+	private def insert(entry : Entry) {
+		updateBounds(entry)
+		entry.minCX = cell(entry.minX)
+		entry.minCY = cell(entry.minY)
+		entry.maxCX = cell(entry.maxX)
+		entry.maxCY = cell(entry.maxY)
+		entry.large = !GLibUtilities.isValidPoint(entry.minX, entry.minY) || !GLibUtilities.isValidPoint(entry.maxX, entry.maxY) ||
+			(entry.maxCX.toLong-entry.minCX+1)*(entry.maxCY.toLong-entry.minCY+1)>LSpatialIndex.MAX_CELLS
+
+		if(entry.large)
+			largeEntries += entry
+		else
+			forEachCell(entry){k => cells.getOrElseUpdate(k, ArrayBuffer.empty[Entry]) += entry}
+	}
+
+
+	/** Removes the given entry from the cells it covers. */
+	private def erase(entry : Entry) {
+		if(entry.large)
+			largeEntries -= entry
+		else
+			forEachCell(entry){k =>
+				cells.get(k) match {
+					case Some(content) =>
+						content -= entry
+						if(content.isEmpty) cells -= k
+					case None =>
+				}
+			}
+	}
+
+
+	private def forEachCell(entry : Entry)(f : Long => Unit) {
+		var cx = entry.minCX
+		while(cx<=entry.maxCX) {
+			var cy = entry.minCY
+			while(cy<=entry.maxCY) {
+				f(key(cx, cy))
+				cy += 1
+			}
+			cx += 1
+		}
+	}
+
+
+	/** Computes the bounds of the shape, considering its thickness and its rotation. */
+	private def updateBounds(entry : Entry) {
+		LSpatialIndex.getRotatedFullBounds(entry.shape, bounds)
+		entry.minX = bounds.getMinX
+		entry.minY = bounds.getMinY
+		entry.maxX = bounds.getMaxX
+		entry.maxY = bounds.getMaxY
+	}
+
+
+	private def cell(coord : Double) : Int = {
+		val c = math.floor(coord/cellSize)
+		if(c.isNaN) 0 else math.max(Int.MinValue+1, math.min(Int.MaxValue-1, c)).toInt
+	}
+
+	private def key(cx : Int, cy : Int) : Long = (cx.toLong<<32) | (cy & 0xFFFFFFFFL)
+}
+
+
+private[impl] object LSpatialIndex {
+	/** The default size of the cells in pixels. */
+	val CELL_SIZE = 4.0*IShape.PPC
+
+	/** The maximal number of cells a shape can cover. The larger shapes are tested at each query. */
+	val MAX_CELLS = 64L
+
+
+	/**
+	 * Sets the given rectangle to the full bounds of the given shape (thickness included) considering its rotation:
+	 * the bounds of its corners rotated around its gravity centre.
+	 */
+	def getRotatedFullBounds(sh : IShape, bounds : Rectangle2D) {
+		val angle = sh.getRotationAngle
+
+		sh.getFullBounds(bounds)
+
+		if(GLibUtilities.isValidCoordinate(angle) && angle%(2*math.Pi)!=0.0) {
+			val cos = math.cos(angle)
+			val sin = math.sin(angle)
+			val gc = sh.getGravityCentre
+			val gx = gc.getX
+			val gy = gc.getY
+			var minX = Double.MaxValue
+			var minY = Double.MaxValue
+			var maxX = Double.MinValue
+			var maxY = Double.MinValue
+
+			for(x <- Array(bounds.getMinX, bounds.getMaxX); y <- Array(bounds.getMinY, bounds.getMaxY)) {
+				val rx = cos*(x-gx) - sin*(y-gy) + gx
+				val ry = sin*(x-gx) + cos*(y-gy) + gy
+				minX = math.min(minX, rx)
+				minY = math.min(minY, ry)
+				maxX = math.max(maxX, rx)
+				maxY = math.max(maxY, ry)
+			}
+			bounds.setFrameFromDiagonal(minX, minY, maxX, maxY)
+		}
+	}
+}
@@ -16,7 +16,9 @@ private[impl] trait LineArcProp extends ILineArcProp {
 	override def isRoundCorner = frameArc>0
 
 	override def setLineArc(arc:Double) {
-		if(GLibUtilities.isValidCoordinate(arc) && arc>=0 && arc<=1)
+		if(GLibUtilities.isValidCoordinate(arc) && arc>=0 && arc<=1) {
 			frameArc = arc
+			LShape.changed(this)
+		}
 	}
 }
\ No newline at end of file
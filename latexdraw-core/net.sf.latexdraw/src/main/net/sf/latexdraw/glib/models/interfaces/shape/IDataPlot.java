@@ -0,0 +1,113 @@
+package net.sf.latexdraw.glib.models.interfaces.shape;
+
+import net.sf.latexdraw.glib.models.interfaces.prop.IDotProp;
+import net.sf.latexdraw.glib.models.interfaces.prop.IScalable;
+
+/**
+ * Defines an interface that classes defining a plot of data points (e.g. the PSTricks commands listplot,
+ * dataplot, fileplot) should implement.<br>
+ * The coordinates of the points are stored in arrays of primitives so that large data sets can be plotted.
+ * The plotted points can be decimated to limit the number of points to draw and to export.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-08<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public interface IDataPlot extends IPositionShape, IScalable, IDotProp {
+	/**
+	 * @return The number of data points.
+	 */
+	int getNbDataPoints();
+
+	/**
+	 * @return The X coordinates of the data points. The array is the one of the plot: it must not be modified.
+	 */
+	double[] getDataX();
+
+	/**
+	 * @return The Y coordinates of the data points. The array is the one of the plot: it must not be modified.
+	 */
+	double[] getDataY();
+
+	/**
+	 * Sets the data points. The given arrays are used by the plot (they are not copied): they must not be modified.
+	 * @param xs The X coordinates of the points. Nothing done if null or if its length is not the one of ys.
+	 * @param ys The Y coordinates of the points. Nothing done if null or if its length is not the one of xs.
+	 */
+	void setData(final double[] xs, final double[] ys);
+
+	/**
+	 * @return The minimal X coordinate of the data points (0 if there is no point).
+	 */
+	double getDataMinX();
+
+	/**
+	 * @return The maximal X coordinate of the data points (0 if there is no point).
+	 */
+	double getDataMaxX();
+
+	/**
+	 * @return The minimal Y coordinate of the data points (0 if there is no point).
+	 */
+	double getDataMinY();
+
+	/**
+	 * @return The maximal Y coordinate of the data points (0 if there is no point).
+	 */
+	double getDataMaxY();
+
+	/**
+	 * @return The plotting style.
+	 */
+	PlotStyle getPlotStyle();
+
+	/**
+	 * Sets the plotting style.
+	 * @param style The plotting style. Nothing done if null.
+	 */
+	void setPlotStyle(final PlotStyle style);
+
+	/**
+	 * @return The decimation used to compute the plotted points.
+	 */
+	PlotDecimation getDecimation();
+
+	/**
+	 * Sets the decimation used to compute the plotted points.
+	 * @param decimation The decimation. Nothing done if null.
+	 */
+	void setDecimation(final PlotDecimation decimation);
+
+	/**
+	 * @return The maximal number of plotted points when a decimation is used.
+	 */
+	int getDecimationThreshold();
+
+	/**
+	 * Sets the maximal number of plotted points when a decimation is used.
+	 * @param threshold The maximal number of plotted points. Nothing done if lower than 4.
+	 */
+	void setDecimationThreshold(final int threshold);
+
+	/**
+	 * @return The X coordinates of the plotted points, i.e. the data points once decimated. The array is cached
+	 * by the plot and recomputed only when the data, the decimation or its threshold change: it must not be modified.
+	 */
+	double[] getPlottedX();
+
+	/**
+	 * @return The Y coordinates of the plotted points (see getPlottedX). It must not be modified.
+	 */
+	double[] getPlottedY();
+}
@@ -1,9 +1,11 @@
 package net.sf.latexdraw.glib.models.interfaces.shape;
 
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 import net.sf.latexdraw.glib.models.interfaces.prop.ISetShapesProp;
 
+import org.eclipse.jdt.annotation.NonNull;
 import org.malai.presentation.AbstractPresentation;
 
 /**
@@ -40,4 +42,36 @@ public interface IDrawing extends ISetShapesProp, AbstractPresentation {
 	 * @since 3.0
 	 */
 	void setSelection(final List<IShape> shapes);
+
+	/**
+	 * Gives the shapes whose bounds contain the given point. The bounds of the shapes are maintained in a
+	 * spatial index updated when shapes are added or removed and when their version changes (see IShape::versionProperty,
+	 * incremented each time a shape changes, whether it is flagged as modified or not): this operation does not iterate
+	 * over all the shapes of the drawing.
+	 * @param x The X-coordinate of the point.
+	 * @param y The Y-coordinate of the point.
+	 * @return The shapes in the order of the drawing (the last one is the shape at the top). Cannot be null.
+	 * @since 4.0
+	 */
+	@NonNull List<IShape> getShapesAt(final double x, final double y);
+
+	/**
+	 * Gives the shapes whose bounds intersect the given rectangle (see getShapesAt).
+	 * @param minX The X-coordinate of the top-left point of the rectangle.
+	 * @param minY The Y-coordinate of the top-left point of the rectangle.
+	 * @param maxX The X-coordinate of the bottom-right point of the rectangle.
+	 * @param maxY The Y-coordinate of the bottom-right point of the rectangle.
+	 * @return The shapes in the order of the drawing. Cannot be null.
+	 * @since 4.0
+	 */
+	@NonNull List<IShape> getShapesIn(final double minX, final double minY, final double maxX, final double maxY);
+
+	/**
+	 * Sets the given rectangle to the bounds of the shapes of the drawing, including their thickness and their rotation.
+	 * The bounds are computed from the shapes (their bounds are cached), not from their views: all the shapes are considered,
+	 * whether they have a view or not.
+	 * @param bounds The rectangle to set: (0,0,0,0) if the drawing is empty. Must not be null.
+	 * @since 4.0
+	 */
+	void getFullBounds(final Rectangle2D bounds);
 }
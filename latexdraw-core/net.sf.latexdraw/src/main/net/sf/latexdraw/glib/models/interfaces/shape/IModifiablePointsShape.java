@@ -35,6 +35,15 @@ public interface IModifiablePointsShape extends ISingleShape {
 	 */
 	void addPoint(final IPoint pt, final int position);
 
+	/**
+	 * Adds a point at the end of the points list from its coordinates. Contrary to addPoint(IPoint),
+	 * no IPoint instance is kept by the shape: this is the cheapest way to add many points (e.g. freehand strokes).
+	 * @param x The X-coordinate of the point to add. Must be valid.
+	 * @param y The Y-coordinate of the point to add. Must be valid.
+	 * @since 4.0
+	 */
+	void addPoint(final double x, final double y);
+
 	/**
 	 * Removes the given point of the shape.
 	 * @param pt The point to remove.
@@ -27,4 +27,25 @@ public interface IPlot extends IPositionShape, IPlotProp {
 	 * @return The corresponding Y coordinate or NaN if a problem occurs.
 	 */
 	double getY(final double x);
+
+	/**
+	 * @return The Y coordinates of the plotted points: the i-th value corresponds to the X coordinate
+	 * getPlotMinX()+i*getPlottingStep() (with i in [0, getNbPlottedPoints()[). The array is cached by the plot
+	 * and recomputed only when the equation, the X bounds or the number of points change: it must not be modified.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 * @since 4.0
+	 */
+	double[] getPlottedYs();
+
+	/**
+	 * @return The minimal Y coordinate of the plotted points (uses the cache of getPlottedYs).
+	 * @since 4.0
+	 */
+	double getPlottedMinY();
+
+	/**
+	 * @return The maximal Y coordinate of the plotted points (uses the cache of getPlottedYs).
+	 * @since 4.0
+	 */
+	double getPlottedMaxY();
 }
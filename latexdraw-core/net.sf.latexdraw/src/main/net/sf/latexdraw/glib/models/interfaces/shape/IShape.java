@@ -6,6 +6,8 @@ import java.util.List;
 import org.eclipse.jdt.annotation.NonNull;
 import org.malai.properties.Modifiable;
 
+import javafx.beans.property.ReadOnlyLongProperty;
+
 /**
  * Defines an interface that classes defining an abstract shape should implement.<br>
  * <br>
@@ -158,6 +160,47 @@ public interface IShape extends Modifiable {
 	 */
 	IPoint getFullBottomRightPoint();
 
+	/**
+	 * Sets the given rectangle to the bounds of the shape, i.e. from the top left point to the bottom right
+	 * point (the thickness and the rotation angle are not considered). In contrary to getTopLeftPoint() and
+	 * getBottomRightPoint(), no object is created: the bounds of the points are cached until the points are modified.
+	 * @param bounds The rectangle to set. Nothing done if null.
+	 * @since 4.0
+	 */
+	void getBounds(final Rectangle2D bounds);
+
+	/**
+	 * Sets the given rectangle to the bounds of the shape including its thickness and double border, i.e. from the
+	 * full top left point to the full bottom right point (the rotation angle is not considered). No object is created.
+	 * @param bounds The rectangle to set. Nothing done if null.
+	 * @since 4.0
+	 */
+	void getFullBounds(final Rectangle2D bounds);
+
+	/**
+	 * Starts an update of the shape: until the call to endUpdate(), the points of the shape can be modified
+	 * without notifying the listeners of their JavaFX properties. Each property is then updated once by endUpdate().
+	 * The updates can be nested: the notifications are resumed at the end of the outer update.
+	 * Should be used for bulk modifications (e.g. translating, scaling, rotating or mirroring many shapes),
+	 * with endUpdate() called in a finally block.
+	 * @since 4.0
+	 */
+	void beginUpdate();
+
+	/**
+	 * Ends an update of the shape started by beginUpdate(): at the end of the outer update, the JavaFX
+	 * properties of the points are updated. Nothing done if no update is in progress.
+	 * @since 4.0
+	 */
+	void endUpdate();
+
+	/**
+	 * @return True if an update of the shape is in progress (see beginUpdate), including while the JavaFX
+	 * properties of the points are updated at the end of the update.
+	 * @since 4.0
+	 */
+	boolean isUpdating();
+
 
 	/**
 	 * Scales the shape where the move reference point is the
@@ -557,4 +600,12 @@ public interface IShape extends Modifiable {
 	 * @since 3.0
 	 */
 	double getHeight();
+
+	/**
+	 * @return The version of the shape: incremented each time the shape changes (its points, its parameters
+	 * or, for a group, its shapes). During an update (see beginUpdate), it is incremented once at the end of the update.
+	 * Views observe it to know that their shape must be redrawn or regenerated.
+	 * @since 4.0
+	 */
+	@NonNull ReadOnlyLongProperty versionProperty();
 }
@@ -429,6 +429,17 @@ public interface IShapeFactory {
 	 */
 	IPlot createPlot(IPoint pos, double minX, double maxX, String eq, boolean polar);
 
+	/**
+	 * Creates a plot of data points.
+	 * @param pos The origin of the plot.
+	 * @param xs The X coordinates of the points (used by the plot, not copied).
+	 * @param ys The Y coordinates of the points (used by the plot, not copied).
+	 * @throws IllegalArgumentException If the given arrays are null or do not have the same length.
+	 * @return The created plot.
+	 * @since 4.0
+	 */
+	IDataPlot createDataPlot(IPoint pos, double[] xs, double[] ys);
+
 	/**
 	 * Duplicates the given shape.
 	 * @param shape The shape to duplicate
@@ -4,6 +4,7 @@ import org.eclipse.jdt.annotation.NonNull;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
 
 public interface ISingleShape extends IShape {
 	/**
@@ -30,4 +31,11 @@ public interface ISingleShape extends IShape {
 	 * @return The property of the filling.
 	 */
 	@NonNull ObjectProperty<FillingStyle> fillingProperty();
+
+	/**
+	 * @return The number of updates of the shape (see beginUpdate): incremented once at the end of each outer update,
+	 * after the properties of the points have been updated. The views can listen to it to be refreshed once per update.
+	 * @since 4.0
+	 */
+	@NonNull ReadOnlyLongProperty updateProperty();
 }
@@ -0,0 +1,152 @@
+/*
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ */
+package net.sf.latexdraw.glib.models.interfaces.shape;
+
+import java.util.Arrays;
+
+/**
+ * The different ways to reduce the number of points of plotted data.
+ * The data are supposed to be sorted by X coordinates.
+ */
+public enum PlotDecimation {
+	/** All the points are plotted. */
+	NONE {
+		@Override
+		public double[][] decimate(final double[] xs, final double[] ys, final int threshold) {
+			return new double[][]{xs, ys};
+		}
+	},
+	/**
+	 * The points are gathered in buckets of consecutive points. For each bucket, the points having the
+	 * min and the max Y coordinates are plotted. The first and the last points are always plotted.
+	 */
+	MIN_MAX {
+		@Override
+		public double[][] decimate(final double[] xs, final double[] ys, final int threshold) {
+			final int size = xs.length;
+			if(threshold<4 || size<=threshold)
+				return new double[][]{xs, ys};
+
+			final int nbBuckets = (threshold-2)/2;
+			final double bucketSize = (size-2)/(double)nbBuckets;
+			final double[] outX = new double[threshold];
+			final double[] outY = new double[threshold];
+			int out = 0;
+
+			outX[out] = xs[0];
+			outY[out++] = ys[0];
+
+			for(int b=0; b<nbBuckets; b++) {
+				final int start = 1+(int)(b*bucketSize);
+				final int end = b==nbBuckets-1 ? size-1 : 1+(int)((b+1)*bucketSize);
+				int min = start;
+				int max = start;
+
+				for(int i=start+1; i<end; i++)
+					if(ys[i]<ys[min]) min = i;
+					else if(ys[i]>ys[max]) max = i;
+
+				// The two points are added in the order of the data.
+				final int first = Math.min(min, max);
+				final int second = Math.max(min, max);
+				outX[out] = xs[first];
+				outY[out++] = ys[first];
+				if(second!=first) {
+					outX[out] = xs[second];
+					outY[out++] = ys[second];
+				}
+			}
+
+			outX[out] = xs[size-1];
+			outY[out++] = ys[size-1];
+
+			return new double[][]{Arrays.copyOf(outX, out), Arrays.copyOf(outY, out)};
+		}
+	},
+	/**
+	 * The Largest-Triangle-Three-Buckets algorithm: the points are gathered in buckets of consecutive points.
+	 * For each bucket, the plotted point is the one that forms the largest triangle with the point selected in
+	 * the previous bucket and the average point of the next bucket. The first and the last points are always plotted.
+	 */
+	LTTB {
+		@Override
+		public double[][] decimate(final double[] xs, final double[] ys, final int threshold) {
+			final int size = xs.length;
+			if(threshold<3 || size<=threshold)
+				return new double[][]{xs, ys};
+
+			final double bucketSize = (size-2)/(double)(threshold-2);
+			final double[] outX = new double[threshold];
+			final double[] outY = new double[threshold];
+			int selected = 0;
+
+			outX[0] = xs[0];
+			outY[0] = ys[0];
+
+			for(int b=0; b<threshold-2; b++) {
+				// The average point of the next bucket.
+				final int nextStart = 1+(int)((b+1)*bucketSize);
+				final int nextEnd = b==threshold-3 ? size : Math.min(size, 1+(int)((b+2)*bucketSize));
+				double avgX = 0.0;
+				double avgY = 0.0;
+				for(int i=nextStart; i<nextEnd; i++) {
+					avgX += xs[i];
+					avgY += ys[i];
+				}
+				final int nbNext = nextEnd-nextStart;
+				if(nbNext>0) {
+					avgX /= nbNext;
+					avgY /= nbNext;
+				}else {
+					avgX = xs[size-1];
+					avgY = ys[size-1];
+				}
+
+				// The point of the current bucket forming the largest triangle.
+				final int start = 1+(int)(b*bucketSize);
+				final int end = b==threshold-3 ? size-1 : 1+(int)((b+1)*bucketSize);
+				final double ax = xs[selected];
+				final double ay = ys[selected];
+				double maxArea = -1.0;
+				int next = start;
+
+				for(int i=start; i<end; i++) {
+					final double area = Math.abs((ax-avgX)*(ys[i]-ay)-(ax-xs[i])*(avgY-ay));
+					if(area>maxArea) {
+						maxArea = area;
+						next = i;
+					}
+				}
+
+				outX[b+1] = xs[next];
+				outY[b+1] = ys[next];
+				selected = next;
+			}
+
+			outX[threshold-1] = xs[size-1];
+			outY[threshold-1] = ys[size-1];
+
+			return new double[][]{outX, outY};
+		}
+	};
+
+	/**
+	 * Reduces the number of points of the given data.
+	 * @param xs The X coordinates of the points. Not modified.
+	 * @param ys The Y coordinates of the points (same length as xs). Not modified.
+	 * @param threshold The maximal number of points to keep.
+	 * @return The X coordinates (index 0) and the Y coordinates (index 1) of the kept points. The given arrays are
+	 * returned if the number of points does not have to be reduced.
+	 */
+	public abstract double[][] decimate(final double[] xs, final double[] ys, final int threshold);
+}
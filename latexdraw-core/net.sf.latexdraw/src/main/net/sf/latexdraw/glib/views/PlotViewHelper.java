@@ -5,6 +5,7 @@ import java.util.List;
 
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.IBezierCurve;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IDot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPlot;
@@ -13,6 +14,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IPolygon;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPolyline;
 import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
 import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle;
+import net.sf.latexdraw.util.LNumber;
 
 public class PlotViewHelper {
 	public static final PlotViewHelper INSTANCE = new PlotViewHelper();
@@ -22,29 +24,48 @@ public class PlotViewHelper {
 	}
 
 	
-	private IPoint getPolarPoint(final IPlot shape, final double x, final double xs, final double ys, final double posX, final double posY) {
-		final double radius = shape.getY(x);
+	private IPoint getPolarPoint(final double radius, final double x, final double xs, final double ys, final double posX, final double posY) {
 		final double angle = Math.toRadians(x);
 		final double x1 = radius * Math.cos(angle);
 		final double y1 = -radius * Math.sin(angle);
 		return ShapeFactory.createPoint(x1 * IShape.PPC * xs + posX, y1 * IShape.PPC * ys + posY);
 	}
 	
+	/**
+	 * @return The index in the cached points of the plot (see IPlot::getPlottedYs) that corresponds to the given
+	 * first X coordinate, or -1 if the given range does not match the cached points.
+	 */
+	private int getPlottedYsOffset(final IPlot shape, final double minX, final double step) {
+		if(step!=shape.getPlottingStep()) return -1;
+		final double offset = (minX - shape.getPlotMinX()) / step;
+		final long index = Math.round(offset);
+		return index>=0 && LNumber.equalsDouble(offset, index) ? (int)index : -1;
+	}
+	
 	public void fillPoints(final IPlot shape, final IModifiablePointsShape sh, final double posX, final double posY, 
 							final double minX, final double maxX, final double step) {
 		final double xs = shape.getXScale();
 		final double ys = shape.getYScale();
-		double x = minX;
+		final int nbPts = shape.getNbPlottedPoints();
+		final int offset = getPlottedYsOffset(shape, minX, step);
+		final double[] cache = offset<0 ? null : shape.getPlottedYs();
+		double x;
+		double y;
 		
-		if(shape.isPolar()) {
-			for(int i=0; i<shape.getNbPlottedPoints(); i++, x += step)
-				sh.addPoint(getPolarPoint(shape, x, xs, ys, posX, posY));
-			sh.addPoint(getPolarPoint(shape, maxX, xs, ys, posX, posY));
-		}else {
-			for(int i=0; i<shape.getNbPlottedPoints(); i++, x += step)
-				sh.addPoint(ShapeFactory.createPoint(x * IShape.PPC * xs + posX, -shape.getY(x) * IShape.PPC * ys + posY));
-			sh.addPoint(ShapeFactory.createPoint(maxX * IShape.PPC * xs + posX, -shape.getY(maxX) * IShape.PPC * ys + posY));
+		for(int i=0; i<nbPts; i++) {
+			x = minX + i * step;
+			y = cache!=null && offset+i<cache.length ? cache[offset+i] : shape.getY(x);
+			if(shape.isPolar())
+				sh.addPoint(getPolarPoint(y, x, xs, ys, posX, posY));
+			else
+				sh.addPoint(x * IShape.PPC * xs + posX, -y * IShape.PPC * ys + posY);
 		}
+		
+		y = shape.getY(maxX);
+		if(shape.isPolar())
+			sh.addPoint(getPolarPoint(y, maxX, xs, ys, posX, posY));
+		else
+			sh.addPoint(maxX * IShape.PPC * xs + posX, -y * IShape.PPC * ys + posY);
 	}
 
 	
@@ -80,9 +101,6 @@ public class PlotViewHelper {
 
 	
 	public IBezierCurve updateCurve(final IPlot shape, final double posX, final double posY, final double minX, final double maxX, final double step) {
-		// The algorithm follows this definition:
-		// https://stackoverflow.com/questions/15864441/how-to-make-a-line-curve-through-points
-		final double scale = 0.33;
 		final IBezierCurve bc = ShapeFactory.createBezierCurve();
 
 		fillPoints(shape, bc, posX, posY, minX, maxX, step);
@@ -91,6 +109,18 @@ public class PlotViewHelper {
 		else
 			bc.setIsClosed(false);
 		bc.copy(shape);
+		setCurveControlPoints(bc);
+		return bc;
+	}
+
+
+	/**
+	 * Sets the control points of the given curve so that the curve goes smoothly through its points.
+	 */
+	private void setCurveControlPoints(final IBezierCurve bc) {
+		// The algorithm follows this definition:
+		// https://stackoverflow.com/questions/15864441/how-to-make-a-line-curve-through-points
+		final double scale = 0.33;
 		int i = 0;
 		final int last = bc.getPoints().size() - 1;
 
@@ -119,6 +149,63 @@ public class PlotViewHelper {
 			i++;
 		}
 		bc.updateSecondControlPoints();
+	}
+
+
+	/**
+	 * Adds the plotted points of the given data plot (see IDataPlot::getPlottedX) to the given shape.
+	 */
+	public void fillPoints(final IDataPlot shape, final IModifiablePointsShape sh) {
+		final double[] xs = shape.getPlottedX();
+		final double[] ys = shape.getPlottedY();
+		final double xScale = shape.getXScale() * IShape.PPC;
+		final double yScale = shape.getYScale() * IShape.PPC;
+		final double posX = shape.getX();
+		final double posY = shape.getY();
+
+		for(int i=0; i<xs.length; i++)
+			sh.addPoint(xs[i] * xScale + posX, -ys[i] * yScale + posY);
+	}
+
+
+	public List<IDot> updatePoints(final IDataPlot shape) {
+		final IPolyline pl = ShapeFactory.createPolyline();
+		final List<IDot> dots = new ArrayList<>();
+		fillPoints(shape, pl);
+
+		for(IPoint pt : pl.getPoints()) {
+			IDot dot = ShapeFactory.createDot(pt);
+			dot.copy(shape);
+			dot.setRotationAngle(0.0);
+			dots.add(dot);
+		}
+		return dots;
+	}
+
+
+	public IPolygon updatePolygon(final IDataPlot shape) {
+		final IPolygon pg = ShapeFactory.createPolygon();
+		fillPoints(shape, pg);
+		pg.copy(shape);
+		return pg;
+	}
+
+
+	public IPolyline updateLine(final IDataPlot shape) {
+		final IPolyline pl = ShapeFactory.createPolyline();
+		fillPoints(shape, pl);
+		pl.copy(shape);
+		return pl;
+	}
+
+
+	public IBezierCurve updateCurve(final IDataPlot shape) {
+		final IBezierCurve bc = ShapeFactory.createBezierCurve();
+		fillPoints(shape, bc);
+		bc.setIsClosed(shape.getPlotStyle() == PlotStyle.CCURVE);
+		bc.copy(shape);
+		if(bc.getNbPoints() > 1)
+			setCurveControlPoints(bc);
 		return bc;
 	}
 }
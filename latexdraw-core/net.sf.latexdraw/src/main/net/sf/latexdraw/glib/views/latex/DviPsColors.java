@@ -1,8 +1,13 @@
 package net.sf.latexdraw.glib.views.latex;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.Color;
@@ -198,21 +203,17 @@ public final class DviPsColors  {
 
 	private final Map<Color, String> nameColourHT 	= new HashMap<>();
 
-	/** The colours defined by the user and their name. */
-	private final Map<String, Color> userColourHT 		= new HashMap<>();
+	/** The colours defined by the user. Concurrent: the PST views of the shapes are generated in parallel. */
+	private final UserColours userColours	= new UserColours(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
 
-	/** The colours defined by the user and their name. */
-	private final Map<Color, String> userNameColourHT 	= new HashMap<>();
-
-	/** The counter is used to name the user defined colours. */
-	private int ctColours;
+	/** The colours defined by the user in the current thread while it runs withUserColours (null otherwise). */
+	private final ThreadLocal<UserColours> threadColours = new ThreadLocal<>();
 
 
 	private DviPsColors() {
 		super();
 		createColourHashTable();
 		createNameColourHashTable();
-		ctColours = 0;
 	}
 
 
@@ -414,8 +415,10 @@ public final class DviPsColors  {
 	 */
 	public Optional<String> getColourName(final Color colour) {
 		if(colour==null) return Optional.empty();
+		final UserColours local = threadColours.get();
 		String name = nameColourHT.get(colour);
-		if(name==null) name = userNameColourHT.get(colour);
+		if(name==null && local!=null) name = local.names.get(colour);
+		if(name==null) name = userColours.names.get(colour);
 		return Optional.ofNullable(name);
 	}
 
@@ -427,7 +430,9 @@ public final class DviPsColors  {
 	 */
 	public Optional<Color> getColour(final String name) {
 		if(name==null) return Optional.empty();
-		Color c = userColourHT.get(name);
+		final UserColours local = threadColours.get();
+		Color c = local==null ? null : local.colours.get(name);
+		if(c==null) c = userColours.colours.get(name);
 		if(c==null) c = colourHT.get(name);
 		return Optional.ofNullable(c);
 	}
@@ -438,10 +443,11 @@ public final class DviPsColors  {
 	 * @param colour The colour to add.
 	 * @return The name of this colour.
 	 */
-	public Optional<String> addUserColour(final Color colour) {
+	public synchronized Optional<String> addUserColour(final Color colour) {
 		if(colour==null) return Optional.empty();
-		final String name = generateColourName();
-		addUserColour(colour, name);
+		final UserColours table = getUserColours();
+		final String name = "colour" + table.counter++; //$NON-NLS-1$
+		table.add(colour, name);
 		return Optional.of(name);
 	}
 
@@ -451,20 +457,62 @@ public final class DviPsColors  {
 	 * @param colour The colour to add.
 	 * @param name The name of the colour.
 	 */
-	public void addUserColour(final Color colour, final String name) {
-		if(colour!=null && name!=null && !name.isEmpty()) {
-			userColourHT.put(name, colour);
-			userNameColourHT.put(colour, name);
+	public synchronized void addUserColour(final Color colour, final String name) {
+		if(colour!=null && name!=null && !name.isEmpty())
+			getUserColours().add(colour, name);
+	}
+
+
+	/**
+	 * Adds to the shared user colours the colours of the given table, in the order of their definition.
+	 * @param table The colours to add (see withUserColours).
+	 * @since 4.0
+	 */
+	public synchronized void addUserColours(final UserColours table) {
+		if(table!=null)
+			table.colours.forEach((name, colour) -> userColours.add(colour, name));
+	}
+
+
+	/**
+	 * Runs the given task with its own user colours: the colours added by the task in the current thread are added
+	 * to the given table and not to the shared user colours, which are not modified. The task still sees the shared
+	 * user colours. Several tasks can thus run in parallel and name their colours independently of one another.
+	 * @param table The user colours of the task. A table must not be modified by a thread while other threads use it.
+	 * @param task The task to run.
+	 * @return The result of the task.
+	 * @since 4.0
+	 */
+	public <T> T withUserColours(final UserColours table, final Supplier<T> task) {
+		final UserColours previous = threadColours.get();
+		threadColours.set(table);
+		try {
+			return task.get();
+		}finally {
+			if(previous==null)
+				threadColours.remove();
+			else
+				threadColours.set(previous);
 		}
 	}
 
 
 	/**
-	 * @return A unique name for a user defined colour.
-	 * @since 3.0
+	 * @return The user colours of the task run by the current thread with withUserColours, or null if the current
+	 * thread uses the shared user colours. Used to run parts of the task in other threads with the same colours.
+	 * @since 4.0
+	 */
+	public UserColours getThreadUserColours() {
+		return threadColours.get();
+	}
+
+
+	/**
+	 * @return The table where the user colours are added in the current thread.
 	 */
-	private String generateColourName() {
-		return "colour" + ctColours++; //$NON-NLS-1$
+	private UserColours getUserColours() {
+		final UserColours local = threadColours.get();
+		return local==null ? userColours : local;
 	}
 
 
@@ -543,4 +591,46 @@ public final class DviPsColors  {
 		if(g < 0 || g > 1) throw new IllegalArgumentException(String.valueOf(g));
 		return ShapeFactory.createColor(g, g, g);
 	}
+
+
+	/**
+	 * A table of colours defined by the user: the colours by name and the names by colour.
+	 * @since 4.0
+	 */
+	public static final class UserColours {
+		/** The colours by name, in the order of their definition. */
+		final Map<String, Color> colours;
+
+		/** The names of the colours. */
+		final Map<Color, String> names;
+
+		/** The counter used to name the colours added without name. */
+		int counter;
+
+		/**
+		 * Creates an empty table, to be used by a single thread at a time (see withUserColours).
+		 */
+		public UserColours() {
+			this(new LinkedHashMap<>(), new HashMap<>());
+		}
+
+		UserColours(final Map<String, Color> colours, final Map<Color, String> names) {
+			super();
+			this.colours = colours;
+			this.names = names;
+			counter = 0;
+		}
+
+		void add(final Color colour, final String name) {
+			colours.put(name, colour);
+			names.put(colour, name);
+		}
+
+		/**
+		 * @return The names of the colours of the table, in the order of their definition.
+		 */
+		public Set<String> getNames() {
+			return Collections.unmodifiableSet(colours.keySet());
+		}
+	}
 }
@@ -0,0 +1,364 @@
+package net.sf.latexdraw.glib.views.latex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.util.LFileUtils;
+import net.sf.latexdraw.util.LPath;
+import net.sf.latexdraw.util.LSystem;
+import net.sf.latexdraw.util.OperatingSystem;
+
+/**
+ * A persistent cache of the PS, EPS and PDF documents produced by the compilation of LaTeX documents.
+ * The documents are stored in files named by a hash of the full LaTeX document, of the user packages,
+ * of the compilation options, of the toolchain and of the files included by the document (pictures,
+ * inputs). So that exporting an unchanged drawing does
+ * not start any process. The least recently used documents are removed when the size of the cache
+ * exceeds its maximal size.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-15<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public final class LaTeXCompilationCache {
+	/** The default maximal size of the cache in bytes: 128 MiB. */
+	public static final long DEFAULT_MAX_SIZE = 128L * 1024L * 1024L;
+
+	/** The name of the folder of the cache, in the cache folder of LaTeXDraw. */
+	public static final String CACHE_DIR = "latex"; //$NON-NLS-1$
+
+	/** The commands that include a file in a document: the group 2 is the path of the file. */
+	private static final Pattern INCLUDE_CMD = Pattern.compile("\\\\(includegraphics\\*?(?:\\s*\\[[^\\]]*\\])*|input|include)\\s*\\{([^}]+)\\}"); //$NON-NLS-1$
+
+	/** The extensions tried, in this order, to find an included file which path has no extension. */
+	private static final String[] INCLUDE_EXTENSIONS = {"", ".tex", ".eps", ".ps", ".pdf", ".png", ".jpg", ".jpeg"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+
+	/** The singleton. */
+	public static final LaTeXCompilationCache INSTANCE = new LaTeXCompilationCache(new File(LPath.PATH_CACHE_DIR, CACHE_DIR), DEFAULT_MAX_SIZE);
+
+	/** The folder that contains the cached documents. */
+	private final File dir;
+
+	/** The maximal size of the cache in bytes. */
+	private final long maxSize;
+
+	/** The number of documents found in the cache. */
+	private final AtomicLong hits;
+
+	/** The number of documents not found in the cache. */
+	private final AtomicLong misses;
+
+	/** The fingerprint of the toolchain, computed lazily. */
+	private volatile String toolchain;
+
+
+	/**
+	 * Creates a cache.
+	 * @param dir The folder that contains the cached documents. Created if it does not exist.
+	 * @param maxSize The maximal size of the cache in bytes.
+	 * @throws IllegalArgumentException If the folder is null or the maximal size is not positive.
+	 */
+	public LaTeXCompilationCache(final File dir, final long maxSize) {
+		super();
+		if(dir==null || maxSize<=0)
+			throw new IllegalArgumentException();
+		this.dir = dir;
+		this.maxSize = maxSize;
+		hits = new AtomicLong();
+		misses = new AtomicLong();
+	}
+
+
+	/**
+	 * @return The number of documents found in the cache since its creation.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+
+	/**
+	 * @return The number of documents not found in the cache since its creation.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+
+	/**
+	 * @return The maximal size of the cache in bytes.
+	 */
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+
+	/**
+	 * Sets the fingerprint of the toolchain used to compile the documents. By default, the fingerprint is
+	 * computed from the location, the size and the date of the binaries of the toolchain.
+	 * @param toolchain The fingerprint. If null, the default fingerprint is computed again.
+	 */
+	public void setToolchain(final String toolchain) {
+		this.toolchain = toolchain;
+	}
+
+
+	/**
+	 * @return The fingerprint of the toolchain. Computed without starting any process: a change of
+	 * version of latex, dvips, ps2eps, ps2pdf or pdfcrop changes the size or the date of its binary.
+	 */
+	public String getToolchain() {
+		String tc = toolchain;
+		if(tc==null) {
+			final OperatingSystem os = LSystem.INSTANCE.getSystem();
+			final StringBuilder buf = new StringBuilder();
+			if(os!=null)
+				for(final String bin : new String[]{os.getLatexBinPath(), os.getDvipsBinPath(), os.getPS2EPSBinPath(), os.getPs2pdfBinPath(), os.getPdfcropBinPath()}) {
+					final File file = findBinary(bin);
+					buf.append(bin).append('|');
+					if(file!=null)
+						buf.append(file.getAbsolutePath()).append('|').append(file.length()).append('|').append(file.lastModified());
+					buf.append(';');
+				}
+			tc = buf.toString();
+			toolchain = tc;
+		}
+		return tc;
+	}
+
+
+	/**
+	 * @return The file of the given binary: the path itself if it exists, or the first matching
+	 * file of the folders of the PATH variable. Null if not found.
+	 */
+	private static File findBinary(final String bin) {
+		final File file = new File(bin);
+		if(file.isAbsolute())
+			return file.isFile() ? file : null;
+
+		final String path = System.getenv("PATH"); //$NON-NLS-1$
+		if(path==null)
+			return null;
+
+		for(final String folder : path.split(File.pathSeparator)) {
+			final File candidate = new File(folder, bin);
+			if(candidate.isFile())
+				return candidate;
+			final File exe = new File(folder, bin + ".exe"); //$NON-NLS-1$
+			if(exe.isFile())
+				return exe;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Computes the key of a compiled document. The content of the files included by the document and by the
+	 * packages (\includegraphics, \input, \include) is part of the key, so that modifying a picture of
+	 * the drawing invalidates its compiled documents. The included files are searched from the current folder
+	 * when their path is relative.
+	 * @param document The full LaTeX document.
+	 * @param packages The user packages.
+	 * @param options The options of the compilation that are not in the document (e.g. the output format).
+	 * @return The key (hexadecimal SHA-256) or null if the hash cannot be computed.
+	 */
+	public String getKey(final String document, final String packages, final String options) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			final Set<File> included = new HashSet<>();
+			for(final String str : new String[]{document, packages, options, getToolchain()}) {
+				digest.update(String.valueOf(str).getBytes(StandardCharsets.UTF_8));
+				// Separating the parts so that moving characters from one part to another changes the key.
+				digest.update((byte)0);
+			}
+			digestIncludedFiles(digest, document, included);
+			digestIncludedFiles(digest, packages, included);
+			final StringBuilder key = new StringBuilder();
+			for(final byte b : digest.digest())
+				key.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			return key.toString();
+		}catch(final NoSuchAlgorithmException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+			return null;
+		}
+	}
+
+
+	/**
+	 * Adds to the digest the content of the files included by the given LaTeX code. The LaTeX files
+	 * (\input, \include) are parsed recursively.
+	 * @param digest The digest to update.
+	 * @param code The LaTeX code to parse. May be null.
+	 * @param included The files already added to the digest: a file is added once (and an include cycle ends).
+	 */
+	private static void digestIncludedFiles(final MessageDigest digest, final String code, final Set<File> included) {
+		if(code==null)
+			return;
+
+		final Matcher matcher = INCLUDE_CMD.matcher(code);
+
+		while(matcher.find()) {
+			final String path = matcher.group(2).trim().replace("\\string~", "~"); //$NON-NLS-1$ //$NON-NLS-2$
+			final File file = findIncludedFile(path);
+
+			digest.update(path.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+
+			if(file==null)
+				digest.update((byte)1);
+			else if(included.add(file))
+				try {
+					final byte[] content = Files.readAllBytes(file.toPath());
+					digest.update(content);
+					if(!matcher.group(1).startsWith("includegraphics")) //$NON-NLS-1$
+						digestIncludedFiles(digest, new String(content, StandardCharsets.UTF_8), included);
+				}catch(final IOException ex) {
+					// The compilation will fail as well: the file is considered as missing.
+					digest.update((byte)1);
+				}
+			digest.update((byte)0);
+		}
+	}
+
+
+	/**
+	 * @return The included file of the given path, tried with the usual LaTeX extensions if it has none. Null if not found.
+	 */
+	private static File findIncludedFile(final String path) {
+		for(final String ext : INCLUDE_EXTENSIONS) {
+			File file = new File(path + ext);
+			if(!file.isAbsolute())
+				file = new File(System.getProperty("user.dir"), path + ext); //$NON-NLS-1$
+			if(file.isFile())
+				return file.getAbsoluteFile();
+		}
+		return null;
+	}
+
+
+	/**
+	 * @return The file of the cache that corresponds to the given key and extension.
+	 */
+	private File getFile(final String key, final String extension) {
+		return new File(dir, key + extension);
+	}
+
+
+	/**
+	 * Copies the cached document that corresponds to the given key to the given file.
+	 * @param key The key of the document (see getKey). If null, nothing is done.
+	 * @param extension The extension of the document (e.g. ".pdf").
+	 * @param target The file to create.
+	 * @return True: the document was in the cache and has been copied.
+	 */
+	public boolean fetch(final String key, final String extension, final File target) {
+		if(key==null || target==null)
+			return false;
+
+		final File cached = getFile(key, extension);
+
+		if(cached.isFile() && LFileUtils.INSTANCE.copy(cached, target)) {
+			// The date of the file is the date of its last use.
+			cached.setLastModified(System.currentTimeMillis());
+			hits.incrementAndGet();
+			return true;
+		}
+
+		misses.incrementAndGet();
+		return false;
+	}
+
+
+	/**
+	 * Stores a compiled document in the cache and removes the least recently used documents
+	 * if the cache is too large.
+	 * @param key The key of the document (see getKey). If null, nothing is done.
+	 * @param extension The extension of the document (e.g. ".pdf").
+	 * @param compiled The compiled document.
+	 */
+	public void store(final String key, final String extension, final File compiled) {
+		if(key==null || compiled==null || !compiled.isFile() || compiled.length()>maxSize || !dir.isDirectory() && !dir.mkdirs())
+			return;
+
+		final File cached = getFile(key, extension);
+		File tmp = null;
+
+		try {
+			// Writing a temporary file first so that a concurrent export never reads a partial document.
+			// The temporary file is unique so that concurrent stores of the same document do not collide.
+			tmp = File.createTempFile(key, extension + ".tmp", dir); //$NON-NLS-1$
+			if(LFileUtils.INSTANCE.copy(compiled, tmp)) {
+				try {
+					Files.move(tmp.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}catch(final AtomicMoveNotSupportedException ex) {
+					Files.move(tmp.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				evict();
+			}
+		}catch(final IOException ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+		}finally {
+			if(tmp!=null)
+				tmp.delete();
+		}
+	}
+
+
+	/**
+	 * Removes the least recently used documents while the size of the cache exceeds its maximal size.
+	 */
+	private synchronized void evict() {
+		final File[] files = dir.listFiles(file -> file.isFile() && !file.getName().endsWith(".tmp")); //$NON-NLS-1$
+		if(files==null)
+			return;
+
+		long size = Arrays.stream(files).mapToLong(File::length).sum();
+
+		if(size>maxSize) {
+			Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+			for(int i=0; i<files.length && size>maxSize; i++) {
+				final long length = files[i].length();
+				if(files[i].delete())
+					size -= length;
+			}
+		}
+	}
+
+
+	/**
+	 * Removes all the cached documents and resets the counters.
+	 */
+	public synchronized void clear() {
+		final File[] files = dir.listFiles();
+		if(files!=null)
+			for(final File file : files)
+				file.delete();
+		hits.set(0L);
+		misses.set(0L);
+	}
+}
@@ -5,6 +5,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.util.function.Supplier;
 
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.filters.EPSFilter;
@@ -14,6 +15,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.views.pst.PSTCodeGenerator;
 import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniserHandler;
+import net.sf.latexdraw.util.ExportJob;
 import net.sf.latexdraw.util.LFileUtils;
 import net.sf.latexdraw.util.LResources;
 import net.sf.latexdraw.util.LSystem;
@@ -393,13 +395,24 @@ public abstract class LaTeXGenerator implements Modifiable {
 	public static File createLatexFile(final IDrawing drawing, final String pathExportTex, final ViewsSynchroniserHandler synchronizer, final PSTCodeGenerator pstGen) {
 		if(drawing==null || pathExportTex==null)
 			return null;
+		return createLatexFile(getLatexDocument(drawing, synchronizer, pstGen), pathExportTex);
+	}
+
 
+	/**
+	 * Creates a latex file that contains the given latex document.
+	 * @param document The latex document.
+	 * @param pathExportTex The location where the file must be created.
+	 * @return The latex file or null.
+	 * @since 4.0
+	 */
+	private static File createLatexFile(final String document, final String pathExportTex) {
 		boolean ok = true;
 
 		try {
 			try(FileOutputStream fos = new FileOutputStream(pathExportTex);
 				OutputStreamWriter osw = new OutputStreamWriter(fos)){
-				osw.append(getLatexDocument(drawing, synchronizer, pstGen));
+				osw.append(document);
 			}
 		} catch(final IOException ex) { ok = false; }
 
@@ -425,6 +438,7 @@ public abstract class LaTeXGenerator implements Modifiable {
 
 	/**
 	 * Create an .eps file that corresponds to the compiled latex document containing the pstricks drawing.
+	 * The compiled document is taken from the compilation cache if the drawing has not changed.
 	 * @param drawing The shapes to export.
 	 * @param pathExportEPS The path of the .eps file to create (MUST ends with .eps).
 	 * @param synchronizer The object that synchronises the view and the model.
@@ -433,25 +447,71 @@ public abstract class LaTeXGenerator implements Modifiable {
 	 * @since 3.0
 	 */
 	public static File createEPSFile(final IDrawing drawing, final String pathExportEPS, final ViewsSynchroniserHandler synchronizer, final PSTCodeGenerator pstGen){
-		final File tmpDir = LFileUtils.INSTANCE.createTempDir();
-		final File psFile = createPSFile(drawing, tmpDir.getAbsolutePath() + LResources.FILE_SEP + "tmpPSFile.ps", synchronizer, tmpDir, pstGen); //$NON-NLS-1$
-		final File finalFile = new File(pathExportEPS);
-		final File fileEPS = new File(psFile.getAbsolutePath().replace(".ps", EPSFilter.EPS_EXTENSION)); //$NON-NLS-1$
-		final String[] paramsLatex = {LSystem.INSTANCE.getSystem().getPS2EPSBinPath(), psFile.getAbsolutePath(), fileEPS.getAbsolutePath()};
+		final Supplier<File> compilation = prepareEPSFile(drawing, pathExportEPS, synchronizer, pstGen);
+		return compilation==null ? null : compilation.get();
+	}
+
 
-		final String log = LSystem.INSTANCE.execute(paramsLatex, tmpDir);
-		if(!fileEPS.exists()) {
-			BadaboomCollector.INSTANCE.add(new IllegalAccessException(getLatexDocument(drawing, synchronizer, pstGen) + LResources.EOL + log));
+	/**
+	 * Prepares the creation of an .eps file (see createEPSFile): the latex document and its .tex file are created
+	 * by the calling thread. The returned compilation only executes the processes (latex, dvips, ps2eps): it can
+	 * be executed by another thread, such as an export job.
+	 * @param drawing The shapes to export.
+	 * @param pathExportEPS The path of the .eps file to create (MUST ends with .eps).
+	 * @param synchronizer The object that synchronises the view and the model.
+	 * @param pstGen The PST generator to use.
+	 * @return The compilation that gives the created file or null, or null if the compilation cannot be prepared.
+	 * @since 4.0
+	 */
+	public static Supplier<File> prepareEPSFile(final IDrawing drawing, final String pathExportEPS, final ViewsSynchroniserHandler synchronizer,
+			final PSTCodeGenerator pstGen) {
+		if(drawing==null || pathExportEPS==null)
 			return null;
-		}
-		LFileUtils.INSTANCE.copy(fileEPS, finalFile);
-		psFile.delete();
-		fileEPS.delete();
-		if(!finalFile.exists()) {
-			BadaboomCollector.INSTANCE.add(new IllegalAccessException("Cannot create the EPS file at this location: " + finalFile.getAbsolutePath())); //$NON-NLS-1$
+
+		final String document = getLatexDocument(drawing, synchronizer, pstGen);
+		final String paperSize = getDvipsPaperSize(synchronizer, pstGen);
+		final String key = LaTeXCompilationCache.INSTANCE.getKey(document, getPackages(), EPSFilter.EPS_EXTENSION + paperSize);
+		final File finalFile = new File(pathExportEPS);
+
+		if(LaTeXCompilationCache.INSTANCE.fetch(key, EPSFilter.EPS_EXTENSION, finalFile))
+			return () -> finalFile;
+
+		final File tmpDir = LFileUtils.INSTANCE.createTempDir();
+
+		if(tmpDir==null) {
+			BadaboomCollector.INSTANCE.add(new FileNotFoundException("Cannot create a temporary folder.")); //$NON-NLS-1$
 			return null;
 		}
-		return finalFile;
+
+		final String pathPs = tmpDir.getAbsolutePath() + LResources.FILE_SEP + "tmpPSFile.ps"; //$NON-NLS-1$
+		final File texFile = createTexFile(document, pathPs, tmpDir);
+
+		return () -> {
+			// latex, dvips, ps2eps.
+			setNbSteps(3);
+			final File psFile = compilePSFile(document, texFile, pathPs, paperSize, tmpDir);
+
+			if(psFile==null)
+				return null;
+
+			final File fileEPS = new File(psFile.getAbsolutePath().replace(".ps", EPSFilter.EPS_EXTENSION)); //$NON-NLS-1$
+			final String[] paramsLatex = {LSystem.INSTANCE.getSystem().getPS2EPSBinPath(), psFile.getAbsolutePath(), fileEPS.getAbsolutePath()};
+
+			final String log = LSystem.INSTANCE.execute(paramsLatex, tmpDir);
+			if(!fileEPS.exists()) {
+				BadaboomCollector.INSTANCE.add(new IllegalAccessException(document + LResources.EOL + log));
+				return null;
+			}
+			LFileUtils.INSTANCE.copy(fileEPS, finalFile);
+			psFile.delete();
+			fileEPS.delete();
+			if(!finalFile.exists()) {
+				BadaboomCollector.INSTANCE.add(new IllegalAccessException("Cannot create the EPS file at this location: " + finalFile.getAbsolutePath())); //$NON-NLS-1$
+				return null;
+			}
+			LaTeXCompilationCache.INSTANCE.store(key, EPSFilter.EPS_EXTENSION, finalFile);
+			return finalFile;
+		};
 	}
 
 
@@ -459,6 +519,7 @@ public abstract class LaTeXGenerator implements Modifiable {
 	/**
 	 * Create a .ps file that corresponds to the compiled latex document containing
 	 * the pstricks drawing.
+	 * The compiled document is taken from the compilation cache if the drawing has not changed.
 	 * @param drawing The shapes to export.
 	 * @param pathExportPs The path of the .ps file to create (MUST ends with .ps).
 	 * @param synchronizer The object that synchronises the view and the model.
@@ -469,42 +530,104 @@ public abstract class LaTeXGenerator implements Modifiable {
 	 */
 	public static File createPSFile(final IDrawing drawing, final String pathExportPs, final ViewsSynchroniserHandler synchronizer, final File tmpDir,
 			final PSTCodeGenerator pstGen) {
-		if(pathExportPs==null)
+		if(drawing==null || pathExportPs==null)
 			return null;
 
-		final int lastSep			= pathExportPs.lastIndexOf(LResources.FILE_SEP)+1;
-		final String name			= pathExportPs.substring(lastSep==-1 ? 0 : lastSep, pathExportPs.lastIndexOf(".ps")); //$NON-NLS-1$
-		final File tmpDir2		= tmpDir==null ? LFileUtils.INSTANCE.createTempDir() : tmpDir;
-		final float scale	= (float)pstGen.getScale();
+		final String document = getLatexDocument(drawing, synchronizer, pstGen);
+		final String paperSize = getDvipsPaperSize(synchronizer, pstGen);
+		final String key = LaTeXCompilationCache.INSTANCE.getKey(document, getPackages(), ".ps" + paperSize); //$NON-NLS-1$
+		final File psFile = new File(pathExportPs);
+
+		if(LaTeXCompilationCache.INSTANCE.fetch(key, ".ps", psFile)) //$NON-NLS-1$
+			return psFile;
+
+		final File tmpDir2 = tmpDir==null ? LFileUtils.INSTANCE.createTempDir() : tmpDir;
 
 		if(tmpDir2==null) {
 			BadaboomCollector.INSTANCE.add(new FileNotFoundException("Cannot create a temporary folder.")); //$NON-NLS-1$
 			return null;
 		}
 
-		final String path		= tmpDir2.getAbsolutePath() + LResources.FILE_SEP;
-		final File texFile    = createLatexFile(drawing, path + name + TeXFilter.TEX_EXTENSION, synchronizer, pstGen);
-		String log;
-		File finalPS;
+		// latex, dvips.
+		setNbSteps(2);
+		final File compiled = compilePSFile(document, createTexFile(document, pathExportPs, tmpDir2), pathExportPs, paperSize, tmpDir2);
+
+		if(tmpDir==null)
+			tmpDir2.delete();
+
+		LaTeXCompilationCache.INSTANCE.store(key, ".ps", compiled); //$NON-NLS-1$
+		return compiled;
+	}
+
+
+	/**
+	 * Gives the number of processes of the export to the export job of the current thread, if any.
+	 */
+	private static void setNbSteps(final int nbSteps) {
+		final ExportJob<?> job = ExportJob.current();
+		if(job!=null)
+			job.setNbSteps(nbSteps);
+	}
+
+
+	/**
+	 * @return The size of the paper given to dvips, computed from the bounds of the drawing.
+	 */
+	private static String getDvipsPaperSize(final ViewsSynchroniserHandler synchronizer, final PSTCodeGenerator pstGen) {
 		final IPoint tr		= synchronizer.getTopRightDrawingPoint();
 		final IPoint bl		= synchronizer.getBottomLeftDrawingPoint();
-		final int ppc			= synchronizer.getPPCDrawing();
+		final int ppc		= synchronizer.getPPCDrawing();
+		final float scale	= (float)pstGen.getScale();
 		final float dec		= 0.2f;
-		final OperatingSystem os = LSystem.INSTANCE.getSystem();
+		return (tr.getX()-bl.getX())/ppc*scale+dec+"cm,"+((bl.getY()-tr.getY())/ppc*scale+dec)+"cm"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+
+	/**
+	 * Creates, in the given folder, the .tex file of the given latex document to compile into the given .ps file.
+	 * @param document The latex document.
+	 * @param pathExportPs The path of the .ps file to create (MUST ends with .ps).
+	 * @param tmpDir The temporary directory used for the compilation.
+	 * @return The .tex file or null.
+	 * @since 4.0
+	 */
+	private static File createTexFile(final String document, final String pathExportPs, final File tmpDir) {
+		final int lastSep	= pathExportPs.lastIndexOf(LResources.FILE_SEP)+1;
+		final String name	= pathExportPs.substring(lastSep==-1 ? 0 : lastSep, pathExportPs.lastIndexOf(".ps")); //$NON-NLS-1$
+		return createLatexFile(document, tmpDir.getAbsolutePath() + LResources.FILE_SEP + name + TeXFilter.TEX_EXTENSION);
+	}
+
 
+	/**
+	 * Compiles the given .tex file into a .ps file. Only the processes (latex, dvips) are executed:
+	 * the .tex file is created beforehand (see createTexFile).
+	 * @param document The latex document, used to report the errors.
+	 * @param texFile The .tex file of the document (may be null).
+	 * @param pathExportPs The path of the .ps file to create (MUST ends with .ps).
+	 * @param paperSize The size of the paper given to dvips.
+	 * @param tmpDir The temporary directory used for the compilation.
+	 * @return The create file or null.
+	 * @since 4.0
+	 */
+	private static File compilePSFile(final String document, final File texFile, final String pathExportPs, final String paperSize, final File tmpDir) {
 		if(texFile==null || !texFile.exists())
 			return null;
 
-		final String[] paramsLatex = {os.getLatexBinPath(), "--interaction=nonstopmode", "--output-directory=" + tmpDir2.getAbsolutePath(),//$NON-NLS-1$//$NON-NLS-2$
+		final String path		= tmpDir.getAbsolutePath() + LResources.FILE_SEP;
+		final String name		= texFile.getName().substring(0, texFile.getName().lastIndexOf(TeXFilter.TEX_EXTENSION));
+		String log;
+		File finalPS;
+		final OperatingSystem os = LSystem.INSTANCE.getSystem();
+
+		final String[] paramsLatex = {os.getLatexBinPath(), "--interaction=nonstopmode", "--output-directory=" + tmpDir.getAbsolutePath(),//$NON-NLS-1$//$NON-NLS-2$
 				LFileUtils.INSTANCE.normalizeForLaTeX(texFile.getAbsolutePath())};//$NON-NLS-1$
-		log    = LSystem.INSTANCE.execute(paramsLatex, tmpDir2);
-		final File dviFile = new File(tmpDir2.getAbsolutePath() + LResources.FILE_SEP + name + ".dvi"); //$NON-NLS-1$
-		final boolean dviRenamed = dviFile.renameTo(new File(tmpDir2.getAbsolutePath() + LResources.FILE_SEP + name));
+		log    = LSystem.INSTANCE.execute(paramsLatex, tmpDir);
+		final File dviFile = new File(path + name + ".dvi"); //$NON-NLS-1$
+		final boolean dviRenamed = dviFile.renameTo(new File(path + name));
 
 		final String[] paramsDvi = {os.getDvipsBinPath(), "-Pdownload35", "-T", //$NON-NLS-1$ //$NON-NLS-2$
-				(tr.getX()-bl.getX())/ppc*scale+dec+"cm,"+((bl.getY()-tr.getY())/ppc*scale+dec)+"cm", //$NON-NLS-1$ //$NON-NLS-2$ 
-						name, "-o", pathExportPs}; //$NON-NLS-1$
-		log   += LSystem.INSTANCE.execute(paramsDvi, tmpDir2);
+				paperSize, name, "-o", pathExportPs}; //$NON-NLS-1$
+		log   += LSystem.INSTANCE.execute(paramsDvi, tmpDir);
 
 		texFile.delete();
 		new File(path + name + (dviRenamed ? "" : ".div")).delete();	//$NON-NLS-1$ //$NON-NLS-2$
@@ -514,13 +637,10 @@ public abstract class LaTeXGenerator implements Modifiable {
 		finalPS = new File(pathExportPs);
 
 		if(!finalPS.exists()) {
-			BadaboomCollector.INSTANCE.add(new IllegalAccessException(getLatexDocument(drawing, synchronizer, pstGen) + LResources.EOL + log));
+			BadaboomCollector.INSTANCE.add(new IllegalAccessException(document + LResources.EOL + log));
 			finalPS = null;
 		}
 
-		if(tmpDir==null)
-			tmpDir2.delete();
-
 		return finalPS;
 	}
 
@@ -529,6 +649,7 @@ public abstract class LaTeXGenerator implements Modifiable {
 	/**
 	 * Create a .pdf file that corresponds to the compiled latex document containing
 	 * the pstricks drawing.
+	 * The compiled document is taken from the compilation cache if the drawing has not changed.
 	 * @param drawing The shapes to export.
 	 * @param pathExportPdf The path of the .pdf file to create (MUST ends with .pdf).
 	 * @param synchronizer The object that synchronises the view and the model.
@@ -539,9 +660,36 @@ public abstract class LaTeXGenerator implements Modifiable {
 	 */
 	public static File createPDFFile(final IDrawing drawing, final String pathExportPdf, final ViewsSynchroniserHandler synchronizer, final boolean crop,
 			final PSTCodeGenerator pstGen) {
-		if(pathExportPdf==null)
+		final Supplier<File> compilation = preparePDFFile(drawing, pathExportPdf, synchronizer, crop, pstGen);
+		return compilation==null ? null : compilation.get();
+	}
+
+
+	/**
+	 * Prepares the creation of a .pdf file (see createPDFFile): the latex document and its .tex file are created
+	 * by the calling thread. The returned compilation only executes the processes (latex, dvips, ps2pdf, pdfcrop):
+	 * it can be executed by another thread, such as an export job.
+	 * @param drawing The shapes to export.
+	 * @param pathExportPdf The path of the .pdf file to create (MUST ends with .pdf).
+	 * @param synchronizer The object that synchronises the view and the model.
+	 * @param crop if true, the output document will be cropped.
+	 * @param pstGen The PST generator to use.
+	 * @return The compilation that gives the created file or null, or null if the compilation cannot be prepared.
+	 * @since 4.0
+	 */
+	public static Supplier<File> preparePDFFile(final IDrawing drawing, final String pathExportPdf, final ViewsSynchroniserHandler synchronizer,
+			final boolean crop, final PSTCodeGenerator pstGen) {
+		if(drawing==null || pathExportPdf==null)
 			return null;
 
+		final String document = getLatexDocument(drawing, synchronizer, pstGen);
+		final String paperSize = getDvipsPaperSize(synchronizer, pstGen);
+		final String key = LaTeXCompilationCache.INSTANCE.getKey(document, getPackages(),
+							PDFFilter.PDF_EXTENSION + paperSize + (crop ? "crop" : "")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		if(LaTeXCompilationCache.INSTANCE.fetch(key, PDFFilter.PDF_EXTENSION, new File(pathExportPdf)))
+			return () -> new File(pathExportPdf);
+
 		final File tmpDir = LFileUtils.INSTANCE.createTempDir();
 
 		if(tmpDir==null) {
@@ -550,41 +698,50 @@ public abstract class LaTeXGenerator implements Modifiable {
 		}
 
 		final String name = pathExportPdf.substring(pathExportPdf.lastIndexOf(LResources.FILE_SEP)+1, pathExportPdf.lastIndexOf(PDFFilter.PDF_EXTENSION));
-		final File psFile = createPSFile(drawing, tmpDir.getAbsolutePath() + LResources.FILE_SEP + name + ".ps", synchronizer, tmpDir, pstGen); //$NON-NLS-1$
-		String log;
-		File pdfFile;
-		final OperatingSystem os = LSystem.INSTANCE.getSystem();
-
-		if(psFile==null)
-			return null;
-
-		// On windows, an option must be defined using this format:
-		// -optionName#valueOption Thus, the classical = character must be replaced by a # when latexdraw runs on Windows.
-		final String optionEmbed = "-dEmbedAllFonts" + (LSystem.INSTANCE.isWindows() ? "#" : "=") + "true"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-
-		log = LSystem.INSTANCE.execute(new String[] {os.getPs2pdfBinPath(), optionEmbed, psFile.getAbsolutePath(), 
-							crop ? name + PDFFilter.PDF_EXTENSION : pathExportPdf}, tmpDir);
-
-		if(crop) {
-			pdfFile = new File(tmpDir.getAbsolutePath() + LResources.FILE_SEP + name + PDFFilter.PDF_EXTENSION);
-			log 	= LSystem.INSTANCE.execute(new String[] {os.getPdfcropBinPath(), pdfFile.getAbsolutePath(), pdfFile.getAbsolutePath()}, tmpDir); 
-			// JAVA7: test pdfFile.toPath().move(pathExportPdf)
-			// the renameto method is weak and fails sometimes.
-			if(!pdfFile.renameTo(new File(pathExportPdf)) && !LFileUtils.INSTANCE.copy(pdfFile, new File(pathExportPdf)))
-				log += " The final pdf document cannot be moved to its final destination. If you use Windows, you must have a Perl interpretor installed, such as strawberryPerl (http://strawberryperl.com/)"; //$NON-NLS-1$
-			pdfFile.delete();
-		}
+		final String pathPs = tmpDir.getAbsolutePath() + LResources.FILE_SEP + name + ".ps"; //$NON-NLS-1$
+		final File texFile = createTexFile(document, pathPs, tmpDir);
+
+		return () -> {
+			// latex, dvips, ps2pdf, pdfcrop.
+			setNbSteps(crop ? 4 : 3);
+			final File psFile = compilePSFile(document, texFile, pathPs, paperSize, tmpDir);
+			String log;
+			File pdfFile;
+			final OperatingSystem os = LSystem.INSTANCE.getSystem();
+
+			if(psFile==null)
+				return null;
+
+			// On windows, an option must be defined using this format:
+			// -optionName#valueOption Thus, the classical = character must be replaced by a # when latexdraw runs on Windows.
+			final String optionEmbed = "-dEmbedAllFonts" + (LSystem.INSTANCE.isWindows() ? "#" : "=") + "true"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+			log = LSystem.INSTANCE.execute(new String[] {os.getPs2pdfBinPath(), optionEmbed, psFile.getAbsolutePath(), 
+								crop ? name + PDFFilter.PDF_EXTENSION : pathExportPdf}, tmpDir);
+
+			if(crop) {
+				pdfFile = new File(tmpDir.getAbsolutePath() + LResources.FILE_SEP + name + PDFFilter.PDF_EXTENSION);
+				log 	= LSystem.INSTANCE.execute(new String[] {os.getPdfcropBinPath(), pdfFile.getAbsolutePath(), pdfFile.getAbsolutePath()}, tmpDir); 
+				// JAVA7: test pdfFile.toPath().move(pathExportPdf)
+				// the renameto method is weak and fails sometimes.
+				if(!pdfFile.renameTo(new File(pathExportPdf)) && !LFileUtils.INSTANCE.copy(pdfFile, new File(pathExportPdf)))
+					log += " The final pdf document cannot be moved to its final destination. If you use Windows, you must have a Perl interpretor installed, such as strawberryPerl (http://strawberryperl.com/)"; //$NON-NLS-1$
+				pdfFile.delete();
+			}
 
-		pdfFile = new File(pathExportPdf);
-		psFile.delete();
+			pdfFile = new File(pathExportPdf);
+			psFile.delete();
 
-		if(!pdfFile.exists()) {
-			BadaboomCollector.INSTANCE.add(new IllegalAccessException(getLatexDocument(drawing, synchronizer, pstGen) + LResources.EOL + log));
-			pdfFile = null;
-		}
+			if(pdfFile.exists())
+				LaTeXCompilationCache.INSTANCE.store(key, PDFFilter.PDF_EXTENSION, pdfFile);
+			else {
+				BadaboomCollector.INSTANCE.add(new IllegalAccessException(document + LResources.EOL + log));
+				pdfFile = null;
+			}
 
-		tmpDir.delete();
+			tmpDir.delete();
 
-		return pdfFile;
+			return pdfFile;
+		};
 	}
 }
@@ -0,0 +1,149 @@
+package net.sf.latexdraw.glib.views.pst;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+
+/**
+ * Defines the segments of the code of the shapes of a drawing: one segment per shape, in the drawing order.
+ * The lengths of the segments are stored in a Fenwick tree so that the offset of a segment is computed and
+ * the length of a segment is modified in O(log n). The position of a shape is found in O(1).<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-24<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class CodeSegments {
+	/** The position of the shapes. */
+	private final Map<IShape, Integer> positions;
+
+	/** The lengths of the segments. */
+	private int[] lengths;
+
+	/** The Fenwick tree of the lengths (indexed from 1). */
+	private int[] tree;
+
+	/** The names of the colours used by the code of each segment. */
+	private Set<String>[] colours;
+
+	/** The number of segments. */
+	private int size;
+
+	/** The sum of the lengths. */
+	private int total;
+
+
+	CodeSegments() {
+		super();
+		positions = new IdentityHashMap<>();
+		reset(Collections.emptyList());
+	}
+
+
+	/**
+	 * Replaces the segments by empty segments, one per given shape.
+	 * @param shapes The shapes of the drawing, in the drawing order.
+	 */
+	@SuppressWarnings("unchecked")
+	void reset(final List<IShape> shapes) {
+		size = shapes.size();
+		lengths = new int[size];
+		tree = new int[size+1];
+		colours = new Set[size];
+		total = 0;
+		positions.clear();
+
+		for(int i=0; i<size; i++)
+			positions.put(shapes.get(i), i);
+	}
+
+
+	/**
+	 * @return The position of the segment of the given shape or -1.
+	 */
+	int indexOf(final IShape shape) {
+		final Integer pos = positions.get(shape);
+		return pos==null ? -1 : pos;
+	}
+
+
+	/**
+	 * @return The offset of the segment at the given position: the sum of the lengths of the previous segments.
+	 */
+	int offset(final int index) {
+		int sum = 0;
+		for(int i=index; i>0; i-=i&-i)
+			sum += tree[i];
+		return sum;
+	}
+
+
+	/**
+	 * @return The length of the segment at the given position.
+	 */
+	int length(final int index) {
+		return lengths[index];
+	}
+
+
+	/**
+	 * Sets the length of the segment at the given position.
+	 */
+	void setLength(final int index, final int length) {
+		final int delta = length - lengths[index];
+
+		if(delta!=0) {
+			lengths[index] = length;
+			total += delta;
+			for(int i=index+1; i<=size; i+=i&-i)
+				tree[i] += delta;
+		}
+	}
+
+
+	/**
+	 * @return The names of the colours used by the segment at the given position (may be null).
+	 */
+	Set<String> getColours(final int index) {
+		return colours[index];
+	}
+
+
+	/**
+	 * Sets the names of the colours used by the segment at the given position.
+	 */
+	void setColours(final int index, final Set<String> names) {
+		colours[index] = names;
+	}
+
+
+	/**
+	 * @return The sum of the lengths of the segments.
+	 */
+	int total() {
+		return total;
+	}
+
+
+	/**
+	 * @return The number of segments.
+	 */
+	int size() {
+		return size;
+	}
+}
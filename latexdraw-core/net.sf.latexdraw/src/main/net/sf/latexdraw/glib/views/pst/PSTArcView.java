@@ -6,6 +6,7 @@ import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IArc;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 import net.sf.latexdraw.util.LResources;
 
 /**
@@ -69,7 +70,8 @@ class PSTArcView extends PSTClassicalView<IArc> {
 			end.append('}');
 
 		if(!LNumber.equalsDouble(yunit, 1.)) {
-			start.append("\\psscalebox{1 ").append(LNumber.getCutNumberFloat(yunit)).append('}').append('{'); //$NON-NLS-1$
+			start.append("\\psscalebox{1 "); //$NON-NLS-1$
+			LNumberFormatter.DATA.append(start, yunit).append('}').append('{');
 			end.append('}');
 		}
 
@@ -86,10 +88,10 @@ class PSTArcView extends PSTClassicalView<IArc> {
 
 				start.append("\\psarc"); //$NON-NLS-1$
 				end.append(LResources.EOL).append("\\psline[").append(params).append(']').append('('); //$NON-NLS-1$
-				end.append(LNumber.getCutNumberFloat(startPt.getX()/ppc)).append(',');
-				end.append(LNumber.getCutNumberFloat(startPt.getY()/ppc)).append(')').append('(');
-				end.append(LNumber.getCutNumberFloat(endPt.getX()/ppc)).append(',');
-				end.append(LNumber.getCutNumberFloat(endPt.getY()/ppc)).append(')');
+				LNumberFormatter.PST.append(end, startPt.getX()/ppc).append(',');
+				LNumberFormatter.PST.append(end, startPt.getY()/ppc).append(')').append('(');
+				LNumberFormatter.PST.append(end, endPt.getX()/ppc).append(',');
+				LNumberFormatter.PST.append(end, endPt.getY()/ppc).append(')');
 				break;
 			case WEDGE:
 				start.append("\\pswedge"); //$NON-NLS-1$
@@ -101,11 +103,11 @@ class PSTArcView extends PSTClassicalView<IArc> {
 		if(arrowsStyle!=null)
 			cache.append(arrowsStyle);
 		cache.append('(');
-		cache.append(LNumber.getCutNumberFloat(x/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(y/ppc)).append(')').append('{');
-		cache.append(LNumber.getCutNumberFloat(radiusX/ppc)).append('}').append('{');
-		cache.append(LNumber.getCutNumberFloat(Math.toDegrees(startAngle))).append('}').append('{');
-		cache.append(LNumber.getCutNumberFloat(Math.toDegrees(endAngle))).append('}');
+		LNumberFormatter.PST.append(cache, x/ppc).append(',');
+		LNumberFormatter.PST.append(cache, y/ppc).append(')').append('{');
+		LNumberFormatter.PST.append(cache, radiusX/ppc).append('}').append('{');
+		LNumberFormatter.PST.append(cache, Math.toDegrees(startAngle)).append('}').append('{');
+		LNumberFormatter.PST.append(cache, Math.toDegrees(endAngle)).append('}');
 		cache.append(end);
 	}
 }
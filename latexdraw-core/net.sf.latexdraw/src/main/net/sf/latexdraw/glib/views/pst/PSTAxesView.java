@@ -6,6 +6,7 @@ import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IAxes;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LAxes model.<br>
@@ -59,8 +60,9 @@ class PSTAxesView extends PSTShapeView<IAxes> {
 
 		if(!LNumber.equalsDouble(positionx, 0.) || !LNumber.equalsDouble(positiony, 0.)) {
 			end.append('}');
-			start.append("\\rput(").append(LNumber.getCutNumberFloat((positionx-origDrawing.getX())/ppc)).append(','); //$NON-NLS-1$
-			start.append(LNumber.getCutNumberFloat((origDrawing.getY()-positiony)/ppc)).append(')').append('{');
+			start.append("\\rput("); //$NON-NLS-1$
+			LNumberFormatter.PST.append(start, (positionx-origDrawing.getX())/ppc).append(',');
+			LNumberFormatter.PST.append(start, (origDrawing.getY()-positiony)/ppc).append(')').append('{');
 		}
 
 		if(rot!=null) {
@@ -102,18 +104,16 @@ class PSTAxesView extends PSTShapeView<IAxes> {
 //		params.append(", ticksize=").append((float)LNumber.getCutNumber(shape.getTicksSize()/ppc)).append(PSTricksConstants.TOKEN_CM);//$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(distLabelsX, 0.))
-			params.append(", dx=").append(LNumber.getCutNumberFloat(distLabelsX)).append(PSTricksConstants.TOKEN_CM);//$NON-NLS-1$
+			LNumberFormatter.PST.append(params.append(", dx="), distLabelsX).append(PSTricksConstants.TOKEN_CM); //$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(distLabelsY, 0.))
-			params.append(", dy=").append(LNumber.getCutNumberFloat(distLabelsY)).append(PSTricksConstants.TOKEN_CM);//$NON-NLS-1$
+			LNumberFormatter.PST.append(params.append(", dy="), distLabelsY).append(PSTricksConstants.TOKEN_CM); //$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(incrementx, PSTricksConstants.DEFAULT_DX))
-			params.append(", Dx=").append(LNumber.equalsDouble(incrementx, incrementx) ? String.valueOf((int)incrementx): //$NON-NLS-1$
-											String.valueOf(LNumber.getCutNumberFloat(incrementx)));
+			LNumberFormatter.PST.append(params.append(", Dx="), incrementx); //$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(incrementy, PSTricksConstants.DEFAULT_DY))
-			params.append(", Dy=").append(LNumber.equalsDouble(incrementy, incrementy) ? String.valueOf((int)incrementy): //$NON-NLS-1$
-										String.valueOf(LNumber.getCutNumberFloat(incrementy)));
+			LNumberFormatter.PST.append(params.append(", Dy="), incrementy); //$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(originx, PSTricksConstants.DEFAULT_OX))
 			params.append(", Ox=").append((int)originx);//$NON-NLS-1$
@@ -7,7 +7,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IBezierCurve;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LBezierCurve model.<br>
@@ -66,44 +66,60 @@ class PSTBezierCurveView extends PSTClassicalView<IBezierCurve> {
 		if(size<2)
 			return ;
 
-		coord.append('(').append(LNumber.getCutNumberFloat((pts.get(0).getX()-originx)/ppc));
-		coord.append(',').append(LNumber.getCutNumberFloat((originy-pts.get(0).getY())/ppc));
-		coord.append(')').append('(').append(LNumber.getCutNumberFloat((fCtrlPts.get(0).getX()-originx)/ppc));
-		coord.append(',').append(LNumber.getCutNumberFloat((originy-fCtrlPts.get(0).getY())/ppc));
-		coord.append(')').append('(').append(LNumber.getCutNumberFloat((fCtrlPts.get(1).getX()-originx)/ppc));
-		coord.append(',').append(LNumber.getCutNumberFloat((originy-fCtrlPts.get(1).getY())/ppc));
-		coord.append(')').append('(').append(LNumber.getCutNumberFloat((pts.get(1).getX()-originx)/ppc));
-		coord.append(',').append(LNumber.getCutNumber((originy-pts.get(1).getY())/ppc));
+		coord.append('(');
+		LNumberFormatter.PST.append(coord, (pts.get(0).getX()-originx)/ppc);
+		coord.append(',');
+		LNumberFormatter.PST.append(coord, (originy-pts.get(0).getY())/ppc);
+		coord.append(')').append('(');
+		LNumberFormatter.PST.append(coord, (fCtrlPts.get(0).getX()-originx)/ppc);
+		coord.append(',');
+		LNumberFormatter.PST.append(coord, (originy-fCtrlPts.get(0).getY())/ppc);
+		coord.append(')').append('(');
+		LNumberFormatter.PST.append(coord, (fCtrlPts.get(1).getX()-originx)/ppc);
+		coord.append(',');
+		LNumberFormatter.PST.append(coord, (originy-fCtrlPts.get(1).getY())/ppc);
+		coord.append(')').append('(');
+		LNumberFormatter.PST.append(coord, (pts.get(1).getX()-originx)/ppc);
+		coord.append(',');
+		LNumberFormatter.PST.append(coord, (originy-pts.get(1).getY())/ppc);
 		coord.append(')');
 
 		for(i=2; i<size; i++) {
 			ctrlPt1 = fCtrlPts.get(i);
 			ctrlPt2 = sCtrlPts.get(i-1);
 
-			coord.append('(').append(LNumber.getCutNumberFloat((ctrlPt2.getX()-originx)/ppc));
-			coord.append(',').append(LNumber.getCutNumberFloat((originy-ctrlPt2.getY())/ppc));
-			coord.append(')').append('(').append(LNumber.getCutNumberFloat((ctrlPt1.getX()-originx)/ppc));
-			coord.append(',').append(LNumber.getCutNumberFloat((originy-ctrlPt1.getY())/ppc));
+			coord.append('(');
+			LNumberFormatter.PST.append(coord, (ctrlPt2.getX()-originx)/ppc);
+			coord.append(',');
+			LNumberFormatter.PST.append(coord, (originy-ctrlPt2.getY())/ppc);
+			coord.append(')').append('(');
+			LNumberFormatter.PST.append(coord, (ctrlPt1.getX()-originx)/ppc);
+			coord.append(',');
+			LNumberFormatter.PST.append(coord, (originy-ctrlPt1.getY())/ppc);
 			coord.append(')').append('(');
 
 			pt = pts.get(i);
-			coord.append(LNumber.getCutNumberFloat((pt.getX()-originx)/ppc)).append(',');
-			coord.append(LNumber.getCutNumberFloat((originy-pt.getY())/ppc)).append(')');
+			LNumberFormatter.PST.append(coord, (pt.getX()-originx)/ppc).append(',');
+			LNumberFormatter.PST.append(coord, (originy-pt.getY())/ppc).append(')');
 		}
 
 		if(shape.isClosed()) {
 			ctrlPt1 = sCtrlPts.get(0);
 			ctrlPt2 = sCtrlPts.get(sCtrlPts.size()-1);
 
-			coord.append('(').append(LNumber.getCutNumberFloat((ctrlPt2.getX()-originx)/ppc));
-			coord.append(',').append(LNumber.getCutNumberFloat((originy-ctrlPt2.getY())/ppc));
-			coord.append(')').append('(').append(LNumber.getCutNumberFloat((ctrlPt1.getX()-originx)/ppc));
-			coord.append(',').append(LNumber.getCutNumberFloat((originy-ctrlPt1.getY())/ppc));
+			coord.append('(');
+			LNumberFormatter.PST.append(coord, (ctrlPt2.getX()-originx)/ppc);
+			coord.append(',');
+			LNumberFormatter.PST.append(coord, (originy-ctrlPt2.getY())/ppc);
+			coord.append(')').append('(');
+			LNumberFormatter.PST.append(coord, (ctrlPt1.getX()-originx)/ppc);
+			coord.append(',');
+			LNumberFormatter.PST.append(coord, (originy-ctrlPt1.getY())/ppc);
 			coord.append(')').append('(');
 
 			pt = pts.get(0);
-			coord.append(LNumber.getCutNumberFloat((pt.getX()-originx)/ppc)).append(',');
-			coord.append(LNumber.getCutNumberFloat((originy-pt.getY())/ppc)).append(')');
+			LNumberFormatter.PST.append(coord, (pt.getX()-originx)/ppc).append(',');
+			LNumberFormatter.PST.append(coord, (originy-pt.getY())/ppc).append(')');
 		}
 
 		cache.append("\\psbezier["); //$NON-NLS-1$
@@ -5,7 +5,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.ICircle;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the ICircle model.<br>
@@ -55,9 +55,9 @@ class PSTCircleView extends PSTClassicalView<ICircle> {
 		cache.append("\\pscircle["); //$NON-NLS-1$
 		cache.append(getPropertiesCode(ppc));
 		cache.append(']').append('(');
-		cache.append(LNumber.getCutNumberFloat(x/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(y/ppc)).append(')').append('{');
-		cache.append(LNumber.getCutNumberFloat(radius/ppc)).append('}');
+		LNumberFormatter.PST.append(cache, x/ppc).append(',');
+		LNumberFormatter.PST.append(cache, y/ppc).append(')').append('{');
+		LNumberFormatter.PST.append(cache, radius/ppc).append('}');
 
 		if(rotation!=null)
 			cache.append('}');
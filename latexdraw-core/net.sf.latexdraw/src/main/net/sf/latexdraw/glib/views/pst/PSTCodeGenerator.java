@@ -1,7 +1,10 @@
 package net.sf.latexdraw.glib.views.pst;
 
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -12,7 +15,7 @@ import net.sf.latexdraw.glib.views.latex.DviPsColors;
 import net.sf.latexdraw.glib.views.latex.LaTeXGenerator;
 import net.sf.latexdraw.glib.views.latex.VerticalPosition;
 import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniserHandler;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 import net.sf.latexdraw.util.LResources;
 
 /**
@@ -54,6 +57,28 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 	/** Defines if the comments must be generated. */
 	protected boolean withComments;
 
+	/** Defines if only the shapes modified since the previous generation must be regenerated (see updateCode). */
+	protected boolean incremental;
+
+	/** The segments of the code of the shapes in the cache: one per shape, in the drawing order. The cache contains
+	 * the header, the colours, the code of the shapes and the footer, one after the other. */
+	@NonNull private final CodeSegments segments;
+
+	/** The number of shapes using each colour defined in the cache (the predefined colours are not defined). */
+	@NonNull private final Map<String, Integer> colourRefs;
+
+	/** The code before the colours in the cache. */
+	@NonNull private String header;
+
+	/** The code after the code of the shapes in the cache. */
+	@NonNull private String footer;
+
+	/** The length of the colour definitions in the cache. */
+	private int coloursLength;
+
+	/** The structure version of the synchroniser when the segments were computed (see PSTViewsSynchroniser.getStructureVersion). */
+	private int structureVersion;
+
 
 	/**
 	 * Creates and initialises the generator.
@@ -75,6 +100,12 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 		this.withLatexParams 	= withLatexParams;
 		synchro 				= new PSTViewsSynchroniser(handler, drawing);
 		cache   				= new StringBuilder();
+		segments				= new CodeSegments();
+		colourRefs				= new TreeMap<>();
+		header					= ""; //$NON-NLS-1$
+		footer					= ""; //$NON-NLS-1$
+		structureVersion		= -1;
+		incremental				= false;
 	}
 
 
@@ -102,100 +133,219 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 	@Override
 	public void update() {
 		emptyCache();
+		colourRefs.clear();
+		coloursLength = 0;
+		header = ""; //$NON-NLS-1$
+		footer = ""; //$NON-NLS-1$
+
+		final List<IShape> shapes = synchro.getDrawing().getShapes();
+		segments.reset(shapes);
+		structureVersion = synchro.getStructureVersion();
+
+		if(shapes.isEmpty())
+			return ;
+
+		final StringBuilder shapesCode = new StringBuilder();
+
+		for(int i=0, size=shapes.size(); i<size; i++) {
+			final PSTShapeView<?> pstView = synchro.getView(shapes.get(i));
+
+			if(pstView!=null) {
+				final StringBuilder code = pstView.getCache();
+
+				if(code!=null) {
+					shapesCode.append(code).append(LResources.EOL);
+					segments.setLength(i, code.length() + LResources.EOL.length());
+				}
+				updateColourRefs(i, pstView);
+			}
+		}
+
+		final String colours = generateColoursCode();
+		header = generateHeader();
+		footer = generateFooter();
+		coloursLength = colours.length();
+		cache.append(header).append(colours).append(shapesCode).append(footer);
+	}
+
+
+	/**
+	 * Replaces in the cache the code of the given shapes by the current cache of their view, and the colours, the
+	 * header and the footer if they changed. The segments must correspond to the shapes of the drawing.
+	 * @param shapes The shapes to splice.
+	 */
+	private void splice(@NonNull final List<IShape> shapes) {
+		// The code of an empty drawing is empty.
+		if(segments.size()==0)
+			return ;
+
+		final int shapesStart = header.length() + coloursLength;
+		boolean coloursChanged = false;
+
+		for(final IShape shape : shapes) {
+			final int index = segments.indexOf(shape);
+
+			if(index>=0) {
+				final PSTShapeView<?> pstView = synchro.getView(shape);
+				final StringBuilder code = pstView==null ? null : pstView.getCache();
+				final String newCode = code==null ? "" : code + LResources.EOL; //$NON-NLS-1$
+				final int offset = shapesStart + segments.offset(index);
+
+				cache.replace(offset, offset + segments.length(index), newCode);
+				segments.setLength(index, newCode.length());
+				coloursChanged |= updateColourRefs(index, pstView);
+			}
+		}
+
+		if(coloursChanged) {
+			final String colours = generateColoursCode();
+			cache.replace(header.length(), header.length() + coloursLength, colours);
+			coloursLength = colours.length();
+		}
+
+		// The footer is replaced before the header: the header moves the rest of the code.
+		final String newFooter = generateFooter();
+		if(!newFooter.equals(footer)) {
+			cache.replace(cache.length() - footer.length(), cache.length(), newFooter);
+			footer = newFooter;
+		}
+
+		final String newHeader = generateHeader();
+		if(!newHeader.equals(header)) {
+			cache.replace(0, header.length(), newHeader);
+			header = newHeader;
+		}
+	}
+
+
+	/**
+	 * Replaces the colours used by the segment at the given position by the colours of the given view.
+	 * @return True if the set of the colours to define changed.
+	 */
+	private boolean updateColourRefs(final int index, final PSTShapeView<?> pstView) {
+		final Set<String> oldColours = segments.getColours(index);
+		Set<String> newColours = null;
+		boolean changed = false;
+
+		if(pstView!=null && pstView.coloursName!=null)
+			for(final String name : pstView.coloursName)
+				if(!DviPsColors.INSTANCE.getPredefinedColour(name).isPresent()) {
+					if(newColours==null)
+						newColours = new HashSet<>();
+					newColours.add(name);
+				}
+
+		// The new colours are referenced before releasing the old ones: a colour still used is not removed.
+		if(newColours!=null)
+			for(final String name : newColours)
+				changed |= colourRefs.merge(name, 1, Integer::sum)==1;
+
+		if(oldColours!=null)
+			for(final String name : oldColours) {
+				final int refs = colourRefs.get(name) - 1;
+				if(refs==0) {
+					colourRefs.remove(name);
+					changed = true;
+				}else
+					colourRefs.put(name, refs);
+			}
+
+		segments.setColours(index, newColours);
+		return changed;
+	}
+
 
-		final IDrawing drawing	= synchro.getDrawing();
-		StringBuilder code;
+	/**
+	 * @return The PST code defining the colours used by the shapes, sorted by name.
+	 */
+	private String generateColoursCode() {
+		final StringBuilder code = new StringBuilder();
+
+		for(final String name : colourRefs.keySet())
+			code.append(DviPsColors.INSTANCE.getUsercolourCode(name)).append(LResources.EOL);
+
+		return code.toString();
+	}
+
+
+	/**
+	 * @return The code before the colours: the comments, the packages, the beginning of the figure and of the picture.
+	 */
+	private String generateHeader() {
+		final StringBuilder code = new StringBuilder();
 		String pkg 				= LaTeXGenerator.getPackages();
-		PSTShapeView<?> pstView;
 		final ViewsSynchroniserHandler handler = synchro.getHandler();
 		final IPoint origin 	= handler.getOriginDrawingPoint();
 		final IPoint tl 	  	= handler.getTopRightDrawingPoint();
 		final IPoint br 	  	= handler.getBottomLeftDrawingPoint();
 		final int ppc 	  		= handler.getPPCDrawing();
-		final Map<String, String> addedColours = new HashMap<>();
-		final StringBuilder shapeCode = new StringBuilder();
-		final boolean hasBeginFigure;
-
-		if(drawing.isEmpty())
-			return ;
 
 		if(withComments && comment!=null && !comment.isEmpty())
-			cache.append(comment);
+			code.append(comment);
+
+		code.append(PACKAGE_PSTRICKS).append("% ").append(PACKAGE_FOR_SPACE_PICTURE.replaceAll(LResources.EOL, LResources.EOL+"% "));
 
-		cache.append(PACKAGE_PSTRICKS).append("% ").append(PACKAGE_FOR_SPACE_PICTURE.replaceAll(LResources.EOL, LResources.EOL+"% "));
-		
 		if(!pkg.isEmpty()) {
 			pkg = "% User Packages:" + LResources.EOL + "% " + pkg.replace(LResources.EOL, LResources.EOL + "% "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-			cache.append(pkg).append(LResources.EOL);
+			code.append(pkg).append(LResources.EOL);
 		}
 
-		if(withLatexParams && (positionVertToken!=VerticalPosition.NONE || !caption.isEmpty() || !label.isEmpty())) {
-			cache.append("\\begin{figure}"); //$NON-NLS-1$
+		if(hasBeginFigure()) {
+			code.append("\\begin{figure}"); //$NON-NLS-1$
 
 			if(positionVertToken==VerticalPosition.NONE)
-				cache.append(LResources.EOL);
+				code.append(LResources.EOL);
 			else
-				cache.append('[').append(positionVertToken.getToken()).append(']').append(LResources.EOL);
-
-			hasBeginFigure = true;
+				code.append('[').append(positionVertToken.getToken()).append(']').append(LResources.EOL);
 		}
-		else hasBeginFigure = false;
 
 		if(withLatexParams && positionHoriCentre)
-			cache.append("\\begin{center}").append(LResources.EOL);//$NON-NLS-1$
-
-		final float scaleF = LNumber.getCutNumberFloat(getScale());
-		cache.append("\\psscalebox{").append(scaleF).append(' ').append(scaleF).append("} % Change this value to rescale the drawing.");//$NON-NLS-1$ //$NON-NLS-2$
-		cache.append(LResources.EOL).append('{').append(LResources.EOL);
-		cache.append("\\begin{pspicture}("); //$NON-NLS-1$
-		cache.append(0).append(',').append(LNumber.getCutNumberFloat((origin.getY()-br.getY())/ppc)).append(')').append('(');
-		cache.append(LNumber.getCutNumberFloat((tl.getX()-origin.getX())/ppc)).append(',').append(LNumber.getCutNumberFloat((origin.getY()-tl.getY())/ppc));
-		cache.append(')').append(LResources.EOL);
-
-		for(final IShape shape : drawing.getShapes()) {
-			pstView = synchro.getView(shape);
-
-			if(pstView!=null) {
-				code = pstView.getCache();
+			code.append("\\begin{center}").append(LResources.EOL);//$NON-NLS-1$
+
+		final double scale = getScale();
+		code.append("\\psscalebox{"); //$NON-NLS-1$
+		LNumberFormatter.DATA.append(code, scale).append(' ');
+		LNumberFormatter.DATA.append(code, scale).append("} % Change this value to rescale the drawing.");//$NON-NLS-1$
+		code.append(LResources.EOL).append('{').append(LResources.EOL);
+		code.append("\\begin{pspicture}("); //$NON-NLS-1$
+		code.append(0).append(',');
+		LNumberFormatter.PST.append(code, (origin.getY()-br.getY())/ppc).append(')').append('(');
+		LNumberFormatter.PST.append(code, (tl.getX()-origin.getX())/ppc).append(',');
+		LNumberFormatter.PST.append(code, (origin.getY()-tl.getY())/ppc);
+		code.append(')').append(LResources.EOL);
+
+		return code.toString();
+	}
 
-				if(code!=null)
-					shapeCode.append(code).append(LResources.EOL);
 
-				generateColourCode(pstView, addedColours);
-			}
-		}
+	/**
+	 * @return The code after the code of the shapes: the end of the picture and of the figure.
+	 */
+	private String generateFooter() {
+		final StringBuilder code = new StringBuilder();
 
-		cache.append(shapeCode).append("\\end{pspicture}").append(LResources.EOL).append('}').append(LResources.EOL); //$NON-NLS-1$
+		code.append("\\end{pspicture}").append(LResources.EOL).append('}').append(LResources.EOL); //$NON-NLS-1$
 
 		if(withLatexParams) {
 			if(positionHoriCentre)
-				cache.append("\\end{center}").append(LResources.EOL);//$NON-NLS-1$
+				code.append("\\end{center}").append(LResources.EOL);//$NON-NLS-1$
 
 			if(!label.isEmpty())
-				cache.append("\\label{").append(label).append('}').append(LResources.EOL);//$NON-NLS-1$
+				code.append("\\label{").append(label).append('}').append(LResources.EOL);//$NON-NLS-1$
 
 			if(!caption.isEmpty())
-				cache.append("\\caption{").append(caption).append('}').append(LResources.EOL);//$NON-NLS-1$
+				code.append("\\caption{").append(caption).append('}').append(LResources.EOL);//$NON-NLS-1$
 
-			if(hasBeginFigure)
-				cache.append("\\end{figure}").append(LResources.EOL);//$NON-NLS-1$
+			if(hasBeginFigure())
+				code.append("\\end{figure}").append(LResources.EOL);//$NON-NLS-1$
 		}
+
+		return code.toString();
 	}
 
 
-	/**
-	 * Adds the PST colour code to the cache.
-	 * @param pstView The shape which colour code will be generated.
-	 * @param addedColours The PST colours already generated.
-	 * @since 3.0
-	 */
-	private void generateColourCode(@NonNull final PSTShapeView<?> pstView, @NonNull final Map<String, String> addedColours) {
-		if(pstView.coloursName!=null)
-			for(final String nameColour : pstView.coloursName)
-				if(addedColours.get(nameColour)==null && !DviPsColors.INSTANCE.getPredefinedColour(nameColour).isPresent()) {
-					addedColours.put(nameColour, nameColour);
-					cache.append(DviPsColors.INSTANCE.getUsercolourCode(nameColour)).append(LResources.EOL);
-				}
+	private boolean hasBeginFigure() {
+		return withLatexParams && (positionVertToken!=VerticalPosition.NONE || !caption.isEmpty() || !label.isEmpty());
 	}
 
 
@@ -220,6 +370,54 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 	}
 
 
+	/**
+	 * Updates the cache of the shapes changed since the previous generation and splices their code into the code of
+	 * the drawing: the other shapes are not regenerated and the code of the drawing is not rebuilt, except if shapes
+	 * have been added, removed or moved (their code is then concatenated without being regenerated).
+	 * @since 4.0
+	 */
+	public void updateDirty() {
+		final List<IShape> updated = synchro.updateDirty();
+
+		if(structureVersion==synchro.getStructureVersion())
+			splice(updated);
+		else
+			update();
+	}
+
+
+	/**
+	 * Updates the code of the drawing: incrementally (see updateDirty) if the generator is incremental,
+	 * otherwise the code of every shape is regenerated (see updateFull).
+	 * @since 4.0
+	 */
+	public void updateCode() {
+		if(incremental)
+			updateDirty();
+		else
+			updateFull();
+	}
+
+
+	/**
+	 * @return True: only the shapes modified since the previous generation are regenerated by updateCode.
+	 * @since 4.0
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+
+	/**
+	 * Defines if only the shapes modified since the previous generation must be regenerated by updateCode.
+	 * @param incremental True: the generation is incremental.
+	 * @since 4.0
+	 */
+	public void setIncremental(final boolean incremental) {
+		this.incremental = incremental;
+	}
+
+
 	/**
 	 * @return True: The latex parameters must be used by the generated code.
 	 * @since 3.0
@@ -0,0 +1,78 @@
+package net.sf.latexdraw.glib.views.pst;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import net.sf.latexdraw.glib.models.GLibUtilities;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle;
+import net.sf.latexdraw.util.LNumberFormatter;
+
+/**
+ * Defines a PSTricks view of the LDataPlot model: the plotted points (decimated if a decimation is defined)
+ * are exported using the command listplot.<br>
+ *<br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-08<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class PSTDataPlotView extends PSTClassicalView<IDataPlot> {
+	protected PSTDataPlotView(@NonNull final IDataPlot model) {
+		super(model);
+		update();
+	}
+
+	@Override
+	public void updateCache(final IPoint position, final float ppc) {
+		if(!GLibUtilities.isValidPoint(position) || ppc<1) return;
+
+		emptyCache();
+
+		final StringBuilder params = getPropertiesCode(ppc);
+		final StringBuilder rotation = getRotationHeaderCode(ppc, position);
+		final double[] xs = shape.getPlottedX();
+		final double[] ys = shape.getPlottedY();
+
+		if(rotation!=null)
+			cache.append(rotation);
+
+		cache.append("\\rput(");//$NON-NLS-1$
+		LNumberFormatter.PST.append(cache, (shape.getX()-position.getX())/ppc).append(',');
+		LNumberFormatter.PST.append(cache, (position.getY()-shape.getY())/ppc).append(')').append('{');
+		cache.append("\\listplot[");	//$NON-NLS-1$
+		cache.append(params).append(", plotstyle=").append(shape.getPlotStyle().getPSTToken()).append(", xunit=");//$NON-NLS-1$ //$NON-NLS-2$
+		LNumberFormatter.DATA.append(cache, shape.getXScale()).append(", yunit=");//$NON-NLS-1$
+		LNumberFormatter.DATA.append(cache, shape.getYScale());
+		if(shape.getPlotStyle()==PlotStyle.DOTS) {
+			cache.append(", dotstyle=").append(shape.getDotStyle().getPSTToken()).append(", dotsize=");//$NON-NLS-1$ //$NON-NLS-2$
+			LNumberFormatter.PST.append(cache, shape.getDiametre()/ppc);
+			if(shape.getDotStyle().isFillable())
+				cache.append(", fillcolor=").append(getColourName(shape.getFillingCol()));//$NON-NLS-1$
+		}
+		cache.append(']').append('{');
+
+		for(int i=0; i<xs.length; i++) {
+			if(i>0) cache.append(' ');
+			LNumberFormatter.DATA.append(cache, xs[i]).append(' ');
+			LNumberFormatter.DATA.append(cache, ys[i]);
+		}
+
+		cache.append('}');
+
+		if(rotation!=null)
+			cache.append('}');
+		cache.append('}');
+	}
+}
@@ -5,7 +5,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import net.sf.latexdraw.glib.models.interfaces.shape.DotStyle;
 import net.sf.latexdraw.glib.models.interfaces.shape.IDot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LDot model.<br>
@@ -52,7 +52,8 @@ class PSTDotView extends PSTClassicalView<IDot> {
 		if(style!=DotStyle.DOT)
 			params.append(", dotstyle=").append(style.getPSTToken()); //$NON-NLS-1$
 
-		params.append(", dotsize=").append((float)LNumber.getCutNumber(shape.getDiametre()/ppc)); //$NON-NLS-1$
+		params.append(", dotsize="); //$NON-NLS-1$
+		LNumberFormatter.PST.append(params, shape.getDiametre()/ppc);
 
 		if(rotation!=null)
 			cache.append(rotation);
@@ -62,8 +63,8 @@ class PSTDotView extends PSTClassicalView<IDot> {
 		if(shape.isFillable())
 			cache.append(", fillcolor=").append(getColourName(shape.getFillingCol()));
 		cache.append(']').append('(');
-		cache.append(LNumber.getCutNumberFloat(x/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(y/ppc)).append(')');
+		LNumberFormatter.PST.append(cache, x/ppc).append(',');
+		LNumberFormatter.PST.append(cache, y/ppc).append(')');
 
 		if(rotation!=null)
 			cache.append('}');
@@ -5,7 +5,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IEllipse;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LEllipse model.<br>
@@ -47,8 +47,8 @@ class PSTEllipseView extends PSTClassicalView<IEllipse> {
 		emptyCache();
 
 		final StringBuilder rotation = getRotationHeaderCode(ppc, position);
-		final float x	 			 = LNumber.getCutNumberFloat(shape.getX()+shape.getWidth()/2.0 - position.getX());
-		final float y	 			 = LNumber.getCutNumberFloat(position.getY()+shape.getHeight()/2.0 - shape.getY());
+		final double x	 			 = shape.getX()+shape.getWidth()/2.0 - position.getX();
+		final double y	 			 = position.getY()+shape.getHeight()/2.0 - shape.getY();
 
 		if(rotation!=null)
 			cache.append(rotation);
@@ -56,10 +56,10 @@ class PSTEllipseView extends PSTClassicalView<IEllipse> {
 		cache.append("\\psellipse[");			//$NON-NLS-1$
 		cache.append(getPropertiesCode(ppc));
 		cache.append(']').append('(');
-		cache.append(LNumber.getCutNumber(x/ppc)).append(',');
-		cache.append(LNumber.getCutNumber(y/ppc)).append(')').append('(');
-		cache.append(LNumber.getCutNumberFloat(shape.getWidth()/2.0/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(shape.getHeight()/2.0/ppc)).append(')');
+		LNumberFormatter.PST.append(cache, x/ppc).append(',');
+		LNumberFormatter.PST.append(cache, y/ppc).append(')').append('(');
+		LNumberFormatter.PST.append(cache, shape.getWidth()/2.0/ppc).append(',');
+		LNumberFormatter.PST.append(cache, shape.getHeight()/2.0/ppc).append(')');
 
 		if(rotation!=null)
 			cache.append('}');
@@ -7,6 +7,7 @@ import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IGrid;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LGrid model.<br>
@@ -49,9 +50,12 @@ class PSTGridView extends PSTShapeView<IGrid> {
 		final Color linesColor	  = shape.getLineColour();
 		final StringBuilder params  = new StringBuilder();
 
-		params.append("gridwidth=").append(LNumber.getCutNumberFloat(shape.getGridWidth()/ppc)); //$NON-NLS-1$
-		params.append(", subgridwidth=").append(LNumber.getCutNumberFloat(shape.getSubGridWidth()/ppc)); //$NON-NLS-1$
-		params.append(", gridlabels=").append(LNumber.getCutNumber(shape.getLabelsSize()*0.6f)).append("pt"); //$NON-NLS-1$ //$NON-NLS-2$
+		params.append("gridwidth="); //$NON-NLS-1$
+		LNumberFormatter.PST.append(params, shape.getGridWidth()/ppc);
+		params.append(", subgridwidth="); //$NON-NLS-1$
+		LNumberFormatter.PST.append(params, shape.getSubGridWidth()/ppc);
+		params.append(", gridlabels="); //$NON-NLS-1$
+		LNumberFormatter.PST.append(params, shape.getLabelsSize()*0.6f).append("pt"); //$NON-NLS-1$
 
 		if(shape.getSubGridDiv()!=PSTricksConstants.DEFAULT_SUBGRIDDIV)
 			params.append(", subgriddiv=").append(shape.getSubGridDiv()); //$NON-NLS-1$
@@ -66,7 +70,7 @@ class PSTGridView extends PSTShapeView<IGrid> {
 			params.append(", gridlabelcolor=").append(getColourName(gridLabelsColor)); //$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(unit, PSTricksConstants.DEFAULT_UNIT))
-			params.append(", unit=").append(LNumber.getCutNumberFloat(unit)).append(PSTricksConstants.TOKEN_CM); //$NON-NLS-1$
+			LNumberFormatter.PST.append(params.append(", unit="), unit).append(PSTricksConstants.TOKEN_CM); //$NON-NLS-1$
 
 		if(!linesColor.equals(PSTricksConstants.DEFAULT_GRIDCOLOR))
 			params.append(", gridcolor=").append(getColourName(linesColor)); //$NON-NLS-1$
@@ -128,11 +132,10 @@ class PSTGridView extends PSTShapeView<IGrid> {
 			end.append("\n\\psset{unit=").append(PSTricksConstants.DEFAULT_UNIT).append(PSTricksConstants.TOKEN_CM).append('}');//$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(position.getX(), 0.) || !LNumber.equalsDouble(position.getY(), 0.)) {
-			final float posX = LNumber.getCutNumberFloat((position.getX()-pt.getX())/ppc);
-			final float posY = LNumber.getCutNumberFloat((pt.getY()-position.getY())/ppc);
-
 			end.append('}');
-			start.append("\\rput(").append(posX).append(',').append(posY).append(')').append('{');//$NON-NLS-1$
+			start.append("\\rput("); //$NON-NLS-1$
+			LNumberFormatter.PST.append(start, (position.getX()-pt.getX())/ppc).append(',');
+			LNumberFormatter.PST.append(start, (pt.getY()-position.getY())/ppc).append(')').append('{');
 		}
 
 		if(rot!=null) {
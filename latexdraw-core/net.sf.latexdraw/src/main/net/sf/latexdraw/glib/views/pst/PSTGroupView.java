@@ -55,12 +55,23 @@ class PSTGroupView extends PSTShapeView<IGroup> {
 			for(i=0; i<size; i++) {
 				pstView = PSTViewsFactory.INSTANCE.createView(shape.getShapeAt(i));
 				pstView.updateCache(origin, ppc);
+				addColours(pstView);
 				cache.append(pstView.getCache()).append('\n');
 			}
 
 			pstView = PSTViewsFactory.INSTANCE.createView(shape.getShapeAt(i));
 			pstView.updateCache(origin, ppc);
+			addColours(pstView);
 			cache.append(pstView.getCache());
 		}
 	}
+
+
+	/**
+	 * Adds the colours of the given view of a shape of the group: the colours of the group must be defined.
+	 */
+	private void addColours(final PSTShapeView<?> pstView) {
+		if(pstView.coloursName!=null)
+			pstView.coloursName.forEach(this::addColour);
+	}
 }
@@ -7,7 +7,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IPicture;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.lang.LangTool;
 import net.sf.latexdraw.util.LFileUtils;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 import net.sf.latexdraw.util.LResources;
 
 /**
@@ -63,8 +63,8 @@ class PSTPictureView extends PSTShapeView<IPicture> {
 
 		cache.append(start);
 		cache.append("\\rput(");//$NON-NLS-1$
-		cache.append(LNumber.getCutNumberFloat((shape.getX()+shape.getWidth()/2.-origin.getX())/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat((origin.getY()-shape.getY()-shape.getHeight()/2.)/ppc)).append(')').append('{');
+		LNumberFormatter.PST.append(cache, (shape.getX()+shape.getWidth()/2.-origin.getX())/ppc).append(',');
+		LNumberFormatter.PST.append(cache, (origin.getY()-shape.getY()-shape.getHeight()/2.)/ppc).append(')').append('{');
 		cache.append("\\includegraphics{"); //$NON-NLS-1$
 		cache.append(LFileUtils.INSTANCE.normalizeForLaTeX(path));
 		cache.append('}').append('}');
@@ -6,7 +6,7 @@ import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPlot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 class PSTPlotView extends PSTClassicalView<IPlot>{
 	protected PSTPlotView(@NonNull final IPlot model) {
@@ -27,20 +27,22 @@ class PSTPlotView extends PSTClassicalView<IPlot>{
 			cache.append(rotation);
 
 		cache.append("\\rput(");//$NON-NLS-1$
-		cache.append(LNumber.getCutNumberFloat((shape.getX()-position.getX())/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat((position.getY()-shape.getY())/ppc)).append(')').append('{');
+		LNumberFormatter.PST.append(cache, (shape.getX()-position.getX())/ppc).append(',');
+		LNumberFormatter.PST.append(cache, (position.getY()-shape.getY())/ppc).append(')').append('{');
 		cache.append("\\psplot[");	//$NON-NLS-1$
 		cache.append(params).append(", plotstyle=").append(shape.getPlotStyle().getPSTToken()).append(", plotpoints=").
-			append(shape.getNbPlottedPoints()).append(", xunit=").append(shape.getXScale()).append(", yunit=").
-			append(shape.getYScale()).append(", polarplot=").append(shape.isPolar());
+			append(shape.getNbPlottedPoints()).append(", xunit=");
+		LNumberFormatter.DATA.append(cache, shape.getXScale()).append(", yunit=");
+		LNumberFormatter.DATA.append(cache, shape.getYScale()).append(", polarplot=").append(shape.isPolar());
 		if(shape.getPlotStyle()==PlotStyle.DOTS) {
-			cache.append(", dotstyle=").append(shape.getDotStyle().getPSTToken()).
-				append(", dotsize=").append(LNumber.getCutNumberFloat(shape.getDiametre()/ppc));
+			cache.append(", dotstyle=").append(shape.getDotStyle().getPSTToken()).append(", dotsize=");
+			LNumberFormatter.PST.append(cache, shape.getDiametre()/ppc);
 			if(shape.getDotStyle().isFillable())
 				cache.append(", fillcolor=").append(getColourName(shape.getFillingCol()));
 		}
-		cache.append("]{").append(shape.getPlotMinX()).append("}{").append(shape.getPlotMaxX()).append("}{").
-			append(shape.getPlotEquation()).append('}');
+		cache.append("]{");
+		LNumberFormatter.DATA.append(cache, shape.getPlotMinX()).append("}{");
+		LNumberFormatter.DATA.append(cache, shape.getPlotMaxX()).append("}{").append(shape.getPlotEquation()).append('}');
 
 		if(rotation!=null)
 			cache.append('}');
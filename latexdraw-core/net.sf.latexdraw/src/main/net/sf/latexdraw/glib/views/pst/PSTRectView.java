@@ -5,7 +5,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LRect model.<br>
@@ -56,7 +56,7 @@ class PSTRectView extends PSTClassicalView<IRectangle> {
 		final double y2 		 = position.getY() - br.getY();
 
 		if(shape.isRoundCorner())
-			params.append(", framearc=").append(LNumber.getCutNumberFloat(shape.getLineArc())); //$NON-NLS-1$
+			LNumberFormatter.PST.append(params.append(", framearc="), shape.getLineArc()); //$NON-NLS-1$
 
 		rotation = getRotationHeaderCode(ppc, position);
 
@@ -66,10 +66,10 @@ class PSTRectView extends PSTClassicalView<IRectangle> {
 		cache.append("\\psframe[");	//$NON-NLS-1$
 		cache.append(params);
 		cache.append(']').append('(');
-		cache.append(LNumber.getCutNumberFloat(x2 / ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(y1 / ppc)).append(')').append('(');
-		cache.append(LNumber.getCutNumberFloat(x1 / ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(y2 / ppc)).append(')');
+		LNumberFormatter.PST.append(cache, x2 / ppc).append(',');
+		LNumberFormatter.PST.append(cache, y1 / ppc).append(')').append('(');
+		LNumberFormatter.PST.append(cache, x1 / ppc).append(',');
+		LNumberFormatter.PST.append(cache, y2 / ppc).append(')');
 
 		if(rotation!=null)
 			cache.append('}');
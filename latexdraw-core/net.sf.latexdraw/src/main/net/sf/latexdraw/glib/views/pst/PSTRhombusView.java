@@ -6,6 +6,7 @@ import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.IRhombus;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LRhombus model.<br>
@@ -57,15 +58,15 @@ class PSTRhombusView extends PSTClassicalView<IRhombus> {
 		final double rotationAngle  = Math.toDegrees(shape.getRotationAngle())%360;
 
 		if(!LNumber.equalsDouble(rotationAngle, 0.))
-			params.append(", gangle=").append(LNumber.getCutNumberFloat(-rotationAngle));//$NON-NLS-1$
+			LNumberFormatter.PST.append(params.append(", gangle="), -rotationAngle); //$NON-NLS-1$
 
 		cache.append("\\psdiamond[");//$NON-NLS-1$
 		cache.append(params);
 		cache.append(']').append('(');
-		cache.append(LNumber.getCutNumberFloat(xCenter/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(yCenter/ppc)).append(')').append('(');
-		cache.append(LNumber.getCutNumberFloat((brx-tlx)/2f)/ppc).append(',');
-		cache.append(LNumber.getCutNumberFloat((bry-tly)/2f)/ppc).append(')');
+		LNumberFormatter.PST.append(cache, xCenter/ppc).append(',');
+		LNumberFormatter.PST.append(cache, yCenter/ppc).append(')').append('(');
+		LNumberFormatter.PST.append(cache, (brx-tlx)/2./ppc).append(',');
+		LNumberFormatter.PST.append(cache, (bry-tly)/2./ppc).append(')');
 	}
 }
 
@@ -4,6 +4,10 @@ import static java.lang.Math.toDegrees;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -18,6 +22,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
 import net.sf.latexdraw.glib.views.AbstractCodeView;
 import net.sf.latexdraw.glib.views.latex.DviPsColors;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LShape model.<br>
@@ -43,6 +48,19 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 	 * the code to define the colours in the latex document. */
 	protected Set<String> coloursName;
 
+	/** True if the cache must be generated: the shape changed since the previous generation of the cache. */
+	private boolean dirty;
+
+	/** Called when the view becomes dirty (may be null): see observeShape. */
+	private Consumer<PSTShapeView<?>> dirtyHandler;
+
+	/** Marks the view as dirty when the version of the shape changes (see observeShape). */
+	private final ChangeListener<Number> versionListener = (obs, oldValue, newValue) -> setDirty();
+
+	/** Set while caches are generated concurrently (see updateCacheWithKnownColours): becomes true if a view needs
+	 * a colour not defined yet. Thread-local so that the views of the shapes of a group share the flag of the group. */
+	private static final ThreadLocal<boolean[]> UNKNOWN_COLOUR = new ThreadLocal<>();
+
 
 	/**
 	 * Creates and initialises an abstract PSTricks view.
@@ -52,6 +70,29 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 	 */
 	protected PSTShapeView(@NonNull final S model) {
 		super(model);
+		dirty = true;
+	}
+
+
+	/**
+	 * Observes the version of the shape: the view becomes dirty each time its shape changes. Only the views kept by
+	 * a synchroniser observe their shape: the views created to generate the code of the shapes of a group do not.
+	 * @param handler Called each time the view becomes dirty (it is not called while it stays dirty).
+	 * @since 4.0
+	 */
+	void observeShape(final Consumer<PSTShapeView<?>> handler) {
+		dirtyHandler = handler;
+		shape.versionProperty().addListener(new WeakChangeListener<>(versionListener));
+	}
+
+
+	/**
+	 * Stops observing the shape (see observeShape): to call when the view is removed from its synchroniser.
+	 * @since 4.0
+	 */
+	void unobserveShape() {
+		shape.versionProperty().removeListener(versionListener);
+		dirtyHandler = null;
 	}
 
 
@@ -85,6 +126,82 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 	public abstract void updateCache(final IPoint origin, final float ppc);
 
 
+	/**
+	 * Updates the cache only if the shape has been modified since the previous generation of the cache.
+	 * @param origin The origin point of the PST drawing.
+	 * @param ppc The number of point per centimetre.
+	 * @return True if the cache has been updated.
+	 * @since 4.0
+	 */
+	public boolean updateCacheIfDirty(final IPoint origin, final float ppc) {
+		if(!dirty)
+			return false;
+
+		dirty = false;
+		clearColours();
+		updateCache(origin, ppc);
+		return true;
+	}
+
+
+	/**
+	 * Regenerates the cache without defining new colours: the names of the new colours depend on the order in which
+	 * they are defined, so the caches that need new colours must be generated one after the other, in the drawing order.
+	 * This method can be called concurrently on the views of different shapes.
+	 * @param origin The origin point of the PST drawing.
+	 * @param ppc The number of point per centimetre.
+	 * @return False if the cache uses a colour not defined yet: the view stays dirty and its cache must be
+	 * regenerated with updateCacheIfDirty.
+	 * @since 4.0
+	 */
+	public boolean updateCacheWithKnownColours(final IPoint origin, final float ppc) {
+		final boolean[] unknown = {false};
+
+		// The dirty handler is not called: this method is called by the worker threads of the synchroniser.
+		UNKNOWN_COLOUR.set(unknown);
+		try {
+			clearColours();
+			updateCache(origin, ppc);
+		}finally {
+			UNKNOWN_COLOUR.remove();
+		}
+
+		dirty = unknown[0];
+		return !unknown[0];
+	}
+
+
+	/**
+	 * @return True if the shape has been modified since the previous generation of the cache.
+	 * @since 4.0
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+
+
+	/**
+	 * Forces the next call to updateCacheIfDirty to regenerate the cache.
+	 * @since 4.0
+	 */
+	public void setDirty() {
+		if(!dirty) {
+			dirty = true;
+			if(dirtyHandler!=null)
+				dirtyHandler.accept(this);
+		}
+	}
+
+
+	/**
+	 * Forgets the colours of the previous generation of the cache.
+	 */
+	private void clearColours() {
+		if(coloursName!=null)
+			coloursName.clear();
+	}
+
+
 
 
 	/**
@@ -128,21 +245,27 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 		final ArrowStyle style = arrow.getArrowStyle();
 
 		if(style.isBar() || style.isRoundBracket() || style.isSquareBracket()) {
-			code.append("tbarsize=").append(LNumber.getCutNumberFloat(arrow.getTBarSizeDim()/IShape.PPC)).append(PSTricksConstants.TOKEN_CM).append(' '). //$NON-NLS-1$
-			append(LNumber.getCutNumberFloat(arrow.getTBarSizeNum()));
+			code.append("tbarsize="); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code, arrow.getTBarSizeDim()/IShape.PPC).append(PSTricksConstants.TOKEN_CM).append(' ');
+			LNumberFormatter.PST.append(code, arrow.getTBarSizeNum());
 
 			if(style.isSquareBracket())
-				code.append(",bracketlength=").append(LNumber.getCutNumberFloat(arrow.getBracketNum())); //$NON-NLS-1$
+				LNumberFormatter.PST.append(code.append(",bracketlength="), arrow.getBracketNum()); //$NON-NLS-1$
 			else if(style.isRoundBracket())
-				code.append(",rbracketlength=").append(LNumber.getCutNumberFloat(arrow.getRBracketNum())); //$NON-NLS-1$
+				LNumberFormatter.PST.append(code.append(",rbracketlength="), arrow.getRBracketNum()); //$NON-NLS-1$
+		}
+		else if(style.isArrow()) {
+			code.append("arrowsize="); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code, arrow.getArrowSizeDim()/IShape.PPC).append(PSTricksConstants.TOKEN_CM).append(' ');
+			LNumberFormatter.PST.append(code, arrow.getArrowSizeNum()).append(",arrowlength="); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code, arrow.getArrowLength()).append(",arrowinset="); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code, arrow.getArrowInset());
+		}
+		else {
+			code.append("dotsize="); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code, arrow.getDotSizeDim()/IShape.PPC).append(PSTricksConstants.TOKEN_CM).append(' ');
+			LNumberFormatter.PST.append(code, arrow.getDotSizeNum());
 		}
-		else if(style.isArrow())
-			code.append("arrowsize=").append(LNumber.getCutNumberFloat(arrow.getArrowSizeDim()/IShape.PPC)).append(PSTricksConstants.TOKEN_CM).append(' '). //$NON-NLS-1$
-				 append(LNumber.getCutNumberFloat(arrow.getArrowSizeNum())).append(",arrowlength="). //$NON-NLS-1$
-				 append(LNumber.getCutNumberFloat(arrow.getArrowLength())).append(",arrowinset=").append(LNumber.getCutNumberFloat(arrow.getArrowInset())); //$NON-NLS-1$
-		else
-			code.append("dotsize=").append(LNumber.getCutNumberFloat(arrow.getDotSizeDim()/IShape.PPC)).append(PSTricksConstants.TOKEN_CM).append(' '). //$NON-NLS-1$
-				 append(LNumber.getCutNumberFloat(arrow.getDotSizeNum()));
 
 		return code;
 	}
@@ -212,12 +335,14 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
             final IPoint gravityCenter = shape.getGravityCentre();
             final double cx = (gravityCenter.getX() - position.getX()) / ppc;
             final double cy = (position.getY() - gravityCenter.getY()) / ppc;
-            final double x = LNumber.getCutNumberFloat(-Math.cos(-angle) * cx + Math.sin(-angle) * cy + cx);
-            final double y = LNumber.getCutNumberFloat(-Math.sin(-angle) * cx - Math.cos(-angle) * cy + cy);
+            final double x = -Math.cos(-angle) * cx + Math.sin(-angle) * cy + cx;
+            final double y = -Math.sin(-angle) * cx - Math.cos(-angle) * cy + cy;
 
             code = new StringBuilder();
-            code.append("\\rput{").append(LNumber.getCutNumberFloat(-Math.toDegrees(shape.getRotationAngle()) % 360)).append('}').append('('); //$NON-NLS-1$
-            code.append((float) x).append(',').append((float) y).append(')').append('{');
+            code.append("\\rput{"); //$NON-NLS-1$
+            LNumberFormatter.PST.append(code, -Math.toDegrees(shape.getRotationAngle()) % 360).append('}').append('(');
+            LNumberFormatter.PST.append(code, x).append(',');
+            LNumberFormatter.PST.append(code, y).append(')').append('{');
         }
 
 		return code;
@@ -231,6 +356,14 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 	 * @since 3.0
 	 */
 	protected String getColourName(final Color colour) {
+		final boolean[] unknown = UNKNOWN_COLOUR.get();
+
+		if(unknown!=null && colour!=null && !DviPsColors.INSTANCE.getColourName(colour).isPresent()) {
+			// The cache will be regenerated: see updateCacheWithKnownColours.
+			unknown[0] = true;
+			return ""; //$NON-NLS-1$
+		}
+
 		final String name = DviPsColors.INSTANCE.getColourName(colour).orElseGet(() -> DviPsColors.INSTANCE.addUserColour(colour).orElse(""));
 		addColour(name);
 		return name;
@@ -250,7 +383,7 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 
 			code = new StringBuilder();
 			code.append("doubleline=true, doublesep=");//$NON-NLS-1$
-			code.append(LNumber.getCutNumberFloat(shape.getDbleBordSep()/ppc));
+			LNumberFormatter.PST.append(code, shape.getDbleBordSep()/ppc);
 
 			if(!doubleColor.equals(PSTricksConstants.DEFAULT_DOUBLE_COLOR))
 				code.append(", doublecolor=").append(getColourName(doubleColor)); //$NON-NLS-1$
@@ -308,26 +441,26 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 		code.append("linecolor=").append(getColourName(linesColor)); //$NON-NLS-1$
 
 		if(shape.isThicknessable())
-			code.append(", linewidth=").append(LNumber.getCutNumberFloat(shape.getThickness()/ppc));//$NON-NLS-1$
+			LNumberFormatter.PST.append(code.append(", linewidth="), shape.getThickness()/ppc); //$NON-NLS-1$
 
 		if(linesColor.getO()<1.0)
-			code.append(", strokeopacity=").append(LNumber.getCutNumberFloat(linesColor.getO())); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code.append(", strokeopacity="), linesColor.getO()); //$NON-NLS-1$
 
 		switch(shape.getLineStyle()) {
 			case DOTTED:
 				code.append(", linestyle=");//$NON-NLS-1$
 				code.append(PSTricksConstants.LINE_DOTTED_STYLE);
 				code.append(", dotsep=");//$NON-NLS-1$
-				code.append(LNumber.getCutNumberFloat(shape.getDotSep()/ppc));
+				LNumberFormatter.PST.append(code, shape.getDotSep()/ppc);
 				code.append(PSTricksConstants.TOKEN_CM);
 				break;
 			case DASHED:
 				code.append(", linestyle=");//$NON-NLS-1$
 				code.append(PSTricksConstants.LINE_DASHED_STYLE);
 				code.append(", dash=");//$NON-NLS-1$
-				code.append(LNumber.getCutNumberFloat(shape.getDashSepBlack()/ppc));
+				LNumberFormatter.PST.append(code, shape.getDashSepBlack()/ppc);
 				code.append(PSTricksConstants.TOKEN_CM).append(' ');
-				code.append(LNumber.getCutNumberFloat(shape.getDashSepWhite()/ppc));
+				LNumberFormatter.PST.append(code, shape.getDashSepWhite()/ppc);
 				code.append(PSTricksConstants.TOKEN_CM);
 				break;
 			case SOLID:
@@ -349,7 +482,7 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 			code.append(",fillcolor=").append(getColourName(interiorColor)); //$NON-NLS-1$
 
 		if(interiorColor.getO()<1.0)
-			code.append(", opacity=").append(LNumber.getCutNumberFloat(interiorColor.getO())); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code.append(", opacity="), interiorColor.getO()); //$NON-NLS-1$
 
 		return code;
 	}
@@ -362,8 +495,8 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 	private StringBuilder getFillingGrad() {
 		final Color gradStartCol = shape.getGradColStart();
 		final Color gradEndCol   = shape.getGradColEnd();
-		final float gradMidPt	 = LNumber.getCutNumberFloat(shape.getGradMidPt());
-		final float gradAngle	 = LNumber.getCutNumberFloat(shape.getGradAngle());
+		final double gradMidPt	 = shape.getGradMidPt();
+		final double gradAngle	 = shape.getGradAngle();
 		final StringBuilder code = new StringBuilder("fillstyle=gradient, gradlines=2000");//$NON-NLS-1$
 
 		if(!gradStartCol.equals(PSTricksConstants.DEFAULT_GRADIENT_START_COLOR))
@@ -373,10 +506,10 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 			code.append(", gradend=").append(getColourName(gradEndCol)); //$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(gradMidPt, PSTricksConstants.DEFAULT_GRADIENT_MID_POINT))
-			code.append(", gradmidpoint=").append(gradMidPt);//$NON-NLS-1$
+			LNumberFormatter.PST.append(code.append(", gradmidpoint="), gradMidPt);//$NON-NLS-1$
 
 		if(!LNumber.equalsDouble(toDegrees(gradAngle), PSTricksConstants.DEFAULT_GRADIENT_ANGLE))
-			code.append(", gradangle=").append(LNumber.getCutNumberFloat(toDegrees(gradAngle)));//$NON-NLS-1$
+			LNumberFormatter.PST.append(code.append(", gradangle="), toDegrees(gradAngle)); //$NON-NLS-1$
 
 		return code;
 	}
@@ -403,10 +536,11 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 			code.append('*');
 
 		code.append(", hatchwidth="); //$NON-NLS-1$
-		code.append(LNumber.getCutNumberFloat(shape.getHatchingsWidth()/ppc));
-		code.append(", hatchangle=").append(LNumber.getCutNumberFloat(Math.toDegrees(shape.getHatchingsAngle()))); //$NON-NLS-1$
+		LNumberFormatter.PST.append(code, shape.getHatchingsWidth()/ppc);
+		code.append(", hatchangle="); //$NON-NLS-1$
+		LNumberFormatter.PST.append(code, Math.toDegrees(shape.getHatchingsAngle()));
 		code.append(", hatchsep="); //$NON-NLS-1$
-		code.append(LNumber.getCutNumberFloat(shape.getHatchingsSep()/ppc));
+		LNumberFormatter.PST.append(code, shape.getHatchingsSep()/ppc);
 
 		if(!hatchingsCol.equals(PSTricksConstants.DEFAULT_HATCHING_COLOR))
 			code.append(", hatchcolor=").append(getColourName(hatchingsCol)); //$NON-NLS-1$
@@ -479,9 +613,10 @@ abstract class PSTShapeView<S extends IShape> extends AbstractCodeView<S> {
 			code.append("shadow=true");//$NON-NLS-1$
 
 			if(!LNumber.equalsDouble(Math.toDegrees(shape.getShadowAngle()), PSTricksConstants.DEFAULT_SHADOW_ANGLE))
-				code.append(",shadowangle=").append(LNumber.getCutNumberFloat(Math.toDegrees(shape.getShadowAngle())));//$NON-NLS-1$
+				LNumberFormatter.PST.append(code.append(",shadowangle="), Math.toDegrees(shape.getShadowAngle())); //$NON-NLS-1$
 
-			code.append(",shadowsize=").append(LNumber.getCutNumberFloat(shape.getShadowSize() / ppc));//$NON-NLS-1$
+			code.append(",shadowsize="); //$NON-NLS-1$
+			LNumberFormatter.PST.append(code, shape.getShadowSize() / ppc);
 
 			if(!shadowColor.equals(PSTricksConstants.DEFAULT_SHADOW_COLOR))
 				code.append(",shadowcolor=").append(getColourName(shadowColor)); //$NON-NLS-1$
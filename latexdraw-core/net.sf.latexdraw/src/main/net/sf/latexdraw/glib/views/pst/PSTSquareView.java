@@ -3,7 +3,7 @@ package net.sf.latexdraw.glib.views.pst;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.ISquare;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -32,7 +32,7 @@ class PSTSquareView extends PSTClassicalView<ISquare>{
 		final double y2 = position.getY() - br.getY();
 
 		if(shape.isRoundCorner())
-			params.append(", framearc=").append(LNumber.getCutNumberFloat(shape.getLineArc())); //$NON-NLS-1$
+			LNumberFormatter.PST.append(params.append(", framearc="), shape.getLineArc()); //$NON-NLS-1$
 
 		final StringBuilder rotation = getRotationHeaderCode(ppc, position);
 
@@ -42,10 +42,10 @@ class PSTSquareView extends PSTClassicalView<ISquare>{
 		cache.append("\\psframe[");	//$NON-NLS-1$
 		cache.append(params);
 		cache.append(']').append('(');
-		cache.append(LNumber.getCutNumberFloat(x2 / ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(y1 / ppc)).append(')').append('(');
-		cache.append(LNumber.getCutNumberFloat(x1 / ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat(y2 / ppc)).append(')');
+		LNumberFormatter.PST.append(cache, x2 / ppc).append(',');
+		LNumberFormatter.PST.append(cache, y1 / ppc).append(')').append('(');
+		LNumberFormatter.PST.append(cache, x1 / ppc).append(',');
+		LNumberFormatter.PST.append(cache, y2 / ppc).append(')');
 
 		if(rotation!=null)
 			cache.append('}');
@@ -6,7 +6,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.Color;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.IText;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LText model.<br>
@@ -70,8 +70,8 @@ class PSTTextView extends PSTShapeView<IText> {
 		else
 			cache.append("\\rput[").append(shape.getTextPosition().getLatexToken()).append(']').append('('); //$NON-NLS-1$
 
-		cache.append(LNumber.getCutNumberFloat((shape.getX()-origin.getX())/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat((origin.getY()-shape.getY())/ppc)).append(')').append('{');
+		LNumberFormatter.PST.append(cache, (shape.getX()-origin.getX())/ppc).append(',');
+		LNumberFormatter.PST.append(cache, (origin.getY()-shape.getY())/ppc).append(')').append('{');
 
 		if(colorName!=null)
 			cache.append("\\textcolor{").append(colorName).append('}').append('{'); //$NON-NLS-1$
@@ -5,7 +5,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.ITriangle;
-import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines a PSTricks view of the LTriangle model.<br>
@@ -57,10 +57,10 @@ class PSTTriangleView extends PSTClassicalView<ITriangle> {
 
 		cache.append("\\pstriangle[");//$NON-NLS-1$
 		cache.append(getPropertiesCode(ppc)).append(']').append('(');
-		cache.append(LNumber.getCutNumberFloat(((tlx+brx)/2. - origin.getX())/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat((origin.getY()-bry)/ppc)).append(')').append('(');
-		cache.append(LNumber.getCutNumberFloat((brx-tlx)/ppc)).append(',');
-		cache.append(LNumber.getCutNumberFloat((bry-tl.getY())/ppc)).append(')');
+		LNumberFormatter.PST.append(cache, ((tlx+brx)/2. - origin.getX())/ppc).append(',');
+		LNumberFormatter.PST.append(cache, (origin.getY()-bry)/ppc).append(')').append('(');
+		LNumberFormatter.PST.append(cache, (brx-tlx)/ppc).append(',');
+		LNumberFormatter.PST.append(cache, (bry-tl.getY())/ppc).append(')');
 
 		if(rot!=null)
 			cache.append('}');
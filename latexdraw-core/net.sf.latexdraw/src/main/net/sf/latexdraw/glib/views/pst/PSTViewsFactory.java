@@ -5,6 +5,7 @@ import net.sf.latexdraw.glib.models.interfaces.shape.IAxes;
 import net.sf.latexdraw.glib.models.interfaces.shape.IBezierCurve;
 import net.sf.latexdraw.glib.models.interfaces.shape.ICircle;
 import net.sf.latexdraw.glib.models.interfaces.shape.ICircleArc;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IDot;
 import net.sf.latexdraw.glib.models.interfaces.shape.IEllipse;
 import net.sf.latexdraw.glib.models.interfaces.shape.IFreehand;
@@ -58,6 +59,7 @@ public final class PSTViewsFactory {
 	public PSTShapeView<?> createView(final IShape shape) {
 		if(shape instanceof IGroup) return new PSTGroupView((IGroup)shape);
 		if(shape instanceof IPlot) return new PSTPlotView((IPlot)shape);
+		if(shape instanceof IDataPlot) return new PSTDataPlotView((IDataPlot)shape);
 		if(shape instanceof ISquare) return new PSTSquareView((ISquare)shape);
 		if(shape instanceof IRectangle) return new PSTRectView((IRectangle)shape);
 		if(shape instanceof IText) return new PSTTextView((IText)shape);
@@ -1,8 +1,25 @@
 package net.sf.latexdraw.glib.views.pst;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.views.latex.DviPsColors;
 import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniser;
 import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniserHandler;
 
@@ -26,6 +43,30 @@ import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniserHandler;
  * @since 3.0
  */
 public class PSTViewsSynchroniser extends ViewsSynchroniser {
+	/** The origin and the PPC used for the previous generation of the caches: if they change, every cache is outdated. */
+	private double lastOriginX;
+	private double lastOriginY;
+	private int lastPPC;
+
+	/** The views that became dirty since the previous update (see updateDirty). */
+	private final Set<PSTShapeView<?>> dirtyViews;
+
+	/** The position of the shapes in the drawing, computed at the previous synchronisation of the views. */
+	private final Map<IShape, Integer> positions;
+
+	/** True if shapes have been added, removed or moved since the previous synchronisation of the views. */
+	private boolean structureChanged;
+
+	/** Incremented each time the views are synchronised with the shapes of the drawing (see getStructureVersion). */
+	private int structureVersion;
+
+	/** The list of shapes observed by structureListener (null if the list of shapes is not observable). */
+	private ObservableList<IShape> observedShapes;
+
+	/** Flags the structure of the drawing as changed. */
+	private final ListChangeListener<IShape> structureListener = evt -> structureChanged = true;
+
+
 	/**
 	 * Creates and launches the synchronisation of the synchroniser.
 	 * @param drawing The shapes to synchronise.
@@ -34,33 +75,117 @@ public class PSTViewsSynchroniser extends ViewsSynchroniser {
 	 */
 	public PSTViewsSynchroniser(final ViewsSynchroniserHandler h, final IDrawing drawing) {
 		super(h, drawing);
+		dirtyViews = Collections.newSetFromMap(new IdentityHashMap<>());
+		positions = new IdentityHashMap<>();
+		structureChanged = true;
 
-		synchronise();
+		// The caches of the views are generated by the first update (updateFull or updateDirty).
+		createMissingViews();
 	}
 
 
 
 	@Override
 	public void synchronise() {
+		final IPoint origin = handler.getOriginDrawingPoint();
+		final int ppc = handler.getPPCDrawing();
+
+		createMissingViews().forEach(view -> view.updateCacheIfDirty(origin, ppc));
+	}
+
+
+	/**
+	 * Observes the list of shapes of the drawing (again if the drawing or its list changed).
+	 * @return True if the changes of the list of shapes are observed.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean observeShapes() {
+		final List<IShape> shapes = drawing.getShapes();
+
+		if(shapes!=observedShapes) {
+			if(observedShapes!=null)
+				observedShapes.removeListener(structureListener);
+			observedShapes = null;
+			structureChanged = true;
+
+			if(shapes instanceof ObservableList) {
+				observedShapes = (ObservableList<IShape>) shapes;
+				observedShapes.addListener(new WeakListChangeListener<>(structureListener));
+			}
+		}
+
+		return observedShapes!=null;
+	}
+
+
+	/**
+	 * Removes the views of the removed shapes and creates the views of the added shapes. The caches of the created
+	 * views are not generated. Nothing is done if the shapes of the drawing did not change since the previous call.
+	 * @return The created views, in the drawing order.
+	 */
+	private List<PSTShapeView<?>> createMissingViews() {
+		final List<PSTShapeView<?>> created = new ArrayList<>();
+
+		// If the list of shapes is not observable, its changes cannot be known: the views are always synchronised.
+		if(observeShapes() && !structureChanged)
+			return created;
+
+		structureChanged = false;
+		structureVersion++;
+		positions.clear();
+
+		// The views of the removed shapes must be removed as well.
 		if(drawing.isEmpty()) {
+			viewsCode.values().forEach(view -> ((PSTShapeView<?>) view).unobserveShape());
 			viewsCode.clear();
-			return ;
+			dirtyViews.clear();
+			return created;
 		}
 
+		final List<IShape> shapes = drawing.getShapes();
+
+		final Set<IShape> kept = new HashSet<>(shapes);
+		viewsCode.entrySet().removeIf(entry -> {
+			if(kept.contains(entry.getKey()))
+				return false;
+			final PSTShapeView<?> removed = (PSTShapeView<?>) entry.getValue();
+			removed.unobserveShape();
+			dirtyViews.remove(removed);
+			return true;
+		});
+
 		PSTShapeView<?> pstView;
 
-		for(final IShape shape : drawing.getShapes())
+		for(int i=0, size=shapes.size(); i<size; i++) {
+			final IShape shape = shapes.get(i);
+			positions.put(shape, i);
+
 			if(getView(shape)==null) {
 				pstView = PSTViewsFactory.INSTANCE.createView(shape);
 
 				if(pstView!=null) {
-					pstView.updateCache(handler.getOriginDrawingPoint(), handler.getPPCDrawing());
 					viewsCode.put(shape, pstView);
+					pstView.observeShape(dirtyViews::add);
+					dirtyViews.add(pstView);
+					created.add(pstView);
 				}
 			}
+		}
 
 		if(viewsCode.size()<drawing.size())
 			BadaboomCollector.INSTANCE.add(new ArrayIndexOutOfBoundsException("Error during the synchronisation.")); //$NON-NLS-1$
+
+		return created;
+	}
+
+
+	/**
+	 * @return A number incremented each time the views are synchronised with the shapes of the drawing (shapes
+	 * added, removed or moved): if it did not change since a previous call, the drawing contains the same shapes.
+	 * @since 4.0
+	 */
+	public int getStructureVersion() {
+		return structureVersion;
 	}
 
 
@@ -86,8 +211,10 @@ public class PSTViewsSynchroniser extends ViewsSynchroniser {
 
 			if(pst==null)
 				synchronise();
-			else
-				pst.updateCache(handler.getOriginDrawingPoint(), handler.getPPCDrawing());
+			else {
+				pst.setDirty();
+				pst.updateCacheIfDirty(handler.getOriginDrawingPoint(), handler.getPPCDrawing());
+			}
 
 			return true;
 		}
@@ -98,13 +225,74 @@ public class PSTViewsSynchroniser extends ViewsSynchroniser {
 
 
 	/**
-	 * Updates the cache of every shapes.
+	 * Updates the cache of every shapes. The caches are generated in parallel (each view only reads its shape and
+	 * writes its own cache), except the ones that define new colours: see PSTShapeView.updateCacheWithKnownColours.
+	 * These ones are then generated in the drawing order, so that the generated code does not depend on the scheduling
+	 * of the threads. The worker threads use the user colours of the calling thread (see DviPsColors::withUserColours):
+	 * they only read them since the views that define new colours are generated by the calling thread.
 	 * @since 3.0
 	 */
 	public void updateFull() {
-		synchronise();
+		final IPoint origin = handler.getOriginDrawingPoint();
+		final int ppc = handler.getPPCDrawing();
+		final DviPsColors.UserColours colours = DviPsColors.INSTANCE.getThreadUserColours();
+
+		createMissingViews();
+		dirtyViews.clear();
+
+		final List<PSTShapeView<?>> views = drawing.getShapes().stream().map(this::getView).filter(Objects::nonNull).collect(Collectors.toList());
+		final List<PSTShapeView<?>> withNewColours = views.parallelStream().filter(view -> !updateCacheWithKnownColours(view, colours, origin, ppc)).
+													collect(Collectors.toList());
+
+		withNewColours.forEach(view -> view.updateCacheIfDirty(origin, ppc));
+		saveGenerationParameters();
+	}
+
+
+	private static boolean updateCacheWithKnownColours(final PSTShapeView<?> view, final DviPsColors.UserColours colours, final IPoint origin, final int ppc) {
+		if(colours==null)
+			return view.updateCacheWithKnownColours(origin, ppc);
+		return DviPsColors.INSTANCE.withUserColours(colours, () -> view.updateCacheWithKnownColours(origin, ppc));
+	}
+
+
+	/**
+	 * Updates the cache of the shapes changed since the previous update only: the views are marked as dirty by the
+	 * notifications of their shape, so that the cost of the update depends on the number of changed shapes, not on
+	 * the size of the drawing. The cache of every shape is updated if the origin or the PPC of the drawing changed.
+	 * @return The shapes which cache has been updated since the previous update, in the drawing order. They include
+	 * the shapes which cache has been updated by updateCode.
+	 * @since 4.0
+	 */
+	public List<IShape> updateDirty() {
+		final IPoint origin = handler.getOriginDrawingPoint();
+		final int ppc = handler.getPPCDrawing();
+
+		createMissingViews();
+
+		if(ppc!=lastPPC || origin.getX()!=lastOriginX || origin.getY()!=lastOriginY)
+			viewsCode.values().forEach(view -> ((PSTShapeView<?>) view).setDirty());
+
+		// The views are updated in the drawing order: the names of the new colours depend on this order.
+		final List<PSTShapeView<?>> views = new ArrayList<>(dirtyViews);
+		dirtyViews.clear();
+		views.sort(Comparator.comparingInt(view -> positions.get(view.getShape())));
+
+		final List<IShape> updated = new ArrayList<>(views.size());
+		for(final PSTShapeView<?> view : views) {
+			view.updateCacheIfDirty(origin, ppc);
+			updated.add(view.getShape());
+		}
+
+		saveGenerationParameters();
+		return updated;
+	}
+
 
-		for(final IShape shape : drawing.getShapes())
-			updateCode(shape);
+	private void saveGenerationParameters() {
+		final IPoint origin = handler.getOriginDrawingPoint();
+		lastOriginX = origin.getX();
+		lastOriginY = origin.getY();
+		lastPPC 	= handler.getPPCDrawing();
 	}
 }
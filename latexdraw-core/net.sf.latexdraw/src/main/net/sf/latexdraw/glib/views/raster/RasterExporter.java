@@ -0,0 +1,133 @@
+package net.sf.latexdraw.glib.views.raster;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+
+/**
+ * Exports drawings as PNG, JPEG or BMP pictures. The pictures are TiledImage: they are painted in tiles, in parallel,
+ * while the ImageIO writer encodes them. The PNG and BMP writers read the rows of a picture one by one, so the memory
+ * used is bounded by the size of the tiles times the number of threads, whatever the resolution of the picture.
+ * The JPEG writer of the JDK copies the rows of a tiled picture into a single raster before encoding it:
+ * the JPEG pictures are still painted in parallel but need the memory of the whole picture.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ * <br>
+ * 2015-11-17<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public class RasterExporter {
+	/** The exporter of the application: one thread per core, tiles of 16 MiB. */
+	public static final RasterExporter INSTANCE = new RasterExporter(Runtime.getRuntime().availableProcessors(), TiledImage.DEFAULT_TILE_SIZE);
+
+	/** The number of threads that paint the tiles (the writing thread included). */
+	private final int nbThreads;
+
+	/** The maximal size of a tile in bytes. */
+	private final long tileSize;
+
+
+	/**
+	 * Creates an exporter.
+	 * @param nbThreads The number of threads that paint the tiles of a picture (the writing thread included).
+	 * @param tileSize The maximal size of a tile in bytes.
+	 * @throws IllegalArgumentException If a parameter is not positive.
+	 */
+	public RasterExporter(final int nbThreads, final long tileSize) {
+		super();
+		if(nbThreads<1 || tileSize<1)
+			throw new IllegalArgumentException();
+		this.nbThreads = nbThreads;
+		this.tileSize = tileSize;
+	}
+
+
+	/**
+	 * @param dpi A resolution in dots per inch.
+	 * @return The scale to apply to a drawing (whose unit is IShape.PPC pixels per centimetre) to get this resolution.
+	 */
+	public static double getScale(final double dpi) {
+		return dpi / (IShape.PPC * 2.54);
+	}
+
+
+	/**
+	 * Exports a drawing as a picture.
+	 * @param painter Paints the drawing. Must not be null.
+	 * @param bounds The area of the drawing to export, in the coordinates of the drawing. Must not be null.
+	 * @param scale The scale of the picture (see getScale).
+	 * @param format The ImageIO name of the format of the picture: png, jpg, or bmp.
+	 * @param file The picture to create. Replaced if it exists.
+	 * @param quality The quality of the lossy formats (JPEG), between 0 and 1.
+	 * @throws IOException If the picture cannot be written or if the format is not supported.
+	 * @throws IllegalArgumentException If the scale is not positive.
+	 */
+	public void export(final TilePainter painter, final Rectangle2D bounds, final double scale, final String format,
+					final File file, final float quality) throws IOException {
+		if(scale<=0.)
+			throw new IllegalArgumentException();
+
+		final Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+		if(!writers.hasNext())
+			throw new IOException("No writer for the format " + format); //$NON-NLS-1$
+
+		final int width = (int)Math.max(1L, (long)Math.ceil(bounds.getWidth() * scale));
+		final int height = (int)Math.max(1L, (long)Math.ceil(bounds.getHeight() * scale));
+		final AffineTransform transform = AffineTransform.getScaleInstance(scale, scale);
+		transform.translate(-bounds.getX(), -bounds.getY());
+		final ExecutorService painters = nbThreads>1 ? Executors.newFixedThreadPool(nbThreads - 1, runnable -> {
+			final Thread thread = new Thread(runnable, "LaTeXDraw raster export"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+		final ImageWriter writer = writers.next();
+
+		try {
+			final TiledImage image = new TiledImage(width, height, TiledImage.getTileHeight(width, tileSize), transform, painter, painters, nbThreads - 1);
+			final ImageWriteParam param = writer.getDefaultWriteParam();
+
+			if("jpg".equals(format.toLowerCase(Locale.ENGLISH)) || "jpeg".equals(format.toLowerCase(Locale.ENGLISH))) { //$NON-NLS-1$ //$NON-NLS-2$
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				param.setCompressionQuality(Math.max(0f, Math.min(1f, quality)));
+			}
+
+			// The image output stream of a file does not truncate it.
+			Files.deleteIfExists(file.toPath());
+
+			try(final ImageOutputStream ios = ImageIO.createImageOutputStream(file)) {
+				if(ios==null)
+					throw new IOException("Cannot write " + file); //$NON-NLS-1$
+				writer.setOutput(ios);
+				writer.write(null, new IIOImage(image, null, null), param);
+			}
+		}finally {
+			writer.dispose();
+			if(painters!=null)
+				painters.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,462 @@
+package net.sf.latexdraw.glib.views.raster;
+
+import java.awt.BasicStroke;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.glib.models.interfaces.shape.AxesStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.Color;
+import net.sf.latexdraw.glib.models.interfaces.shape.FreeHandStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IArc;
+import net.sf.latexdraw.glib.models.interfaces.shape.IAxes;
+import net.sf.latexdraw.glib.models.interfaces.shape.IBezierCurve;
+import net.sf.latexdraw.glib.models.interfaces.shape.ICircle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IEllipse;
+import net.sf.latexdraw.glib.models.interfaces.shape.IFreehand;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGrid;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPicture;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPolygon;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPolyline;
+import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IRhombus;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.models.interfaces.shape.ISquare;
+import net.sf.latexdraw.glib.models.interfaces.shape.IText;
+import net.sf.latexdraw.glib.models.interfaces.shape.ITriangle;
+import net.sf.latexdraw.glib.views.PlotViewHelper;
+
+/**
+ * Paints shapes with Java2D, as the JFX views do: the border (colour, thickness, dashed or dotted line),
+ * the plain or gradient filling, and the rotation. Like the JFX views, the hatchings, the arrows, the double borders
+ * and the position of the borders are not painted.<br>
+ * All the types of shapes are painted. Some of them are simplified: the texts are painted as plain text (their
+ * LaTeX code is not compiled), the dots as disks, the grids and axes without their labels and ticks. The plots
+ * are painted as the lines, curves, polygons or dots computed by PlotViewHelper. A shape of an unknown type is
+ * not painted and is reported once to BadaboomCollector.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ * <br>
+ * 2015-11-17<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public class ShapesPainter implements TilePainter {
+	/** The shapes to paint, from the back to the front. */
+	private final List<IShape> shapes;
+
+	/** The types of the shapes that could not be painted and that have been reported. The tiles may be painted concurrently. */
+	private final Set<Class<?>> notPainted;
+
+
+	/**
+	 * Creates the painter.
+	 * @param shapes The shapes to paint (e.g. the shapes of a drawing), from the back to the front. Must not be null.
+	 * The list must not be modified while the shapes are painted.
+	 */
+	public ShapesPainter(final List<IShape> shapes) {
+		super();
+		this.shapes = Objects.requireNonNull(shapes);
+		notPainted = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	}
+
+
+	@Override
+	public void paint(final Graphics2D g) {
+		shapes.forEach(sh -> paintShape(g, sh));
+	}
+
+
+	private void paintShape(final Graphics2D g, final IShape sh) {
+		if(sh instanceof IGroup) {
+			((IGroup)sh).getShapes().forEach(child -> paintShape(g, child));
+			return;
+		}
+		if(sh instanceof IPlot) {
+			getPlottedShapes((IPlot)sh).forEach(plotted -> paintShape(g, plotted));
+			return;
+		}
+		if(sh instanceof IDataPlot) {
+			getPlottedShapes((IDataPlot)sh).forEach(plotted -> paintShape(g, plotted));
+			return;
+		}
+
+		final Shape path = createPath(sh);
+		if(path==null && !(sh instanceof IText || sh instanceof IPicture || sh instanceof IGrid)) {
+			if(!(sh instanceof IAxes) && notPainted.add(sh.getClass()))
+				BadaboomCollector.INSTANCE.add(new IllegalArgumentException("This shape cannot be painted: " + sh.getClass().getName())); //$NON-NLS-1$
+			return;
+		}
+
+		final AffineTransform saved = g.getTransform();
+		final double angle = sh.getRotationAngle();
+
+		if(angle!=0.) {
+			final IPoint gc = sh.getGravityCentre();
+			g.rotate(angle, gc.getX(), gc.getY());
+		}else if(isOutsideClip(g, sh))
+			// The tile does not contain the shape.
+			return;
+
+		if(sh instanceof IText)
+			paintText(g, (IText)sh);
+		else if(sh instanceof IPicture)
+			paintPicture(g, (IPicture)sh);
+		else if(sh instanceof IGrid)
+			paintGrid(g, (IGrid)sh);
+		else if(sh instanceof IDot) {
+			g.setPaint(sh.getLineColour().toAWT());
+			g.fill(path);
+		}else {
+			final Paint fill = getFillingPaint(sh);
+			if(fill!=null) {
+				g.setPaint(fill);
+				g.fill(path);
+			}
+
+			g.setPaint(sh.getLineColour().toAWT());
+			g.setStroke(getStroke(sh));
+			g.draw(path);
+		}
+
+		g.setTransform(saved);
+	}
+
+
+	/** @return The shapes that paint the given plot, depending on its style (see LPlotSVGGenerator). */
+	private static List<? extends IShape> getPlottedShapes(final IPlot plot) {
+		final double minX = plot.getPlotMinX();
+		final double maxX = plot.getPlotMaxX();
+		final double step = plot.getPlottingStep();
+		final double posX = plot.getX();
+		final double posY = plot.getY();
+
+		switch(plot.getPlotStyle()) {
+			case LINE: return Collections.singletonList(PlotViewHelper.INSTANCE.updateLine(plot, posX, posY, minX, maxX, step));
+			case CURVE:
+			case CCURVE: return Collections.singletonList(PlotViewHelper.INSTANCE.updateCurve(plot, posX, posY, minX, maxX, step));
+			case ECURVE: return Collections.singletonList(PlotViewHelper.INSTANCE.updateCurve(plot, posX, posY, minX+step, maxX-step, step));
+			case DOTS: return PlotViewHelper.INSTANCE.updatePoints(plot, posX, posY, minX, maxX, step);
+			case POLYGON: return Collections.singletonList(PlotViewHelper.INSTANCE.updatePolygon(plot, posX, posY, minX, maxX, step));
+			default: return Collections.emptyList();
+		}
+	}
+
+
+	/** @return The shapes that paint the given data plot, depending on its style (see LDataPlotSVGGenerator). */
+	private static List<? extends IShape> getPlottedShapes(final IDataPlot plot) {
+		if(plot.getNbDataPoints()==0)
+			return Collections.emptyList();
+
+		switch(plot.getPlotStyle()) {
+			case LINE: return Collections.singletonList(PlotViewHelper.INSTANCE.updateLine(plot));
+			case CURVE:
+			case ECURVE:
+			case CCURVE: return Collections.singletonList(PlotViewHelper.INSTANCE.updateCurve(plot));
+			case DOTS: return PlotViewHelper.INSTANCE.updatePoints(plot);
+			case POLYGON: return Collections.singletonList(PlotViewHelper.INSTANCE.updatePolygon(plot));
+			default: return Collections.emptyList();
+		}
+	}
+
+
+	/** Paints the text as plain text (its LaTeX code is not compiled) from its position. */
+	private static void paintText(final Graphics2D g, final IText text) {
+		g.setPaint(text.getLineColour().toAWT());
+		g.drawString(text.getText(), (float)text.getX(), (float)text.getY());
+	}
+
+
+	/** Paints the picture from its top-left point. */
+	private static void paintPicture(final Graphics2D g, final IPicture picture) {
+		final Image image = picture.getImage();
+		if(image!=null)
+			g.drawImage(image, AffineTransform.getTranslateInstance(picture.getX(), picture.getY()), null);
+	}
+
+
+	/** Paints the sub-grid, then the main grid. The labels and the dotted grids are not painted (the lines are). */
+	private static void paintGrid(final Graphics2D g, final IGrid grid) {
+		final double step = grid.getStep();
+
+		if(grid.getSubGridDiv()>1 && grid.getSubGridWidth()>0.)
+			paintGridLines(g, grid, step / grid.getSubGridDiv(), grid.getSubGridColour(), grid.getSubGridWidth());
+		if(grid.getGridWidth()>0.)
+			paintGridLines(g, grid, step, grid.getLineColour(), grid.getGridWidth());
+	}
+
+
+	private static void paintGridLines(final Graphics2D g, final IGrid grid, final double gap, final Color colour, final double width) {
+		final double step = grid.getStep();
+		final double minX = grid.getX() + grid.getGridMinX() * step;
+		final double maxX = grid.getX() + grid.getGridMaxX() * step;
+		final double minY = grid.getY() - grid.getGridMaxY() * step;
+		final double maxY = grid.getY() - grid.getGridMinY() * step;
+		final Path2D path = new Path2D.Double();
+
+		for(int i=0, nb=(int)Math.round((maxX - minX) / gap); i<=nb; i++) {
+			path.moveTo(minX + i * gap, minY);
+			path.lineTo(minX + i * gap, maxY);
+		}
+		for(int i=0, nb=(int)Math.round((maxY - minY) / gap); i<=nb; i++) {
+			path.moveTo(minX, minY + i * gap);
+			path.lineTo(maxX, minY + i * gap);
+		}
+
+		g.setPaint(colour.toAWT());
+		g.setStroke(new BasicStroke((float)width));
+		g.draw(path);
+	}
+
+
+	/** @return True if the bounds of the shape (its thickness included) do not intersect the clip of the graphics. */
+	private static boolean isOutsideClip(final Graphics2D g, final IShape sh) {
+		final Rectangle clip = g.getClipBounds();
+		if(clip==null)
+			return false;
+		final IPoint tl = sh.getFullTopLeftPoint();
+		final IPoint br = sh.getFullBottomRightPoint();
+		return !clip.intersects(tl.getX() - 1., tl.getY() - 1., br.getX() - tl.getX() + 2., br.getY() - tl.getY() + 2.);
+	}
+
+
+	/**
+	 * @return The Java2D shape of the given shape or null if the shape is not supported. The texts, pictures and
+	 * grids are not paths: they are painted by their own method.
+	 */
+	private static Shape createPath(final IShape sh) {
+		if(sh instanceof IRectangle)
+			return createPath(sh.getPoints(), true);
+		if(sh instanceof IPolyline)
+			return createPath(sh.getPoints(), false);
+		if(sh instanceof IPolygon)
+			return createPath(sh.getPoints(), true);
+		if(sh instanceof IBezierCurve)
+			return createCurvePath((IBezierCurve)sh);
+		if(sh instanceof IFreehand)
+			return createFreehandPath((IFreehand)sh);
+		if(sh instanceof IDot) {
+			final double radius = ((IDot)sh).getDiametre() / 2.;
+			return new Ellipse2D.Double(((IDot)sh).getX() - radius, ((IDot)sh).getY() - radius, radius * 2., radius * 2.);
+		}
+		if(sh instanceof IAxes)
+			return createAxesPath((IAxes)sh);
+		if(sh instanceof IText || sh instanceof IPicture || sh instanceof IGrid)
+			return null;
+
+		final IPoint tl = sh.getTopLeftPoint();
+		final IPoint br = sh.getBottomRightPoint();
+		final double midX = (tl.getX() + br.getX()) / 2.;
+
+		if(sh instanceof ISquare)
+			return new Rectangle2D.Double(tl.getX(), tl.getY(), br.getX() - tl.getX(), br.getY() - tl.getY());
+		if(sh instanceof IArc) {
+			final IArc arc = (IArc)sh;
+			double extent = arc.getAngleEnd() - arc.getAngleStart();
+			if(extent<=0.)
+				extent += Math.PI * 2.;
+			return new Arc2D.Double(tl.getX(), tl.getY(), br.getX() - tl.getX(), br.getY() - tl.getY(), Math.toDegrees(arc.getAngleStart()),
+									Math.toDegrees(extent), arc.getArcStyle().getJava2DArcStyle());
+		}
+		if(sh instanceof IEllipse || sh instanceof ICircle)
+			return new Ellipse2D.Double(tl.getX(), tl.getY(), br.getX() - tl.getX(), br.getY() - tl.getY());
+		if(sh instanceof IRhombus) {
+			final double midY = (tl.getY() + br.getY()) / 2.;
+			final Path2D path = new Path2D.Double();
+			path.moveTo(midX, tl.getY());
+			path.lineTo(br.getX(), midY);
+			path.lineTo(midX, br.getY());
+			path.lineTo(tl.getX(), midY);
+			path.closePath();
+			return path;
+		}
+		if(sh instanceof ITriangle) {
+			final Path2D path = new Path2D.Double();
+			path.moveTo(midX, tl.getY());
+			path.lineTo(br.getX(), br.getY());
+			path.lineTo(tl.getX(), br.getY());
+			path.closePath();
+			return path;
+		}
+
+		return null;
+	}
+
+
+	/** @return The path of the curve: see the path of LBezierCurveSVGGenerator. */
+	private static Shape createCurvePath(final IBezierCurve curve) {
+		final List<IPoint> pts = curve.getPoints();
+		final int size = pts.size();
+
+		if(size<2)
+			return createPath(pts, false);
+
+		final Path2D path = new Path2D.Double();
+		IPoint ctrl1 = curve.getFirstCtrlPtAt(0);
+
+		path.moveTo(pts.get(0).getX(), pts.get(0).getY());
+		for(int i=1; i<size; i++) {
+			final IPoint ctrl2 = curve.getFirstCtrlPtAt(i);
+			path.curveTo(ctrl1.getX(), ctrl1.getY(), ctrl2.getX(), ctrl2.getY(), pts.get(i).getX(), pts.get(i).getY());
+			ctrl1 = curve.getSecondCtrlPtAt(i);
+		}
+
+		if(curve.isClosed()) {
+			final IPoint ctrl1b = curve.getFirstCtrlPtAt(0).centralSymmetry(pts.get(0));
+			final IPoint ctrl2b = curve.getFirstCtrlPtAt(size-1).centralSymmetry(pts.get(size-1));
+			path.curveTo(ctrl2b.getX(), ctrl2b.getY(), ctrl1b.getX(), ctrl1b.getY(), pts.get(0).getX(), pts.get(0).getY());
+			path.closePath();
+		}
+
+		return path;
+	}
+
+
+	/** @return The path of the freehand shape: its points are joined by lines or by curves passing through their middles. */
+	private static Shape createFreehandPath(final IFreehand freehand) {
+		final List<IPoint> pts = freehand.getPoints();
+
+		if(freehand.getType()==FreeHandStyle.LINES || pts.size()<3)
+			return createPath(pts, !freehand.isOpen());
+
+		final Path2D path = new Path2D.Double();
+		path.moveTo(pts.get(0).getX(), pts.get(0).getY());
+		for(int i=1, size=pts.size(); i<size-1; i++)
+			path.quadTo(pts.get(i).getX(), pts.get(i).getY(), (pts.get(i).getX() + pts.get(i+1).getX()) / 2., (pts.get(i).getY() + pts.get(i+1).getY()) / 2.);
+		path.lineTo(pts.get(pts.size()-1).getX(), pts.get(pts.size()-1).getY());
+		if(!freehand.isOpen())
+			path.closePath();
+		return path;
+	}
+
+
+	/** @return The lines or the frame of the axes (see LAxeSVGGenerator), or null if the axes are not displayed. */
+	private static Shape createAxesPath(final IAxes axes) {
+		final double posX = axes.getX();
+		final double posY = axes.getY();
+
+		if(axes.getAxesStyle()==AxesStyle.FRAME) {
+			final double xMax = posX + axes.getGridEndX() * IShape.PPC;
+			final double yMax = posY - axes.getGridEndY() * IShape.PPC;
+			return new Rectangle2D.Double(Math.min(posX, xMax), Math.min(posY, yMax), Math.abs(xMax - posX), Math.abs(yMax - posY));
+		}
+
+		if(axes.getAxesStyle()==AxesStyle.AXES) {
+			final Path2D path = new Path2D.Double();
+			path.moveTo(posX + axes.getGridStartX() * IShape.PPC, posY);
+			path.lineTo(posX + axes.getGridEndX() * IShape.PPC, posY);
+			path.moveTo(posX, posY - axes.getGridStartY() * IShape.PPC);
+			path.lineTo(posX, posY - axes.getGridEndY() * IShape.PPC);
+			return path;
+		}
+
+		return null;
+	}
+
+
+	private static Shape createPath(final List<IPoint> pts, final boolean closed) {
+		if(pts.isEmpty())
+			return null;
+
+		final Path2D path = new Path2D.Double();
+		path.moveTo(pts.get(0).getX(), pts.get(0).getY());
+		for(int i=1, size=pts.size(); i<size; i++)
+			path.lineTo(pts.get(i).getX(), pts.get(i).getY());
+		if(closed)
+			path.closePath();
+		return path;
+	}
+
+
+	/** @return The stroke of the border of the shape: see the line style of the JFX views. */
+	private static Stroke getStroke(final IShape sh) {
+		final float thickness = sh.isThicknessable() ? (float)sh.getThickness() : 1f;
+
+		if(sh.isLineStylable())
+			switch(sh.getLineStyle()) {
+				case DASHED:
+					final float black = (float)sh.getDashSepBlack();
+					final float white = (float)sh.getDashSepWhite();
+					if(black>=0f && white>=0f && black+white>0f)
+						return new BasicStroke(thickness, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f, new float[]{black, white}, 0f);
+					break;
+				case DOTTED:
+					final float dotSep = (float)(sh.getDotSep() + (sh.hasDbleBord() ? sh.getThickness() * 2. + sh.getDbleBordSep() : sh.getThickness()));
+					if(dotSep>0f)
+						return new BasicStroke(thickness, BasicStroke.CAP_ROUND, BasicStroke.JOIN_MITER, 10f, new float[]{0f, dotSep}, 0f);
+					break;
+				case SOLID:
+					break;
+			}
+
+		return new BasicStroke(thickness, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER);
+	}
+
+
+	/** @return The paint of the filling of the shape or null: see the filling of the JFX views. */
+	private static Paint getFillingPaint(final IShape sh) {
+		if(!sh.isFillable())
+			return null;
+
+		switch(sh.getFillingStyle()) {
+			case NONE:
+				return sh.hasShadow() && sh.shadowFillsShape() ? sh.getFillingCol().toAWT() : null;
+			case PLAIN:
+				return sh.getFillingCol().toAWT();
+			case GRAD:
+				return getGradient(sh);
+			default:
+				return null;
+		}
+	}
+
+
+	/**
+	 * @return The gradient of the shape: from the top of the shape to its middle point (getGradMidPt),
+	 * reflected beyond it as PSTricks does, and rotated by the angle of the gradient.
+	 */
+	private static Paint getGradient(final IShape sh) {
+		final IPoint tl = sh.getTopLeftPoint();
+		final IPoint br = sh.getBottomRightPoint();
+		final IPoint gc = sh.getGravityCentre();
+		final double midX = (tl.getX() + br.getX()) / 2.;
+		final AffineTransform rotation = AffineTransform.getRotateInstance(-sh.getGradAngle(), gc.getX(), gc.getY());
+		final Point2D pt1 = rotation.transform(new Point2D.Double(midX, tl.getY()), null);
+		final Point2D pt2 = rotation.transform(new Point2D.Double(midX, tl.getY() + (br.getY() - tl.getY()) * sh.getGradMidPt()), null);
+
+		if(pt1.distance(pt2)<0.001)
+			return sh.getGradColStart().toAWT();
+
+		return new GradientPaint(pt1, sh.getGradColStart().toAWT(), pt2, sh.getGradColEnd().toAWT(), true);
+	}
+}
@@ -0,0 +1,33 @@
+package net.sf.latexdraw.glib.views.raster;
+
+import java.awt.Graphics2D;
+
+/**
+ * Paints a drawing into the graphics of a tile of a TiledImage.
+ * The graphics is already transformed and clipped: the painter paints the whole drawing in the coordinates
+ * of the drawing and the shapes outside the clip can be skipped. Several tiles can be painted
+ * concurrently so the painter must not modify the drawing.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ * <br>
+ * 2015-11-17<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+@FunctionalInterface
+public interface TilePainter {
+	/**
+	 * Paints the drawing.
+	 * @param g The graphics of the tile. Must not be null.
+	 */
+	void paint(final Graphics2D g);
+}
@@ -0,0 +1,363 @@
+package net.sf.latexdraw.glib.views.raster;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Vector;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A RGB image painted lazily in horizontal tiles (bands of rows spanning the full width).
+ * The ImageIO writers read an image row by row (PNG from top to bottom, BMP from bottom to top): only the tile
+ * containing the requested rows and the next tiles in the reading direction are kept in memory, so that the memory
+ * used by the export of an image is bounded by the size of its tiles and not by its own size. The next tiles are
+ * painted in advance in the threads of the given executor while the writer encodes the current one.<br>
+ * The tiles are painted on a white background with the quality rendering hints.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ * <br>
+ * 2015-11-17<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public class TiledImage implements RenderedImage {
+	/** The default size of a tile in bytes: 16 MiB. */
+	public static final long DEFAULT_TILE_SIZE = 16L * 1024L * 1024L;
+
+	/** The pixels are stored in three bytes (blue, green, red). */
+	private static final int BYTES_PER_PIXEL = 3;
+
+	/** The width of the image. */
+	private final int width;
+
+	/** The height of the image. */
+	private final int height;
+
+	/** The height of the tiles. */
+	private final int tileHeight;
+
+	/** The number of tiles. */
+	private final int nbTiles;
+
+	/** The transformation from the coordinates of the drawing to the ones of the image. */
+	private final AffineTransform transform;
+
+	/** Paints the drawing in the tiles. */
+	private final TilePainter painter;
+
+	/** The threads that paint the next tiles in advance, or null: the tiles are painted when they are requested. */
+	private final Executor executor;
+
+	/** The number of tiles painted in advance. */
+	private final int nbPrefetch;
+
+	private final ColorModel colorModel;
+
+	private final SampleModel sampleModel;
+
+	/** The tiles in memory (painted or being painted) by index. Used as the lock of the tiles. */
+	private final Map<Integer, FutureTask<Raster>> tiles;
+
+	/** The index of the last requested tile. */
+	private int lastTile;
+
+	/** The reading direction: 1 (top to bottom) or -1 (bottom to top). */
+	private int direction;
+
+	/** The number of tiles painted since the creation of the image. */
+	private final AtomicInteger nbPaintedTiles;
+
+
+	/**
+	 * Creates the image. Nothing is painted before the tiles are requested.
+	 * @param width The width of the image in pixels.
+	 * @param height The height of the image in pixels.
+	 * @param tileHeight The height of the tiles in pixels.
+	 * @param transform The transformation from the coordinates of the drawing to the ones of the image. Must not be null.
+	 * @param painter Paints the drawing. Must not be null.
+	 * @param executor The threads that paint the next tiles in advance, or null.
+	 * @param nbPrefetch The number of tiles painted in advance (ignored without executor).
+	 * @throws IllegalArgumentException If a dimension is not positive.
+	 */
+	public TiledImage(final int width, final int height, final int tileHeight, final AffineTransform transform,
+					final TilePainter painter, final Executor executor, final int nbPrefetch) {
+		super();
+		if(width<1 || height<1 || tileHeight<1)
+			throw new IllegalArgumentException();
+
+		this.width = width;
+		this.height = height;
+		this.tileHeight = Math.min(tileHeight, height);
+		this.transform = new AffineTransform(Objects.requireNonNull(transform));
+		this.painter = Objects.requireNonNull(painter);
+		this.executor = executor;
+		this.nbPrefetch = executor==null ? 0 : Math.max(0, nbPrefetch);
+		nbTiles = (height + this.tileHeight - 1) / this.tileHeight;
+		tiles = new HashMap<>();
+		lastTile = -1;
+		direction = 1;
+		nbPaintedTiles = new AtomicInteger();
+
+		final BufferedImage prototype = new BufferedImage(1, 1, BufferedImage.TYPE_3BYTE_BGR);
+		colorModel = prototype.getColorModel();
+		sampleModel = prototype.getSampleModel().createCompatibleSampleModel(width, this.tileHeight);
+	}
+
+
+	/**
+	 * Computes the height of the tiles of an image so that a tile does not exceed the given size.
+	 * @param width The width of the image in pixels.
+	 * @param tileSize The maximal size of a tile in bytes.
+	 * @return The height of the tiles (at least one row).
+	 */
+	public static int getTileHeight(final int width, final long tileSize) {
+		return (int)Math.max(1L, Math.min(Integer.MAX_VALUE, tileSize / ((long)Math.max(1, width) * BYTES_PER_PIXEL)));
+	}
+
+
+	/**
+	 * @return The number of tiles painted since the creation of the image. A tile evicted and then requested again is
+	 * painted twice.
+	 */
+	public int getNbPaintedTiles() {
+		return nbPaintedTiles.get();
+	}
+
+
+	/**
+	 * Gives the tile at the given index: the tiles behind it (in the reading direction) are removed from the memory and
+	 * the next ones are scheduled.
+	 */
+	private Raster getTileAt(final int index) {
+		final FutureTask<Raster> task;
+		final List<FutureTask<Raster>> next = new ArrayList<>();
+
+		synchronized(tiles) {
+			if(index!=lastTile && lastTile!=-1)
+				direction = index>lastTile ? 1 : -1;
+			lastTile = index;
+
+			tiles.entrySet().removeIf(entry -> {
+				final int gap = (entry.getKey() - index) * direction;
+				final boolean evicted = gap<0 || gap>nbPrefetch;
+				if(evicted)
+					entry.getValue().cancel(false);
+				return evicted;
+			});
+
+			for(int i=0; i<=nbPrefetch; i++) {
+				final int tile = index + i * direction;
+				if(tile>=0 && tile<nbTiles && !tiles.containsKey(tile)) {
+					final FutureTask<Raster> paint = new FutureTask<>(() -> paintTile(tile));
+					tiles.put(tile, paint);
+					if(i>0)
+						next.add(paint);
+				}
+			}
+
+			task = tiles.get(index);
+		}
+
+		if(executor!=null)
+			try {
+				next.forEach(executor::execute);
+			}catch(final RejectedExecutionException ex) {
+				// The tiles will be painted when requested.
+			}
+
+		// Paints the tile in the current thread if no other thread has started it.
+		task.run();
+
+		try {
+			return task.get();
+		}catch(final CancellationException ex) {
+			// Evicted by a concurrent reader.
+			return paintTile(index);
+		}catch(final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException();
+		}catch(final ExecutionException ex) {
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+
+	/** Paints a tile: the graphics is clipped to the tile and transformed to paint the drawing in its coordinates. */
+	private Raster paintTile(final int index) {
+		final int y = index * tileHeight;
+		final BufferedImage image = new BufferedImage(width, tileHeight, BufferedImage.TYPE_3BYTE_BGR);
+		final Graphics2D g = image.createGraphics();
+
+		try {
+			g.setColor(Color.WHITE);
+			g.fillRect(0, 0, width, tileHeight);
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+			g.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+			g.clipRect(0, 0, width, tileHeight);
+			g.translate(0, -y);
+			g.transform(transform);
+			painter.paint(g);
+		}finally {
+			g.dispose();
+		}
+
+		nbPaintedTiles.incrementAndGet();
+		return image.getRaster().createTranslatedChild(0, y);
+	}
+
+
+	@Override
+	public Vector<RenderedImage> getSources() {
+		return null;
+	}
+
+	@Override
+	public Object getProperty(final String name) {
+		return Image.UndefinedProperty;
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return null;
+	}
+
+	@Override
+	public ColorModel getColorModel() {
+		return colorModel;
+	}
+
+	@Override
+	public SampleModel getSampleModel() {
+		return sampleModel;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public int getMinX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinY() {
+		return 0;
+	}
+
+	@Override
+	public int getNumXTiles() {
+		return 1;
+	}
+
+	@Override
+	public int getNumYTiles() {
+		return nbTiles;
+	}
+
+	@Override
+	public int getMinTileX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinTileY() {
+		return 0;
+	}
+
+	@Override
+	public int getTileWidth() {
+		return width;
+	}
+
+	@Override
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	@Override
+	public int getTileGridXOffset() {
+		return 0;
+	}
+
+	@Override
+	public int getTileGridYOffset() {
+		return 0;
+	}
+
+	@Override
+	public Raster getTile(final int tileX, final int tileY) {
+		if(tileX!=0 || tileY<0 || tileY>=nbTiles)
+			throw new IllegalArgumentException();
+		return getTileAt(tileY);
+	}
+
+	/**
+	 * {@inheritDoc} Beware: the whole image is then in memory.
+	 */
+	@Override
+	public Raster getData() {
+		return getData(new Rectangle(0, 0, width, height));
+	}
+
+	@Override
+	public Raster getData(final Rectangle rect) {
+		final WritableRaster raster = Raster.createWritableRaster(sampleModel.createCompatibleSampleModel(rect.width, rect.height), rect.getLocation());
+		return copyData(raster);
+	}
+
+	@Override
+	public WritableRaster copyData(final WritableRaster raster) {
+		final WritableRaster target = raster==null ? Raster.createWritableRaster(sampleModel.createCompatibleSampleModel(width, height), null) : raster;
+		final int first = Math.max(0, target.getMinY() / tileHeight);
+		final int last = Math.min(nbTiles - 1, (target.getMinY() + target.getHeight() - 1) / tileHeight);
+
+		for(int i=first; i<=last; i++) {
+			final Raster tile = getTileAt(i);
+			final Rectangle area = target.getBounds().intersection(tile.getBounds());
+			// Not WritableRaster.setRect: the JDK copies the first rows of the BGR rasters instead of the clipped ones.
+			if(!area.isEmpty())
+				target.setDataElements(area.x, area.y, area.width, area.height, tile.getDataElements(area.x, area.y, area.width, area.height, null));
+		}
+
+		return target;
+	}
+}
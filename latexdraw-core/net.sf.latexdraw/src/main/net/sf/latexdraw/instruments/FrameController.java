@@ -20,6 +20,7 @@ import org.malai.javafx.action.library.MoveCamera;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.geometry.Bounds;
 import javafx.scene.control.ScrollPane;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
@@ -46,6 +47,24 @@ public class FrameController implements Initializable {
 	public void initialize(final URL location, final ResourceBundle resources) {
 		scrollPane.widthProperty().addListener(obs -> canvas.update());
 		scrollPane.heightProperty().addListener(obs -> canvas.update());
+		// The canvas is notified of the visible area to create the views of the visible shapes only.
+		scrollPane.viewportBoundsProperty().addListener(obs -> updateCanvasViewport());
+		scrollPane.hvalueProperty().addListener(obs -> updateCanvasViewport());
+		scrollPane.vvalueProperty().addListener(obs -> updateCanvasViewport());
+	}
+
+	/**
+	 * Gives the canvas the area of the canvas visible in the scroll pane.
+	 */
+	protected void updateCanvasViewport() {
+		final Bounds bounds = scrollPane.getViewportBounds();
+		final double hRange = scrollPane.getHmax() - scrollPane.getHmin();
+		final double vRange = scrollPane.getVmax() - scrollPane.getVmin();
+		final double px = hRange > 0.0 ? (scrollPane.getHvalue() - scrollPane.getHmin()) / hRange : 0.0;
+		final double py = vRange > 0.0 ? (scrollPane.getVvalue() - scrollPane.getVmin()) / vRange : 0.0;
+
+		canvas.setViewport(Math.max(0.0, canvas.getWidth() - bounds.getWidth()) * px, Math.max(0.0, canvas.getHeight() - bounds.getHeight()) * py,
+			bounds.getWidth(), bounds.getHeight());
 	}
 
 	public void centreViewport() {
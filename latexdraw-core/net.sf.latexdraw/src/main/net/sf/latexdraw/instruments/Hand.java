@@ -15,16 +15,20 @@
 package net.sf.latexdraw.instruments;
 
 import org.malai.javafx.instrument.JfxInteractor;
+import org.malai.javafx.interaction.library.DnD;
 import org.malai.javafx.interaction.library.KeysPressure;
 import org.malai.javafx.interaction.library.Press;
 
 import com.google.inject.Inject;
 
+import javafx.animation.AnimationTimer;
 import javafx.event.EventTarget;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
 import net.sf.latexdraw.actions.shape.SelectShapes;
+import net.sf.latexdraw.actions.shape.TranslateShapes;
 import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
 import net.sf.latexdraw.view.jfx.ViewShape;
 
@@ -39,6 +43,9 @@ public class Hand extends CanvasInstrument {
 	protected @Inject MetaShapeCustomiser metaCustomiser;
 	protected @Inject TextSetter textSetter;
 
+	/** Translates the selected shapes by drag-and-drop. */
+	private DnD2Translate dnd2Translate;
+
 	public Hand() {
 		super();
 	}
@@ -47,7 +54,8 @@ public class Hand extends CanvasInstrument {
 	protected void initialiseInteractors() throws InstantiationException, IllegalAccessException {
 		addInteractor(new Press2Select(this));
 		// addInteractor(new DnD2Select(this))
-		// addInteractor(new DnD2Translate(this))
+		dnd2Translate = new DnD2Translate(this);
+		addInteractor(dnd2Translate);
 		// addInteractor(new DnD2MoveViewport(canvas, this))
 		// addInteractor(new DoubleClick2InitTextSetter(this))
 		addInteractor(new CtrlA2SelectAllShapes(this));
@@ -65,6 +73,9 @@ public class Hand extends CanvasInstrument {
 		// The rectangle used for the interim feedback of the selection is
 		// removed.
 		// canvas.setTempUserSelectionBorder(null);
+		if(dnd2Translate != null)
+			dnd2Translate.stopPreview();
+		canvas.clearPreview();
 		canvas.setCursor(Cursor.DEFAULT);
 	}
 
@@ -105,6 +116,74 @@ public class Hand extends CanvasInstrument {
 		}
 	}
 
+	/**
+	 * Translates the selected shapes by drag-and-drop. The action is not executed during the DnD: the views of the
+	 * selected shapes are translated (see Canvas::previewTranslation) and the shapes are translated once, at the end
+	 * of the DnD, by the action (registered and thus undoable as any other action).
+	 * The pointer may move several times between two JavaFX pulses: the preview uses the last translation only,
+	 * once per pulse.
+	 */
+	private static class DnD2Translate extends JfxInteractor<TranslateShapes, DnD, Hand> {
+		/** The translation of the last update of the action. */
+		private double tx;
+		private double ty;
+		/** True if the translation changed since the last preview. */
+		private boolean pending;
+		/** Previews the last translation once per pulse. */
+		private final AnimationTimer previewer;
+
+		DnD2Translate(final Hand hand) throws InstantiationException, IllegalAccessException {
+			super(hand, false, TranslateShapes.class, DnD.class, hand.canvas);
+			previewer = new AnimationTimer() {
+				@Override
+				public void handle(final long now) {
+					if(pending) {
+						pending = false;
+						instrument.canvas.previewTranslation(tx, ty);
+					}
+				}
+			};
+		}
+
+		@Override
+		public void initAction() {
+			action.setDrawing(instrument.canvas.getDrawing());
+			action.setShape(instrument.canvas.getDrawing().getSelection().duplicateDeep(false));
+			tx = 0.0;
+			ty = 0.0;
+			pending = false;
+		}
+
+		@Override
+		public void updateAction() {
+			final double zoom = instrument.canvas.getZoom();
+			tx = (interaction.getEndPt().getX() - interaction.getStartPt().getX()) / zoom;
+			ty = (interaction.getEndPt().getY() - interaction.getStartPt().getY()) / zoom;
+			action.setTx(tx);
+			action.setTy(ty);
+			pending = true;
+		}
+
+		@Override
+		public void interimFeedback() {
+			instrument.canvas.setCursor(Cursor.MOVE);
+			previewer.start();
+		}
+
+		/** Stops previewing the translation: the pending translation, if any, is dropped. */
+		void stopPreview() {
+			previewer.stop();
+			pending = false;
+		}
+
+		@Override
+		public boolean isConditionRespected() {
+			final Object startObject = interaction.getStartObject();
+			return interaction.getButton() == MouseButton.PRIMARY && !instrument.canvas.getDrawing().getSelection().isEmpty() &&
+					startObject instanceof Node && ((Node)startObject).getParent() instanceof ViewShape<?, ?>;
+		}
+	}
+
 	private static class CtrlA2SelectAllShapes extends JfxInteractor<SelectShapes, KeysPressure, Hand> {
 		CtrlA2SelectAllShapes(final Hand hand) throws InstantiationException, IllegalAccessException {
 			super(hand, false, SelectShapes.class, KeysPressure.class, hand.canvas);
@@ -178,42 +257,6 @@ public class Hand extends CanvasInstrument {
 //
 //
 //
-// /**
-// * This link allows to translate the selected shapes.
-// */
-// private sealed class DnD2Translate(hand : Hand) extends
-// InteractorImpl[TranslateShapes, DnD, Hand](hand, true,
-// classOf[TranslateShapes], classOf[DnD]) {
-// override def initAction() {
-// action.setDrawing(instrument.canvas.getDrawing)
-// action.setShape(instrument.canvas.getDrawing.getSelection.duplicateDeep(false))
-// }
-//
-//
-// override def updateAction() {
-// val startPt = instrument.getAdaptedGridPoint(interaction.getStartPt)
-// val endPt = instrument.getAdaptedGridPoint(interaction.getEndPt)
-//
-// action.setTx(endPt.getX - startPt.getX)
-// action.setTy(endPt.getY - startPt.getY)
-// }
-//
-// override def isConditionRespected: Boolean = {
-// val startObject = interaction.getStartObject
-// val button = interaction.getButton
-// return !instrument.canvas.getDrawing.getSelection.isEmpty &&
-// (startObject==instrument.canvas && button==MouseEvent.BUTTON3 ||
-// startObject.isInstanceOf[IViewShape] && (button==MouseEvent.BUTTON1 ||
-// button==MouseEvent.BUTTON3))
-// }
-//
-//
-// override def interimFeedback() {
-// super.interimFeedback()
-// instrument.canvas.setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR))
-// }
-// }
-//
 // private sealed class DnD2Select(hand : Hand) extends
 // InteractorImpl[SelectShapes, DnDWithKeys, Hand](hand, true,
 // classOf[SelectShapes], classOf[DnDWithKeys]) {
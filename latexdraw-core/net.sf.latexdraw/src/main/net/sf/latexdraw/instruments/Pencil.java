@@ -123,8 +123,8 @@ public class Pencil extends CanvasInstrument {
 	public IShape setShapeParameters(final IShape shape) {
 		if(shape instanceof IModifiablePointsShape&&!(shape instanceof IFreehand)) {
 			final IModifiablePointsShape mod = (IModifiablePointsShape)shape;
-			mod.addPoint(ShapeFactory.createPoint());
-			mod.addPoint(ShapeFactory.createPoint());
+			mod.addPoint(0., 0.);
+			mod.addPoint(0., 0.);
 		}
 
 		shape.copy(getGroupParams());
@@ -265,7 +265,7 @@ public class Pencil extends CanvasInstrument {
 // case sq:ISquaredShape =>
 // sq.setPosition(pt.getX-1, pt.getY-1)
 // sq.setWidth(2.0)
-// case fh:IFreehand => fh.addPoint(ShapeFactory.createPoint(pt.getX, pt.getY))
+// case fh:IFreehand => fh.addPoint(pt.getX, pt.getY)
 // case _ => shape.translate(pt.getX, pt.getY)
 // }
 // case _ =>
@@ -298,7 +298,7 @@ public class Pencil extends CanvasInstrument {
 // val lastPoint = fh.getPtAt(-1)
 // if(!LNumber.equalsDouble(lastPoint.getX, endPt.getX, 0.0001) &&
 // !LNumber.equalsDouble(lastPoint.getY, endPt.getY, 0.0001))
-// fh.addPoint(endPt)
+// fh.addPoint(endPt.getX, endPt.getY)
 // case rec:IRectangularShape =>
 // updateShapeFromDiag(rec, startPt, endPt)
 // shape.setModified(true)
@@ -63,6 +63,9 @@ public class PSFunctionParser {
 
 	private final Map<String, PSCmd> factoryMap;
 
+	/** The compiled version of the commands. Null if the commands cannot be compiled. */
+	private PSFunctionProgram program;
+
 	/**
 	 * Creates and parser from postscript functions.
 	 * 
@@ -83,6 +86,7 @@ public class PSFunctionParser {
 
 		initFactoryMap();
 		parseFunction();
+		program = PSFunctionProgram.compile(commands);
 	}
 
 	private void initFactoryMap() {
@@ -122,6 +126,9 @@ public class PSFunctionParser {
 	 *             division by 0).
 	 */
 	public double getY(final double x) throws InvalidFormatPSFunctionException {
+		if(program!=null)
+			return program.eval(x);
+
 		final Deque<Double> stack = new ArrayDeque<>();
 
 		commands.forEach(cmd -> cmd.execute(stack, x));
@@ -132,6 +139,52 @@ public class PSFunctionParser {
 		return stack.pop();
 	}
 
+	/**
+	 * Computes the Y-coordinates of regularly spaced X-coordinates.
+	 * 
+	 * @param minX
+	 *            The first X-coordinate.
+	 * @param step
+	 *            The gap between two X-coordinates.
+	 * @param ys
+	 *            The array to fill with the computed Y-coordinates: its length
+	 *            defines the number of points to compute.
+	 * @return The given array.
+	 * @throws InvalidFormatPSFunctionException
+	 *             If the function is not correct.
+	 * @throws ArithmeticException
+	 *             If an error occurs during the computation of the points (e.g.
+	 *             division by 0).
+	 * @since 4.0
+	 */
+	public double[] getY(final double minX, final double step, final double[] ys) throws InvalidFormatPSFunctionException {
+		for(int i=0; i<ys.length; i++)
+			ys[i] = getY(minX+i*step);
+		return ys;
+	}
+
+	/**
+	 * Computes the Y-coordinates of the given X-coordinates.
+	 * 
+	 * @param xs
+	 *            The X-coordinates.
+	 * @param ys
+	 *            The array to fill with the computed Y-coordinates. Must be at
+	 *            least as long as xs.
+	 * @return The given array ys.
+	 * @throws InvalidFormatPSFunctionException
+	 *             If the function is not correct.
+	 * @throws ArithmeticException
+	 *             If an error occurs during the computation of the points (e.g.
+	 *             division by 0).
+	 * @since 4.0
+	 */
+	public double[] getY(final double[] xs, final double[] ys) throws InvalidFormatPSFunctionException {
+		for(int i=0; i<xs.length; i++)
+			ys[i] = getY(xs[i]);
+		return ys;
+	}
+
 	/**
 	 * Parses the function.
 	 * 
@@ -0,0 +1,197 @@
+package net.sf.latexdraw.parsers.ps;
+
+import java.util.List;
+
+import net.sf.latexdraw.util.LNumber;
+
+/**
+ * A post-fixed PS function compiled into an array of op-codes and an array of operands.<br>
+ * The evaluation works on a primitive operand stack so that no object is allocated
+ * while computing the points of a function.<br>
+ * Instances are not thread-safe: the operand stack is reused between evaluations.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-03<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+final class PSFunctionProgram {
+	private static final int OP_VALUE = 0;
+	private static final int OP_X = 1;
+	private static final int OP_ADD = 2;
+	private static final int OP_SUB = 3;
+	private static final int OP_MUL = 4;
+	private static final int OP_DIV = 5;
+	private static final int OP_IDIV = 6;
+	private static final int OP_MOD = 7;
+	private static final int OP_EXP = 8;
+	private static final int OP_NEG = 9;
+	private static final int OP_ABS = 10;
+	private static final int OP_FLOOR = 11;
+	private static final int OP_CEILING = 12;
+	private static final int OP_LOG = 13;
+	private static final int OP_SIN = 14;
+	private static final int OP_COS = 15;
+	private static final int OP_EXCH = 16;
+	private static final int OP_DUP = 17;
+	private static final int OP_POP = 18;
+	private static final int OP_CLEAR = 19;
+	private static final int OP_COUNT = 20;
+	private static final int OP_UNSUPPORTED = 21;
+	private static final int OP_UNKNOWN = -1;
+
+	/**
+	 * Compiles the given commands.
+	 * @param commands The commands of the function.
+	 * @return The compiled function or null if a command cannot be compiled (e.g. a command provided by a sub-class of the parser).
+	 */
+	static PSFunctionProgram compile(final List<PSArithemticCommand> commands) {
+		final int size = commands.size();
+		final int[] ops = new int[size];
+		final double[] values = new double[size];
+
+		for(int i=0; i<size; i++) {
+			final PSArithemticCommand cmd = commands.get(i);
+			ops[i] = getOpCode(cmd);
+			if(ops[i]==OP_UNKNOWN)
+				return null;
+			if(ops[i]==OP_VALUE)
+				values[i] = ((PSValue)cmd).value;
+		}
+
+		return new PSFunctionProgram(ops, values);
+	}
+
+	private static int getOpCode(final PSArithemticCommand cmd) {
+		// The command classes are matched exactly since a sub-class may change the behaviour of the command.
+		if(cmd==null) return OP_UNSUPPORTED;
+		final Class<?> clazz = cmd.getClass();
+		if(clazz==PSValue.class) return OP_VALUE;
+		if(clazz==PSPlotXVariable.class) return OP_X;
+		if(clazz==PSAddCommand.class) return OP_ADD;
+		if(clazz==PSSubCommand.class) return OP_SUB;
+		if(clazz==PSMulCommand.class) return OP_MUL;
+		if(clazz==PSDivCommand.class) return OP_DIV;
+		if(clazz==PSIDivCommand.class) return OP_IDIV;
+		if(clazz==PSModCommand.class) return OP_MOD;
+		if(clazz==PSExpCommand.class) return OP_EXP;
+		if(clazz==PSNegCommand.class) return OP_NEG;
+		if(clazz==PSAbsCommand.class) return OP_ABS;
+		if(clazz==PSFloorCommand.class) return OP_FLOOR;
+		if(clazz==PSCeilingCommand.class) return OP_CEILING;
+		if(clazz==PSLogCommand.class) return OP_LOG;
+		if(clazz==PSSinCommand.class) return OP_SIN;
+		if(clazz==PSCosCommand.class) return OP_COS;
+		if(clazz==PSExchCommand.class) return OP_EXCH;
+		if(clazz==PSDupCommand.class) return OP_DUP;
+		if(clazz==PSPopCommand.class) return OP_POP;
+		if(clazz==PSClearCommand.class) return OP_CLEAR;
+		if(clazz==PSCountCommand.class) return OP_COUNT;
+		return OP_UNKNOWN;
+	}
+
+
+	/** The op-codes of the function. */
+	private final int[] ops;
+
+	/** The operands of the OP_VALUE op-codes (indexed as the op-codes). */
+	private final double[] values;
+
+	/** The operand stack. Each op-code pushes at most one value so that the stack cannot overflow. */
+	private final double[] stack;
+
+
+	private PSFunctionProgram(final int[] opCodes, final double[] operands) {
+		super();
+		ops = opCodes;
+		values = operands;
+		stack = new double[Math.max(1, opCodes.length)];
+	}
+
+
+	/**
+	 * Evaluates the function.
+	 * @param x The X-coordinate used to compute the Y.
+	 * @return The Y-coordinate.
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If an error occurs during the computation (e.g. division by 0).
+	 */
+	double eval(final double x) throws InvalidFormatPSFunctionException {
+		final double[] st = stack;
+		int top = 0;
+		double a;
+
+		for(int i=0, size=ops.length; i<size; i++) {
+			switch(ops[i]) {
+				case OP_VALUE: st[top++] = values[i]; break;
+				case OP_X: st[top++] = x; break;
+				case OP_ADD: checkSize(top, 2); top--; st[top-1] += st[top]; break;
+				case OP_SUB: checkSize(top, 2); top--; st[top-1] -= st[top]; break;
+				case OP_MUL: checkSize(top, 2); top--; st[top-1] *= st[top]; break;
+				case OP_DIV:
+					checkSize(top, 2);
+					a = checkNotZero(st[--top]);
+					st[top-1] /= a;
+					break;
+				case OP_IDIV:
+					checkSize(top, 2);
+					a = checkNotZero(st[--top]);
+					st[top-1] = Math.floor(st[top-1]/a);
+					break;
+				case OP_MOD:
+					checkSize(top, 2);
+					a = checkNotZero(st[--top]);
+					st[top-1] %= a;
+					break;
+				case OP_EXP: checkSize(top, 2); top--; st[top-1] = Math.pow(st[top-1], st[top]); break;
+				case OP_NEG: checkSize(top, 1); st[top-1] = -st[top-1]; break;
+				case OP_ABS: checkSize(top, 1); st[top-1] = Math.abs(st[top-1]); break;
+				case OP_FLOOR: checkSize(top, 1); st[top-1] = Math.floor(st[top-1]); break;
+				case OP_CEILING: checkSize(top, 1); st[top-1] = Math.ceil(st[top-1]); break;
+				case OP_LOG: checkSize(top, 1); st[top-1] = Math.log10(st[top-1]); break;
+				case OP_SIN: checkSize(top, 1); st[top-1] = Math.sin(Math.toRadians(st[top-1])); break;
+				case OP_COS: checkSize(top, 1); st[top-1] = Math.cos(Math.toRadians(st[top-1])); break;
+				case OP_EXCH:
+					checkSize(top, 2);
+					a = st[top-1];
+					st[top-1] = st[top-2];
+					st[top-2] = a;
+					break;
+				case OP_DUP: checkSize(top, 1); st[top] = st[top-1]; top++; break;
+				case OP_POP: checkSize(top, 1); top--; break;
+				case OP_CLEAR: top = 0; break;
+				case OP_COUNT: st[top] = top; top++; break;
+				default: throw new InvalidFormatPSFunctionException("Unsupported command"); //$NON-NLS-1$
+			}
+		}
+
+		if(top==0)
+			throw new InvalidFormatPSFunctionException();
+
+		return st[top-1];
+	}
+
+
+	private static void checkSize(final int size, final int expected) throws InvalidFormatPSFunctionException {
+		if(size<expected)
+			throw new InvalidFormatPSFunctionException();
+	}
+
+
+	private static double checkNotZero(final double value) {
+		if(LNumber.equalsDouble(value, 0.0))
+			throw new ArithmeticException();
+		return value;
+	}
+}
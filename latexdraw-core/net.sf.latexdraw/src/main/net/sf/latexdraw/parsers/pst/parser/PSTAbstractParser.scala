@@ -83,6 +83,22 @@ trait PSTAbstractParser extends TokenParsers {
 	}
 
 
+	/**
+	 * Applies the parser produced by the given function to a new context. The context is created only when the next
+	 * token is one of the given tokens (e.g. the names of the parsed command): the alternatives that cannot match do not
+	 * create any context.
+	 */
+	def withNewContext[T](tokens : String*)(newCtx : => PSTContext)(p : PSTContext => Parser[T]) : Parser[T] = {
+		val names = tokens.toSet
+		val msg = tokens.head + " expected"
+		Parser{ in =>
+			if(!in.atEnd && names.contains(in.first.chars))
+				p(newCtx)(in)
+			else Failure(msg, in)
+		}
+	}
+
+
 	/**
 	 * For debugging purpose.
 	 */
@@ -34,18 +34,33 @@ trait PSTCodeParser extends PSTAbstractParser
 
 	override def parsePSTCode(ctx : PSTContext) : Parser[IGroup] =
 		rep(consume(parsePSTBlock(ctx, ctx.isPsCustom))() | consume(parsePspictureBlock(ctx))() | consume(parseCenterBlock(ctx))() | consume(parsePsset(ctx))() |
-			consume(parsePsellipse(new PSTContext(ctx)))() | consume(parsePsframe(new PSTContext(ctx)))() |
-			consume(parsePsdiamond(new PSTContext(ctx)))() | consume(parsePstriangle(new PSTContext(ctx)))() |
-			consume(parsePsline(new PSTContext(ctx)))() | consume(parserQline(new PSTContext(ctx)))() |
-			consume(parsePscircle(new PSTContext(ctx)))() | consume(parseQdisk(new PSTContext(ctx)))() |
-			consume(parsePspolygon(new PSTContext(ctx)))() | consume(parsePsbezier(new PSTContext(ctx)))() |
-			consume(parsePsdot(new PSTContext(ctx)))() | consume(parsePsdots(new PSTContext(ctx)))() | consume(parsePsaxes(new PSTContext(ctx)))() |
-			consume(parsePsgrid(new PSTContext(ctx)))() | consume(parseRput(ctx))() | consume(parseScalebox(ctx))() | consume(parsePsscalebox(ctx))() |
-			consume(parsePswedge(new PSTContext(ctx)))() | consume(parsePsarc(new PSTContext(ctx)))() | consume(parsePsarcn(new PSTContext(ctx)))() |
-			consume(parsePsellipticarc(new PSTContext(ctx)))() | consume(parsePsellipticarcn(new PSTContext(ctx)))() |
-			consume(parseParabola(new PSTContext(ctx)))() | consume(parsePscurve(new PSTContext(ctx)))() | consume(parsePsecurve(new PSTContext(ctx)))() |
-			consume(parsePsccurve(new PSTContext(ctx)))() | consume(parsePSTPlotCommands(new PSTContext(ctx)))() | consume(parseNewpsobject(ctx))() |
-			consume(parseNewpsstyle(ctx))() | consume(parsePscustom(new PSTContext(ctx)))() | consume(parseDefineColor(ctx))() |
+			withNewContext("\\psellipse", "\\psellipse*")(new PSTContext(ctx))(parsePsellipse) |
+			withNewContext("\\psframe", "\\psframe*")(new PSTContext(ctx))(parsePsframe) |
+			withNewContext("\\psdiamond", "\\psdiamond*")(new PSTContext(ctx))(parsePsdiamond) |
+			withNewContext("\\pstriangle", "\\pstriangle*")(new PSTContext(ctx))(parsePstriangle) |
+			withNewContext("\\psline", "\\psline*")(new PSTContext(ctx))(parsePsline) |
+			withNewContext("\\qline")(new PSTContext(ctx))(parserQline) |
+			withNewContext("\\pscircle", "\\pscircle*")(new PSTContext(ctx))(parsePscircle) |
+			withNewContext("\\qdisk")(new PSTContext(ctx))(parseQdisk) |
+			withNewContext("\\pspolygon", "\\pspolygon*")(new PSTContext(ctx))(parsePspolygon) |
+			withNewContext("\\psbezier", "\\psbezier*")(new PSTContext(ctx))(parsePsbezier) |
+			withNewContext("\\psdot", "\\psdot*")(new PSTContext(ctx))(parsePsdot) |
+			withNewContext("\\psdots", "\\psdots*")(new PSTContext(ctx))(parsePsdots) |
+			withNewContext("\\psaxes")(new PSTContext(ctx))(parsePsaxes) |
+			withNewContext("\\psgrid")(new PSTContext(ctx))(parsePsgrid) |
+			consume(parseRput(ctx))() | consume(parseScalebox(ctx))() | consume(parsePsscalebox(ctx))() |
+			withNewContext("\\pswedge", "\\pswedge*")(new PSTContext(ctx))(parsePswedge) |
+			withNewContext("\\psarc", "\\psarc*")(new PSTContext(ctx))(parsePsarc) |
+			withNewContext("\\psarcn", "\\psarcn*")(new PSTContext(ctx))(parsePsarcn) |
+			withNewContext("\\psellipticarc", "\\psellipticarc*")(new PSTContext(ctx))(parsePsellipticarc) |
+			withNewContext("\\psellipticarcn", "\\psellipticarcn*")(new PSTContext(ctx))(parsePsellipticarcn) |
+			withNewContext("\\parabola", "\\parabola*")(new PSTContext(ctx))(parseParabola) |
+			withNewContext("\\pscurve", "\\pscurve*")(new PSTContext(ctx))(parsePscurve) |
+			withNewContext("\\psecurve", "\\psecurve*")(new PSTContext(ctx))(parsePsecurve) |
+			withNewContext("\\psccurve", "\\psccurve*")(new PSTContext(ctx))(parsePsccurve) |
+			withNewContext(plotCommands:_*)(new PSTContext(ctx))(parsePSTPlotCommands) | consume(parseNewpsobject(ctx))() |
+			consume(parseNewpsstyle(ctx))() | withNewContext("\\pscustom", "\\pscustom*")(new PSTContext(ctx))(parsePscustom) |
+			consume(parseDefineColor(ctx))() |
 			consume(parseIncludeGraphics(ctx))() | consume(parsePSCustomCommands(ctx))() | consume(parsePsFrameboxCmds(ctx))() | consume(parsetextCommands(ctx))() |
 			consume(parseText(ctx))()) ^^ {
 		case list =>
@@ -143,14 +158,14 @@ trait PSTCodeParser extends PSTAbstractParser
 
 
 	/** Parses a PST block surrounded with brackets. */
-	override def parsePSTBlock(ctx : PSTContext, isPsCustomBlock : Boolean) : Parser[IGroup] = {
-		val newCtx = new PSTContext(ctx, isPsCustomBlock)
-		"{" ~ parsePSTCode(newCtx) ~ "}" ^^ {
-			case _ ~ shapes ~ _ =>
-			shapes.getShapes.addAll(0, checkTextParsed(newCtx))
-			shapes
+	override def parsePSTBlock(ctx : PSTContext, isPsCustomBlock : Boolean) : Parser[IGroup] =
+		withNewContext("{")(new PSTContext(ctx, isPsCustomBlock)) { newCtx =>
+			"{" ~ parsePSTCode(newCtx) ~ "}" ^^ {
+				case _ ~ shapes ~ _ =>
+				shapes.getShapes.addAll(0, checkTextParsed(newCtx))
+				shapes
+			}
 		}
-	}
 
 
 	override def parseDefineColor(ctx:PSTContext) : Parser[Unit] = "\\definecolor" ~ parseBracket(ctx) ~ parseBracket(ctx) ~ parseBracket(ctx) ^^ {
@@ -190,14 +205,15 @@ trait PSTCodeParser extends PSTAbstractParser
 	}
 
 
-	override def parseRput(ctx : PSTContext) : Parser[IGroup] = {
-		val ctx2 = new PSTContext(ctx)// Must create an other context not to modify the current one.
-		("\\rput*" | "\\rput") ~ opt(parseRputTextPosition(ctx2)) ~ opt(parseRputRotationAngle(ctx2)) ~
-		parseCoord(ctx2) ~ parsePSTBlock(ctx2, false) ^^ { case _ ~ _ ~ rot ~ coord ~ figs =>
-			figs.getShapes.forEach(_.translate(coord.x * IShape.PPC, -coord.y * IShape.PPC))
-			figs
+	override def parseRput(ctx : PSTContext) : Parser[IGroup] =
+		// Must create an other context not to modify the current one.
+		withNewContext("\\rput*", "\\rput")(new PSTContext(ctx)) { ctx2 =>
+			("\\rput*" | "\\rput") ~ opt(parseRputTextPosition(ctx2)) ~ opt(parseRputRotationAngle(ctx2)) ~
+			parseCoord(ctx2) ~ parsePSTBlock(ctx2, false) ^^ { case _ ~ _ ~ rot ~ coord ~ figs =>
+				figs.getShapes.forEach(_.translate(coord.x * IShape.PPC, -coord.y * IShape.PPC))
+				figs
+			}
 		}
-	}
 
 
 	private def parseRputRotationAngle(ctx : PSTContext) : Parser[Unit] = parseBracket(ctx) ^^ {
@@ -218,12 +234,12 @@ trait PSTCodeParser extends PSTAbstractParser
 		"\\begin" ~> "{" ~> "center" ~> "}" ~> parsePSTCode(ctx) <~ "\\end" <~ "{" <~ "center" <~ "}"
 
 
-	override def parsePspictureBlock(ctx : PSTContext) : Parser[IGroup] = {
-		val ctx2 = new PSTContext(ctx, false)
-		(parseBeginPspicture(ctx2, false) ~> parsePSTCode(ctx2) <~ "\\end" <~ "{" <~ "pspicture" <~ "}") |
-		(parseBeginPspicture(ctx2, true) ~> parsePSTCode(ctx2) <~ "\\end" <~ "{" <~ "pspicture*" <~ "}") |
-		(parsePspicture(ctx2) ~> parsePSTCode(ctx2) <~ "\\endpspicture")
-	}
+	override def parsePspictureBlock(ctx : PSTContext) : Parser[IGroup] =
+		withNewContext("\\begin", "\\pspicture")(new PSTContext(ctx, false)) { ctx2 =>
+			(parseBeginPspicture(ctx2, false) ~> parsePSTCode(ctx2) <~ "\\end" <~ "{" <~ "pspicture" <~ "}") |
+			(parseBeginPspicture(ctx2, true) ~> parsePSTCode(ctx2) <~ "\\end" <~ "{" <~ "pspicture*" <~ "}") |
+			(parsePspicture(ctx2) ~> parsePSTCode(ctx2) <~ "\\endpspicture")
+		}
 
 
 	private def parsePspicture(ctx : PSTContext) : Parser[Any] =
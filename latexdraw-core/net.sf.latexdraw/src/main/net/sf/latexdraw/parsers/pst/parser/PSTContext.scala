@@ -86,9 +86,138 @@ import fontFamily._
 import fontSerie._
 
 
+/**
+ * The values of the PST parameters of a PST context. These values are shared by a context and the contexts
+ * created from it until one of them modifies a parameter: the values are then copied (copy-on-write).
+ * The values are immutable objects or objects never modified in place so that a shallow copy is enough.<br>
+ *<br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-06<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+private[parser] final class PSTParameters extends Cloneable {
+	var axesStyle : AxesStyle = PSTricksConstants.DEFAULT_AXES_STYLE
+	var arrowStyle : (ArrowStyle, ArrowStyle) = Tuple2(ArrowStyle.NONE, ArrowStyle.NONE)
+	var arrowSize : (Double, Double) = Tuple2(PSTricksConstants.DEFAULT_ARROW_SIZE_DIM, PSTricksConstants.DEFAULT_ARROW_SIZE_NUM)
+	var arrowLgth : Double = PSTricksConstants.DEFAULT_ARROW_LENGTH
+	var arrowInset : Double = PSTricksConstants.DEFAULT_ARROW_INSET
+	var arrowTBar : (Double, Double) = Tuple2(PSTricksConstants.DEFAULT_ARROW_TBARSIZE_DIM, PSTricksConstants.DEFAULT_ARROW_TBARSIZE_NUM)
+	var arrowBrLgth : Double = PSTricksConstants.DEFAULT_ARROW_BRACKET_LGTH
+	var arrowrBrLgth : Double = PSTricksConstants.DEFAULT_ARROW_RBRACKET_LGTH
+	var arrowDotSize : (Double, Double) = Tuple2(PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM, PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM)
+	var arrowScale : (Double, Double) = Tuple2(PSTricksConstants.DEFAULT_ARROW_SCALE1, PSTricksConstants.DEFAULT_ARROW_SCALE2)
+	var arcSep : Double = PSTricksConstants.DEFAULT_ARC_SEP
+	var arcSepA : Double = PSTricksConstants.DEFAULT_ARC_SEP_A
+	var arcSepB : Double = PSTricksConstants.DEFAULT_ARC_SEP_B
+	var boxSep : Boolean = PSTricksConstants.DEFAULT_BOX_SEP
+	var borderColor : Color = PSTricksConstants.DEFAULT_BORDER_COLOR
+	var borderPos : BorderPos = PSTricksConstants.DEFAULT_BORDERS_POS
+	var border : Double = PSTricksConstants.DEFAULT_BORDER
+	var curvature : (Double, Double, Double) = Tuple3(PSTricksConstants.DEFAULT_CURVATURE_NUM1, PSTricksConstants.DEFAULT_CRUVATURE_NUM2, PSTricksConstants.DEFAULT_CRUVATURE_NUM3)
+	var dxIncrement : Double = PSTricksConstants.DEFAULT_DX
+	var dyIncrement : Double = PSTricksConstants.DEFAULT_DY
+	var dxLabelDist : Double = PSTricksConstants.DEFAULT_DIST_X_LABEL
+	var dyLabelDist : Double = PSTricksConstants.DEFAULT_DIST_Y_LABEL
+	var dotStyle : DotStyle = PSTricksConstants.DEFAULT_DOT_STYLE
+	var dotScale : (Double, Double) = Tuple2(PSTricksConstants.DEFAULT_DOT_SCALE1, PSTricksConstants.DEFAULT_DOT_SCALE2)
+	var dotAngle : Double = PSTricksConstants.DEFAULT_DOT_ANGLE
+	var dotSep : Double = PSTricksConstants.DEFAULT_DOT_STEP
+	var dash : (Double, Double) = Tuple2(PSTricksConstants.DEFAULT_DASH_BLACK, PSTricksConstants.DEFAULT_DASH_WHITE)
+	var dbleLine : Boolean = PSTricksConstants.DEFAULT_DOUBLE_LINE
+	var dbleSep : Double = PSTricksConstants.DEFAULT_DOUBLE_SEP
+	var dbleColor : Color = PSTricksConstants.DEFAULT_DOUBLE_COLOR
+	var degrees : Double = PSTricksConstants.DEFAULT_DEGREES
+	var frameSep : Double = PSTricksConstants.DEFAULT_FRAME_SEP
+	var frameArc : Double = PSTricksConstants.DEFAULT_FRAME_ARC
+	var fillStyle : FillingStyle = PSTricksConstants.DEFAULT_FILL_STYLE
+	var fillColor : Color = PSTricksConstants.DEFAULT_FILL_COLOR
+	var gridWidth : Double = PSTricksConstants.DEFAULT_GRID_WIDTH
+	var gridLabel : Double = PSTricksConstants.DEFAULT_GRID_LABEL/PSTricksConstants.CM_VAL_PT
+	var gridDots : Double = PSTricksConstants.DEFAULT_GRIDDOTS
+	var gradAngle : Double = PSTricksConstants.DEFAULT_GRADIENT_ANGLE
+	var gridColor : Color = PSTricksConstants.DEFAULT_GRIDCOLOR
+	var gradMidPoint : Double = PSTricksConstants.DEFAULT_GRADIENT_MID_POINT
+	var gradBegin : Color = PSTricksConstants.DEFAULT_GRADIENT_START_COLOR
+	var gradEnd : Color = PSTricksConstants.DEFAULT_GRADIENT_END_COLOR
+	var gradLines : Int = PSTricksConstants.DEFAULT_GRADIENT_LINES
+	var gangle : Double = PSTricksConstants.DEFAULT_GANGLE
+	var hatchWidth : Double = PSTricksConstants.DEFAULT_HATCH_WIDTH
+	var hatchSep : Double = PSTricksConstants.DEFAULT_HATCH_SEP
+	var hatchCol : Color = PSTricksConstants.DEFAULT_HATCHING_COLOR
+	var hatchAngle : Double = PSTricksConstants.DEFAULT_HATCH_ANGLE
+	var isCornerRel : Boolean = PSTricksConstants.DEFAULT_CORNER_SIZE_RELATIVE
+	var isShadow : Boolean = PSTricksConstants.DEFAULT_SHADOW
+	var lineWidth : Double = PSTricksConstants.DEFAULT_LINE_WIDTH
+	var lineColor : Color = PSTricksConstants.DEFAULT_LINE_COLOR
+	var labels : PlottingStyle = PSTricksConstants.DEFAULT_LABELS_DISPLAYED
+	var lineArc : Double = PSTricksConstants.DEFAULT_LINE_ARC
+	var lineStyle : LineStyle = PSTricksConstants.DEFAULT_LINE_STYLE
+	var ox : Double = PSTricksConstants.DEFAULT_OX
+	var oy : Double = PSTricksConstants.DEFAULT_OY
+	var onRadians : Boolean = PSTricksConstants.DEFAULT_ON_RADIANS
+	var origin : PointUnit = new PointUnit(PSTricksConstants.DEFAULT_ORIGIN.getX, PSTricksConstants.DEFAULT_ORIGIN.getY, "", "")
+	var specialCoor : Boolean = PSTricksConstants.DEFAULT_SPECIAL_COOR
+	var showPoints : Boolean = PSTricksConstants.DEFAULT_SHOW_POINTS
+	var showOrigin : Boolean = PSTricksConstants.DEFAULT_SHOW_ORIGIN
+	var subGridWidth : Double = PSTricksConstants.DEFAULT_SUB_GRID_WIDTH
+	var swapAxes : Boolean = PSTricksConstants.DEFAULT_SWAP_AXES
+	var shadowCol : Color = PSTricksConstants.DEFAULT_SHADOW_COLOR
+	var subGridCol : Color = PSTricksConstants.DEFAULT_SUB_GRID_COLOR
+	var shadowAngle : Double = PSTricksConstants.DEFAULT_SHADOW_ANGLE
+	var shadowSize : Double = PSTricksConstants.DEFAULT_SHADOW_SIZE
+	var subGridDots : Double = PSTricksConstants.DEFAULT_SUBGRIDDOTS
+	var subGridDiv : Double = PSTricksConstants.DEFAULT_SUBGRIDDIV
+	var ticks : PlottingStyle = PSTricksConstants.DEFAULT_TICKS_DISPLAYED
+	var ticksStyle : TicksStyle = PSTricksConstants.DEFAULT_TICKS_STYLE
+	var ticksSize : Double = PSTricksConstants.DEFAULT_TICKS_SIZE
+	var unit : Double = PSTricksConstants.DEFAULT_UNIT
+	var xUnit : Double = PSTricksConstants.DEFAULT_UNIT
+	var yUnit : Double = PSTricksConstants.DEFAULT_UNIT
+	var textColor : Color = DviPsColors.BLACK
+	var shadow : Boolean = PSTricksConstants.DEFAULT_SHADOW
+	var gridlabelcolor : Color = PSTricksConstants.DEFAULT_LABELGRIDCOLOR
+	var isCentered : Boolean = false
+	var pictureSWPt : IPoint = ShapeFactory.createPoint
+	var pictureNEPt : IPoint = ShapeFactory.createPoint
+	var tokenPosition : String = ""
+	var plotStyle : String = "line"
+	var plotPoints : Int = 50
+	var liftpen : Int = 0
+	var textPosition : String = ""
+	var rputAngle : Double = 0.0
+	var parsedTxtNoTxt : Boolean = true
+	var currFontShape : FontShapeVal = fontShape.normal
+	var currFontSerie : FontSerieVal = fontSerie.normal
+	var currFontFamily : FontFamilyVal = fontFamily.rm
+	var opacity : Double = 1.0
+	var strokeopacity : Double = 1.0
+	var polarPlot : Boolean = false
+
+
+	/**
+	 * @return A shallow copy of the parameters.
+	 */
+	def dup() : PSTParameters = super.clone().asInstanceOf[PSTParameters]
+}
+
+
 /**
  * A PST context contains the value of the PST parameters used during the parsing
  * and the creation of PST objects.<br>
+ * A context created from another one shares the parameters of this last until one of the two
+ * contexts sets a parameter: creating a context does not copy its parameters.<br>
  *<br>
  * This file is part of LaTeXDraw<br>
  * Copyright (c) 2005-2014 Arnaud BLOUIN<br>
@@ -106,91 +235,33 @@ import fontSerie._
  * @author Arnaud BLOUIN
  * @version 3.0
  */
-class PSTContext(var axesStyle : AxesStyle, var arrowStyle : (ArrowStyle, ArrowStyle), var arrowSize : (Double, Double),
-		var arrowLgth : Double, var arrowInset : Double, var arrowTBar : (Double, Double),
-		var arrowBrLgth : Double, var arrowrBrLgth : Double, var arrowDotSize : (Double, Double), var arrowScale : (Double, Double),
-		var arcSep : Double, var arcSepA : Double, var arcSepB : Double, var boxSep : Boolean,
-		var borderColor : Color, var borderPos : BorderPos, var border : Double, var curvature : (Double, Double, Double),
-		var dxIncrement : Double, var dyIncrement : Double, var dxLabelDist : Double, var dyLabelDist : Double,
-		var dotStyle : DotStyle, var dotScale : (Double, Double), var dotAngle : Double, var dotSep : Double,
-		var dash : (Double, Double), var dbleLine : Boolean, var dbleSep : Double, var dbleColor : Color,
-		var degrees : Double, var frameSep : Double, var frameArc : Double, var fillStyle : FillingStyle, var fillColor : Color,
-		var gridWidth : Double, var gridLabel : Double, var gridDots : Double, var gradAngle : Double, var gridColor : Color,
-		var gradMidPoint : Double, var gradBegin : Color, var gradEnd : Color, var gradLines : Int, var gangle : Double,
-		var hatchWidth : Double, var hatchSep : Double, var hatchCol : Color, var hatchAngle : Double, var isCornerRel : Boolean, var isShadow : Boolean,
-		var lineWidth : Double, var lineColor : Color, var labels : PlottingStyle, var lineArc : Double,
-		var lineStyle : LineStyle, var ox : Double, var oy : Double, var onRadians : Boolean, var origin : PointUnit, var specialCoor : Boolean,
-		var showPoints : Boolean, var showOrigin : Boolean, var subGridWidth : Double, var swapAxes : Boolean, var shadowCol : Color,
-		var subGridCol : Color, var shadowAngle : Double, var shadowSize : Double, var subGridDots : Double, var subGridDiv : Double,
-		var ticks : PlottingStyle, var ticksStyle : TicksStyle, var ticksSize : Double, var unit : Double, var xUnit : Double,
-		var yUnit : Double, var textColor : Color, var shadow : Boolean, var gridlabelcolor : Color, var isCentered : Boolean,
-		var pictureSWPt : IPoint, var pictureNEPt : IPoint, var tokenPosition : String, var plotStyle : String, var plotPoints : Int,
-		var addfillstyle : FillingStyle, var liftpen : Int, var isPsCustom : Boolean, var textPosition : String,
-		var rputAngle : Double, var parsedTxtNoTxt:Boolean, var currFontShape:FontShapeVal, var currFontSerie:FontSerieVal,
-		var currFontFamily:FontFamilyVal, val psCustomLatestPt : IPoint, var opacity:Double, var strokeopacity:Double, var polarPlot:Boolean) {
+class PSTContext private(private var params : PSTParameters, var isPsCustom : Boolean, val psCustomLatestPt : IPoint,
+		var addfillstyle : FillingStyle) {
+
+	/** True if the parameters are shared with other contexts: they must be copied before being modified. */
+	private var sharedParams = false
 
 	/** Text text parsed in the current context. */
 	var textParsed : String = ""
 
 	def this(psCustom : Boolean) {
-		this(PSTricksConstants.DEFAULT_AXES_STYLE, Tuple2(ArrowStyle.NONE, ArrowStyle.NONE), Tuple2(PSTricksConstants.DEFAULT_ARROW_SIZE_DIM,
-			PSTricksConstants.DEFAULT_ARROW_SIZE_NUM), PSTricksConstants.DEFAULT_ARROW_LENGTH, PSTricksConstants.DEFAULT_ARROW_INSET,
-			Tuple2(PSTricksConstants.DEFAULT_ARROW_TBARSIZE_DIM, PSTricksConstants.DEFAULT_ARROW_TBARSIZE_NUM), PSTricksConstants.DEFAULT_ARROW_BRACKET_LGTH,
-			PSTricksConstants.DEFAULT_ARROW_RBRACKET_LGTH, Tuple2(PSTricksConstants.DEFAULT_ARROW_DOTSIZE_DIM, PSTricksConstants.DEFAULT_ARROW_DOTSIZE_NUM),
-			Tuple2(PSTricksConstants.DEFAULT_ARROW_SCALE1, PSTricksConstants.DEFAULT_ARROW_SCALE2), PSTricksConstants.DEFAULT_ARC_SEP,
-			PSTricksConstants.DEFAULT_ARC_SEP_A, PSTricksConstants.DEFAULT_ARC_SEP_B, PSTricksConstants.DEFAULT_BOX_SEP,
-			PSTricksConstants.DEFAULT_BORDER_COLOR, PSTricksConstants.DEFAULT_BORDERS_POS, PSTricksConstants.DEFAULT_BORDER,
-			Tuple3(PSTricksConstants.DEFAULT_CURVATURE_NUM1, PSTricksConstants.DEFAULT_CRUVATURE_NUM2, PSTricksConstants.DEFAULT_CRUVATURE_NUM3),
-			PSTricksConstants.DEFAULT_DX, PSTricksConstants.DEFAULT_DY, PSTricksConstants.DEFAULT_DIST_X_LABEL, PSTricksConstants.DEFAULT_DIST_Y_LABEL,
-			PSTricksConstants.DEFAULT_DOT_STYLE, Tuple2(PSTricksConstants.DEFAULT_DOT_SCALE1, PSTricksConstants.DEFAULT_DOT_SCALE2),
-			PSTricksConstants.DEFAULT_DOT_ANGLE, PSTricksConstants.DEFAULT_DOT_STEP, Tuple2(PSTricksConstants.DEFAULT_DASH_BLACK,
-			PSTricksConstants.DEFAULT_DASH_WHITE), PSTricksConstants.DEFAULT_DOUBLE_LINE, PSTricksConstants.DEFAULT_DOUBLE_SEP,
-			PSTricksConstants.DEFAULT_DOUBLE_COLOR, PSTricksConstants.DEFAULT_DEGREES, PSTricksConstants.DEFAULT_FRAME_SEP, PSTricksConstants.DEFAULT_FRAME_ARC,
-			PSTricksConstants.DEFAULT_FILL_STYLE, PSTricksConstants.DEFAULT_FILL_COLOR, PSTricksConstants.DEFAULT_GRID_WIDTH,
-			PSTricksConstants.DEFAULT_GRID_LABEL/PSTricksConstants.CM_VAL_PT, PSTricksConstants.DEFAULT_GRIDDOTS, PSTricksConstants.DEFAULT_GRADIENT_ANGLE,
-			PSTricksConstants.DEFAULT_GRIDCOLOR, PSTricksConstants.DEFAULT_GRADIENT_MID_POINT, PSTricksConstants.DEFAULT_GRADIENT_START_COLOR,
-			PSTricksConstants.DEFAULT_GRADIENT_END_COLOR, PSTricksConstants.DEFAULT_GRADIENT_LINES, PSTricksConstants.DEFAULT_GANGLE,
-			PSTricksConstants.DEFAULT_HATCH_WIDTH, PSTricksConstants.DEFAULT_HATCH_SEP, PSTricksConstants.DEFAULT_HATCHING_COLOR,
-			PSTricksConstants.DEFAULT_HATCH_ANGLE, PSTricksConstants.DEFAULT_CORNER_SIZE_RELATIVE, PSTricksConstants.DEFAULT_SHADOW,
-			PSTricksConstants.DEFAULT_LINE_WIDTH, PSTricksConstants.DEFAULT_LINE_COLOR,
-			PSTricksConstants.DEFAULT_LABELS_DISPLAYED, PSTricksConstants.DEFAULT_LINE_ARC, PSTricksConstants.DEFAULT_LINE_STYLE,
-			PSTricksConstants.DEFAULT_OX, PSTricksConstants.DEFAULT_OY, PSTricksConstants.DEFAULT_ON_RADIANS,
-			new PointUnit(PSTricksConstants.DEFAULT_ORIGIN.getX, PSTricksConstants.DEFAULT_ORIGIN.getY, "", ""), PSTricksConstants.DEFAULT_SPECIAL_COOR,
-			PSTricksConstants.DEFAULT_SHOW_POINTS, PSTricksConstants.DEFAULT_SHOW_ORIGIN, PSTricksConstants.DEFAULT_SUB_GRID_WIDTH,
-			PSTricksConstants.DEFAULT_SWAP_AXES, PSTricksConstants.DEFAULT_SHADOW_COLOR, PSTricksConstants.DEFAULT_SUB_GRID_COLOR,
-			PSTricksConstants.DEFAULT_SHADOW_ANGLE, PSTricksConstants.DEFAULT_SHADOW_SIZE, PSTricksConstants.DEFAULT_SUBGRIDDOTS,
-			PSTricksConstants.DEFAULT_SUBGRIDDIV, PSTricksConstants.DEFAULT_TICKS_DISPLAYED, PSTricksConstants.DEFAULT_TICKS_STYLE,
-			PSTricksConstants.DEFAULT_TICKS_SIZE, PSTricksConstants.DEFAULT_UNIT, PSTricksConstants.DEFAULT_UNIT, PSTricksConstants.DEFAULT_UNIT, DviPsColors.BLACK,
-			PSTricksConstants.DEFAULT_SHADOW, PSTricksConstants.DEFAULT_LABELGRIDCOLOR, false, ShapeFactory.createPoint,
-			ShapeFactory.createPoint, "", "line", 50, PSTricksConstants.DEFAULT_FILL_STYLE, 0, psCustom, "", 0, true,
-			fontShape.normal, fontSerie.normal, fontFamily.rm, ShapeFactory.createPoint, 1.0, 1.0, false)
+		this(new PSTParameters, psCustom, ShapeFactory.createPoint, PSTricksConstants.DEFAULT_FILL_STYLE)
 	}
 
 
 	/**
-	 * Creates the PST context by copying the given one.
+	 * Creates the PST context from the given one. The parameters of the given context are shared
+	 * until one of the two contexts modifies them.
 	 */
 	def this(model : PSTContext, psCustom : Boolean) {
-		this(model.axesStyle, Tuple2(model.arrowStyle._1, model.arrowStyle._2), Tuple2(model.arrowSize._1, model.arrowSize._2), model.arrowLgth, model.arrowInset,
-			Tuple2(model.arrowTBar._1, model.arrowTBar._2), model.arrowBrLgth, model.arrowrBrLgth, Tuple2(model.arrowDotSize._1, model.arrowDotSize._2),
-			Tuple2(model.arrowScale._1, model.arrowScale._2), model.arcSep, model.arcSepA, model.arcSepB, model.boxSep, model.borderColor, model.borderPos,
-			model.border, Tuple3(model.curvature._1, model.curvature._2, model.curvature._3), model.dxIncrement, model.dyIncrement, model.dxLabelDist,
-			model.dyLabelDist, model.dotStyle,  Tuple2(model.dotScale._1,  model.dotScale._2), model.dotAngle, model.dotSep, Tuple2(model.dash._1, model.dash._2),
-			model.dbleLine, model.dbleSep, model.dbleColor, model.degrees,
-			  model.frameSep, model.frameArc, model.fillStyle, model.fillColor, model.gridWidth, model.gridLabel, model.gridDots, model.gradAngle,
-			  model.gridColor, model.gradMidPoint, model.gradBegin, model.gradEnd, model.gradLines, model.gangle, model.hatchWidth, model.hatchSep,
-			  model.hatchCol, model.hatchAngle, model.isCornerRel, model.isShadow, model.lineWidth, model.lineColor,
-			  model.labels, model.lineArc, model.lineStyle, model.ox, model.oy, model.onRadians, model.origin.dup,
-			  model.specialCoor, model.showPoints, model.showOrigin, model.subGridWidth, model.swapAxes, model.shadowCol, model.subGridCol,
-			  model.shadowAngle, model.shadowSize, model.subGridDots, model.subGridDiv, model.ticks, model.ticksStyle, model.ticksSize, model.unit,
-			  model.xUnit, model.yUnit, model.textColor, model.shadow, model.gridlabelcolor, model.isCentered, ShapeFactory.createPoint(model.pictureSWPt),
-			  ShapeFactory.createPoint(model.pictureNEPt), model.tokenPosition, model.plotStyle, model.plotPoints, model.fillStyle, model.liftpen, psCustom,
-			  model.textPosition, model.rputAngle, model.parsedTxtNoTxt, model.currFontShape, model.currFontSerie, model.currFontFamily,
-			  ShapeFactory.createPoint(model.psCustomLatestPt), model.opacity, model.strokeopacity, model.polarPlot)
-
-			  if(model.currFontShape!=fontShape.normal) textParsed += model.currFontShape.equivCmd
-			  if(model.currFontSerie!=fontSerie.normal) textParsed += model.currFontSerie.equivCmd
-			  if(model.currFontFamily!=fontFamily.rm) textParsed += model.currFontFamily.equivCmd
+		// The latest point of a pscustom block is modified in place so that a pscustom context must have its own point.
+		this(model.params, psCustom, if(psCustom) ShapeFactory.createPoint(model.psCustomLatestPt) else model.psCustomLatestPt, model.fillStyle)
+		sharedParams = true
+		model.sharedParams = true
+
+		if(model.currFontShape!=fontShape.normal) textParsed += model.currFontShape.equivCmd
+		if(model.currFontSerie!=fontSerie.normal) textParsed += model.currFontSerie.equivCmd
+		if(model.currFontFamily!=fontFamily.rm) textParsed += model.currFontFamily.equivCmd
 	}
 
 	def this(model:PSTContext) {
@@ -198,6 +269,306 @@ class PSTContext(var axesStyle : AxesStyle, var arrowStyle : (ArrowStyle, ArrowS
 	}
 
 
+	/**
+	 * @return The parameters of the context that can be modified: the shared parameters are copied.
+	 */
+	private def writableParams : PSTParameters = {
+		if(sharedParams) {
+			params = params.dup()
+			sharedParams = false
+		}
+		params
+	}
+
+	def axesStyle : AxesStyle = params.axesStyle
+	def axesStyle_=(value : AxesStyle) { writableParams.axesStyle = value }
+
+	def arrowStyle : (ArrowStyle, ArrowStyle) = params.arrowStyle
+	def arrowStyle_=(value : (ArrowStyle, ArrowStyle)) { writableParams.arrowStyle = value }
+
+	def arrowSize : (Double, Double) = params.arrowSize
+	def arrowSize_=(value : (Double, Double)) { writableParams.arrowSize = value }
+
+	def arrowLgth : Double = params.arrowLgth
+	def arrowLgth_=(value : Double) { writableParams.arrowLgth = value }
+
+	def arrowInset : Double = params.arrowInset
+	def arrowInset_=(value : Double) { writableParams.arrowInset = value }
+
+	def arrowTBar : (Double, Double) = params.arrowTBar
+	def arrowTBar_=(value : (Double, Double)) { writableParams.arrowTBar = value }
+
+	def arrowBrLgth : Double = params.arrowBrLgth
+	def arrowBrLgth_=(value : Double) { writableParams.arrowBrLgth = value }
+
+	def arrowrBrLgth : Double = params.arrowrBrLgth
+	def arrowrBrLgth_=(value : Double) { writableParams.arrowrBrLgth = value }
+
+	def arrowDotSize : (Double, Double) = params.arrowDotSize
+	def arrowDotSize_=(value : (Double, Double)) { writableParams.arrowDotSize = value }
+
+	def arrowScale : (Double, Double) = params.arrowScale
+	def arrowScale_=(value : (Double, Double)) { writableParams.arrowScale = value }
+
+	def arcSep : Double = params.arcSep
+	def arcSep_=(value : Double) { writableParams.arcSep = value }
+
+	def arcSepA : Double = params.arcSepA
+	def arcSepA_=(value : Double) { writableParams.arcSepA = value }
+
+	def arcSepB : Double = params.arcSepB
+	def arcSepB_=(value : Double) { writableParams.arcSepB = value }
+
+	def boxSep : Boolean = params.boxSep
+	def boxSep_=(value : Boolean) { writableParams.boxSep = value }
+
+	def borderColor : Color = params.borderColor
+	def borderColor_=(value : Color) { writableParams.borderColor = value }
+
+	def borderPos : BorderPos = params.borderPos
+	def borderPos_=(value : BorderPos) { writableParams.borderPos = value }
+
+	def border : Double = params.border
+	def border_=(value : Double) { writableParams.border = value }
+
+	def curvature : (Double, Double, Double) = params.curvature
+	def curvature_=(value : (Double, Double, Double)) { writableParams.curvature = value }
+
+	def dxIncrement : Double = params.dxIncrement
+	def dxIncrement_=(value : Double) { writableParams.dxIncrement = value }
+
+	def dyIncrement : Double = params.dyIncrement
+	def dyIncrement_=(value : Double) { writableParams.dyIncrement = value }
+
+	def dxLabelDist : Double = params.dxLabelDist
+	def dxLabelDist_=(value : Double) { writableParams.dxLabelDist = value }
+
+	def dyLabelDist : Double = params.dyLabelDist
+	def dyLabelDist_=(value : Double) { writableParams.dyLabelDist = value }
+
+	def dotStyle : DotStyle = params.dotStyle
+	def dotStyle_=(value : DotStyle) { writableParams.dotStyle = value }
+
+	def dotScale : (Double, Double) = params.dotScale
+	def dotScale_=(value : (Double, Double)) { writableParams.dotScale = value }
+
+	def dotAngle : Double = params.dotAngle
+	def dotAngle_=(value : Double) { writableParams.dotAngle = value }
+
+	def dotSep : Double = params.dotSep
+	def dotSep_=(value : Double) { writableParams.dotSep = value }
+
+	def dash : (Double, Double) = params.dash
+	def dash_=(value : (Double, Double)) { writableParams.dash = value }
+
+	def dbleLine : Boolean = params.dbleLine
+	def dbleLine_=(value : Boolean) { writableParams.dbleLine = value }
+
+	def dbleSep : Double = params.dbleSep
+	def dbleSep_=(value : Double) { writableParams.dbleSep = value }
+
+	def dbleColor : Color = params.dbleColor
+	def dbleColor_=(value : Color) { writableParams.dbleColor = value }
+
+	def degrees : Double = params.degrees
+	def degrees_=(value : Double) { writableParams.degrees = value }
+
+	def frameSep : Double = params.frameSep
+	def frameSep_=(value : Double) { writableParams.frameSep = value }
+
+	def frameArc : Double = params.frameArc
+	def frameArc_=(value : Double) { writableParams.frameArc = value }
+
+	def fillStyle : FillingStyle = params.fillStyle
+	def fillStyle_=(value : FillingStyle) { writableParams.fillStyle = value }
+
+	def fillColor : Color = params.fillColor
+	def fillColor_=(value : Color) { writableParams.fillColor = value }
+
+	def gridWidth : Double = params.gridWidth
+	def gridWidth_=(value : Double) { writableParams.gridWidth = value }
+
+	def gridLabel : Double = params.gridLabel
+	def gridLabel_=(value : Double) { writableParams.gridLabel = value }
+
+	def gridDots : Double = params.gridDots
+	def gridDots_=(value : Double) { writableParams.gridDots = value }
+
+	def gradAngle : Double = params.gradAngle
+	def gradAngle_=(value : Double) { writableParams.gradAngle = value }
+
+	def gridColor : Color = params.gridColor
+	def gridColor_=(value : Color) { writableParams.gridColor = value }
+
+	def gradMidPoint : Double = params.gradMidPoint
+	def gradMidPoint_=(value : Double) { writableParams.gradMidPoint = value }
+
+	def gradBegin : Color = params.gradBegin
+	def gradBegin_=(value : Color) { writableParams.gradBegin = value }
+
+	def gradEnd : Color = params.gradEnd
+	def gradEnd_=(value : Color) { writableParams.gradEnd = value }
+
+	def gradLines : Int = params.gradLines
+	def gradLines_=(value : Int) { writableParams.gradLines = value }
+
+	def gangle : Double = params.gangle
+	def gangle_=(value : Double) { writableParams.gangle = value }
+
+	def hatchWidth : Double = params.hatchWidth
+	def hatchWidth_=(value : Double) { writableParams.hatchWidth = value }
+
+	def hatchSep : Double = params.hatchSep
+	def hatchSep_=(value : Double) { writableParams.hatchSep = value }
+
+	def hatchCol : Color = params.hatchCol
+	def hatchCol_=(value : Color) { writableParams.hatchCol = value }
+
+	def hatchAngle : Double = params.hatchAngle
+	def hatchAngle_=(value : Double) { writableParams.hatchAngle = value }
+
+	def isCornerRel : Boolean = params.isCornerRel
+	def isCornerRel_=(value : Boolean) { writableParams.isCornerRel = value }
+
+	def isShadow : Boolean = params.isShadow
+	def isShadow_=(value : Boolean) { writableParams.isShadow = value }
+
+	def lineWidth : Double = params.lineWidth
+	def lineWidth_=(value : Double) { writableParams.lineWidth = value }
+
+	def lineColor : Color = params.lineColor
+	def lineColor_=(value : Color) { writableParams.lineColor = value }
+
+	def labels : PlottingStyle = params.labels
+	def labels_=(value : PlottingStyle) { writableParams.labels = value }
+
+	def lineArc : Double = params.lineArc
+	def lineArc_=(value : Double) { writableParams.lineArc = value }
+
+	def lineStyle : LineStyle = params.lineStyle
+	def lineStyle_=(value : LineStyle) { writableParams.lineStyle = value }
+
+	def ox : Double = params.ox
+	def ox_=(value : Double) { writableParams.ox = value }
+
+	def oy : Double = params.oy
+	def oy_=(value : Double) { writableParams.oy = value }
+
+	def onRadians : Boolean = params.onRadians
+	def onRadians_=(value : Boolean) { writableParams.onRadians = value }
+
+	def origin : PointUnit = params.origin
+	def origin_=(value : PointUnit) { writableParams.origin = value }
+
+	def specialCoor : Boolean = params.specialCoor
+	def specialCoor_=(value : Boolean) { writableParams.specialCoor = value }
+
+	def showPoints : Boolean = params.showPoints
+	def showPoints_=(value : Boolean) { writableParams.showPoints = value }
+
+	def showOrigin : Boolean = params.showOrigin
+	def showOrigin_=(value : Boolean) { writableParams.showOrigin = value }
+
+	def subGridWidth : Double = params.subGridWidth
+	def subGridWidth_=(value : Double) { writableParams.subGridWidth = value }
+
+	def swapAxes : Boolean = params.swapAxes
+	def swapAxes_=(value : Boolean) { writableParams.swapAxes = value }
+
+	def shadowCol : Color = params.shadowCol
+	def shadowCol_=(value : Color) { writableParams.shadowCol = value }
+
+	def subGridCol : Color = params.subGridCol
+	def subGridCol_=(value : Color) { writableParams.subGridCol = value }
+
+	def shadowAngle : Double = params.shadowAngle
+	def shadowAngle_=(value : Double) { writableParams.shadowAngle = value }
+
+	def shadowSize : Double = params.shadowSize
+	def shadowSize_=(value : Double) { writableParams.shadowSize = value }
+
+	def subGridDots : Double = params.subGridDots
+	def subGridDots_=(value : Double) { writableParams.subGridDots = value }
+
+	def subGridDiv : Double = params.subGridDiv
+	def subGridDiv_=(value : Double) { writableParams.subGridDiv = value }
+
+	def ticks : PlottingStyle = params.ticks
+	def ticks_=(value : PlottingStyle) { writableParams.ticks = value }
+
+	def ticksStyle : TicksStyle = params.ticksStyle
+	def ticksStyle_=(value : TicksStyle) { writableParams.ticksStyle = value }
+
+	def ticksSize : Double = params.ticksSize
+	def ticksSize_=(value : Double) { writableParams.ticksSize = value }
+
+	def unit : Double = params.unit
+	def unit_=(value : Double) { writableParams.unit = value }
+
+	def xUnit : Double = params.xUnit
+	def xUnit_=(value : Double) { writableParams.xUnit = value }
+
+	def yUnit : Double = params.yUnit
+	def yUnit_=(value : Double) { writableParams.yUnit = value }
+
+	def textColor : Color = params.textColor
+	def textColor_=(value : Color) { writableParams.textColor = value }
+
+	def shadow : Boolean = params.shadow
+	def shadow_=(value : Boolean) { writableParams.shadow = value }
+
+	def gridlabelcolor : Color = params.gridlabelcolor
+	def gridlabelcolor_=(value : Color) { writableParams.gridlabelcolor = value }
+
+	def isCentered : Boolean = params.isCentered
+	def isCentered_=(value : Boolean) { writableParams.isCentered = value }
+
+	def pictureSWPt : IPoint = params.pictureSWPt
+	def pictureSWPt_=(value : IPoint) { writableParams.pictureSWPt = value }
+
+	def pictureNEPt : IPoint = params.pictureNEPt
+	def pictureNEPt_=(value : IPoint) { writableParams.pictureNEPt = value }
+
+	def tokenPosition : String = params.tokenPosition
+	def tokenPosition_=(value : String) { writableParams.tokenPosition = value }
+
+	def plotStyle : String = params.plotStyle
+	def plotStyle_=(value : String) { writableParams.plotStyle = value }
+
+	def plotPoints : Int = params.plotPoints
+	def plotPoints_=(value : Int) { writableParams.plotPoints = value }
+
+	def liftpen : Int = params.liftpen
+	def liftpen_=(value : Int) { writableParams.liftpen = value }
+
+	def textPosition : String = params.textPosition
+	def textPosition_=(value : String) { writableParams.textPosition = value }
+
+	def rputAngle : Double = params.rputAngle
+	def rputAngle_=(value : Double) { writableParams.rputAngle = value }
+
+	def parsedTxtNoTxt : Boolean = params.parsedTxtNoTxt
+	def parsedTxtNoTxt_=(value : Boolean) { writableParams.parsedTxtNoTxt = value }
+
+	def currFontShape : FontShapeVal = params.currFontShape
+	def currFontShape_=(value : FontShapeVal) { writableParams.currFontShape = value }
+
+	def currFontSerie : FontSerieVal = params.currFontSerie
+	def currFontSerie_=(value : FontSerieVal) { writableParams.currFontSerie = value }
+
+	def currFontFamily : FontFamilyVal = params.currFontFamily
+	def currFontFamily_=(value : FontFamilyVal) { writableParams.currFontFamily = value }
+
+	def opacity : Double = params.opacity
+	def opacity_=(value : Double) { writableParams.opacity = value }
+
+	def strokeopacity : Double = params.strokeopacity
+	def strokeopacity_=(value : Double) { writableParams.strokeopacity = value }
+
+	def polarPlot : Boolean = params.polarPlot
+	def polarPlot_=(value : Boolean) { writableParams.polarPlot = value }
+
+
 	/**
 	 * Returns the value corresponding to the given parameter.
 	 */
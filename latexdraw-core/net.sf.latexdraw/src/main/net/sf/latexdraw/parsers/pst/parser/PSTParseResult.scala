@@ -0,0 +1,57 @@
+package net.sf.latexdraw.parsers.pst.parser
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup
+
+/**
+ * The result of the parsing of a PST code: the parsed shapes and the errors logged while parsing the code.<br>
+ *<br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-07<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class PSTParseResult(val shapes : Option[IGroup], val errors : List[String], val failure : Option[Throwable]) {
+	/**
+	 * @return True if the code has been parsed (some errors may have been logged anyway).
+	 */
+	def isValid = failure.isEmpty
+}
+
+
+/**
+ * The results of the parsing of several PST codes (in the order of the codes) and the duration
+ * of the parsing in nanoseconds.<br>
+ *<br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ *<br>
+ * 2015-11-07<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+class PSTBatchParseResult(val results : java.util.List[PSTParseResult], val duration : Long) {
+	/**
+	 * @return The number of parsed codes per second.
+	 */
+	def sourcesPerSecond : Double = if(duration<=0L) 0.0 else results.size * 1e9 / duration
+}
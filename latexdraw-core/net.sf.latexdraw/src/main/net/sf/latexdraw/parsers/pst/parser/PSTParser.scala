@@ -1,7 +1,12 @@
 package net.sf.latexdraw.parsers.pst.parser
 
+import java.nio.file.Path
 import java.text.ParseException
+import java.util.concurrent.Callable
+import java.util.concurrent.ForkJoinPool
+
 import net.sf.latexdraw.glib.models.interfaces.shape.IGroup
+import net.sf.latexdraw.glib.views.latex.DviPsColors
 import scala.collection.mutable.ListBuffer
 
 /**
@@ -22,14 +27,22 @@ import scala.collection.mutable.ListBuffer
  * 2012-04-23<br>
  * @author Arnaud BLOUIN
  * @version 3.0
+ * @param documentFolder The folder of the parsed document, against which the relative paths of the data files
+ * (e.g. fileplot, readdata) are resolved. If null, they are resolved against the working directory.
  */
-class PSTParser extends PSTAbstractParser with PSTCodeParser {
+class PSTParser(protected val documentFolder : Path) extends PSTAbstractParser with PSTCodeParser {
+	/**
+	 * Creates a parser that resolves the relative paths of the data files against the working directory.
+	 */
+	def this() = this(null)
+
 	@throws(classOf[ParseException])
 	def parsePSTCode(content : String) : Option[IGroup] = {
 		val tokens = new lexical.Scanner("{\n" + content + "\n}\n")
+		plotData.clear()
 		val result = phrase(parsePSTCode(new PSTContext(false)))(tokens)
 
-		PSTParser._errorLogs.foreach{msg => println(msg)}
+		PSTParser.errorLogs.foreach{msg => println(msg)}
 
 		result match {
 			case Success(tree, _) =>
@@ -39,31 +52,97 @@ class PSTParser extends PSTAbstractParser with PSTCodeParser {
 			case e: NoSuccess => throw new ParseException(result.toString, -1)
 		}
 	}
+
+
+	/**
+	 * Parses the given PST code. Contrary to parsePSTCode, the errors logged while parsing
+	 * the code are returned with the parsed shapes and are not added to the error logger.
+	 * @return The shapes and the errors of the parsing. If the code is not valid,
+	 * the result contains the thrown exception.
+	 */
+	def parse(content : String) : PSTParseResult = {
+		val log = ListBuffer[String]()
+		val previousLog = PSTParser.logs.get
+		PSTParser.logs.set(log)
+
+		try {
+			new PSTParseResult(parsePSTCode(content), log.toList, None)
+		}catch{
+			case ex : Exception => new PSTParseResult(None, log.toList, Some(ex))
+		}finally {
+			PSTParser.logs.set(previousLog)
+		}
+	}
 }
 
 
 /**
  * Companion object of the PST parser used to encapsulate shared elements.
+ * The error logger is specific to each thread so that several PST codes can be parsed in parallel.
  */
 object PSTParser {
-	protected val _errorLogs = ListBuffer[String]()
+	/** The error logger of the current thread. */
+	private val logs = new ThreadLocal[ListBuffer[String]] {
+		override def initialValue() = ListBuffer[String]()
+	}
 
 	/**
-	 * Adds the given message to the error loggers.
+	 * Adds the given message to the error logger of the current thread.
 	 */
 	def errorLogs_+=(msg : String) {
-		if(_errorLogs!=null)
-			_errorLogs += msg
+		logs.get += msg
 	}
 
 
-	/** The error logger. */
-	def errorLogs = _errorLogs
+	/** The error logger of the current thread. */
+	def errorLogs = logs.get
 
 	/**
-	 * Cleans the parsing logs.
+	 * Cleans the parsing logs of the current thread.
 	 */
 	def cleanErrors() {
-		_errorLogs.clear
+		logs.get.clear
+	}
+
+
+	/**
+	 * Parses the given PST codes in parallel using the available processors.
+	 * @return The results of the parsing in the order of the given codes.
+	 */
+	def parseAll(codes : java.util.List[String]) : PSTBatchParseResult =
+		parseAll(codes, Runtime.getRuntime.availableProcessors)
+
+
+	/**
+	 * Parses the given PST codes in parallel. Each code is parsed by its own parser and with its own user colours
+	 * (see DviPsColors.withUserColours): the colours defined by a code are not visible while parsing the other codes.
+	 * Once all the codes are parsed, their colours are added to the shared user colours in the order of the codes,
+	 * as if the codes were parsed one after the other.
+	 * @param nbThreads The maximal number of threads used to parse the codes.
+	 * @return The results of the parsing in the order of the given codes.
+	 */
+	def parseAll(codes : java.util.List[String], nbThreads : Int) : PSTBatchParseResult = {
+		val pool = new ForkJoinPool(math.max(1, nbThreads))
+		val tasks = new java.util.ArrayList[Callable[(PSTParseResult, DviPsColors.UserColours)]](codes.size)
+		codes.forEach{code => tasks.add(new Callable[(PSTParseResult, DviPsColors.UserColours)] {
+			override def call() = {
+				val colours = new DviPsColors.UserColours()
+				(DviPsColors.INSTANCE.withUserColours(colours, () => new PSTParser().parse(code)), colours)
+			}
+		})}
+
+		try {
+			val start = System.nanoTime
+			val futures = pool.invokeAll(tasks)
+			val results = new java.util.ArrayList[PSTParseResult](futures.size)
+			futures.forEach{future =>
+				val (result, colours) = future.get
+				DviPsColors.INSTANCE.addUserColours(colours)
+				results.add(result)
+			}
+			new PSTBatchParseResult(results, System.nanoTime - start)
+		}finally {
+			pool.shutdown()
+		}
 	}
 }
@@ -1,8 +1,17 @@
 package net.sf.latexdraw.parsers.pst.parser
 
+import java.io.IOException
+import java.nio.file.InvalidPathException
+import java.nio.file.Path
+import java.nio.file.Paths
+
+import scala.collection.mutable.HashMap
+import scala.util.parsing.input.CharArrayReader
+
 import net.sf.latexdraw.glib.models.ShapeFactory
 import net.sf.latexdraw.glib.models.interfaces.shape.IShape
 import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle
+import net.sf.latexdraw.util.PlotDataReader
 
 /**
  * Parsers parsing commands of the pst-plot package.<br>
@@ -24,6 +33,20 @@ import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle
  * @version 3.0
  */
 trait PSTPlotParser extends PSTAbstractParser with PSTParamParser with PSTBracketBlockParser {
+	/** The names of the commands parsed by parsePSTPlotCommands. */
+	protected val plotCommands = Seq("\\fileplot", "\\fileplot*", "\\dataplot", "\\dataplot*", "\\savedata", "\\readdata",
+			"\\listplot", "\\listplot*", "\\psplot", "\\psplot*", "\\parametricplot", "\\parametricplot*")
+
+	/** The data saved by the commands readdata and savedata (interleaved X and Y coordinates) mapped to their command name. */
+	protected val plotData : HashMap[String, Array[Double]] = HashMap.empty
+
+	/**
+	 * @return The folder of the parsed document: the relative paths of the data files are resolved against it.
+	 * If null, they are resolved against the working directory.
+	 */
+	protected def documentFolder : Path
+
+
 	/**
 	 * General parser parsing all the commands of the package PST plot.
 	 */
@@ -33,17 +56,23 @@ trait PSTPlotParser extends PSTAbstractParser with PSTParamParser with PSTBracke
 
 
 	/**
-	 * Parses readdata commands.
+	 * Parses readdata commands: the numbers of the given file are saved under the given command name.
 	 */
 	private def parseReaddata(ctx : PSTContext) : Parser[List[IShape]] = "\\readdata" ~ parseBracket(ctx) ~ parseBracket(ctx) ^^
-	{ case cmdName ~ command ~ file => PSTParser.errorLogs += "Command readdata not supported yet."; Nil }
+	{ case _ ~ command ~ file =>
+		readDataFile(file) match {
+			case Some(data) => plotData += command -> data
+			case None =>
+		}
+		Nil
+	}
 
 
 	/**
-	 * Parses savedata commands.
+	 * Parses savedata commands: the given numbers are saved under the given command name.
 	 */
-	private def parseSavedata(ctx : PSTContext) : Parser[List[IShape]] = "\\savedata" ~ parseBracket(ctx) ~ parseSquaredBracket(ctx) ^^
-	{ case cmdName ~ command ~ data => PSTParser.errorLogs += "Command savedata not supported yet."; Nil }
+	private def parseSavedata(ctx : PSTContext) : Parser[List[IShape]] = "\\savedata" ~ parseBracket(ctx) ~ parseSquaredDataBlock ^^
+	{ case _ ~ command ~ data => plotData += command -> PlotDataReader.INSTANCE.read(data); Nil }
 
 
 	/**
@@ -80,22 +109,138 @@ trait PSTPlotParser extends PSTAbstractParser with PSTParamParser with PSTBracke
 
 
 	/**
-	 * Parses listplot commands.
+	 * Parses listplot commands: the data are the given numbers or the data saved under the given command name.
 	 */
-	private def parseListplot(ctx : PSTContext) : Parser[List[IShape]] = ("\\listplot*" | "\\listplot") ~ opt(parseParam(ctx)) ~ parseBracket(ctx) ^^
-	{ case cmdName ~ _ ~ list => PSTParser.errorLogs += "Command listplot not supported yet."; Nil }
+	private def parseListplot(ctx : PSTContext) : Parser[List[IShape]] = ("\\listplot*" | "\\listplot") ~ opt(parseParam(ctx)) ~ parseDataBlock ^^
+	{ case cmdName ~ _ ~ list =>
+		val data = list.trim match {
+			case name if name.startsWith("\\") => savedData(name)
+			case numbers => PlotDataReader.INSTANCE.read(numbers)
+		}
+		createDataPlot(cmdName, data, ctx)
+	}
 
 
 	/**
-	 * Parses dataplot commands.
+	 * Parses dataplot commands: the data are the concatenation of the data saved under the given command names.
 	 */
-	private def parseDataplot(ctx : PSTContext) : Parser[List[IShape]] = ("\\dataplot*" | "\\dataplot") ~ opt(parseParam(ctx)) ~ parseBracket(ctx) ^^
-	{ case cmdName ~ _ ~ commands => PSTParser.errorLogs += "Command dataplot not supported yet."; Nil }
+	private def parseDataplot(ctx : PSTContext) : Parser[List[IShape]] = ("\\dataplot*" | "\\dataplot") ~ opt(parseParam(ctx)) ~
+		"{" ~ rep1(chrExcept('}', CharArrayReader.EofCh)) ~ "}" ^^
+	{ case cmdName ~ _ ~ _ ~ commands ~ _ =>
+		createDataPlot(cmdName, Array.concat(commands.map(cmd => savedData(cmd.chars)):_*), ctx)
+	}
 
 
 	/**
-	 * Parses fileplot commands.
+	 * Parses fileplot commands: the data are the numbers of the given file.
 	 */
 	private def parseFileplot(ctx : PSTContext) : Parser[List[IShape]] = ("\\fileplot*" | "\\fileplot") ~ opt(parseParam(ctx)) ~ parseBracket(ctx) ^^
-	{ case cmdName ~ _ ~ file => PSTParser.errorLogs += "Command fileplot not supported yet."; Nil }
+	{ case cmdName ~ _ ~ file =>
+		readDataFile(file) match {
+			case Some(data) => createDataPlot(cmdName, data, ctx)
+			case None => checkTextParsed(ctx)
+		}
+	}
+
+
+	/**
+	 * @return The data saved under the given command name. The problems are logged.
+	 */
+	private def savedData(name : String) : Array[Double] =
+		plotData.get(name) match {
+			case Some(data) => data
+			case None => PSTParser.errorLogs += "Unknown plot data: " + name; Array.emptyDoubleArray
+		}
+
+
+	/**
+	 * Creates a data plot from the given interleaved X and Y coordinates. No plot is created if there is no point.
+	 */
+	private def createDataPlot(cmdName : String, data : Array[Double], ctx : PSTContext) : List[IShape] = {
+		if(data.length%2!=0)
+			PSTParser.errorLogs += "The number of plotted coordinates must be even: the last one is ignored."
+
+		val nbPts = data.length/2
+		if(nbPts==0) return checkTextParsed(ctx)
+
+		val xs = new Array[Double](nbPts)
+		val ys = new Array[Double](nbPts)
+		var i = 0
+		while(i<nbPts) {
+			xs(i) = data(2*i)
+			ys(i) = data(2*i+1)
+			i += 1
+		}
+
+		val plot = ShapeFactory.createDataPlot(ShapeFactory.createPoint, xs, ys)
+		val dotSizeDim = if(ctx.arrowDotSize._1+ctx.arrowDotSize._2<0) scala.math.abs(ctx.arrowDotSize._1) else ctx.arrowDotSize._1
+		val dotSizeNum = if(ctx.arrowDotSize._1+ctx.arrowDotSize._2<0) scala.math.abs(ctx.arrowDotSize._2) else ctx.arrowDotSize._2
+
+		setShapeParameters(plot, ctx)
+		plot.setPlotStyle(PlotStyle.getPlotStyle(ctx.plotStyle))
+		plot.setXScale(ctx.xUnit)
+		plot.setYScale(ctx.yUnit)
+		plot.setDiametre((dotSizeDim+dotSizeNum*ctx.lineWidth)*IShape.PPC*ctx.dotScale._1)
+		plot.setDotStyle(ctx.dotStyle)
+		if(cmdName.endsWith("*")) setShapeForStar(plot)
+		checkTextParsed(ctx) ::: List(plot)
+	}
+
+
+	/**
+	 * Reads the numbers of the given data file. As LaTeX, a relative path is relative to the folder of the document.
+	 * The problems are logged.
+	 */
+	private def readDataFile(file : String) : Option[Array[Double]] =
+		try {
+			val path = Paths.get(file)
+			Some(PlotDataReader.INSTANCE.read(if(documentFolder==null || path.isAbsolute) path else documentFolder.resolve(path)))
+		}
+		catch {
+			case ex @ (_ : IOException | _ : InvalidPathException) =>
+				PSTParser.errorLogs += "Cannot read the data file " + file + ": " + ex.getMessage
+				None
+		}
+
+
+	/**
+	 * Parses a data block in brackets. The block can contain nested brackets (e.g. {{0,1} {1,2}}).
+	 */
+	private def parseDataBlock : Parser[String] = "{" ~ rep(parseDataBlockContent) ~ "}" ^^ { case _ ~ content ~ _ => joinData(content) }
+
+
+	private def parseDataBlockContent : Parser[String] = parseDataBlock | chrExcept('{', '}', CharArrayReader.EofCh) ^^ (_.chars)
+
+
+	/**
+	 * Parses a data block in squared brackets.
+	 */
+	private def parseSquaredDataBlock : Parser[String] = "[" ~ rep(chrExcept(']', CharArrayReader.EofCh)) ~ "]" ^^
+	{ case _ ~ content ~ _ => joinData(content.map(_.chars)) }
+
+
+	/**
+	 * Joins the tokens of a data block: the tokens are separated by spaces since the lexer removes them, excepted
+	 * the tokens of a number in the scientific notation (e.g. 1e-5 is tokenised as 1, e and -5).
+	 */
+	private def joinData(tokens : List[String]) : String = {
+		val data = new StringBuilder
+		tokens.foreach{token =>
+			if(data.nonEmpty && !(isExponentToken(token) && isNumberEnd(data) || isExponentEnd(data) && isNumberStart(token)))
+				data.append(' ')
+			data.append(token)
+		}
+		data.toString
+	}
+
+	private def isExponentToken(token : String) = token.nonEmpty && (token.charAt(0)=='e' || token.charAt(0)=='E') && token.drop(1).forall(_.isDigit)
+
+	private def isNumberEnd(data : StringBuilder) = isNumberChar(data.charAt(data.length-1))
+
+	private def isExponentEnd(data : StringBuilder) =
+		data.length>1 && (data.last=='e' || data.last=='E') && isNumberChar(data.charAt(data.length-2))
+
+	private def isNumberChar(c : Char) = c.isDigit || c=='.'
+
+	private def isNumberStart(token : String) = token.nonEmpty && (token.charAt(0).isDigit || token.charAt(0)=='-' || token.charAt(0)=='+')
 }
@@ -107,12 +107,12 @@ trait TextCommandsParser extends PSTAbstractParser with PSTBracketBlockParser wi
 
 
 	/** Parses the command \textcolor */
-	private def parseTextcolorCommand(ctx:PSTContext) : Parser[List[IShape]] = {
-		val newCtx = new PSTContext(ctx)
-		"\\textcolor" ~ parseColorBlock(newCtx) ~ parsePSTBlock(newCtx, newCtx.isPsCustom) ^^ {
-			case _ ~ _ ~ shapes  => List(shapes)
+	private def parseTextcolorCommand(ctx:PSTContext) : Parser[List[IShape]] =
+		withNewContext("\\textcolor")(new PSTContext(ctx)) { newCtx =>
+			"\\textcolor" ~ parseColorBlock(newCtx) ~ parsePSTBlock(newCtx, newCtx.isPsCustom) ^^ {
+				case _ ~ _ ~ shapes  => List(shapes)
+			}
 		}
-	}
 
 
 	/** Parses the colour contained in the block. */
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.glib.models.ShapeFactory;
@@ -35,6 +36,7 @@ public final class CSSColors {
 //	/** The name of the colours defined by the user. */
 //	private List<String> usernameColours = new ArrayList<String>();
 
+	/** The colours created by getColorName: concurrent since the SVG generators of the shapes run in parallel. */
 	private final Map<String, Color> userColours;
 
 	private final Map<String, Color> colourHashtable;
@@ -635,7 +637,7 @@ public final class CSSColors {
 
 		colourHashtable 	= new HashMap<>();
 		nameColourHashtable = new HashMap<>();
-		userColours			= new HashMap<>();
+		userColours			= new ConcurrentHashMap<>();
 
 		createColourHashTable();
 		createNameColourHashTable();
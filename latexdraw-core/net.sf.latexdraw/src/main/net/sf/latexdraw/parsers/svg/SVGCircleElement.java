@@ -4,6 +4,7 @@ import java.text.ParseException;
 
 import net.sf.latexdraw.parsers.svg.parsers.SVGLengthParser;
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 import org.w3c.dom.Node;
 
@@ -62,9 +63,9 @@ public class SVGCircleElement extends SVGElement {
 	public SVGCircleElement(final double cx, final double cy, final double r, final SVGDocument owner) {
 		super(owner);
 
-		setAttribute(SVGAttributes.SVG_CX, String.valueOf(cx));
-		setAttribute(SVGAttributes.SVG_CY, String.valueOf(cy));
-		setAttribute(SVGAttributes.SVG_R, String.valueOf(r));
+		setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(cx));
+		setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(cy));
+		setAttribute(SVGAttributes.SVG_R, LNumberFormatter.SVG.format(r));
 		setNodeName(SVGElements.SVG_CIRCLE);
 		ownerDocument = owner;
 
@@ -127,7 +128,7 @@ public class SVGCircleElement extends SVGElement {
 	 * @since 0.1
 	 */
 	public void setCx(final double cx) {
-		setAttribute(getUsablePrefix()+SVGAttributes.SVG_CX, String.valueOf(cx));
+		setAttribute(getUsablePrefix()+SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(cx));
 	}
 
 
@@ -139,7 +140,7 @@ public class SVGCircleElement extends SVGElement {
 	 * @since 0.1
 	 */
 	public void setCy(final double cy) {
-		setAttribute(getUsablePrefix()+SVGAttributes.SVG_CY, String.valueOf(cy));
+		setAttribute(getUsablePrefix()+SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(cy));
 	}
 
 
@@ -151,7 +152,7 @@ public class SVGCircleElement extends SVGElement {
 	 */
 	public void setR(final double width) {
 		if(width>=0.)
-			setAttribute(getUsablePrefix()+SVGAttributes.SVG_R, String.valueOf(width));
+			setAttribute(getUsablePrefix()+SVGAttributes.SVG_R, LNumberFormatter.SVG.format(width));
 	}
 
 
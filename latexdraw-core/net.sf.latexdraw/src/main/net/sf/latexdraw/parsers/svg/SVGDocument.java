@@ -1,16 +1,15 @@
 package net.sf.latexdraw.parsers.svg;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
-import java.net.MalformedURLException;
 import java.net.URI;
 import java.nio.charset.Charset;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 
@@ -19,9 +18,6 @@ import org.w3c.dom.bootstrap.DOMImplementationRegistry;
 import org.w3c.dom.ls.DOMImplementationLS;
 import org.w3c.dom.ls.LSOutput;
 import org.w3c.dom.ls.LSSerializer;
-import org.xml.sax.EntityResolver;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 /**
  * Defines an SVG document.<br>
@@ -67,7 +63,8 @@ public class SVGDocument implements Document {
 
 	/**
 	 * The constructor. An URI defines the location of the SVG document to parse. If the document is valid,
-	 * the document is read an place in the <code>root</code> attribute.
+	 * the document is read an place in the <code>root</code> attribute. The SVG elements are created
+	 * while streaming the document (no intermediate DOM tree is built).
 	 * @param uri The file to parse.
 	 * @throws MalformedSVGDocument If an error occurs.
 	 * @throws IOException If the document cannot be opened.
@@ -78,34 +75,11 @@ public class SVGDocument implements Document {
         if (uri == null)
             throw new IllegalArgumentException();
 
-        try {
-            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            final DocumentBuilder builder = factory.newDocumentBuilder();
-
-            builder.setEntityResolver(new SVGEntityResolver());
-            Document doc;
-            try {
-                doc = builder.parse(uri.getPath());
-            } catch (final MalformedURLException ex) {
-                doc = builder.parse("file:" + uri.getPath()); //$NON-NLS-1$
-            }
-            final NodeList nl;
-
-            setDocumentURI(getDocumentURI());
-            setXmlStandalone(doc.getXmlStandalone());
-            setXmlVersion(doc.getXmlVersion());
-            xmlEncoding = doc.getXmlEncoding();
-            root = null;
-            nl = doc.getChildNodes();
-            Node n;
-
-            for (int i = 0, size = nl.getLength(); i < size && root == null; i++) {
-                n = nl.item(i);
-
-                if (n instanceof Element && n.getNodeName().endsWith(SVGElements.SVG_SVG))
-                    root = new SVGSVGElement(this, nl.item(i));
-            }
-        } catch (final SAXException | ParserConfigurationException e) {
+        setDocumentURI(getDocumentURI());
+
+        try(InputStream input = new BufferedInputStream(new FileInputStream(uri.getPath()))) {
+            root = new SVGStreamReader(this).read(input);
+        } catch (final XMLStreamException e) {
             BadaboomCollector.INSTANCE.add(e);
             throw new MalformedSVGDocument();
         }
@@ -532,15 +506,4 @@ public class SVGDocument implements Document {
 		}
         return ok;
 	}
-
-
-	/**
-	 * Used to avoid freeze when opening an SVG document.
-	 */
-	static class SVGEntityResolver implements EntityResolver {
-		@Override
-		public InputSource resolveEntity(final String publicId, final String systemId) {
-			return new InputSource(new ByteArrayInputStream("<?xml version='1.0' encoding='UTF-8'?>".getBytes(Charset.defaultCharset()))); //$NON-NLS-1$
-		}
-	}
 }
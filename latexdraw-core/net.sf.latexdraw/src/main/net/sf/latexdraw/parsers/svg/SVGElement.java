@@ -7,6 +7,7 @@ import java.util.Objects;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.parsers.svg.parsers.CSSStyleParser;
 import net.sf.latexdraw.parsers.svg.parsers.SVGLengthParser;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 import org.w3c.dom.Attr;
 import org.w3c.dom.DOMException;
@@ -116,7 +117,9 @@ public abstract class SVGElement implements Element, Cloneable {
 
 		if(p!=null) {
 			ownerDocument = p.getOwnerDocument();
-			setParent(p);
+			// The element is new: it cannot be already a child of p (setParent would look for it in the children of p).
+			parent = p;
+			p.children.getNodes().add(this);
 		}
 
 		setAttributes(n);
@@ -931,7 +934,7 @@ public abstract class SVGElement implements Element, Cloneable {
 	 */
 	public void setStrokeWidth(final double strokeW) {
 		if(strokeW>0)
-			setAttribute(getUsablePrefix()+SVGAttributes.SVG_STROKE_WIDTH, String.valueOf(strokeW));
+			setAttribute(getUsablePrefix()+SVGAttributes.SVG_STROKE_WIDTH, LNumberFormatter.SVG.format(strokeW));
 	}
 
 
@@ -955,7 +958,7 @@ public abstract class SVGElement implements Element, Cloneable {
 	 */
 	public void setStrokeMiterLevel(final double miterLevel) {
 		if(miterLevel>=1)
-			setAttribute(SVGAttributes.SVG_STROKE_MITERLIMIT, String.valueOf(miterLevel));
+			setAttribute(SVGAttributes.SVG_STROKE_MITERLIMIT, LNumberFormatter.SVG.format(miterLevel));
 	}
 
 
@@ -965,7 +968,7 @@ public abstract class SVGElement implements Element, Cloneable {
 	 * @since 0.2
 	 */
 	public void setStrokeDashOffset(final double dashOffset) {
-		setAttribute(SVGAttributes.SVG_STROKE_DASHOFFSET, String.valueOf(dashOffset));
+		setAttribute(SVGAttributes.SVG_STROKE_DASHOFFSET, LNumberFormatter.SVG.format(dashOffset));
 	}
 
 
@@ -3,6 +3,7 @@ package net.sf.latexdraw.parsers.svg;
 import java.text.ParseException;
 
 import net.sf.latexdraw.parsers.svg.parsers.SVGLengthParser;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 import org.w3c.dom.Node;
 
@@ -48,10 +49,10 @@ public class SVGEllipseElement extends SVGElement {
 	public SVGEllipseElement(final double cx, final double cy, final double rx, final double ry, final SVGDocument owner) {
 		super(owner);
 
-		setAttribute(SVGAttributes.SVG_CX, String.valueOf(cx));
-		setAttribute(SVGAttributes.SVG_CY, String.valueOf(cy));
-		setAttribute(SVGAttributes.SVG_RX, String.valueOf(rx));
-		setAttribute(SVGAttributes.SVG_RY, String.valueOf(ry));
+		setAttribute(SVGAttributes.SVG_CX, LNumberFormatter.SVG.format(cx));
+		setAttribute(SVGAttributes.SVG_CY, LNumberFormatter.SVG.format(cy));
+		setAttribute(SVGAttributes.SVG_RX, LNumberFormatter.SVG.format(rx));
+		setAttribute(SVGAttributes.SVG_RY, LNumberFormatter.SVG.format(ry));
 		setNodeName(SVGElements.SVG_ELLIPSE);
 		ownerDocument = owner;
 
@@ -3,6 +3,7 @@ package net.sf.latexdraw.parsers.svg;
 import java.text.ParseException;
 
 import net.sf.latexdraw.parsers.svg.parsers.SVGLengthParser;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 import org.w3c.dom.Node;
 
@@ -48,10 +49,10 @@ public class SVGLineElement extends SVGElement {
 	public SVGLineElement(final double x1, final double y1, final double x2, final double y2, final SVGDocument owner) throws MalformedSVGDocument {
 		this(owner);
 
-		setAttribute(SVGAttributes.SVG_X1, String.valueOf(x1));
-		setAttribute(SVGAttributes.SVG_X2, String.valueOf(x2));
-		setAttribute(SVGAttributes.SVG_Y1, String.valueOf(y1));
-		setAttribute(SVGAttributes.SVG_Y2, String.valueOf(y2));
+		setAttribute(SVGAttributes.SVG_X1, LNumberFormatter.SVG.format(x1));
+		setAttribute(SVGAttributes.SVG_X2, LNumberFormatter.SVG.format(x2));
+		setAttribute(SVGAttributes.SVG_Y1, LNumberFormatter.SVG.format(y1));
+		setAttribute(SVGAttributes.SVG_Y2, LNumberFormatter.SVG.format(y2));
 
 		if(!checkAttributes())
 			throw new MalformedSVGDocument();
@@ -142,7 +143,7 @@ public class SVGLineElement extends SVGElement {
 	 * @since 2.0.0
 	 */
 	public void setX1(final double x1) {
-		setAttribute(getUsablePrefix()+SVGAttributes.SVG_X1, String.valueOf(x1));
+		setAttribute(getUsablePrefix()+SVGAttributes.SVG_X1, LNumberFormatter.SVG.format(x1));
 	}
 
 
@@ -152,7 +153,7 @@ public class SVGLineElement extends SVGElement {
 	 * @since 2.0.0
 	 */
 	public void setX2(final double x2) {
-		setAttribute(getUsablePrefix()+SVGAttributes.SVG_X2, String.valueOf(x2));
+		setAttribute(getUsablePrefix()+SVGAttributes.SVG_X2, LNumberFormatter.SVG.format(x2));
 	}
 
 
@@ -162,7 +163,7 @@ public class SVGLineElement extends SVGElement {
 	 * @since 2.0.0
 	 */
 	public void setY1(final double y1) {
-		setAttribute(getUsablePrefix()+SVGAttributes.SVG_Y1, String.valueOf(y1));
+		setAttribute(getUsablePrefix()+SVGAttributes.SVG_Y1, LNumberFormatter.SVG.format(y1));
 	}
 
 
@@ -172,7 +173,7 @@ public class SVGLineElement extends SVGElement {
 	 * @since 2.0.0
 	 */
 	public void setY2(final double y2) {
-		setAttribute(getUsablePrefix()+SVGAttributes.SVG_Y2, String.valueOf(y2));
+		setAttribute(getUsablePrefix()+SVGAttributes.SVG_Y2, LNumberFormatter.SVG.format(y2));
 	}
 
 
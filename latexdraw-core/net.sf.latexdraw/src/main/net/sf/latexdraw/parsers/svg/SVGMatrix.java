@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines a matrix according to the SVG specifications.<br>
  *<br>
@@ -239,6 +241,12 @@ public class SVGMatrix {
 
 	@Override
 	public String toString() {
-        return String.valueOf(a) + ' ' + c + ' ' + e + ' ' + b + ' ' + d + ' ' + f;
+		final StringBuilder buf = new StringBuilder();
+		LNumberFormatter.SVG.append(buf, a).append(' ');
+		LNumberFormatter.SVG.append(buf, c).append(' ');
+		LNumberFormatter.SVG.append(buf, e).append(' ');
+		LNumberFormatter.SVG.append(buf, b).append(' ');
+		LNumberFormatter.SVG.append(buf, d).append(' ');
+		return LNumberFormatter.SVG.append(buf, f).toString();
 	}
 }
@@ -3,6 +3,7 @@ package net.sf.latexdraw.parsers.svg;
 import java.text.ParseException;
 
 import net.sf.latexdraw.parsers.svg.parsers.SVGLengthParser;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 import org.w3c.dom.Node;
 
@@ -50,10 +51,10 @@ public class SVGRectElement extends SVGElement {
 	public SVGRectElement(final double x, final double y, final double w, final double h, final SVGDocument owner) {
 		super(owner);
 
-		setAttribute(SVGAttributes.SVG_X, String.valueOf(x));
-		setAttribute(SVGAttributes.SVG_Y, String.valueOf(y));
-		setAttribute(SVGAttributes.SVG_WIDTH, String.valueOf(w));
-		setAttribute(SVGAttributes.SVG_HEIGHT, String.valueOf(h));
+		setAttribute(SVGAttributes.SVG_X, LNumberFormatter.SVG.format(x));
+		setAttribute(SVGAttributes.SVG_Y, LNumberFormatter.SVG.format(y));
+		setAttribute(SVGAttributes.SVG_WIDTH, LNumberFormatter.SVG.format(w));
+		setAttribute(SVGAttributes.SVG_HEIGHT, LNumberFormatter.SVG.format(h));
 		setNodeName(SVGElements.SVG_RECT);
 		ownerDocument = owner;
 
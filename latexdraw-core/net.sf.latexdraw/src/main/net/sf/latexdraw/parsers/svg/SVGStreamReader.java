@@ -0,0 +1,304 @@
+package net.sf.latexdraw.parsers.svg;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Node;
+
+/**
+ * Builds the SVG elements of an SVG document in a single pass over a StAX event stream.<br>
+ * Contrary to a DOM parsing, no intermediate W3C tree is created: only the elements currently opened
+ * are tracked while the SVG elements are created using the SVG elements factory.<br>
+ * The reader can also be driven element by element (see readRoot, readStartElement and readElement)
+ * by a caller that consumes the stream itself and only needs the SVG elements of some parts of the document.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-04<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public final class SVGStreamReader {
+	/** The document to fill. */
+	private final SVGDocument document;
+
+	/**
+	 * The node given to the SVG elements factory to create the SVG elements: it contains the name and the
+	 * attributes of the current tag but no child (the children are created while reading the stream).
+	 */
+	private final OtherNSElement tag;
+
+	/** The elements currently opened. */
+	private final Deque<Frame> frames;
+
+
+	/**
+	 * Creates the reader.
+	 * @param doc The document to fill.
+	 */
+	public SVGStreamReader(final SVGDocument doc) {
+		super();
+		document = doc;
+		tag = new OtherNSElement(doc);
+		frames = new ArrayDeque<>();
+	}
+
+
+	/**
+	 * Reads the given stream.
+	 * @param input The stream to read.
+	 * @return The root of the SVG drawing or null if the root of the stream is not an SVG element.
+	 * @throws XMLStreamException If the stream is not a valid XML document.
+	 * @throws MalformedSVGDocument If the root element is not a valid SVG element.
+	 */
+	SVGSVGElement read(final InputStream input) throws XMLStreamException, MalformedSVGDocument {
+		final XMLStreamReader reader = createXMLStreamReader(input);
+
+		try {
+			final SVGSVGElement root = readRoot(reader);
+			if(root!=null)
+				readElements(reader, root);
+			return root;
+		}finally {
+			reader.close();
+		}
+	}
+
+
+	/**
+	 * @param input The stream to read.
+	 * @return A StAX reader configured to read SVG documents (namespace prefixes kept in the names, no DTD download).
+	 * @throws XMLStreamException If the reader cannot be created.
+	 */
+	public static XMLStreamReader createXMLStreamReader(final InputStream input) throws XMLStreamException {
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		// The attributes xmlns are used by the SVG elements to identify the name spaces.
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		// Avoids freeze when opening an SVG document: the DTD is not downloaded.
+		factory.setXMLResolver((publicID, systemID, baseURI, namespace) ->
+			new ByteArrayInputStream("<?xml version='1.0' encoding='UTF-8'?>".getBytes(Charset.defaultCharset()))); //$NON-NLS-1$
+		return factory.createXMLStreamReader(input);
+	}
+
+
+	/**
+	 * Reads the stream up to the root tag and creates the root of the document (without its content).
+	 * @param reader The reader placed before the root tag.
+	 * @return The root of the SVG drawing or null if the root of the stream is not an SVG element.
+	 * @throws XMLStreamException If the stream is not a valid XML document.
+	 * @throws MalformedSVGDocument If the root element is not a valid SVG element.
+	 */
+	public SVGSVGElement readRoot(final XMLStreamReader reader) throws XMLStreamException, MalformedSVGDocument {
+		final String version = reader.getVersion();
+		document.setXmlVersion(version==null ? "1.0" : version); //$NON-NLS-1$
+		document.setXmlStandalone(reader.isStandalone());
+		document.xmlEncoding = reader.getCharacterEncodingScheme();
+
+		while(reader.hasNext())
+			if(reader.next()==XMLStreamConstants.START_ELEMENT) {
+				setTag(reader);
+				if(!tag.getNodeName().endsWith(SVGElements.SVG_SVG))
+					return null;
+				document.root = new SVGSVGElement(document, (Node)tag);
+				return document.root;
+			}
+		return null;
+	}
+
+
+	/**
+	 * Creates the SVG element of the current start tag of the reader. Its content is not read.
+	 * @param reader The reader placed on a start tag.
+	 * @param parent The parent of the element to create.
+	 * @return The created element (added to the parent) or null if the tag is not an SVG element.
+	 */
+	public SVGElement readStartElement(final XMLStreamReader reader, final SVGElement parent) {
+		setTag(reader);
+		return SVGElementsFactory.INSTANCE.createSVGElement(tag, parent);
+	}
+
+
+	/**
+	 * Creates the SVG element of the current start tag of the reader with its whole content.
+	 * The reader is then placed on the end tag of the element.
+	 * @param reader The reader placed on a start tag.
+	 * @param parent The parent of the element to create.
+	 * @return The created element (added to the parent) or null if the tag is not an SVG element (its content is skipped).
+	 * @throws XMLStreamException If the stream is not a valid XML document.
+	 */
+	public SVGElement readElement(final XMLStreamReader reader, final SVGElement parent) throws XMLStreamException {
+		final SVGElement elt = readStartElement(reader, parent);
+
+		if(elt==null)
+			skipElement(reader);
+		else
+			readElements(reader, elt);
+
+		return elt;
+	}
+
+
+	/**
+	 * Skips the content of the current element of the reader.
+	 * @param reader The reader placed on a start tag. It is then placed on the corresponding end tag.
+	 * @throws XMLStreamException If the stream is not a valid XML document.
+	 */
+	public static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+
+		while(depth>0 && reader.hasNext())
+			switch(reader.next()) {
+				case XMLStreamConstants.START_ELEMENT: depth++; break;
+				case XMLStreamConstants.END_ELEMENT: depth--; break;
+				default: break;
+			}
+	}
+
+
+	/**
+	 * @param reader The reader placed on a start tag.
+	 * @return The name of the tag with its prefix (if any).
+	 */
+	public static String getName(final XMLStreamReader reader) {
+		return getQualifiedName(reader.getPrefix(), reader.getLocalName());
+	}
+
+
+	/**
+	 * @param reader The reader placed on a start tag.
+	 * @param index The index of the attribute.
+	 * @return The name of the attribute with its prefix (if any).
+	 */
+	public static String getAttributeName(final XMLStreamReader reader, final int index) {
+		return getQualifiedName(reader.getAttributePrefix(index), reader.getAttributeLocalName(index));
+	}
+
+
+	/**
+	 * Reads the content of the given element up to its end tag.
+	 */
+	private void readElements(final XMLStreamReader reader, final SVGElement opened) throws XMLStreamException {
+		// The number of opened tags which elements are not created (these tags and their content are ignored).
+		int ignored = 0;
+		Frame current = new Frame(opened);
+
+		while(reader.hasNext()) {
+			switch(reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					if(ignored>0)
+						ignored++;
+					else {
+						current.addChild();
+						setTag(reader);
+						final SVGElement elt = SVGElementsFactory.INSTANCE.createSVGElement(tag, current.element);
+						if(elt==null)
+							ignored++;
+						else {
+							frames.push(current);
+							current = new Frame(elt);
+						}
+					}
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					if(ignored>0)
+						ignored--;
+					else {
+						current.end();
+						if(frames.isEmpty())
+							return;
+						current = frames.pop();
+					}
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if(ignored==0)
+						current.addText(reader.getText());
+					break;
+				case XMLStreamConstants.COMMENT:
+				case XMLStreamConstants.PROCESSING_INSTRUCTION:
+					if(ignored==0)
+						current.addChild();
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+
+	/**
+	 * Sets the name and the attributes of the reusable tag using the current element of the reader.
+	 * The attributes are sorted by name as a DOM parser does so that both loaders produce the same elements.
+	 */
+	private void setTag(final XMLStreamReader reader) {
+		tag.setNodeName(getName(reader));
+		tag.attributes.getAttributes().clear();
+
+		for(int i=0, size=reader.getAttributeCount(); i<size; i++)
+			tag.attributes.getAttributes().add(new SVGAttr(getAttributeName(reader, i), reader.getAttributeValue(i), tag));
+
+		tag.attributes.getAttributes().sort((attr1, attr2) -> attr1.getName().compareTo(attr2.getName()));
+	}
+
+
+	private static String getQualifiedName(final String prefix, final String localName) {
+		return prefix==null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+	}
+
+
+	/**
+	 * An opened element. Its text content is kept only while it is the single child of the element,
+	 * in this case the text content is given to the element when it is closed (as done with a DOM node).
+	 */
+	private static final class Frame {
+		final SVGElement element;
+		int nbChildren;
+		boolean lastIsText;
+		StringBuilder text;
+
+		Frame(final SVGElement elt) {
+			super();
+			element = elt;
+		}
+
+		void addChild() {
+			nbChildren++;
+			lastIsText = false;
+			text = null;
+		}
+
+		void addText(final String data) {
+			if(lastIsText) {
+				if(text!=null)
+					text.append(data);
+			}else {
+				nbChildren++;
+				lastIsText = true;
+				text = nbChildren==1 ? new StringBuilder(data) : null;
+			}
+		}
+
+		void end() {
+			if(nbChildren==1 && text!=null)
+				element.setTextContent(text.toString());
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package net.sf.latexdraw.parsers.svg;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import net.sf.latexdraw.util.LResources;
+
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Writes SVG elements in a stream, element by element, with the markup of SVGDocument.saveSVGDocument, i.e. of the
+ * DOM serialiser of the JDK: pretty printed with four spaces, elements containing text not indented, attributes kept
+ * on the line of their start tag, the same escaped characters and character references. Contrary to saveSVGDocument,
+ * the elements do not have to belong to a complete SVG tree: an element can be written and then dropped, so that
+ * the document never exists completely in memory.<br>
+ * The markup is written by this class and not by a StAX writer: StAX writers do not escape the white spaces of
+ * the attributes, that an XML parser then normalises into spaces.<br>
+ * <br>
+ * This file is part of LaTeXDraw.<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-18<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public final class SVGStreamWriter implements AutoCloseable {
+	/** The indentation of a level of the tree. */
+	private static final String INDENT = "    "; //$NON-NLS-1$
+
+	/** The output. */
+	private final Writer writer;
+
+	/** Used to know whether a character can be written as is or as a character reference. */
+	private final CharsetEncoder encoder;
+
+	/** True if the charset can encode all the characters (the encoder is then not used). */
+	private final boolean unicode;
+
+	/** True if the supplementary characters are written as is: as the DOM serialiser, only in UTF-16. */
+	private final boolean utf16;
+
+	/** The names of the elements opened by writeStartElement, the last opened first. */
+	private final Deque<String> opened;
+
+	/** The depth of the written node in the tree. */
+	private int depth;
+
+	/** True if nothing has been written after the XML declaration: the root element is not indented. */
+	private boolean first;
+
+
+	/**
+	 * Creates the writer and writes the XML declaration.
+	 * @param output The stream to write. It is not closed by the writer.
+	 * @param charset The encoding of the document.
+	 * @param version The XML version of the document (e.g. SVGDocument.getXmlVersion()).
+	 * @throws IOException If the declaration cannot be written.
+	 */
+	public SVGStreamWriter(final OutputStream output, final Charset charset, final String version) throws IOException {
+		super();
+		writer = new OutputStreamWriter(output, charset.newEncoder());
+		encoder = charset.newEncoder();
+		utf16 = charset.name().startsWith("UTF-16"); //$NON-NLS-1$
+		unicode = utf16 || charset.equals(StandardCharsets.UTF_8);
+		opened = new ArrayDeque<>();
+		depth = 0;
+		first = true;
+		// As the DOM serialiser, the root element follows the declaration on the same line.
+		writer.write("<?xml version=\"" + version + "\" encoding=\"" + charset.name() + "\"?>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+
+	/**
+	 * Writes the start tag of an element and its attributes but not its children: the next written elements are
+	 * the children of this element until writeEndElement is called.
+	 * @param elt The element to open.
+	 * @throws IOException If an error occurs while writing the stream.
+	 */
+	public void writeStartElement(final SVGElement elt) throws IOException {
+		writeIndentation();
+		writer.write('<');
+		writer.write(elt.getNodeName());
+		writeAttributes(elt);
+		writer.write('>');
+		opened.push(elt.getNodeName());
+		depth++;
+	}
+
+
+	/**
+	 * Writes the end tag of the last element opened by writeStartElement.
+	 * @throws IOException If an error occurs while writing the stream or if no element is opened.
+	 */
+	public void writeEndElement() throws IOException {
+		if(opened.isEmpty())
+			throw new IOException("No opened element"); //$NON-NLS-1$
+		depth--;
+		writeIndentation();
+		writeEndTag(opened.pop());
+	}
+
+
+	/**
+	 * Writes a node with its attributes and its children.
+	 * @param node The element, text or comment to write.
+	 * @throws IOException If an error occurs while writing the stream.
+	 */
+	public void writeNode(final Node node) throws IOException {
+		writeNode(node, true);
+	}
+
+
+	private void writeNode(final Node node, final boolean indent) throws IOException {
+		switch(node.getNodeType()) {
+			case Node.ELEMENT_NODE:
+				writeElement(node, indent);
+				break;
+			case Node.TEXT_NODE:
+				writeEscaped(node.getNodeValue(), false);
+				break;
+			case Node.CDATA_SECTION_NODE:
+				writeCData(node.getNodeValue());
+				break;
+			case Node.COMMENT_NODE:
+				if(indent)
+					writeIndentation();
+				writer.write("<!--"); //$NON-NLS-1$
+				writer.write(node.getNodeValue());
+				writer.write("-->"); //$NON-NLS-1$
+				break;
+			default:
+				break;
+		}
+	}
+
+
+	private void writeElement(final Node elt, final boolean indent) throws IOException {
+		final NodeList children = elt.getChildNodes();
+		final int size = children==null ? 0 : children.getLength();
+
+		if(indent)
+			writeIndentation();
+
+		writer.write('<');
+		writer.write(elt.getNodeName());
+		writeAttributes(elt);
+
+		if(size==0) {
+			writer.write("/>"); //$NON-NLS-1$
+			return;
+		}
+
+		writer.write('>');
+
+		// As the DOM serialiser, the content of the elements that contain text is not indented.
+		final boolean indentChildren = indent && !containsText(children);
+		depth++;
+		for(int i=0; i<size; i++)
+			writeNode(children.item(i), indentChildren);
+		depth--;
+
+		if(indentChildren)
+			writeIndentation();
+		writeEndTag(elt.getNodeName());
+	}
+
+
+	private void writeEndTag(final String name) throws IOException {
+		writer.write("</"); //$NON-NLS-1$
+		writer.write(name);
+		writer.write('>');
+	}
+
+
+	private static boolean containsText(final NodeList children) {
+		for(int i=0, size=children.getLength(); i<size; i++) {
+			final short type = children.item(i).getNodeType();
+			if(type==Node.TEXT_NODE || type==Node.CDATA_SECTION_NODE)
+				return true;
+		}
+		return false;
+	}
+
+
+	private void writeAttributes(final Node elt) throws IOException {
+		final NamedNodeMap attrs = elt.getAttributes();
+		if(attrs!=null)
+			for(int i=0, size=attrs.getLength(); i<size; i++) {
+				writer.write(' ');
+				writer.write(attrs.item(i).getNodeName());
+				writer.write("=\""); //$NON-NLS-1$
+				writeEscaped(attrs.item(i).getNodeValue(), true);
+				writer.write('"');
+			}
+	}
+
+
+	/**
+	 * Writes a text or the value of an attribute with the escapes of the DOM serialiser: the markup characters as
+	 * entities; the carriage returns, and the line feeds and tabulations of the attributes (that a parser would
+	 * normalise), the control and supplementary characters, and the characters the charset cannot encode as
+	 * decimal character references.
+	 */
+	private void writeEscaped(final String value, final boolean attribute) throws IOException {
+		if(value==null)
+			return;
+
+		for(int i=0, length=value.length(); i<length; i++) {
+			final char c = value.charAt(i);
+			switch(c) {
+				case '&': writer.write("&amp;"); break; //$NON-NLS-1$
+				case '<': writer.write("&lt;"); break; //$NON-NLS-1$
+				case '>': writer.write("&gt;"); break; //$NON-NLS-1$
+				case '"':
+					if(attribute) writer.write("&quot;"); //$NON-NLS-1$
+					else writer.write(c);
+					break;
+				case '\n':
+				case '\t':
+					if(attribute) writeCharRef(c);
+					else writer.write(c);
+					break;
+				case '\r':
+					writeCharRef(c);
+					break;
+				default:
+					if(Character.isHighSurrogate(c) && i+1<length && Character.isLowSurrogate(value.charAt(i+1))) {
+						if(utf16) {
+							writer.write(c);
+							writer.write(value.charAt(i+1));
+						}else
+							writeCharRef(Character.toCodePoint(c, value.charAt(i+1)));
+						i++;
+					}else if(isWritable(c))
+						writer.write(c);
+					else
+						writeCharRef(c);
+					break;
+			}
+		}
+	}
+
+
+	/**
+	 * Writes a CDATA section as the DOM serialiser: the sequences "]]>" split the section and the characters that
+	 * the charset cannot encode are written as character references between two sections.
+	 */
+	private void writeCData(final String value) throws IOException {
+		final String data = value==null ? "" : value.replace("]]>", "]]]]><![CDATA[>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		writer.write("<![CDATA["); //$NON-NLS-1$
+		for(int i=0, length=data.length(); i<length; i++) {
+			final char c = data.charAt(i);
+			if(c=='\n' || c=='\t' || c=='\r' || isWritable(c) || Character.isSurrogate(c))
+				writer.write(c);
+			else {
+				writer.write("]]>"); //$NON-NLS-1$
+				writeCharRef(c);
+				writer.write("<![CDATA["); //$NON-NLS-1$
+			}
+		}
+		writer.write("]]>"); //$NON-NLS-1$
+	}
+
+
+	/** @return True if the character can be written as is: not a control character and encodable by the charset. */
+	private boolean isWritable(final char c) {
+		if(c<0x20)
+			return false;
+		if(c<0x7F)
+			return true;
+		if(c<=0x9F)
+			return false;
+		return unicode ? !Character.isSurrogate(c) : encoder.canEncode(c);
+	}
+
+
+	private void writeCharRef(final int codePoint) throws IOException {
+		writer.write("&#"); //$NON-NLS-1$
+		writer.write(Integer.toString(codePoint));
+		writer.write(';');
+	}
+
+
+	private void writeIndentation() throws IOException {
+		if(first) {
+			first = false;
+			return;
+		}
+		writer.write(LResources.EOL);
+		for(int i=0; i<depth; i++)
+			writer.write(INDENT);
+	}
+
+
+	/**
+	 * Closes the elements still opened, ends the document and flushes the stream (that is not closed).
+	 * @throws IOException If an error occurs while writing the stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		while(!opened.isEmpty())
+			writeEndElement();
+		writer.write(LResources.EOL);
+		writer.flush();
+	}
+}
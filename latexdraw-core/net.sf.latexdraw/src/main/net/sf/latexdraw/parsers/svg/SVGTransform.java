@@ -1,6 +1,7 @@
 package net.sf.latexdraw.parsers.svg;
 
 import net.sf.latexdraw.util.LNumber;
+import net.sf.latexdraw.util.LNumberFormatter;
 
 /**
  * Defines an SVG transformation.<br>
@@ -602,28 +603,37 @@ public class SVGTransform {
 				break;
 
 			case SVG_TRANSFORM_ROTATE:
-				code.append(SVGAttributes.SVG_TRANSFORM_ROTATE).append('(').append(getRotationAngle());
+				code.append(SVGAttributes.SVG_TRANSFORM_ROTATE).append('(');
+				LNumberFormatter.SVG.append(code, getRotationAngle());
 
-				if(!LNumber.equalsDouble(m.getE(), 0.) || !LNumber.equalsDouble(m.getF(), 0.))
-					code.append(' ').append(m.getE()).append(' ').append(m.getF());
+				if(!LNumber.equalsDouble(m.getE(), 0.) || !LNumber.equalsDouble(m.getF(), 0.)) {
+					LNumberFormatter.SVG.append(code.append(' '), m.getE()).append(' ');
+					LNumberFormatter.SVG.append(code, m.getF());
+				}
 
 				code.append(')');
 				break;
 
 			case SVG_TRANSFORM_SCALE:
-				code.append(SVGAttributes.SVG_TRANSFORM_SCALE).append('(').append(getXScaleFactor()).append(' ').append(getYScaleFactor()).append(')');
+				code.append(SVGAttributes.SVG_TRANSFORM_SCALE).append('(');
+				LNumberFormatter.SVG.append(code, getXScaleFactor()).append(' ');
+				LNumberFormatter.SVG.append(code, getYScaleFactor()).append(')');
 				break;
 
 			case SVG_TRANSFORM_SKEWX:
-				code.append(SVGAttributes.SVG_TRANSFORM_SKEW_X).append('(').append(getXSkewAngle()).append(')');
+				code.append(SVGAttributes.SVG_TRANSFORM_SKEW_X).append('(');
+				LNumberFormatter.SVG.append(code, getXSkewAngle()).append(')');
 				break;
 
 			case SVG_TRANSFORM_SKEWY:
-				code.append(SVGAttributes.SVG_TRANSFORM_SKEW_Y).append('(').append(getYSkewAngle()).append(')');
+				code.append(SVGAttributes.SVG_TRANSFORM_SKEW_Y).append('(');
+				LNumberFormatter.SVG.append(code, getYSkewAngle()).append(')');
 				break;
 
 			case SVG_TRANSFORM_TRANSLATE:
-				code.append(SVGAttributes.SVG_TRANSFORM_TRANSLATE).append('(').append(getTX()).append(' ').append(getTY()).append(')');
+				code.append(SVGAttributes.SVG_TRANSFORM_TRANSLATE).append('(');
+				LNumberFormatter.SVG.append(code, getTX()).append(' ');
+				LNumberFormatter.SVG.append(code, getTY()).append(')');
 				break;
 		}
 
@@ -50,4 +50,19 @@ public abstract class SVGPathSeg {
 	public void setRelative(final boolean isRelative) {
 		this.isRelative = isRelative;
 	}
+
+
+	/**
+	 * Appends the SVG code of the segment (e.g. "L 10 20"), the numbers being written by LNumberFormatter.SVG.
+	 * @param buf The builder to fill.
+	 * @return The given builder.
+	 * @since 4.0
+	 */
+	public abstract StringBuilder appendSVG(final StringBuilder buf);
+
+
+	@Override
+	public String toString() {
+		return appendSVG(new StringBuilder()).toString();
+	}
 }
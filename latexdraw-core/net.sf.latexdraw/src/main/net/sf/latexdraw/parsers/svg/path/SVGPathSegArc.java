@@ -2,6 +2,8 @@ package net.sf.latexdraw.parsers.svg.path;
 
 import java.awt.geom.Arc2D;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 import org.eclipse.jdt.annotation.NonNull;
 
 /**
@@ -212,8 +214,14 @@ public class SVGPathSegArc extends SVGPathSeg {
 	}
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 'a' : 'A') + ' ' + rx + ' ' + ry + ' ' + angle + ' ' +
-                (largeArcFlag ? '1' : '0') + ' ' + (sweepFlag ? '1' : '0') + ' ' + x + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 'a' : 'A').append(' ');
+		LNumberFormatter.SVG.append(buf, rx).append(' ');
+		LNumberFormatter.SVG.append(buf, ry).append(' ');
+		LNumberFormatter.SVG.append(buf, angle).append(' ');
+		buf.append(largeArcFlag ? '1' : '0').append(' ');
+		buf.append(sweepFlag ? '1' : '0').append(' ');
+		LNumberFormatter.SVG.append(buf, x).append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 }
@@ -30,7 +30,7 @@ public class SVGPathSegClosePath extends SVGPathSeg {
 
 
 	@Override
-	public String toString() {
-		return "z";//$NON-NLS-1$
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		return buf.append('z');
 	}
 }
@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg.path;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines the SVGPath curveto segment.<br>
  *<br>
@@ -63,8 +65,14 @@ public class SVGPathSegCurvetoCubic extends SVGPathSeg {
 
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 'c' : 'C') + ' ' + x1 + ' ' + y1 + ' ' + x2 + ' ' + y2 + ' ' + x + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 'c' : 'C').append(' ');
+		LNumberFormatter.SVG.append(buf, x1).append(' ');
+		LNumberFormatter.SVG.append(buf, y1).append(' ');
+		LNumberFormatter.SVG.append(buf, x2).append(' ');
+		LNumberFormatter.SVG.append(buf, y2).append(' ');
+		LNumberFormatter.SVG.append(buf, x).append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 
 
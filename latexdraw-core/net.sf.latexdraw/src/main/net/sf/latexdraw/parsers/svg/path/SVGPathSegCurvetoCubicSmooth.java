@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg.path;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines the SVGPath smooth curveto segment.<br>
  *<br>
@@ -52,8 +54,12 @@ public class SVGPathSegCurvetoCubicSmooth extends SVGPathSeg {
 
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 's' : 'S') + ' ' + x2 + ' ' + y2 + ' ' + x + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 's' : 'S').append(' ');
+		LNumberFormatter.SVG.append(buf, x2).append(' ');
+		LNumberFormatter.SVG.append(buf, y2).append(' ');
+		LNumberFormatter.SVG.append(buf, x).append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 
 
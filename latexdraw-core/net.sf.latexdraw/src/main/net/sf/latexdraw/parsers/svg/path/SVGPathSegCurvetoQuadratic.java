@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg.path;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines the SVGPath quadratic curveto segment.<br>
  *<br>
@@ -53,8 +55,12 @@ public class SVGPathSegCurvetoQuadratic extends SVGPathSeg {
 
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 'q' : 'Q') + ' ' + x1 + ' ' + y1 + ' ' + x + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 'q' : 'Q').append(' ');
+		LNumberFormatter.SVG.append(buf, x1).append(' ');
+		LNumberFormatter.SVG.append(buf, y1).append(' ');
+		LNumberFormatter.SVG.append(buf, x).append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 
 
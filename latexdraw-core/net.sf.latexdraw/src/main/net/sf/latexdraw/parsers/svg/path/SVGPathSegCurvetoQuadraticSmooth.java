@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg.path;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines the SVGPath quadratic smooth curveto segment.<br>
  *<br>
@@ -43,8 +45,10 @@ public class SVGPathSegCurvetoQuadraticSmooth extends SVGPathSeg {
 
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 't' : 'T') + ' ' + x + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 't' : 'T').append(' ');
+		LNumberFormatter.SVG.append(buf, x).append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 
 	/**
@@ -2,6 +2,8 @@ package net.sf.latexdraw.parsers.svg.path;
 
 import java.awt.geom.Point2D;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 import org.eclipse.jdt.annotation.NonNull;
 
 /**
@@ -75,7 +77,9 @@ public class SVGPathSegLineto extends SVGPathSeg {
 
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 'l' : 'L') + ' ' + x + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 'l' : 'L').append(' ');
+		LNumberFormatter.SVG.append(buf, x).append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 }
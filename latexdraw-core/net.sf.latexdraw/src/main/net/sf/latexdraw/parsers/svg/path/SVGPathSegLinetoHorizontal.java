@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg.path;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines the SVGPath horizontal lineto segment.<br>
  *<br>
@@ -31,8 +33,9 @@ public class SVGPathSegLinetoHorizontal extends SVGPathSegLineto {
 
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 'h' : 'H') + ' ' + x;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 'h' : 'H').append(' ');
+		return LNumberFormatter.SVG.append(buf, x);
 	}
 
 
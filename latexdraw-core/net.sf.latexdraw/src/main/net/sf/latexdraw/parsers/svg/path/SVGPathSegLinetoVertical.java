@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg.path;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines the SVGPath vertical lineto segment.<br>
  *<br>
@@ -31,8 +33,9 @@ public class SVGPathSegLinetoVertical extends SVGPathSegLineto {
 
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 'v' : 'V') + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 'v' : 'V').append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 
 
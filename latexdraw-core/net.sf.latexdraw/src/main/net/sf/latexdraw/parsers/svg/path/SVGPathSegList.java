@@ -31,7 +31,7 @@ public class SVGPathSegList extends ArrayList<SVGPathSeg> implements SVGPathHand
 
 		for(final SVGPathSeg seg : this)
 			if(seg!=null) {
-				path.append(seg);
+				seg.appendSVG(path);
 				path.append(' ');
 			}
 
@@ -1,5 +1,7 @@
 package net.sf.latexdraw.parsers.svg.path;
 
+import net.sf.latexdraw.util.LNumberFormatter;
+
 /**
  * Defines the SVGPath moveto segment.<br>
  *<br>
@@ -31,7 +33,9 @@ public class SVGPathSegMoveto extends SVGPathSegLineto {
 	}
 
 	@Override
-	public String toString() {
-        return String.valueOf(isRelative() ? 'm' : 'M') + ' ' + x + ' ' + y;
+	public StringBuilder appendSVG(final StringBuilder buf) {
+		buf.append(isRelative() ? 'm' : 'M').append(' ');
+		LNumberFormatter.SVG.append(buf, x).append(' ');
+		return LNumberFormatter.SVG.append(buf, y);
 	}
 }
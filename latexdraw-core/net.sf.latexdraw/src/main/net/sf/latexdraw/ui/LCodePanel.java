@@ -56,6 +56,7 @@ public class LCodePanel implements ConcretePresentation {
 //		add(editorPane.getScrollpane(), BorderLayout.CENTER);
 
 		pstGenerator = new PSTCodeGenerator(drawing, viewsHandler, true, true);
+		pstGenerator.setIncremental(true);
 	}
 
 
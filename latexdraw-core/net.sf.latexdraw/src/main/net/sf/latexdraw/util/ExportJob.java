@@ -0,0 +1,265 @@
+package net.sf.latexdraw.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An export job submitted to ExportJobs: a future that gives the progress of the export and that kills
+ * the processes it started when it is cancelled. Each process is bounded by a timeout.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ * <br>
+ * 2015-11-16<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ * @param <T> The type of the result of the export.
+ */
+public class ExportJob<T> extends FutureTask<T> {
+	/** The job executed by the current thread, if any. */
+	private static final ThreadLocal<ExportJob<?>> CURRENT = new ThreadLocal<>();
+
+	/** The process currently executed by the job, if any. */
+	private volatile Process process;
+
+	/** The timeout of each process in milliseconds. */
+	private final long timeout;
+
+	/** The number of processes the job expects to execute (0 if unknown). */
+	private volatile int nbSteps;
+
+	/** The number of processes executed by the job. */
+	private volatile int nbDone;
+
+
+	/**
+	 * Creates a job.
+	 * @param task The export to perform. Must not be null.
+	 * @param timeout The timeout of each process of the job.
+	 * @param unit The unit of the timeout.
+	 */
+	ExportJob(final ExportTask<T> task, final long timeout, final TimeUnit unit) {
+		this(new Runner<>(task), timeout, unit);
+	}
+
+
+	private ExportJob(final Runner<T> runner, final long timeout, final TimeUnit unit) {
+		super(runner);
+		runner.job = this;
+		this.timeout = unit.toMillis(timeout);
+	}
+
+
+	/** Runs the task with the job registered as the job of the current thread. */
+	private static final class Runner<T> implements Callable<T> {
+		private final ExportTask<T> task;
+		ExportJob<T> job;
+
+		Runner(final ExportTask<T> task) {
+			super();
+			this.task = Objects.requireNonNull(task);
+		}
+
+		@Override
+		public T call() throws Exception {
+			CURRENT.set(job);
+			try {
+				return task.export(job);
+			}finally {
+				CURRENT.remove();
+			}
+		}
+	}
+
+	/**
+	 * @return The job executed by the current thread or null.
+	 */
+	public static ExportJob<?> current() {
+		return CURRENT.get();
+	}
+
+
+	/**
+	 * Sets the number of processes the job expects to execute. Used to compute the progress.
+	 * @param nbSteps The number of processes.
+	 */
+	public void setNbSteps(final int nbSteps) {
+		this.nbSteps = Math.max(0, nbSteps);
+		nbDone = 0;
+	}
+
+
+	/**
+	 * @return The progress of the job between 0 and 1, or -1 if it is unknown.
+	 */
+	public double getProgress() {
+		if(isDone())
+			return 1.0;
+		final int steps = nbSteps;
+		return steps==0 ? -1.0 : Math.min(1.0, nbDone / (double)steps);
+	}
+
+
+	/**
+	 * Executes a command and waits for its end.
+	 * @param cmd The command. Must not be null or empty.
+	 * @param dir The working folder or null.
+	 * @return The log of the process (its standard and error outputs).
+	 * @throws IOException If the process cannot be started or its log cannot be read.
+	 * @throws InterruptedException If the current thread is interrupted: the process is killed.
+	 * @throws TimeoutException If the process exceeds the timeout of the job: the process is killed.
+	 * @throws CancellationException If the job is cancelled: the process is killed.
+	 */
+	public String execute(final String[] cmd, final File dir) throws IOException, InterruptedException, TimeoutException {
+		if(isCancelled())
+			throw new CancellationException();
+
+		final File log = File.createTempFile("latexdrawProcess", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		try {
+			// The two outputs are written in a file: no thread is needed to empty the pipes of the process.
+			final Process proc = new ProcessBuilder(cmd).directory(dir).redirectErrorStream(true).redirectOutput(log).start();
+			process = proc;
+
+			try {
+				// The job may have been cancelled while the process was starting.
+				if(isCancelled())
+					throw new CancellationException();
+				if(!proc.waitFor(timeout, TimeUnit.MILLISECONDS))
+					throw new TimeoutException("Timeout of " + timeout + "ms exceeded: " + Arrays.toString(cmd)); //$NON-NLS-1$ //$NON-NLS-2$
+			}catch(final InterruptedException | TimeoutException | CancellationException ex) {
+				destroyTree(proc);
+				if(isCancelled())
+					throw new CancellationException();
+				throw ex;
+			}finally {
+				process = null;
+			}
+
+			nbDone++;
+			return readLog(log);
+		}finally {
+			log.delete();
+		}
+	}
+
+
+	@Override
+	public boolean cancel(final boolean mayInterruptIfRunning) {
+		final boolean cancelled = super.cancel(mayInterruptIfRunning);
+		final Process proc = process;
+		if(cancelled && proc!=null)
+			destroyTree(proc);
+		return cancelled;
+	}
+
+
+	private static String readLog(final File log) throws IOException {
+		final StringBuilder buf = new StringBuilder();
+		try(final BufferedReader reader = Files.newBufferedReader(log.toPath(), Charset.defaultCharset())) {
+			String line = reader.readLine();
+			while(line!=null) {
+				buf.append(line).append(LResources.EOL);
+				line = reader.readLine();
+			}
+		}
+		return buf.toString();
+	}
+
+
+	/**
+	 * Kills the given process and its sub-processes (e.g. ghostscript started by the ps2pdf script).
+	 * Java 8 does not give the sub-processes of a process: pgrep and taskkill are used when the identifier
+	 * of the process is known. Otherwise, only the process is destroyed.
+	 */
+	static void destroyTree(final Process proc) {
+		final long pid = getPid(proc);
+
+		if(pid>0 && LSystem.INSTANCE.isWindows()) {
+			run("taskkill", "/F", "/T", "/PID", String.valueOf(pid)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			proc.destroyForcibly();
+		}else {
+			// The sub-processes are collected before killing the process since they are then attached to init.
+			// The process is killed first so that it cannot go on once its sub-processes are killed.
+			final List<String> children = new ArrayList<>();
+			if(pid>0)
+				collectChildren(String.valueOf(pid), children);
+			proc.destroyForcibly();
+			children.forEach(child -> run("kill", "-KILL", child)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+
+	/** Collects the identifiers of the sub-processes of the given process, recursively. */
+	private static void collectChildren(final String pid, final List<String> children) {
+		for(final String child : run("pgrep", "-P", pid).split("\\s+")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if(child.matches("\\d+")) { //$NON-NLS-1$
+				children.add(child);
+				collectChildren(child, children);
+			}
+		}
+	}
+
+
+	/** Runs a short system command and returns its output (empty on error). */
+	private static String run(final String... cmd) {
+		try {
+			final Process proc = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+			final List<String> lines = new ArrayList<>();
+			try(final BufferedReader reader = new BufferedReader(new InputStreamReader(proc.getInputStream(), Charset.defaultCharset()))) {
+				String line = reader.readLine();
+				while(line!=null) {
+					lines.add(line.trim());
+					line = reader.readLine();
+				}
+			}
+			proc.waitFor(5, TimeUnit.SECONDS);
+			return String.join(" ", lines); //$NON-NLS-1$
+		}catch(final IOException | InterruptedException ex) {
+			return ""; //$NON-NLS-1$
+		}
+	}
+
+
+	/**
+	 * @return The identifier of the process or -1 if it cannot be known. Process.pid exists since Java 9: it is
+	 * called by reflection so that the code still compiles with Java 8. With Java 8, the identifier is read from
+	 * the private field pid of the Unix implementation (java.lang.UNIXProcess). The Windows implementation of
+	 * Java 8 only has the handle of the process: -1 is returned.
+	 */
+	private static long getPid(final Process proc) {
+		try {
+			return (Long)Process.class.getMethod("pid").invoke(proc); //$NON-NLS-1$
+		}catch(final ReflectiveOperationException | RuntimeException ex) {
+			try {
+				final Field field = proc.getClass().getDeclaredField("pid"); //$NON-NLS-1$
+				field.setAccessible(true);
+				return field.getInt(proc);
+			}catch(final ReflectiveOperationException | RuntimeException ex2) {
+				return -1L;
+			}
+		}
+	}
+}
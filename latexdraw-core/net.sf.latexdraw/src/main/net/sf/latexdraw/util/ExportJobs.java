@@ -0,0 +1,99 @@
+package net.sf.latexdraw.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes export jobs (e.g. the compilation of a drawing into a PDF document) in a bounded pool of threads.
+ * So that several exports of a drawing can run concurrently without freezing the calling thread.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ * <br>
+ * 2015-11-16<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public final class ExportJobs {
+	/** The default timeout of the processes of the jobs: 2 minutes. */
+	public static final long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(2L);
+
+	/** The default maximal number of jobs waiting for a thread. */
+	public static final int DEFAULT_QUEUE_SIZE = 32;
+
+	/** The engine of the application. */
+	public static final ExportJobs INSTANCE = new ExportJobs(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+													DEFAULT_QUEUE_SIZE, DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+
+	/** The threads that execute the jobs. */
+	private final ThreadPoolExecutor executor;
+
+	/** The timeout of each process in milliseconds. */
+	private final long timeout;
+
+
+	/**
+	 * Creates an engine.
+	 * @param nbThreads The maximal number of jobs executed concurrently.
+	 * @param queueSize The maximal number of jobs waiting for a thread.
+	 * @param timeout The timeout of each process started by a job.
+	 * @param unit The unit of the timeout.
+	 * @throws IllegalArgumentException If a parameter is not positive.
+	 */
+	public ExportJobs(final int nbThreads, final int queueSize, final long timeout, final TimeUnit unit) {
+		super();
+		if(nbThreads<1 || queueSize<1 || timeout<1)
+			throw new IllegalArgumentException();
+
+		final AtomicInteger count = new AtomicInteger();
+		this.timeout = unit.toMillis(timeout);
+		executor = new ThreadPoolExecutor(nbThreads, nbThreads, 30L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+			final Thread thread = new Thread(runnable, "LaTeXDraw export " + count.incrementAndGet()); //$NON-NLS-1$
+			// The exports must not prevent the application from exiting.
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+
+	/**
+	 * Submits an export.
+	 * @param task The export to perform. Must not be null.
+	 * @param <T> The type of the result of the export.
+	 * @return The job: a future that gives the progress of the export and that can be cancelled.
+	 * @throws RejectedExecutionException If too many jobs are waiting or if the engine is shut down.
+	 */
+	public <T> ExportJob<T> submit(final ExportTask<T> task) {
+		final ExportJob<T> job = new ExportJob<>(task, timeout, TimeUnit.MILLISECONDS);
+		executor.execute(job);
+		return job;
+	}
+
+
+	/**
+	 * @return The timeout of each process in milliseconds.
+	 */
+	public long getTimeout() {
+		return timeout;
+	}
+
+
+	/**
+	 * Cancels the running and waiting jobs and stops the threads.
+	 */
+	public void shutdownNow() {
+		executor.shutdownNow().forEach(job -> ((ExportJob<?>)job).cancel(true));
+	}
+}
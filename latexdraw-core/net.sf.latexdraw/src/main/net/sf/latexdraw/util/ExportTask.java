@@ -0,0 +1,32 @@
+package net.sf.latexdraw.util;
+
+/**
+ * The work of an export job (see ExportJobs).<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.<br>
+ * <br>
+ * 2015-11-16<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ * @param <T> The type of the result of the export (e.g. the exported file).
+ */
+@FunctionalInterface
+public interface ExportTask<T> {
+	/**
+	 * Performs the export.
+	 * @param job The job that executes the task. Its execute method must be used to start processes, so that they
+	 * can be cancelled. LSystem.execute uses the job of the current thread.
+	 * @return The result of the export.
+	 * @throws Exception If the export fails.
+	 */
+	T export(final ExportJob<T> job) throws Exception;
+}
@@ -0,0 +1,370 @@
+package net.sf.latexdraw.util;
+
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.sf.latexdraw.filters.BMPFilter;
+import net.sf.latexdraw.filters.JPGFilter;
+import net.sf.latexdraw.filters.PNGFilter;
+import net.sf.latexdraw.filters.SVGFilter;
+import net.sf.latexdraw.filters.TeXFilter;
+import net.sf.latexdraw.generators.svg.SVGDocumentGenerator;
+import net.sf.latexdraw.generators.svg.SVGShapesImporter;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.views.latex.DviPsColors;
+import net.sf.latexdraw.glib.views.latex.LaTeXGenerator;
+import net.sf.latexdraw.glib.views.pst.PSTCodeGenerator;
+import net.sf.latexdraw.glib.views.raster.RasterExporter;
+import net.sf.latexdraw.glib.views.raster.ShapesPainter;
+import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniserHandler;
+
+/**
+ * Converts latexdraw SVG drawings into PSTricks code or re-saves them, without any user interface.
+ * The files are converted concurrently by a pool of workers; the time of each conversion and the
+ * throughput of the whole batch are printed.<br>
+ *<br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ * <br>
+ * 2015-11-17<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public class LBatchConverter {
+	/** The formats of the batch conversion. */
+	public enum Format {
+		/** PSTricks code. */
+		TEX(TeXFilter.TEX_EXTENSION),
+		/** The latexdraw SVG format: the drawing is saved again. */
+		SVG(SVGFilter.SVG_EXTENSION),
+		/** PNG pictures. */
+		PNG(PNGFilter.PNG_EXTENSION),
+		/** JPEG pictures. */
+		JPG(JPGFilter.JPG_EXTENSION),
+		/** BMP pictures. */
+		BMP(BMPFilter.BMP_EXTENSION);
+
+		private final String extension;
+
+		Format(final String extension) {
+			this.extension = extension;
+		}
+
+		/**
+		 * @return The extension of the files of this format (e.g. ".tex").
+		 */
+		public String getExtension() {
+			return extension;
+		}
+	}
+
+	/** The formats to produce. */
+	protected final Set<Format> formats;
+
+	/** The folder where the converted files are written. If null, next to the source files. */
+	protected final File outputDir;
+
+	/** The number of workers. */
+	protected final int nbWorkers;
+
+	/** Where the timings and the summary are printed. */
+	protected final PrintStream out;
+
+	/** The resolution of the pictures (PNG, JPG, BMP) in dots per inch. */
+	protected double resolution;
+
+
+	/**
+	 * Creates a converter.
+	 * @param formats The formats to produce. Must not be null or empty.
+	 * @param outputDir The folder where the converted files are written. If null, the files are written next to their
+	 * source (so a re-saved SVG drawing replaces its source).
+	 * @param nbWorkers The number of files converted concurrently.
+	 * @param out Where the timings and the summary are printed. Must not be null.
+	 * @throws IllegalArgumentException If no format is given or if the number of workers is not positive.
+	 */
+	public LBatchConverter(final Set<Format> formats, final File outputDir, final int nbWorkers, final PrintStream out) {
+		super();
+		if(formats==null || formats.isEmpty() || nbWorkers<1)
+			throw new IllegalArgumentException();
+		this.formats = formats;
+		this.outputDir = outputDir;
+		this.nbWorkers = nbWorkers;
+		this.out = Objects.requireNonNull(out);
+		resolution = IShape.PPC * 2.54;
+	}
+
+
+	/**
+	 * @param dpi The resolution of the pictures (PNG, JPG, BMP) in dots per inch. By default, the resolution of
+	 * the drawings (IShape.PPC pixels per centimetre).
+	 * @throws IllegalArgumentException If the resolution is not positive.
+	 */
+	public void setResolution(final double dpi) {
+		if(dpi<=0.)
+			throw new IllegalArgumentException();
+		resolution = dpi;
+	}
+
+
+	/**
+	 * Lists the SVG files designated by the given inputs.
+	 * @param inputs Files, folders (their SVG files are listed recursively) or glob patterns (e.g. "drawings/**.svg").
+	 * @return The files, without duplicates, in the order of the inputs.
+	 * @throws IOException If a folder cannot be read.
+	 */
+	public static List<File> listFiles(final List<String> inputs) throws IOException {
+		final Set<File> files = new LinkedHashSet<>();
+
+		for(final String input : inputs) {
+			final File file = new File(input);
+
+			if(file.isFile())
+				files.add(file);
+			else if(file.isDirectory())
+				files.addAll(walk(file.toPath(), path -> path.getFileName().toString().toLowerCase(Locale.ENGLISH).endsWith(SVGFilter.SVG_EXTENSION)));
+			else if(isGlob(input))
+				files.addAll(listGlob(input));
+		}
+
+		return new ArrayList<>(files);
+	}
+
+
+	private static boolean isGlob(final String input) {
+		return input.indexOf('*')!=-1 || input.indexOf('?')!=-1 || input.indexOf('[')!=-1 || input.indexOf('{')!=-1;
+	}
+
+
+	/** Lists the files matching a glob pattern: the folders preceding the first wildcard are walked. */
+	private static List<File> listGlob(final String glob) throws IOException {
+		final String pattern = glob.replace(File.separatorChar, '/');
+		int firstWildcard = 0;
+		while(!isGlob(pattern.substring(0, firstWildcard+1)))
+			firstWildcard++;
+		final int lastSep = pattern.lastIndexOf('/', firstWildcard);
+		final Path base = Paths.get(lastSep<0 ? "." : lastSep==0 ? "/" : pattern.substring(0, lastSep)); //$NON-NLS-1$ //$NON-NLS-2$
+		final PathMatcher matcher = base.getFileSystem().getPathMatcher("glob:" + pattern.substring(lastSep+1)); //$NON-NLS-1$
+
+		if(!Files.isDirectory(base))
+			return new ArrayList<>();
+
+		return walk(base, path -> matcher.matches(base.relativize(path)));
+	}
+
+
+	private static List<File> walk(final Path dir, final Predicate<Path> filter) throws IOException {
+		try(final Stream<Path> paths = Files.walk(dir, FileVisitOption.FOLLOW_LINKS)) {
+			return paths.filter(Files::isRegularFile).filter(filter).sorted().map(Path::toFile).collect(Collectors.toList());
+		}
+	}
+
+
+	/**
+	 * Converts the given files. The timings are printed as soon as each file is converted.
+	 * @param files The SVG drawings to convert.
+	 * @return The number of files that could not be converted.
+	 * @throws InterruptedException If the current thread is interrupted while waiting for the workers.
+	 */
+	public int convert(final List<File> files) throws InterruptedException {
+		final ExecutorService workers = Executors.newFixedThreadPool(nbWorkers);
+		final long start = System.nanoTime();
+		final List<Future<Boolean>> results = new ArrayList<>();
+		int nbFailures = 0;
+
+		if(outputDir!=null)
+			outputDir.mkdirs();
+
+		try {
+			for(final File file : files)
+				results.add(workers.submit(() -> convert(file)));
+
+			for(final Future<Boolean> result : results)
+				try {
+					if(!result.get())
+						nbFailures++;
+				}catch(final ExecutionException ex) {
+					nbFailures++;
+				}
+		}finally {
+			workers.shutdownNow();
+		}
+
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		out.println(String.format(Locale.ENGLISH, "%d/%d files converted in %.2f s (%.1f files/s, %d workers, %d failures)", //$NON-NLS-1$
+				files.size()-nbFailures, files.size(), seconds, seconds>0 ? files.size()/seconds : 0., nbWorkers, nbFailures));
+
+		return nbFailures;
+	}
+
+
+	/**
+	 * Converts a file into every format and prints the time of the conversion.
+	 * @return True if the file has been converted.
+	 */
+	protected boolean convert(final File file) {
+		final long start = System.nanoTime();
+		final File dir = outputDir==null ? file.getAbsoluteFile().getParentFile() : outputDir;
+		final String name = LFileUtils.INSTANCE.getFileNameNoExtension(file.getName());
+		String error = null;
+
+		try {
+			final IDrawing drawing = load(file);
+
+			for(final Format format : formats) {
+				final File target = new File(dir, name + format.getExtension());
+				switch(format) {
+					case TEX: saveAsPST(drawing, target); break;
+					case SVG: saveAsSVG(drawing, target); break;
+					case PNG: saveAsPicture(drawing, target, "png", resolution); break; //$NON-NLS-1$
+					case JPG: saveAsPicture(drawing, target, "jpg", resolution); break; //$NON-NLS-1$
+					case BMP: saveAsPicture(drawing, target, "bmp", resolution); break; //$NON-NLS-1$
+				}
+			}
+		}catch(final Exception ex) {
+			error = ex.getMessage()==null ? ex.getClass().getSimpleName() : ex.getMessage();
+		}
+
+		final long millis = (System.nanoTime() - start) / 1000000L;
+		// A single println so that the lines of the workers are not mixed.
+		out.println(error==null ? String.format("[OK] %s (%d ms)", file.getPath(), millis) : //$NON-NLS-1$
+								String.format("[FAILED] %s (%d ms): %s", file.getPath(), millis, error)); //$NON-NLS-1$
+		return error==null;
+	}
+
+
+	/**
+	 * Loads a latexdraw SVG drawing.
+	 * @param file The SVG document.
+	 * @return The drawing.
+	 * @throws Exception If the document cannot be read.
+	 */
+	public static IDrawing load(final File file) throws Exception {
+		final IDrawing drawing = ShapeFactory.createDrawing();
+		final IGroup shapes = ShapeFactory.createGroup();
+		SVGShapesImporter.INSTANCE.importShapes(file.toURI(), shapes);
+		shapes.getShapes().forEach(sh -> drawing.addShape(sh));
+		return drawing;
+	}
+
+
+	/**
+	 * Writes the PSTricks code of the given drawing. The colours that are not predefined are named in a table
+	 * of the conversion (see DviPsColors::withUserColours): the workers do not share their colours, so that the
+	 * code of a drawing does not depend on the other converted drawings.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void saveAsPST(final IDrawing drawing, final File target) throws IOException {
+		final String code = DviPsColors.INSTANCE.withUserColours(new DviPsColors.UserColours(), () ->
+			LaTeXGenerator.getLatexDrawing(new PSTCodeGenerator(drawing, new DrawingBoundsHandler(drawing), true, true)));
+
+		try(final BufferedWriter writer = Files.newBufferedWriter(target.toPath(), Charset.defaultCharset())) {
+			writer.write(code);
+			writer.newLine();
+		}
+	}
+
+
+	/**
+	 * Saves the given drawing as a latexdraw SVG document. There is no instrument in the batch mode: the
+	 * parameters of the instruments are not saved.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void saveAsSVG(final IDrawing drawing, final File target) throws IOException {
+		SVGDocumentGenerator.INSTANCE.save(drawing.getShapes(), target);
+	}
+
+
+	/**
+	 * Exports a drawing as a picture painted in tiles (see RasterExporter). The picture contains the bounds of the shapes.
+	 * @param drawing The drawing to export.
+	 * @param target The picture to create.
+	 * @param imageFormat The ImageIO name of the format of the picture.
+	 * @param dpi The resolution of the picture in dots per inch.
+	 * @throws IOException If the picture cannot be written.
+	 */
+	public static void saveAsPicture(final IDrawing drawing, final File target, final String imageFormat, final double dpi) throws IOException {
+		final DrawingBoundsHandler handler = new DrawingBoundsHandler(drawing);
+		final IPoint tr = handler.getTopRightDrawingPoint();
+		final IPoint bl = handler.getBottomLeftDrawingPoint();
+		RasterExporter.INSTANCE.export(new ShapesPainter(drawing.getShapes()), new Rectangle2D.Double(bl.getX(), tr.getY(),
+				tr.getX()-bl.getX(), bl.getY()-tr.getY()), RasterExporter.getScale(dpi), imageFormat, target, 1f);
+	}
+
+
+	/**
+	 * Gives the bounds of a drawing to the PST generator in place of the canvas: the bounds of the shapes
+	 * (including their thickness and rotation, see IDrawing.getFullBounds), the origin being placed as the canvas does.
+	 */
+	static class DrawingBoundsHandler implements ViewsSynchroniserHandler {
+		private double minX;
+		private double minY;
+		private double maxX;
+		private double maxY;
+
+		DrawingBoundsHandler(final IDrawing drawing) {
+			super();
+			final Rectangle2D bounds = new Rectangle2D.Double();
+			drawing.getFullBounds(bounds);
+			minX = bounds.getMinX();
+			minY = bounds.getMinY();
+			maxX = bounds.getMaxX();
+			maxY = bounds.getMaxY();
+		}
+
+		@Override
+		public IPoint getTopRightDrawingPoint() {
+			return ShapeFactory.createPoint(maxX, minY);
+		}
+
+		@Override
+		public IPoint getBottomLeftDrawingPoint() {
+			return ShapeFactory.createPoint(minX, maxY);
+		}
+
+		@Override
+		public IPoint getOriginDrawingPoint() {
+			return ShapeFactory.createPoint(minX, (maxY - minY) / 2.0);
+		}
+
+		@Override
+		public int getPPCDrawing() {
+			return IShape.PPC;
+		}
+	}
+}
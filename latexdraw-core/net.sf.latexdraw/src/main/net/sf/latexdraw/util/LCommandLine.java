@@ -1,6 +1,13 @@
 package net.sf.latexdraw.util;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import net.sf.latexdraw.util.LBatchConverter.Format;
 
 /**
  * Defines a command line parser for latexdraw.<br>
@@ -29,16 +36,48 @@ public class LCommandLine {
 		/** If the command line states that latexdraw must start with a file to open. */
 		APPLICATION_FILENAME,
 		/** If the command line states that latexdraw must stop. */
-		STOP
+		STOP,
+		/** If the command line states that latexdraw must convert files without user interface. */
+		BATCH
 	}
 
 	/** The option for show the help. */
 	public static final String OPTION_HELP = "-h"; //$NON-NLS-1$
 
+	/** The option that converts files without user interface. */
+	public static final String OPTION_CONVERT = "-convert"; //$NON-NLS-1$
+
+	/** The option that gives the formats of the conversion (tex, svg, png, jpg, bmp). */
+	public static final String OPTION_FORMAT = "-f"; //$NON-NLS-1$
+
+	/** The option that gives the folder of the converted files. */
+	public static final String OPTION_OUTPUT = "-o"; //$NON-NLS-1$
+
+	/** The option that gives the number of workers of the conversion. */
+	public static final String OPTION_WORKERS = "-j"; //$NON-NLS-1$
+
+	/** The option that gives the resolution of the pictures of the conversion. */
+	public static final String OPTION_RESOLUTION = "-dpi"; //$NON-NLS-1$
+
 
 	/** The file name given in argument. */
 	protected String filename;
 
+	/** The files, folders or glob patterns to convert. */
+	protected final List<String> inputs = new ArrayList<>();
+
+	/** The formats of the conversion. */
+	protected final Set<Format> formats = EnumSet.noneOf(Format.class);
+
+	/** The folder of the converted files (null: next to the source files). */
+	protected File outputDir;
+
+	/** The number of workers of the conversion. */
+	protected int nbWorkers = Runtime.getRuntime().availableProcessors();
+
+	/** The resolution of the pictures of the conversion in dots per inch (0: the one of the drawings). */
+	protected double resolution;
+
 
     /**
 	 * Parses the given arguments.
@@ -55,12 +94,89 @@ public class LCommandLine {
 			return CmdLineState.STOP;
 		}
 
+		if(args[0].equals(OPTION_CONVERT))
+			return parseConvert(args);
+
 		filename = getFileName(args);
 		return filename==null ? CmdLineState.APPLICATION : CmdLineState.APPLICATION_FILENAME;
 	}
 
 
 
+	/**
+	 * Parses the arguments of the conversion: -convert [-f tex,svg,png,jpg,bmp] [-o folder] [-j workers] [-dpi resolution] inputs...
+	 * @param args The arguments to parse, starting with OPTION_CONVERT.
+	 * @return BATCH or STOP if the arguments are not valid.
+	 * @since 4.0
+	 */
+	protected CmdLineState parseConvert(final String[] args) {
+		int i = 1;
+
+		try {
+			while(i<args.length) {
+				switch(args[i]) {
+					case OPTION_FORMAT:
+						for(final String format : args[++i].split(",")) //$NON-NLS-1$
+							formats.add(Format.valueOf(format.trim().toUpperCase(Locale.ENGLISH)));
+						break;
+					case OPTION_OUTPUT:
+						outputDir = new File(args[++i]);
+						break;
+					case OPTION_WORKERS:
+						nbWorkers = Integer.parseInt(args[++i]);
+						if(nbWorkers<1)
+							throw new IllegalArgumentException();
+						break;
+					case OPTION_RESOLUTION:
+						resolution = Double.parseDouble(args[++i]);
+						if(!(resolution>0.) || Double.isInfinite(resolution))
+							throw new IllegalArgumentException();
+						break;
+					default:
+						inputs.add(args[i]);
+				}
+				i++;
+			}
+		}catch(final IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+			System.err.println("Invalid value for the option " + args[Math.min(i, args.length)-1]); //$NON-NLS-1$
+			displayHelp();
+			return CmdLineState.STOP;
+		}
+
+		if(inputs.isEmpty()) {
+			System.err.println("No file to convert."); //$NON-NLS-1$
+			displayHelp();
+			return CmdLineState.STOP;
+		}
+
+		if(formats.isEmpty())
+			formats.add(Format.TEX);
+
+		return CmdLineState.BATCH;
+	}
+
+
+
+	/**
+	 * Converts the files given by the command line (see parseConvert) without user interface.
+	 * @return The number of files that could not be converted.
+	 * @throws Exception If the files cannot be listed or if the conversion is interrupted.
+	 * @since 4.0
+	 */
+	public int convert() throws Exception {
+		final List<File> files = LBatchConverter.listFiles(inputs);
+		if(files.isEmpty()) {
+			System.err.println("No file matches " + inputs); //$NON-NLS-1$
+			return 0;
+		}
+		final LBatchConverter converter = new LBatchConverter(formats, outputDir, nbWorkers, System.out);
+		if(resolution>0.)
+			converter.setResolution(resolution);
+		return converter.convert(files);
+	}
+
+
+
 	/**
 	 * deduces the filename that will be open, from the set of parameters.
 	 * @param args The parameters given to latexdraw.
@@ -102,6 +218,12 @@ public class LCommandLine {
 		System.out.println("Options:"); //$NON-NLS-1$
 		System.out.println("\t"+OPTION_HELP+"\t\t\t\tDisplay the different options"); //$NON-NLS-1$ //$NON-NLS-2$
 		System.out.println("\t<filename>\t\t\tOpens the given file <filename> into latexdraw."); //$NON-NLS-1$
+		System.out.println("\t"+OPTION_CONVERT+" [options] <inputs>\tConverts without user interface the SVG drawings given by"); //$NON-NLS-1$ //$NON-NLS-2$
+		System.out.println("\t\t\t\t\tfiles, folders or glob patterns (e.g. \"drawings/**.svg\")."); //$NON-NLS-1$
+		System.out.println("\t  "+OPTION_FORMAT+" tex,svg,png,jpg,bmp\tThe formats: PSTricks code (default), SVG (re-save) and/or pictures."); //$NON-NLS-1$ //$NON-NLS-2$
+		System.out.println("\t  "+OPTION_OUTPUT+" <folder>\t\t\tThe folder of the converted files (default: next to the sources)."); //$NON-NLS-1$ //$NON-NLS-2$
+		System.out.println("\t  "+OPTION_WORKERS+" <n>\t\t\tThe number of files converted concurrently (default: number of processors)."); //$NON-NLS-1$ //$NON-NLS-2$
+		System.out.println("\t  "+OPTION_RESOLUTION+" <dpi>\t\t\tThe resolution of the pictures (default: 127 dpi, the one of the drawings)."); //$NON-NLS-1$ //$NON-NLS-2$
 		System.out.println("If no argument is given, latexdraw will started with a new drawing."); //$NON-NLS-1$
 	}
 
@@ -0,0 +1,253 @@
+package net.sf.latexdraw.util;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+
+/**
+ * Writes decimal numbers with a fixed maximal number of fraction digits, directly in a StringBuilder or
+ * a CharBuffer: contrary to StringBuilder.append(double), no intermediate string is created and the number
+ * of digits does not depend on the binary representation of the number.<br>
+ * The numbers are rounded half away from zero; the trailing zeros of the fraction and the dot are removed
+ * (1.50 is written 1.5, 2.0 is written 2) and a number rounded to zero is written 0 (never -0).
+ * The numbers are never written with an exponent: NaN and the infinities excepted, the output can be read
+ * by PSTricks and by SVG parsers.<br>
+ * A formatter either writes a fixed maximal number of fraction digits (the coordinates) or a fixed maximal
+ * number of significant digits (the numbers that are not lengths, such as plotted data, so that small values
+ * are not rounded to zero).<br>
+ * The formatters are immutable and can be shared between threads.<br>
+ *<br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ *<br>
+ *  LaTeXDraw is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; either version 2 of the License, or
+ *  (at your option) any later version.<br>
+ *<br>
+ *  LaTeXDraw is distributed without any warranty; without even the
+ *  implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ *  PURPOSE. See the GNU General Public License for more details.<br>
+ * <br>
+ * 2015-11-19<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public final class LNumberFormatter {
+	/** The maximal number of fraction digits. */
+	public static final int MAX_PRECISION = 9;
+
+	/** The maximal number of significant digits. */
+	public static final int MAX_SIGNIFICANT_DIGITS = 17;
+
+	/** The powers of ten that fit in a long. */
+	private static final long[] POW10 = new long[19];
+
+	static {
+		POW10[0] = 1L;
+		for(int i=1; i<POW10.length; i++)
+			POW10[i] = POW10[i-1] * 10L;
+	}
+
+	/**
+	 * The formatter of the PSTricks code: the coordinates are in centimetres, so four digits
+	 * give a precision of a micrometre.
+	 */
+	public static final LNumberFormatter PST = new LNumberFormatter(4);
+
+	/** The formatter of the SVG documents: the coordinates are in pixels. */
+	public static final LNumberFormatter SVG = new LNumberFormatter(6);
+
+	/**
+	 * The formatter of the numbers that are not lengths (plotted data, units, scales, plot bounds):
+	 * ten significant digits, whatever the magnitude of the number.
+	 */
+	public static final LNumberFormatter DATA = significant(10);
+
+	/** The maximal number of fraction (or significant) digits of this formatter. */
+	private final int precision;
+
+	/** True: precision is a number of significant digits; false: a number of fraction digits. */
+	private final boolean significant;
+
+	/** 10^precision. */
+	private final long scale;
+
+	/** The absolute values from which the scaled values do not fit in a long any more. */
+	private final double limit;
+
+
+	/**
+	 * Creates a formatter.
+	 * @param precision The maximal number of fraction digits, between 0 and MAX_PRECISION.
+	 * @throws IllegalArgumentException If the precision is out of bounds.
+	 */
+	public LNumberFormatter(final int precision) {
+		this(precision, false);
+	}
+
+
+	private LNumberFormatter(final int precision, final boolean significant) {
+		super();
+		if(significant ? precision<1 || precision>MAX_SIGNIFICANT_DIGITS : precision<0 || precision>MAX_PRECISION)
+			throw new IllegalArgumentException("Invalid precision: " + precision); //$NON-NLS-1$
+		this.precision = precision;
+		this.significant = significant;
+		scale = significant ? 1L : POW10[precision];
+		limit = POW10[POW10.length-1] / (double)scale;
+	}
+
+
+	/**
+	 * Creates a formatter that writes a maximal number of significant digits.
+	 * @param digits The maximal number of significant digits, between 1 and MAX_SIGNIFICANT_DIGITS.
+	 * @return The created formatter.
+	 * @throws IllegalArgumentException If the number of digits is out of bounds.
+	 * @since 4.0
+	 */
+	public static LNumberFormatter significant(final int digits) {
+		return new LNumberFormatter(digits, true);
+	}
+
+
+	/**
+	 * @return The maximal number of fraction digits of the formatter, or its maximal number of
+	 * significant digits if isSignificant().
+	 */
+	public int getPrecision() {
+		return precision;
+	}
+
+
+	/**
+	 * @return True if the precision of the formatter is a number of significant digits.
+	 */
+	public boolean isSignificant() {
+		return significant;
+	}
+
+
+	/**
+	 * Appends a number.
+	 * @param buf The builder to fill. Must not be null.
+	 * @param value The number to write.
+	 * @return The given builder.
+	 */
+	public StringBuilder append(final StringBuilder buf, final double value) {
+		try {
+			write(buf, value);
+		}catch(final IOException ex) {
+			// A StringBuilder does not throw IOException.
+			throw new IllegalStateException(ex);
+		}
+		return buf;
+	}
+
+
+	/**
+	 * Puts a number at the position of the buffer.
+	 * @param buf The buffer to fill. Must not be null.
+	 * @param value The number to write.
+	 * @return The given buffer.
+	 * @throws java.nio.BufferOverflowException If the buffer is too small.
+	 * @throws java.nio.ReadOnlyBufferException If the buffer is read-only.
+	 */
+	public CharBuffer append(final CharBuffer buf, final double value) {
+		try {
+			write(buf, value);
+		}catch(final IOException ex) {
+			// A CharBuffer does not throw IOException.
+			throw new IllegalStateException(ex);
+		}
+		return buf;
+	}
+
+
+	/**
+	 * @param value The number to write.
+	 * @return The formatted number.
+	 */
+	public String format(final double value) {
+		return append(new StringBuilder(24), value).toString();
+	}
+
+
+	private void write(final Appendable out, final double value) throws IOException {
+		if(Double.isNaN(value) || Double.isInfinite(value)) {
+			out.append(String.valueOf(value));
+			return;
+		}
+
+		if(significant)
+			writeSignificant(out, value);
+		else
+			writeFixed(out, value, precision, scale, limit);
+	}
+
+
+	private void writeSignificant(final Appendable out, final double value) throws IOException {
+		final double abs = Math.abs(value);
+
+		if(abs==0.) {
+			out.append('0');
+			return;
+		}
+
+		// The number of fraction digits that keeps 'precision' significant digits.
+		final int digits = Math.max(0, precision - 1 - (int)Math.floor(Math.log10(abs)));
+
+		if(digits<POW10.length)
+			writeFixed(out, value, digits, POW10[digits], POW10[POW10.length-1] / (double)POW10[digits]);
+		else
+			// Very small numbers: rare, so BigDecimal.
+			out.append(new BigDecimal(value).round(new MathContext(precision, RoundingMode.HALF_UP)).stripTrailingZeros().toPlainString());
+	}
+
+
+	private static void writeFixed(final Appendable out, final double value, final int precision, final long scale,
+									final double limit) throws IOException {
+		final double abs = Math.abs(value);
+
+		if(abs>=limit) {
+			// Too big for the long arithmetic: rare, so BigDecimal.
+			out.append(new BigDecimal(value).setScale(precision, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString());
+			return;
+		}
+
+		final long scaled = (long)(abs * scale + 0.5);
+
+		if(scaled==0L) {
+			out.append('0');
+			return;
+		}
+
+		if(value<0.)
+			out.append('-');
+
+		writeDigits(out, scaled / scale, 1);
+
+		long fraction = scaled % scale;
+
+		if(fraction!=0L) {
+			int nbDigits = precision;
+			while(fraction%10L==0L) {
+				fraction /= 10L;
+				nbDigits--;
+			}
+			out.append('.');
+			writeDigits(out, fraction, nbDigits);
+		}
+	}
+
+
+	/** Writes a positive integer, padded with zeros to minDigits digits. */
+	private static void writeDigits(final Appendable out, final long value, final int minDigits) throws IOException {
+		int nbDigits = 1;
+		while(nbDigits<POW10.length && value>=POW10[nbDigits])
+			nbDigits++;
+		for(int i=Math.max(nbDigits, minDigits)-1; i>=0; i--)
+			out.append((char)('0' + value / POW10[i] % 10L));
+	}
+}
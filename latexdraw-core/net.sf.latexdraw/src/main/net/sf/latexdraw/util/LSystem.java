@@ -3,6 +3,9 @@ package net.sf.latexdraw.util;
 import java.awt.event.KeyEvent;
 import java.io.File;
 import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 
@@ -208,29 +211,37 @@ public final class LSystem {
 	}
 
 	/**
-	 * Executes a command.
+	 * Executes a command. If the current thread executes an export job (see ExportJobs), the process belongs to
+	 * this job: cancelling the job kills the process. The process is killed if it exceeds the timeout of the
+	 * export jobs.
 	 * @param cmd The execution command
 	 * @param tmpdir The working dir
 	 * @return The log.
+	 * @throws CancellationException If the export job of the current thread is cancelled.
 	 * @since 3.1
 	 */
 	public String execute(final String[] cmd, final File tmpdir) {
 		if(cmd == null || cmd.length == 0)
 			return null;
 
-		try {
-			final Process process 	 = Runtime.getRuntime().exec(cmd, null, tmpdir);  // Command launched
-			final StreamExecReader err = new StreamExecReader(process.getErrorStream());// Catch the error log
-			final StreamExecReader inp = new StreamExecReader(process.getInputStream());// Catch the log
-
-			err.start();
-			inp.start();
+		final ExportJob<?> job = ExportJob.current();
 
-			process.waitFor();// Waiting for the end of the process.
-
-			return err.getLog() + LResources.EOL + inp.getLog();
-		}catch(final Exception e) {
-			return "ERR while execute the command : " + Arrays.toString(cmd) + ": " + e.getMessage(); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			if(job!=null)
+				return job.execute(cmd, tmpdir);
+			// A job that is not submitted to the engine: the process is executed by the current thread.
+			final ExportJob<String> standalone = new ExportJob<>(j -> j.execute(cmd, tmpdir), ExportJobs.INSTANCE.getTimeout(), TimeUnit.MILLISECONDS);
+			standalone.run();
+			return standalone.get();
+		}catch(final CancellationException ex) {
+			throw ex;
+		}catch(final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return "ERR while execute the command : " + Arrays.toString(cmd) + ": " + ex.getMessage(); //$NON-NLS-1$ //$NON-NLS-2$
+		}catch(final ExecutionException ex) {
+			return "ERR while execute the command : " + Arrays.toString(cmd) + ": " + ex.getCause().getMessage(); //$NON-NLS-1$ //$NON-NLS-2$
+		}catch(final Exception ex) {
+			return "ERR while execute the command : " + Arrays.toString(cmd) + ": " + ex.getMessage(); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 	}
 }
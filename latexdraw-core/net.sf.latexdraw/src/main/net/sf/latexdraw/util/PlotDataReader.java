@@ -0,0 +1,267 @@
+package net.sf.latexdraw.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Reads the numbers of plot data (e.g. the data files of the PSTricks commands fileplot and readdata).<br>
+ * The numbers can be separated by any character that cannot be part of a number (spaces, commas, braces, etc.);
+ * the text following a '%' is a comment up to the end of the line.<br>
+ * The data are read as a stream: no string is created for the read numbers, so that large data files can be read quickly.<br>
+ * <br>
+ * This file is part of LaTeXDraw<br>
+ * Copyright (c) 2005-2015 Arnaud BLOUIN<br>
+ * <br>
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.<br>
+ * <br>
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.<br>
+ * <br>
+ * 2015-11-08<br>
+ * @author Arnaud BLOUIN
+ * @since 4.0
+ */
+public final class PlotDataReader {
+	/** The singleton. */
+	public static final PlotDataReader INSTANCE = new PlotDataReader();
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+
+	private PlotDataReader() {
+		super();
+	}
+
+
+	/**
+	 * Reads the numbers of the given file.
+	 * @param path The file to read.
+	 * @return The read numbers in the order of the file.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public double[] read(final @NonNull Path path) throws IOException {
+		try(final InputStream is = Files.newInputStream(path)) {
+			return read(is);
+		}
+	}
+
+
+	/**
+	 * Reads the numbers of the given stream. The stream is not closed.
+	 * @param is The stream to read (its characters must be ASCII compatible, e.g. UTF-8 or ISO-8859-1).
+	 * @return The read numbers in the order of the stream.
+	 * @throws IOException If the stream cannot be read.
+	 */
+	public double[] read(final @NonNull InputStream is) throws IOException {
+		final NumberScanner scanner = new NumberScanner();
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		int size = is.read(buffer);
+
+		while(size!=-1) {
+			for(int i=0; i<size; i++)
+				scanner.next((char)(buffer[i] & 0xFF));
+			size = is.read(buffer);
+		}
+
+		return scanner.end();
+	}
+
+
+	/**
+	 * Reads the numbers of the given text.
+	 * @param data The text to read.
+	 * @return The read numbers in the order of the text.
+	 */
+	public double[] read(final @NonNull CharSequence data) {
+		final NumberScanner scanner = new NumberScanner();
+		for(int i=0, size=data.length(); i<size; i++)
+			scanner.next(data.charAt(i));
+		return scanner.end();
+	}
+
+
+	/**
+	 * Converts the characters of a stream into numbers, one character at a time.
+	 */
+	private static final class NumberScanner {
+		/** The powers of ten that are exactly represented as doubles. */
+		private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14,
+			1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+		/** The max number of significant digits for which the mantissa is exactly represented as a double. */
+		private static final int MAX_EXACT_DIGITS = 15;
+
+		private static final int STATE_NONE = 0;
+		private static final int STATE_COMMENT = 1;
+		private static final int STATE_MANTISSA = 2;
+		private static final int STATE_EXPONENT = 3;
+
+		private double[] values = new double[1024];
+		private int nbValues;
+
+		private int state = STATE_NONE;
+		/** The characters of the current number (used when the number cannot be computed exactly from its digits). */
+		private final StringBuilder text = new StringBuilder();
+		private boolean negative;
+		private long mantissa;
+		private int nbSignificantDigits;
+		private boolean hasDigit;
+		private boolean hasDot;
+		/** The power of ten to apply to the mantissa, without the exponent. */
+		private int scale;
+		private boolean expNegative;
+		private int exponent;
+		private boolean hasExpDigit;
+
+
+		NumberScanner() {
+			super();
+		}
+
+
+		void next(final char c) {
+			switch(state) {
+				case STATE_COMMENT:
+					if(c=='\n' || c=='\r')
+						state = STATE_NONE;
+					break;
+				case STATE_MANTISSA:
+					nextMantissa(c);
+					break;
+				case STATE_EXPONENT:
+					nextExponent(c);
+					break;
+				default:
+					nextSeparator(c);
+					break;
+			}
+		}
+
+
+		private void nextSeparator(final char c) {
+			if(c=='%')
+				state = STATE_COMMENT;
+			else if(c=='-' || c=='+' || c=='.' || c>='0' && c<='9') {
+				startNumber();
+				nextMantissa(c);
+			}
+		}
+
+
+		private void nextMantissa(final char c) {
+			if(c>='0' && c<='9') {
+				text.append(c);
+				hasDigit = true;
+				if(c!='0' || nbSignificantDigits>0) {
+					nbSignificantDigits++;
+					if(nbSignificantDigits<=MAX_EXACT_DIGITS)
+						mantissa = mantissa*10+(c-'0');
+					else
+						scale++;
+				}
+				if(hasDot)
+					scale--;
+			}else if(c=='.' && !hasDot) {
+				text.append(c);
+				hasDot = true;
+			}else if((c=='-' || c=='+') && text.length()==0) {
+				negative = c=='-';
+			}else if((c=='e' || c=='E') && hasDigit) {
+				text.append(c);
+				state = STATE_EXPONENT;
+			}else {
+				endNumber();
+				nextSeparator(c);
+			}
+		}
+
+
+		private void nextExponent(final char c) {
+			if(c>='0' && c<='9') {
+				text.append(c);
+				hasExpDigit = true;
+				if(exponent<10000)
+					exponent = exponent*10+(c-'0');
+			}else if((c=='-' || c=='+') && isExponentStart()) {
+				text.append(c);
+				expNegative = c=='-';
+			}else {
+				endNumber();
+				nextSeparator(c);
+			}
+		}
+
+
+		/** @return True if the last read character is the 'e' of the exponent. */
+		private boolean isExponentStart() {
+			final char last = text.charAt(text.length()-1);
+			return last=='e' || last=='E';
+		}
+
+
+		private void startNumber() {
+			state = STATE_MANTISSA;
+			text.setLength(0);
+			negative = false;
+			mantissa = 0L;
+			nbSignificantDigits = 0;
+			hasDigit = false;
+			hasDot = false;
+			scale = 0;
+			expNegative = false;
+			exponent = 0;
+			hasExpDigit = false;
+		}
+
+
+		private void endNumber() {
+			state = STATE_NONE;
+
+			if(!hasDigit)
+				return;
+
+			final int pow = scale + (hasExpDigit ? expNegative ? -exponent : exponent : 0);
+			final double value;
+
+			if(mantissa==0L)
+				value = 0.0;
+			else if(nbSignificantDigits<=MAX_EXACT_DIGITS && pow>=-22 && pow<=22)
+				// The mantissa and the power of ten are exact doubles so that the result is correctly rounded.
+				value = pow<0 ? mantissa/POW10[-pow] : mantissa*POW10[pow];
+			else
+				value = Double.parseDouble(hasExpDigit ? text.toString() : removeExponent());
+
+			add(negative ? -value : value);
+		}
+
+
+		/** @return The text of the number without its incomplete exponent (e.g. "1e"). */
+		private String removeExponent() {
+			final int exp = Math.max(text.indexOf("e"), text.indexOf("E")); //$NON-NLS-1$ //$NON-NLS-2$
+			return exp==-1 ? text.toString() : text.substring(0, exp);
+		}
+
+
+		private void add(final double value) {
+			if(nbValues==values.length)
+				values = Arrays.copyOf(values, values.length*2);
+			values[nbValues++] = value;
+		}
+
+
+		double[] end() {
+			if(state==STATE_MANTISSA || state==STATE_EXPONENT)
+				endNumber();
+			return Arrays.copyOf(values, nbValues);
+		}
+	}
+}
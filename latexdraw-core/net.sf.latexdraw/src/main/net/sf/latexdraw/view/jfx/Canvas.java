@@ -15,8 +15,13 @@ package net.sf.latexdraw.view.jfx;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.malai.action.Action;
@@ -41,6 +46,7 @@ import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.StrokeLineCap;
+import net.sf.latexdraw.glib.models.GLibUtilities;
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.FillingStyle;
 import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing;
@@ -90,6 +96,15 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 	/** Defined whether the canvas has been modified. */
 	protected boolean modified;
 
+	/** Defines whether only the shapes close to the viewport have a view (virtualised rendering). */
+	private boolean virtualised;
+
+	/** The visible area of the canvas in the coordinates of the canvas (null if unknown: all the shapes have a view). */
+	private Rectangle2D viewport;
+
+	/** The views translated to preview the translation of the selected shapes (see previewTranslation). */
+	private final @NonNull List<ViewShape<?, ?>> previewedViews;
+
 	/** The temporary view that the canvas may contain. */
 	// protected final IUnary<IViewShape> tempView;
 
@@ -100,6 +115,8 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 		super();
 
 		modified = false;
+		virtualised = true;
+		viewport = null;
 		drawing = ShapeFactory.createDrawing();
 		zoom = new ActiveUnary<>(1.0);
 		// tempView = new ActiveUnary<>();
@@ -108,6 +125,7 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 		handlersPane = new Group();
 		shapesPane = new Group();
 		shapesToViewMap = new HashMap<>();
+		previewedViews = new ArrayList<>();
 		selectionBorder = new Rectangle();
 
 		getChildren().add(page);
@@ -159,8 +177,16 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 			else {
 				final double zoomLevel = getZoom();
 				final Rectangle2D rec = selection.stream().map(sh -> {
-					Bounds b = shapesToViewMap.get(sh).getBoundsInLocal();
-					return (Rectangle2D)new Rectangle2D.Double(b.getMinX(), b.getMinY(), b.getWidth(), b.getHeight());
+					final ViewShape<?, ?> view = shapesToViewMap.get(sh);
+					final Rectangle2D bounds = new Rectangle2D.Double();
+					// The shapes out of the viewport may have no view: the bounds of their model are used.
+					if(view == null)
+						sh.getFullBounds(bounds);
+					else {
+						final Bounds b = view.getBoundsInLocal();
+						bounds.setRect(b.getMinX(), b.getMinY(), b.getWidth(), b.getHeight());
+					}
+					return bounds;
 				}).reduce((r1, r2) -> r1.createUnion(r2)).get();
 
 				selectionBorder.setLayoutX(rec.getMinX() * zoomLevel);
@@ -175,20 +201,160 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 	private void defineShapeListToViewBinding() {
 		if(drawing.getShapes() instanceof ObservableList) {
 			((ObservableList<IShape>)drawing.getShapes()).addListener((Change<? extends IShape> evt) -> {
+				boolean mustUpdateViews = false;
+
 				while(evt.next()) {
 					if(evt.wasAdded()) {
-						evt.getAddedSubList().forEach(sh -> ViewFactory.INSTANCE.createView(sh).ifPresent(v -> {
-							shapesToViewMap.put(sh, v);
-							shapesPane.getChildren().add(v);
-						}));
+						// In virtualised mode, the views of the added shapes are created only if the shapes are close to the viewport.
+						if(isVirtualising())
+							mustUpdateViews = true;
+						else
+							evt.getAddedSubList().forEach(sh -> ViewFactory.INSTANCE.createView(sh).ifPresent(v -> {
+								shapesToViewMap.put(sh, v);
+								shapesPane.getChildren().add(v);
+							}));
 					}else if(evt.wasRemoved()) {
 						evt.getRemoved().forEach(sh -> shapesPane.getChildren().remove(shapesToViewMap.remove(sh)));
 					}
 				}
+
+				if(mustUpdateViews)
+					updateViews();
 			});
 		}
 	}
 
+	/**
+	 * @return True if only the shapes close to the viewport have a view: the virtualised mode is activated and the viewport is known.
+	 */
+	private boolean isVirtualising() {
+		return virtualised && viewport != null;
+	}
+
+	/**
+	 * Creates the views of the shapes close to the viewport (or of all the shapes if the canvas is not virtualising)
+	 * and removes the views of the other shapes. The views are ordered following the order of the shapes in the drawing.
+	 */
+	private void updateViews() {
+		final List<IShape> shapes;
+
+		if(isVirtualising()) {
+			final double zoomLevel = getZoom();
+			// A margin of half the viewport on each side avoids creating and removing views at each scroll step.
+			final double marginX = viewport.getWidth() / 2.0;
+			final double marginY = viewport.getHeight() / 2.0;
+			shapes = drawing.getShapesIn((viewport.getMinX() - marginX - ORIGIN.getX()) / zoomLevel, (viewport.getMinY() - marginY - ORIGIN.getY()) / zoomLevel,
+				(viewport.getMaxX() + marginX - ORIGIN.getX()) / zoomLevel, (viewport.getMaxY() + marginY - ORIGIN.getY()) / zoomLevel);
+		}else
+			shapes = drawing.getShapes();
+
+		final List<ViewShape<?, ?>> views = new ArrayList<>(shapes.size());
+		final Set<ViewShape<?, ?>> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		shapes.forEach(sh -> {
+			ViewShape<?, ?> view = shapesToViewMap.get(sh);
+			if(view == null) {
+				view = ViewFactory.INSTANCE.createView(sh).orElse(null);
+				if(view != null)
+					shapesToViewMap.put(sh, view);
+			}
+			if(view != null) {
+				views.add(view);
+				kept.add(view);
+			}
+		});
+
+		// The views of the shapes that are now far from the viewport are released.
+		if(shapesToViewMap.size() > kept.size())
+			shapesToViewMap.values().removeIf(view -> {
+				if(kept.contains(view))
+					return false;
+				view.flush();
+				return true;
+			});
+
+		if(!shapesPane.getChildren().equals(views))
+			shapesPane.getChildren().setAll(views);
+	}
+
+	/**
+	 * Sets the visible area of the canvas, e.g. the viewport of the scroll pane that contains the canvas.
+	 * In virtualised mode, only the shapes close to this area have a view: the views of the other shapes are
+	 * created when the area moves close to them and released when it moves away.
+	 * @param x The X-coordinate of the area in the coordinates of the canvas.
+	 * @param y The Y-coordinate of the area in the coordinates of the canvas.
+	 * @param width The width of the area. If not positive, the viewport is considered as unknown and all the shapes have a view.
+	 * @param height The height of the area. If not positive, the viewport is considered as unknown and all the shapes have a view.
+	 * @since 4.0
+	 */
+	public void setViewport(final double x, final double y, final double width, final double height) {
+		if(GLibUtilities.isValidPoint(x, y) && GLibUtilities.isValidPoint(width, height) && width > 0.0 && height > 0.0)
+			viewport = new Rectangle2D.Double(x, y, width, height);
+		else
+			viewport = null;
+		updateViews();
+	}
+
+	/**
+	 * Previews the translation of the selected shapes: their views and the selection border are translated
+	 * but the shapes are not modified. Used during interactions to avoid modifying the shapes at each event.
+	 * @param tx The X translation (zoom not considered).
+	 * @param ty The Y translation (zoom not considered).
+	 * @since 4.0
+	 */
+	public void previewTranslation(final double tx, final double ty) {
+		if(!GLibUtilities.isValidPoint(tx, ty))
+			return;
+
+		if(previewedViews.isEmpty())
+			drawing.getSelection().getShapes().forEach(sh -> {
+				final ViewShape<?, ?> view = shapesToViewMap.get(sh);
+				if(view != null)
+					previewedViews.add(view);
+			});
+
+		previewedViews.forEach(view -> {
+			view.setTranslateX(tx);
+			view.setTranslateY(ty);
+		});
+		selectionBorder.setTranslateX(tx * getZoom());
+		selectionBorder.setTranslateY(ty * getZoom());
+	}
+
+	/**
+	 * Removes the translation previewed by previewTranslation.
+	 * @since 4.0
+	 */
+	public void clearPreview() {
+		previewedViews.forEach(view -> {
+			view.setTranslateX(0.0);
+			view.setTranslateY(0.0);
+		});
+		previewedViews.clear();
+		selectionBorder.setTranslateX(0.0);
+		selectionBorder.setTranslateY(0.0);
+	}
+
+	/**
+	 * @return True if the virtualised mode is activated: only the shapes close to the viewport have a view.
+	 * @since 4.0
+	 */
+	public boolean isVirtualised() {
+		return virtualised;
+	}
+
+	/**
+	 * Activates or deactivates the virtualised mode: in this mode, only the shapes close to the viewport have a view.
+	 * @param virtual True: the virtualised mode is activated.
+	 * @since 4.0
+	 */
+	public void setVirtualised(final boolean virtual) {
+		if(virtualised != virtual) {
+			virtualised = virtual;
+			updateViews();
+		}
+	}
+
 	// /**
 	// * Repaints the canvas.
 	// * @param withZoom True: zoom will be activated.
@@ -253,7 +419,9 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 
 	@Override
 	public void update() {
-		// Nothing to do.
+		// The shapes may have been moved close to the viewport or away from it.
+		if(isVirtualising())
+			updateViews();
 	}
 
 	@Override
@@ -276,11 +444,15 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 
 	@Override
 	public void onUndoableRedo(final Undoable u) {
-		/* Nothing to do. */ }
+		// The undone or redone action may have moved shapes close to the viewport.
+		update();
+	}
 
 	@Override
 	public void onUndoableUndo(final Undoable u) {
-		/* Nothing to do. */ }
+		// The undone or redone action may have moved shapes close to the viewport.
+		update();
+	}
 
 	@Override
 	public void onActionAborted(final Action a) {
@@ -364,21 +536,31 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 		update();
 	}
 
+	/**
+	 * @return The bounds of the shapes of the drawing. Computed from the models since, in virtualised mode,
+	 * the shapes far from the viewport have no view.
+	 */
+	private Rectangle2D getDrawingBounds() {
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		drawing.getFullBounds(bounds);
+		return bounds;
+	}
+
 	@Override
 	public IPoint getTopRightDrawingPoint() {
-		final Bounds border = shapesPane.getBoundsInLocal();
+		final Rectangle2D border = getDrawingBounds();
 		return ShapeFactory.createPoint(border.getMaxX(), border.getMinY());
 	}
 
 	@Override
 	public IPoint getBottomLeftDrawingPoint() {
-		final Bounds border = shapesPane.getBoundsInLocal();
+		final Rectangle2D border = getDrawingBounds();
 		return ShapeFactory.createPoint(border.getMinX(), border.getMaxY());
 	}
 
 	@Override
 	public IPoint getOriginDrawingPoint() {
-		final Bounds border = shapesPane.getBoundsInLocal();
+		final Rectangle2D border = getDrawingBounds();
 		return ShapeFactory.createPoint(border.getMinX(), (border.getMaxY() - border.getMinY()) / 2.0);
 	}
 
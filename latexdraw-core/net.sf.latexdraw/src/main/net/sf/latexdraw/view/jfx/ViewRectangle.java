@@ -14,6 +14,7 @@ package net.sf.latexdraw.view.jfx;
 
 import org.eclipse.jdt.annotation.NonNull;
 
+import javafx.beans.value.ChangeListener;
 import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
@@ -35,6 +36,12 @@ public class ViewRectangle extends ViewPathShape<IRectangle> {
 	final LineTo lineBR;
 	/** The bottom-left path element. */
 	final LineTo lineBL;
+	/** Updates the path when a point is moved out of an update of the model. */
+	private final ChangeListener<Number> pointListener;
+	/** Updates the path once at the end of each update of the model (see ISingleShape::updateProperty). */
+	private final ChangeListener<Number> updateListener;
+	/** The points observed by pointListener: the points of the model may be replaced before the view is flushed. */
+	private final IPoint[] observedPts;
 
 	/**
 	 * Creates the rectangle view.
@@ -54,36 +61,51 @@ public class ViewRectangle extends ViewPathShape<IRectangle> {
 		border.getElements().add(lineBL);
 		border.getElements().add(new ClosePath());
 
-		IPoint pt = sh.getPtAt(0);
-		moveTL.xProperty().bind(pt.xProperty());
-		moveTL.yProperty().bind(pt.yProperty());
+		pointListener = (obs, oldVal, newVal) -> {
+			if(!model.isUpdating())
+				updatePath();
+		};
+		updateListener = (obs, oldVal, newVal) -> updatePath();
 
-		pt = sh.getPtAt(1);
-		lineTR.xProperty().bind(pt.xProperty());
-		lineTR.yProperty().bind(pt.yProperty());
+		observedPts = new IPoint[4];
+		for(int i=0; i<4; i++) {
+			final IPoint pt = sh.getPtAt(i);
+			pt.xProperty().addListener(pointListener);
+			pt.yProperty().addListener(pointListener);
+			observedPts[i] = pt;
+		}
+		sh.updateProperty().addListener(updateListener);
+		updatePath();
+	}
+
+	/**
+	 * Sets the path elements to the points of the model.
+	 */
+	private void updatePath() {
+		IPoint pt = model.getPtAt(0);
+		moveTL.setX(pt.getX());
+		moveTL.setY(pt.getY());
 
-		pt = sh.getPtAt(2);
-		lineBR.xProperty().bind(pt.xProperty());
-		lineBR.yProperty().bind(pt.yProperty());
+		pt = model.getPtAt(1);
+		lineTR.setX(pt.getX());
+		lineTR.setY(pt.getY());
 
-		pt = sh.getPtAt(3);
-		lineBL.xProperty().bind(pt.xProperty());
-		lineBL.yProperty().bind(pt.yProperty());
+		pt = model.getPtAt(2);
+		lineBR.setX(pt.getX());
+		lineBR.setY(pt.getY());
+
+		pt = model.getPtAt(3);
+		lineBL.setX(pt.getX());
+		lineBL.setY(pt.getY());
 	}
 
 	@Override
 	public void flush() {
-		moveTL.xProperty().unbind();
-		moveTL.yProperty().unbind();
-
-		lineTR.xProperty().unbind();
-		lineTR.yProperty().unbind();
-
-		lineBR.xProperty().unbind();
-		lineBR.yProperty().unbind();
-
-		lineBL.xProperty().unbind();
-		lineBL.yProperty().unbind();
+		for(final IPoint pt : observedPts) {
+			pt.xProperty().removeListener(pointListener);
+			pt.yProperty().removeListener(pointListener);
+		}
+		model.updateProperty().removeListener(updateListener);
 
 		super.flush();
 	}
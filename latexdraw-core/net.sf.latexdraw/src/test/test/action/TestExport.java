@@ -0,0 +1,100 @@
+package test.action;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.latexdraw.actions.Export;
+import net.sf.latexdraw.actions.ExportFormat;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.views.pst.PSTCodeGenerator;
+import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniserHandler;
+import net.sf.latexdraw.ui.dialog.ExportDialog;
+import net.sf.latexdraw.util.ExportJob;
+import net.sf.latexdraw.util.ExportJobs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestExport {
+	protected ExportJobs jobs;
+	protected ExportStub action;
+	protected CountDownLatch release;
+
+	static class ExportStub extends Export {
+		boolean exportFile(final File file) {
+			return export(file);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		final IDrawing drawing = ShapeFactory.createDrawing();
+		final ViewsSynchroniserHandler handler = mock(ViewsSynchroniserHandler.class);
+		when(handler.getOriginDrawingPoint()).thenReturn(ShapeFactory.createPoint());
+		when(handler.getTopRightDrawingPoint()).thenReturn(ShapeFactory.createPoint(500, -500));
+		when(handler.getBottomLeftDrawingPoint()).thenReturn(ShapeFactory.createPoint(0, 0));
+		when(handler.getPPCDrawing()).thenReturn(IShape.PPC);
+		drawing.addShape(ShapeFactory.createRectangle(ShapeFactory.createPoint(10, 10), 10, 10));
+
+		// A single thread, kept busy so that the submitted exports wait in the queue.
+		jobs = new ExportJobs(1, 2, 5L, TimeUnit.SECONDS);
+		release = new CountDownLatch(1);
+		jobs.submit(j -> release.await(10, TimeUnit.SECONDS));
+
+		action = new ExportStub();
+		action.setExportJobs(jobs);
+		action.setPstGen(new PSTCodeGenerator(drawing, handler, false, false));
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		jobs.shutdownNow();
+	}
+
+	@Test
+	public void testCanDo() {
+		assertFalse(action.canDo());
+		action.setFormat(ExportFormat.PDF);
+		action.setDialogueBox(mock(ExportDialog.class));
+		assertTrue(action.canDo());
+	}
+
+	@Test
+	public void testExportPDFSubmitsACancellableJob() {
+		action.setFormat(ExportFormat.PDF);
+		assertTrue(action.exportFile(new File("foo.pdf"))); //$NON-NLS-1$
+		final ExportJob<Boolean> job = action.getJob();
+		assertNotNull(job);
+		assertFalse(job.isDone());
+		assertTrue(job.cancel(true));
+		assertTrue(job.isCancelled());
+	}
+
+	@Test
+	public void testExportEPSSubmitsAJob() {
+		action.setFormat(ExportFormat.EPS_LATEX);
+		assertTrue(action.exportFile(new File("foo.eps"))); //$NON-NLS-1$
+		assertNotNull(action.getJob());
+		assertFalse(action.getJob().isDone());
+		action.getJob().cancel(true);
+	}
+
+	@Test
+	public void testExportRejectedWhenTheQueueIsFull() {
+		action.setFormat(ExportFormat.PDF);
+		assertTrue(action.exportFile(new File("foo.pdf"))); //$NON-NLS-1$
+		assertTrue(action.exportFile(new File("foo.pdf"))); //$NON-NLS-1$
+		assertFalse(action.exportFile(new File("foo.pdf"))); //$NON-NLS-1$
+	}
+}
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Field;
 
+import net.sf.latexdraw.actions.UndoFootprint;
 import net.sf.latexdraw.actions.shape.ModifyShapeProperty;
 import net.sf.latexdraw.actions.shape.ShapeProperties;
 import net.sf.latexdraw.glib.models.ShapeFactory;
@@ -596,6 +597,24 @@ public class TestModifyShapeProperty extends TestAbstractAction<ModifyShapePrope
 		assertEquals(101., g.getShapeAt(2).getThickness(), 0.0001);
 	}
 
+	@Test
+	public void testUndoSameThicknessRetainsASingleValue() {
+		for(int i=0; i<10; i++) {
+			final IRectangle rec = ShapeFactory.createRectangle();
+			rec.setThickness(12.5);
+			g.addShape(rec);
+		}
+		action.setGroup(g);
+		action.setProperty(ShapeProperties.LINE_THICKNESS);
+		action.setValue(101.);
+		assertTrue(action.doIt());
+		assertEquals(10 * UndoFootprint.REF_BYTES + Double.BYTES, action.getUndoFootprint());
+
+		action.undo();
+		for(int i=0; i<10; i++)
+			assertEquals(12.5, g.getShapeAt(i).getThickness(), 0.0001);
+	}
+
 	@Test
 	public void testDoShadowAngle() {
 		IRectangle rec1 = ShapeFactory.createRectangle();
@@ -1577,6 +1596,8 @@ public class TestModifyShapeProperty extends TestAbstractAction<ModifyShapePrope
 		assertNull(f.get(action));
 		f = HelperTest.getField(ModifyShapeProperty.class, "oldValue"); //$NON-NLS-1$
 		assertNull(f.get(action));
+		f = HelperTest.getField(ModifyShapeProperty.class, "oldUniformValue"); //$NON-NLS-1$
+		assertNull(f.get(action));
 		action.flush();
 	}
 
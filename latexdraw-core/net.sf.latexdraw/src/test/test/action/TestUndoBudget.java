@@ -0,0 +1,213 @@
+package test.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.latexdraw.actions.UndoBudget;
+import net.sf.latexdraw.actions.UndoEviction;
+import net.sf.latexdraw.actions.UndoFootprint;
+import net.sf.latexdraw.actions.shape.TranslateShapes;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.LineStyle;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.malai.undo.UndoCollector;
+import org.malai.undo.Undoable;
+
+public class TestUndoBudget {
+	protected UndoBudget budget;
+	protected List<Undoable> evicted;
+
+	static class StubUndoable implements Undoable, UndoFootprint {
+		final long bytes;
+
+		StubUndoable(final long bytes) {
+			super();
+			this.bytes = bytes;
+		}
+
+		@Override
+		public void undo() {
+			//
+		}
+
+		@Override
+		public void redo() {
+			//
+		}
+
+		@Override
+		public String getUndoName() {
+			return "stub"; //$NON-NLS-1$
+		}
+
+		@Override
+		public long getUndoFootprint() {
+			return bytes;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		evicted = new ArrayList<>();
+		budget = new UndoBudget(100L, 5, evicted::add);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKONegativeBudget() {
+		new UndoBudget(-1L, 5);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKONullSize() {
+		new UndoBudget(10L, 0);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKONullEviction() {
+		new UndoBudget(10L, 5, null);
+	}
+
+	@Test
+	public void testFootprintOfUndoableWithoutFootprint() {
+		final Undoable undoable = new Undoable() {
+			@Override
+			public void undo() {
+				//
+			}
+			@Override
+			public void redo() {
+				//
+			}
+			@Override
+			public String getUndoName() {
+				return "stub"; //$NON-NLS-1$
+			}
+		};
+		assertEquals(UndoBudget.DEFAULT_FOOTPRINT, UndoBudget.getFootprint(undoable));
+	}
+
+	@Test
+	public void testAddedSumsTheFootprints() {
+		budget.onUndoableAdded(new StubUndoable(20L));
+		budget.onUndoableAdded(new StubUndoable(30L));
+		assertEquals(50L, budget.getFootprint());
+		assertEquals(2, budget.getNbUndos());
+	}
+
+	@Test
+	public void testAddedRemovesOldestWhenBudgetExceeded() {
+		final StubUndoable oldest = new StubUndoable(40L);
+		budget.onUndoableAdded(oldest);
+		budget.onUndoableAdded(new StubUndoable(40L));
+		budget.onUndoableAdded(new StubUndoable(40L));
+		assertEquals(80L, budget.getFootprint());
+		assertEquals(2, budget.getNbUndos());
+		assertEquals(Collections.singletonList(oldest), evicted);
+	}
+
+	@Test
+	public void testAddedKeepsTheLastUndoable() {
+		final StubUndoable first = new StubUndoable(40L);
+		budget.onUndoableAdded(first);
+		budget.onUndoableAdded(new StubUndoable(500L));
+		assertEquals(500L, budget.getFootprint());
+		assertEquals(1, budget.getNbUndos());
+		assertEquals(Collections.singletonList(first), evicted);
+	}
+
+	@Test
+	public void testAddedRemovesOldestWhenSizeExceeded() {
+		for(int i=0; i<7; i++)
+			budget.onUndoableAdded(new StubUndoable(1L));
+		assertEquals(5L, budget.getFootprint());
+		assertEquals(5, budget.getNbUndos());
+		// The collector removes itself its oldest actions when its maximal size is reached.
+		assertTrue(evicted.isEmpty());
+	}
+
+	@Test
+	public void testValuesFootprintDependsOnTheirType() {
+		assertEquals(3L * Double.BYTES, UndoFootprint.getValuesFootprint(Arrays.asList(1., 2., 3.)));
+		assertEquals(2L * Integer.BYTES, UndoFootprint.getValuesFootprint(Arrays.asList(1, 2)));
+		assertEquals(2L, UndoFootprint.getValuesFootprint(Arrays.asList(true, false)));
+		assertEquals(UndoFootprint.REF_BYTES, UndoFootprint.getValuesFootprint(Collections.singletonList(LineStyle.DASHED)));
+		assertEquals(UndoFootprint.REF_BYTES + UndoFootprint.COLOUR_BYTES,
+				UndoFootprint.getValuesFootprint(Collections.singletonList(ShapeFactory.createColor())));
+		assertTrue(UndoFootprint.getValuesFootprint(Collections.singletonList("a long text")) > //$NON-NLS-1$
+				UndoFootprint.getValuesFootprint(Collections.singletonList("a"))); //$NON-NLS-1$
+		assertEquals(0L, UndoFootprint.getValuesFootprint(null));
+	}
+
+	@Test
+	public void testUndoRedoKeepTheFootprint() {
+		final StubUndoable u1 = new StubUndoable(20L);
+		final StubUndoable u2 = new StubUndoable(30L);
+		budget.onUndoableAdded(u1);
+		budget.onUndoableAdded(u2);
+		budget.onUndoableUndo(u2);
+		assertEquals(50L, budget.getFootprint());
+		assertEquals(1, budget.getNbUndos());
+		budget.onUndoableRedo(u2);
+		assertEquals(50L, budget.getFootprint());
+		assertEquals(2, budget.getNbUndos());
+	}
+
+	@Test
+	public void testAddedRemovesTheRedoables() {
+		final StubUndoable u1 = new StubUndoable(20L);
+		budget.onUndoableAdded(u1);
+		budget.onUndoableUndo(u1);
+		budget.onUndoableAdded(new StubUndoable(10L));
+		assertEquals(10L, budget.getFootprint());
+		assertEquals(1, budget.getNbUndos());
+	}
+
+	@Test
+	public void testCleared() {
+		budget.onUndoableAdded(new StubUndoable(20L));
+		budget.onUndoableCleared();
+		assertEquals(0L, budget.getFootprint());
+		assertEquals(0, budget.getNbUndos());
+	}
+
+	@Test
+	public void testCollectorEvictionRemovesTheActionFromTheUndoCollector() {
+		final StubUndoable oldest = new StubUndoable(1L);
+		final StubUndoable u2 = new StubUndoable(1L);
+		final StubUndoable u3 = new StubUndoable(1L);
+		UndoCollector.INSTANCE.clear();
+		try {
+			UndoCollector.INSTANCE.add(oldest, null);
+			UndoCollector.INSTANCE.add(u2, null);
+			UndoCollector.INSTANCE.add(u3, null);
+			UndoEviction.COLLECTOR.evict(oldest);
+			assertEquals(2, UndoCollector.INSTANCE.getUndo().size());
+			assertFalse(UndoCollector.INSTANCE.getUndo().contains(oldest));
+			// The other actions are still undone in the same order.
+			assertEquals(u3, UndoCollector.INSTANCE.getUndo().peek());
+		}finally {
+			UndoCollector.INSTANCE.clear();
+		}
+	}
+
+	@Test
+	public void testTranslationFootprintDoesNotDependOnTheShapes() {
+		final IGroup shapes = ShapeFactory.createGroup();
+		shapes.addShape(ShapeFactory.createRectangle());
+		shapes.addShape(ShapeFactory.createPolyline(ShapeFactory.createPoint(), ShapeFactory.createPoint(10, 10)));
+		final TranslateShapes translation = new TranslateShapes();
+		translation.setShape(shapes);
+		translation.setTx(10.);
+		translation.setTy(20.);
+		assertEquals(2L * UndoFootprint.REF_BYTES + 4L * Double.BYTES, translation.getUndoFootprint());
+	}
+}
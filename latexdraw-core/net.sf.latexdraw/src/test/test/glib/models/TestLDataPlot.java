@@ -0,0 +1,119 @@
+package test.glib.models;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPositionShape;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotDecimation;
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLDataPlot {
+	IDataPlot shape;
+
+	@Before
+	public void setUp() {
+		final double[] xs = new double[100];
+		final double[] ys = new double[100];
+		for(int i=0; i<xs.length; i++) {
+			xs[i] = i;
+			ys[i] = i%10-5;
+		}
+		shape = ShapeFactory.createDataPlot(ShapeFactory.createPoint(), xs, ys);
+	}
+
+	@Test
+	public void testIsTypeOf() {
+		assertFalse(shape.isTypeOf(IPlot.class));
+		assertTrue(shape.isTypeOf(IShape.class));
+		assertTrue(shape.isTypeOf(IPositionShape.class));
+		assertTrue(shape.isTypeOf(IDataPlot.class));
+	}
+
+	@Test
+	public void testDataExtents() {
+		assertEquals(100, shape.getNbDataPoints());
+		assertEquals(0.0, shape.getDataMinX(), 0.0);
+		assertEquals(99.0, shape.getDataMaxX(), 0.0);
+		assertEquals(-5.0, shape.getDataMinY(), 0.0);
+		assertEquals(4.0, shape.getDataMaxY(), 0.0);
+	}
+
+	@Test
+	public void testBounds() {
+		shape.setXScale(2.0);
+		assertEquals(0.0, shape.getTopLeftPoint().getX(), 0.0001);
+		assertEquals(-4.0*IShape.PPC, shape.getTopLeftPoint().getY(), 0.0001);
+		assertEquals(198.0*IShape.PPC, shape.getBottomRightPoint().getX(), 0.0001);
+		assertEquals(5.0*IShape.PPC, shape.getBottomRightPoint().getY(), 0.0001);
+	}
+
+	@Test
+	public void testSetDataKO() {
+		shape.setData(null, new double[0]);
+		shape.setData(new double[2], new double[3]);
+		assertEquals(100, shape.getNbDataPoints());
+	}
+
+	@Test
+	public void testSetDataUpdatesExtents() {
+		shape.setData(new double[]{-1.0, 2.0}, new double[]{3.0, 10.0});
+		assertEquals(2, shape.getNbDataPoints());
+		assertEquals(-1.0, shape.getDataMinX(), 0.0);
+		assertEquals(10.0, shape.getDataMaxY(), 0.0);
+		assertArrayEquals(new double[]{3.0, 10.0}, shape.getPlottedY(), 0.0);
+	}
+
+	@Test
+	public void testNoDecimationByDefault() {
+		assertEquals(PlotDecimation.NONE, shape.getDecimation());
+		assertSame(shape.getDataX(), shape.getPlottedX());
+		assertSame(shape.getDataY(), shape.getPlottedY());
+	}
+
+	@Test
+	public void testDecimation() {
+		shape.setDecimationThreshold(10);
+		shape.setDecimation(PlotDecimation.LTTB);
+		assertEquals(10, shape.getPlottedX().length);
+		assertEquals(10, shape.getPlottedY().length);
+		assertSame(shape.getPlottedX(), shape.getPlottedX());
+	}
+
+	@Test
+	public void testDecimationThresholdKO() {
+		shape.setDecimationThreshold(3);
+		assertEquals(1000, shape.getDecimationThreshold());
+	}
+
+	@Test
+	public void testDecimationCacheCleared() {
+		shape.setDecimationThreshold(10);
+		shape.setDecimation(PlotDecimation.MIN_MAX);
+		final double[] plotted = shape.getPlottedX();
+		shape.setDecimationThreshold(20);
+		assertNotSame(plotted, shape.getPlottedX());
+		assertTrue(shape.getPlottedX().length>10);
+	}
+
+	@Test
+	public void testDuplicate() {
+		shape.setPlotStyle(PlotStyle.DOTS);
+		shape.setDecimation(PlotDecimation.MIN_MAX);
+		shape.setYScale(3.0);
+		final IDataPlot dup = (IDataPlot)shape.duplicate();
+		assertEquals(PlotStyle.DOTS, dup.getPlotStyle());
+		assertEquals(PlotDecimation.MIN_MAX, dup.getDecimation());
+		assertEquals(3.0, dup.getYScale(), 0.0);
+		assertArrayEquals(shape.getDataY(), dup.getDataY(), 0.0);
+	}
+}
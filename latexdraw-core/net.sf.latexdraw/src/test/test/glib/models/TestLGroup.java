@@ -1,7 +1,11 @@
 package test.glib.models;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import java.util.List;
+
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.prop.IArcProp;
 import net.sf.latexdraw.glib.models.interfaces.shape.*;
@@ -226,4 +230,166 @@ public class TestLGroup extends TestIGroup<IGroup> {
 		assertTrue(shape.isTypeOf(IArc.class));
 		assertTrue(shape.isTypeOf(IAxes.class));
 	}
+
+	@Test
+	public void testCapabilitiesFollowShapesModifications() {
+		final IDot dot = ShapeFactory.createDot(ShapeFactory.createPoint());
+		final IRectangle rec = ShapeFactory.createRectangle();
+		dot.setDotStyle(DotStyle.DOT);
+		shape.addShape(dot);
+		assertFalse(shape.isFillable());
+		assertFalse(shape.hasShadow());
+
+		dot.setDotStyle(DotStyle.O);
+		assertTrue(shape.isFillable());
+
+		shape.addShape(rec);
+		assertTrue(shape.isShadowable());
+		assertFalse(shape.hasShadow());
+		rec.setHasShadow(true);
+		assertTrue(shape.hasShadow());
+
+		shape.removeShape(rec);
+		assertFalse(shape.isShadowable());
+		assertFalse(shape.hasShadow());
+	}
+
+	@Test
+	public void testCapabilitiesFollowNestedGroupsAndPoints() {
+		final IGroup group = ShapeFactory.createGroup();
+		final IPolyline line = ShapeFactory.createPolyline();
+		line.addPoint(ShapeFactory.createPoint(10, 10));
+		line.addPoint(ShapeFactory.createPoint(20, 10));
+		group.addShape(line);
+		shape.addShape(group);
+		assertFalse(shape.isFillable());
+
+		line.addPoint(ShapeFactory.createPoint(20, 20));
+		assertTrue(shape.isFillable());
+
+		group.addShape(ShapeFactory.createRectangle());
+		line.removePoint(-1);
+		assertTrue(shape.isFillable());
+		assertTrue(shape.isBordersMovable());
+		group.removeShape(1);
+		assertFalse(shape.isFillable());
+		assertFalse(shape.isBordersMovable());
+	}
+
+	@Test
+	public void testUpdateNotifiesEachShapeOnce() {
+		final int[] updates = {0};
+		for(int i=0; i<10; i++) {
+			final IRectangle rec = ShapeFactory.createRectangle();
+			rec.updateProperty().addListener((obs, oldVal, newVal) -> updates[0]++);
+			shape.addShape(rec);
+		}
+
+		shape.beginUpdate();
+		for(int i=0; i<50; i++)
+			shape.translate(2, 3);
+		assertTrue(shape.isUpdating());
+		shape.endUpdate();
+
+		assertFalse(shape.isUpdating());
+		assertEquals(10, updates[0]);
+	}
+
+	@Test
+	public void testVersionFollowsTheShapes() {
+		final IRectangle rec = ShapeFactory.createRectangle();
+		final IGroup parent = ShapeFactory.createGroup();
+		shape.addShape(rec);
+		shape.addShape(ShapeFactory.createRectangle());
+		parent.addShape(shape);
+		final long version = shape.versionProperty().get();
+		final long parentVersion = parent.versionProperty().get();
+
+		rec.translate(2, 3);
+		assertEquals(version+1, shape.versionProperty().get());
+		assertEquals(parentVersion+1, parent.versionProperty().get());
+
+		rec.setLineColour(ShapeFactory.createColorInt(200, 10, 10));
+		assertEquals(version+2, shape.versionProperty().get());
+
+		shape.removeShape(rec);
+		final long removedVersion = shape.versionProperty().get();
+		rec.translate(2, 3);
+		assertEquals(removedVersion, shape.versionProperty().get());
+	}
+
+	@Test
+	public void testCapabilitiesOfSeveralGroupsFollowTheirShapes() {
+		final IRectangle rec = ShapeFactory.createRectangle();
+		shape.addShape(rec);
+		shape2.addShape(rec);
+		assertFalse(shape.isFilled());
+		assertFalse(shape2.isFilled());
+
+		rec.setFilled(true);
+		assertTrue(shape.isFilled());
+		assertTrue(shape2.isFilled());
+
+		shape2.removeShape(rec);
+		rec.setFillingStyle(FillingStyle.NONE);
+		rec.setHasShadow(true);
+		assertFalse(shape.isFilled());
+		assertTrue(shape.hasShadow());
+		assertFalse(shape2.hasShadow());
+	}
+
+	@Test
+	public void testCapabilitiesFollowTheCopyOfPoints() {
+		final IPolyline line = ShapeFactory.createPolyline();
+		final IPolyline line3 = ShapeFactory.createPolyline();
+		line.addPoint(ShapeFactory.createPoint(10, 10));
+		line.addPoint(ShapeFactory.createPoint(20, 10));
+		line3.addPoint(ShapeFactory.createPoint(10, 10));
+		line3.addPoint(ShapeFactory.createPoint(20, 10));
+		line3.addPoint(ShapeFactory.createPoint(20, 20));
+		shape.addShape(line);
+		assertFalse(shape.isFillable());
+
+		line.copy(line3);
+		assertTrue(shape.isFillable());
+
+		line.replacePoint(ShapeFactory.createPoint(30, 30), 2);
+		assertTrue(shape.isFillable());
+		line.copy(ShapeFactory.createPolyline());
+		assertFalse(shape.isFillable());
+	}
+
+	@Test
+	public void testPropertiesListsSnapshotTheShapes() {
+		final IRectangle rec1 = ShapeFactory.createRectangle();
+		final IRectangle rec2 = ShapeFactory.createRectangle();
+		rec1.setThickness(2.0);
+		rec1.setHasShadow(true);
+		rec2.setThickness(3.0);
+		shape.addShape(rec1);
+		shape.addShape(ShapeFactory.createText());
+		shape.addShape(rec2);
+
+		final List<Double> thicknesses = shape.getThicknessList();
+		final List<Boolean> shadows = shape.hasShadowList();
+		assertEquals(3, thicknesses.size());
+		assertEquals(2.0, thicknesses.get(0), 0.0001);
+		assertNull(thicknesses.get(1));
+		assertEquals(3.0, thicknesses.get(2), 0.0001);
+		assertTrue(shadows.get(0));
+		assertNull(shadows.get(1));
+		assertFalse(shadows.get(2));
+
+		shape.setThickness(5.0);
+		shape.setHasShadow(false);
+		shape.setThicknessList(thicknesses);
+		shape.setHasShadowList(shadows);
+		assertEquals(2.0, rec1.getThickness(), 0.0001);
+		assertEquals(3.0, rec2.getThickness(), 0.0001);
+		assertTrue(rec1.hasShadow());
+		assertFalse(rec2.hasShadow());
+
+		thicknesses.clear();
+		assertTrue(thicknesses.isEmpty());
+	}
 }
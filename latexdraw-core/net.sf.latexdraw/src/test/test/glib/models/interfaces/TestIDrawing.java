@@ -6,7 +6,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -227,4 +229,166 @@ public abstract class TestIDrawing {
 		assertNotNull(drawing.getSelection());
 		assertEquals(0, drawing.getSelection().size());
 	}
+
+	@Test
+	public void testGetShapesAtEmpty() {
+		assertTrue(drawing.getShapesAt(10.0, 10.0).isEmpty());
+		assertTrue(drawing.getShapesIn(0.0, 0.0, 1000.0, 1000.0).isEmpty());
+	}
+
+	@Test
+	public void testGetShapesAt() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		final IShape sh2 = ShapeFactory.createRectangle(ShapeFactory.createPoint(120.0, 120.0), 50.0, 50.0);
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		assertEquals(Collections.singletonList(sh1), drawing.getShapesAt(110.0, 110.0));
+		assertEquals(Arrays.asList(sh1, sh2), drawing.getShapesAt(130.0, 130.0));
+		assertTrue(drawing.getShapesAt(500.0, 500.0).isEmpty());
+		assertTrue(drawing.getShapesAt(Double.NaN, 130.0).isEmpty());
+	}
+
+	@Test
+	public void testGetShapesIn() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		final IShape sh2 = ShapeFactory.createRectangle(ShapeFactory.createPoint(2000.0, 2000.0), 50.0, 50.0);
+		final IShape sh3 = ShapeFactory.createRectangle(ShapeFactory.createPoint(-5000.0, -5000.0), 10000.0, 10000.0);
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		drawing.addShape(sh3);
+		assertEquals(Arrays.asList(sh1, sh3), drawing.getShapesIn(0.0, 0.0, 500.0, 500.0));
+		assertEquals(Arrays.asList(sh1, sh2, sh3), drawing.getShapesIn(-100000.0, -100000.0, 100000.0, 100000.0));
+		assertEquals(Arrays.asList(sh2, sh3), drawing.getShapesIn(2100.0, 2100.0, 1900.0, 1900.0));
+	}
+
+	@Test
+	public void testGetShapesAtOrderFollowsDrawing() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		final IShape sh2 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		drawing.removeShape(sh1);
+		drawing.addShape(sh1);
+		assertEquals(Arrays.asList(sh2, sh1), drawing.getShapesAt(120.0, 120.0));
+	}
+
+	@Test
+	public void testGetShapesAtRemovedShape() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		drawing.addShape(sh1);
+		drawing.removeShape(sh1);
+		assertTrue(drawing.getShapesAt(120.0, 120.0).isEmpty());
+		drawing.getShapes().add(sh1);
+		drawing.clear();
+		assertTrue(drawing.getShapesAt(120.0, 120.0).isEmpty());
+	}
+
+	@Test
+	public void testGetShapesAtModifiedShape() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		drawing.addShape(sh1);
+		sh1.translate(1000.0, 0.0);
+		sh1.setModified(true);
+		assertTrue(drawing.getShapesAt(120.0, 120.0).isEmpty());
+		assertEquals(Collections.singletonList(sh1), drawing.getShapesAt(1120.0, 120.0));
+	}
+
+	@Test
+	public void testGetShapesAtModifiedGroup() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		final IGroup gp = ShapeFactory.createGroup();
+		gp.addShape(sh1);
+		drawing.addShape(gp);
+		assertEquals(Collections.singletonList(gp), drawing.getShapesAt(120.0, 120.0));
+		drawing.setSelection(Collections.singletonList(gp));
+		gp.translate(0.0, 1000.0);
+		drawing.getSelection().setModified(true);
+		assertEquals(Collections.singletonList(gp), drawing.getShapesAt(120.0, 1120.0));
+	}
+
+	@Test
+	public void testGetShapesAtMovedShapeNotFlaggedAsModified() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		drawing.addShape(sh1);
+		assertEquals(Collections.singletonList(sh1), drawing.getShapesAt(120.0, 120.0));
+		sh1.translate(1000.0, 0.0);
+		assertTrue(drawing.getShapesAt(120.0, 120.0).isEmpty());
+		assertEquals(Collections.singletonList(sh1), drawing.getShapesAt(1120.0, 120.0));
+	}
+
+	@Test
+	public void testGetShapesAtMovedShapeOfGroup() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		final IShape sh2 = ShapeFactory.createRectangle(ShapeFactory.createPoint(200.0, 100.0), 50.0, 50.0);
+		final IGroup gp = ShapeFactory.createGroup();
+		gp.addShape(sh1);
+		gp.addShape(sh2);
+		drawing.addShape(gp);
+		assertTrue(drawing.getShapesAt(120.0, 1120.0).isEmpty());
+		sh1.translate(0.0, 1000.0);
+		assertEquals(Collections.singletonList(gp), drawing.getShapesAt(120.0, 1120.0));
+	}
+
+	@Test
+	public void testGetShapesAtRemovedShapeModified() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		drawing.addShape(sh1);
+		drawing.removeShape(sh1);
+		sh1.translate(1000.0, 0.0);
+		assertTrue(drawing.getShapesAt(1120.0, 120.0).isEmpty());
+	}
+
+	@Test
+	public void testGetShapesAtRotatedShape() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(0.0, 0.0), 1000.0, 10.0);
+		drawing.addShape(sh1);
+		assertTrue(drawing.getShapesAt(500.0, 400.0).isEmpty());
+		sh1.setRotationAngle(Math.PI / 2.0);
+		sh1.setModified(true);
+		assertEquals(Collections.singletonList(sh1), drawing.getShapesAt(500.0, 400.0));
+	}
+
+	@Test
+	public void testGetFullBoundsEmpty() {
+		final Rectangle2D bounds = new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0);
+		drawing.getFullBounds(bounds);
+		assertEquals(new Rectangle2D.Double(), bounds);
+	}
+
+	@Test
+	public void testGetFullBoundsUnionOfShapes() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		final IShape sh2 = ShapeFactory.createRectangle(ShapeFactory.createPoint(-2000.0, 5000.0), 10.0, 10.0);
+		final Rectangle2D expected = new Rectangle2D.Double();
+		final Rectangle2D bounds2 = new Rectangle2D.Double();
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		sh1.getFullBounds(expected);
+		sh2.getFullBounds(bounds2);
+		expected.add(bounds2);
+		drawing.getFullBounds(bounds);
+		assertEquals(expected, bounds);
+	}
+
+	@Test
+	public void testGetFullBoundsModifiedShapeNotFlagged() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(100.0, 100.0), 50.0, 50.0);
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		drawing.addShape(sh1);
+		sh1.translate(1000.0, 0.0);
+		drawing.getFullBounds(bounds);
+		assertTrue(bounds.getMinX() > 1000.0);
+	}
+
+	@Test
+	public void testGetFullBoundsRotatedShape() {
+		final IShape sh1 = ShapeFactory.createRectangle(ShapeFactory.createPoint(0.0, 0.0), 1000.0, 10.0);
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		drawing.addShape(sh1);
+		sh1.setRotationAngle(Math.PI / 2.0);
+		drawing.getFullBounds(bounds);
+		assertTrue(bounds.getHeight() > 1000.0);
+		assertTrue(bounds.getWidth() < 100.0);
+	}
 }
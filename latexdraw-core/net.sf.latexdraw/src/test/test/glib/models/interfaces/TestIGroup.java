@@ -7,6 +7,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.geom.Rectangle2D;
+
 import org.junit.Test;
 
 import net.sf.latexdraw.glib.models.ShapeFactory;
@@ -329,6 +331,20 @@ public abstract class TestIGroup<T extends IGroup> extends TestIShape<T> {
 		assertEquals(ShapeFactory.createPoint(5, -10), shape.getTopLeftPoint());
 	}
 
+	@Test
+	public void testGetBounds() {
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		shape.getBounds(bounds);
+		assertTrue(Double.isNaN(bounds.getX()));
+		assertTrue(Double.isNaN(bounds.getY()));
+
+		shape.addShape(setRectangle(5, 10, 6, 20));
+		shape.addShape(setRectangle(90, 40, 10, 21));
+		shape.getBounds(bounds);
+		assertEquals(new Rectangle2D.Double(5, -10, 95, 50), bounds);
+		assertEquals(ShapeFactory.createPoint(52.5, 15), shape.getGravityCentre());
+	}
+
 	@Override
 	@Test
 	public void testGetTopRightPoint() {
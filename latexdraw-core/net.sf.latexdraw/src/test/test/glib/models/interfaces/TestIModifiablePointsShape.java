@@ -5,6 +5,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
@@ -466,4 +469,177 @@ public abstract class TestIModifiablePointsShape<T extends IModifiablePointsShap
 		shape.addPoint(pt4);
 		assertTrue(shape.getBottomLeftPoint().equals(pt4));
 	}
+
+	@Test
+	public void testAddPointCoordinates() {
+		final int size = shape.getNbPoints();
+
+		shape.addPoint(Double.NaN, 1);
+		shape.addPoint(1, Double.POSITIVE_INFINITY);
+		assertEquals(size, shape.getNbPoints());
+
+		shape.addPoint(3, 4);
+		assertEquals(size + 1, shape.getNbPoints());
+		assertEquals(ShapeFactory.createPoint(3, 4), shape.getPtAt(-1));
+	}
+
+	@Test
+	public void testPointPropertiesFollowTranslation() {
+		shape.getPoints().clear();
+		shape.addPoint(1, 2);
+		shape.addPoint(3, 4);
+		final IPoint pt = shape.getPtAt(1);
+		pt.xProperty();
+		pt.yProperty();
+
+		shape.translate(10, 20);
+		HelperTest.assertEqualsDouble(13., pt.xProperty().get());
+		HelperTest.assertEqualsDouble(24., pt.yProperty().get());
+
+		pt.xProperty().set(5.);
+		HelperTest.assertEqualsDouble(5., shape.getPtAt(1).getX());
+
+		shape.removePoint(0);
+		shape.translate(1, 1);
+		HelperTest.assertEqualsDouble(6., pt.xProperty().get());
+		HelperTest.assertEqualsDouble(25., pt.getY());
+	}
+
+	@Test
+	public void testGetPtAtReturnsTheSameView() {
+		shape.getPoints().clear();
+		shape.addPoint(1, 2);
+		shape.addPoint(3, 4);
+		assertTrue(shape.getPtAt(1) == shape.getPtAt(1));
+		assertTrue(shape.getPtAt(0) == shape.getPoints().get(0));
+	}
+
+	@Test
+	public void testHeldPointFollowsPointsModifications() {
+		shape.getPoints().clear();
+		shape.addPoint(1, 2);
+		shape.addPoint(3, 4);
+		final IPoint pt = shape.getPtAt(1);
+
+		shape.addPoint(ShapeFactory.createPoint(5, 6), 0);
+		assertTrue(pt == shape.getPtAt(2));
+		HelperTest.assertEqualsDouble(3., pt.getX());
+		HelperTest.assertEqualsDouble(4., pt.getY());
+
+		shape.removePoint(0);
+		shape.removePoint(0);
+		assertTrue(pt == shape.getPtAt(0));
+		HelperTest.assertEqualsDouble(3., pt.getX());
+
+		shape.translate(10, 20);
+		HelperTest.assertEqualsDouble(13., pt.getX());
+		HelperTest.assertEqualsDouble(24., pt.getY());
+
+		pt.setX(7);
+		HelperTest.assertEqualsDouble(7., shape.getPtAt(0).getX());
+	}
+
+	@Test
+	public void testRemovedHeldPointKeepsItsCoordinates() {
+		shape.getPoints().clear();
+		shape.addPoint(1, 2);
+		shape.addPoint(3, 4);
+		final IPoint pt = shape.getPtAt(0);
+
+		shape.removePoint(0);
+		HelperTest.assertEqualsDouble(1., pt.getX());
+		HelperTest.assertEqualsDouble(2., pt.getY());
+
+		pt.setX(8);
+		HelperTest.assertEqualsDouble(3., shape.getPtAt(0).getX());
+
+		final IPoint pt2 = shape.getPtAt(0);
+		shape.getPoints().clear();
+		shape.addPoint(5, 6);
+		HelperTest.assertEqualsDouble(3., pt2.getX());
+		HelperTest.assertEqualsDouble(4., pt2.getY());
+	}
+
+	@Test
+	public void testGetBounds() {
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		shape.getPoints().clear();
+		shape.getBounds(bounds);
+		assertEquals(new Rectangle2D.Double(), bounds);
+
+		shape.addPoint(1, 5);
+		shape.addPoint(4, 2);
+		shape.addPoint(-2, 3);
+		shape.getBounds(bounds);
+		assertEquals(new Rectangle2D.Double(-2, 2, 6, 3), bounds);
+		shape.getBounds(null);
+	}
+
+	@Test
+	public void testGetBoundsFollowsPointModifications() {
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		shape.getPoints().clear();
+		shape.addPoint(1, 5);
+		shape.addPoint(4, 2);
+		shape.getBounds(bounds);
+
+		shape.getPtAt(0).setX(10);
+		shape.getBounds(bounds);
+		assertEquals(new Rectangle2D.Double(4, 2, 6, 3), bounds);
+
+		shape.translate(1, 2);
+		shape.getBounds(bounds);
+		assertEquals(new Rectangle2D.Double(5, 4, 6, 3), bounds);
+
+		shape.getPtAt(1).yProperty().set(-6);
+		shape.getBounds(bounds);
+		assertEquals(new Rectangle2D.Double(5, -6, 6, 13), bounds);
+
+		shape.removePoint(0);
+		shape.getBounds(bounds);
+		assertEquals(new Rectangle2D.Double(5, -6, 0, 0), bounds);
+		assertEquals(ShapeFactory.createPoint(5, -6), shape.getTopLeftPoint());
+		assertEquals(ShapeFactory.createPoint(5, -6), shape.getGravityCentre());
+	}
+
+	@Test
+	public void testGetFullBounds() {
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		shape.getPoints().clear();
+		shape.addPoint(1, 5);
+		shape.addPoint(4, 2);
+		shape.getFullBounds(bounds);
+		final IPoint tl = shape.getFullTopLeftPoint();
+		final IPoint br = shape.getFullBottomRightPoint();
+		HelperTest.assertEqualsDouble(tl.getX(), bounds.getMinX());
+		HelperTest.assertEqualsDouble(tl.getY(), bounds.getMinY());
+		HelperTest.assertEqualsDouble(br.getX(), bounds.getMaxX());
+		HelperTest.assertEqualsDouble(br.getY(), bounds.getMaxY());
+	}
+
+	@Test
+	public void testUpdatePostponesPointPropertiesNotifications() {
+		shape.getPoints().clear();
+		shape.addPoint(1, 2);
+		shape.addPoint(3, 4);
+		final IPoint pt = shape.getPtAt(1);
+		final int[] notifications = {0};
+		pt.xProperty().addListener((obs, oldVal, newVal) -> notifications[0]++);
+
+		shape.beginUpdate();
+		shape.beginUpdate();
+		shape.translate(10, 0);
+		shape.endUpdate();
+		shape.translate(10, 0);
+		assertEquals(0, notifications[0]);
+		HelperTest.assertEqualsDouble(23., pt.getX());
+
+		shape.endUpdate();
+		assertEquals(1, notifications[0]);
+		HelperTest.assertEqualsDouble(23., pt.xProperty().get());
+
+		shape.endUpdate();
+		shape.translate(1, 0);
+		assertEquals(2, notifications[0]);
+	}
 }
@@ -409,4 +409,36 @@ public abstract class TestIPlot<T extends IPlot> extends TestIPositionShape<T> {
 		assertEquals(PlotStyle.ECURVE, shape.getPlotStyle());
 		assertEquals(73, shape.getNbPlottedPoints());
 	}
+
+	@Test
+	public void testGetPlottedYs() {
+		shape.setPlotEquation("x 2 mul");
+		shape.setPlotMinX(-1.0);
+		shape.setPlotMaxX(2.0);
+		shape.setNbPlottedPoints(4);
+		assertArrayEquals(new double[]{-2.0, 0.0, 2.0, 4.0}, shape.getPlottedYs(), 0.0001);
+		assertEquals(-2.0, shape.getPlottedMinY(), 0.0001);
+		assertEquals(4.0, shape.getPlottedMaxY(), 0.0001);
+	}
+
+	@Test
+	public void testGetPlottedYsUpdatedOnChanges() {
+		shape.setPlotEquation("x");
+		shape.setPlotMinX(0.0);
+		shape.setPlotMaxX(10.0);
+		shape.setNbPlottedPoints(11);
+		assertEquals(10.0, shape.getPlottedMaxY(), 0.0001);
+
+		shape.setPlotMaxX(20.0);
+		assertEquals(20.0, shape.getPlottedMaxY(), 0.0001);
+
+		shape.setPlotEquation("x neg");
+		assertEquals(-20.0, shape.getPlottedMinY(), 0.0001);
+
+		shape.setNbPlottedPoints(5);
+		assertEquals(5, shape.getPlottedYs().length);
+
+		shape.setPlotMinX(-5.0);
+		assertEquals(5.0, shape.getPlottedMaxY(), 0.0001);
+	}
 }
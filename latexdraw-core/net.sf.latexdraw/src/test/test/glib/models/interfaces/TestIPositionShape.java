@@ -1,5 +1,12 @@
 package test.glib.models.interfaces;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPositionShape;
@@ -18,6 +25,97 @@ public abstract class TestIPositionShape<T extends IPositionShape> extends TestI
 		HelperTest.assertEqualsDouble(50., shape.getPosition().getY());
 	}
 
+	@Test
+	public void testUpdatePostponesPropertiesNotifications() {
+		final IPoint pt = shape.getPtAt(0);
+		final double x = pt.getX();
+		final int[] notifications = {0};
+		pt.xProperty().addListener((obs, oldVal, newVal) -> notifications[0]++);
+
+		shape.beginUpdate();
+		shape.translate(10, 0);
+		shape.translate(10, 0);
+		assertEquals(0, notifications[0]);
+		HelperTest.assertEqualsDouble(x + 20., pt.getX());
+
+		shape.endUpdate();
+		assertEquals(1, notifications[0]);
+		HelperTest.assertEqualsDouble(x + 20., pt.xProperty().get());
+
+		shape.translate(10, 0);
+		assertEquals(2, notifications[0]);
+	}
+
+	@Test
+	public void testUpdateNotifiesOnceAtTheEndOfTheUpdate() {
+		final int[] updates = {0};
+		final int[] pointChanges = {0};
+		shape.updateProperty().addListener((obs, oldVal, newVal) -> updates[0]++);
+		// As the views: the changes of the points during an update are ignored.
+		shape.getPtAt(0).xProperty().addListener((obs, oldVal, newVal) -> {
+			if(!shape.isUpdating()) pointChanges[0]++;
+		});
+
+		shape.beginUpdate();
+		shape.beginUpdate();
+		for(int i=0; i<100; i++)
+			shape.translate(1, 1);
+		shape.endUpdate();
+		assertTrue(shape.isUpdating());
+		assertEquals(0, updates[0]);
+
+		shape.endUpdate();
+		assertFalse(shape.isUpdating());
+		assertEquals(1, updates[0]);
+		assertEquals(0, pointChanges[0]);
+
+		shape.endUpdate();
+		shape.translate(1, 1);
+		assertEquals(1, updates[0]);
+		assertEquals(1, pointChanges[0]);
+	}
+
+	@Test
+	public void testVersionIncrementedOnChange() {
+		final long version = shape.versionProperty().get();
+		shape.translate(1, 1);
+		assertEquals(version+1, shape.versionProperty().get());
+		shape.getPtAt(0).setX(shape.getPtAt(0).getX()+10);
+		assertEquals(version+2, shape.versionProperty().get());
+		shape.setLineColour(ShapeFactory.createColorInt(12, 34, 56));
+		assertEquals(version+3, shape.versionProperty().get());
+	}
+
+	@Test
+	public void testPointsKeepTheirInstances() {
+		final List<IPoint> pts = shape.getPoints();
+		final IPoint pt = shape.getPtAt(0);
+		assertSame(pts, shape.getPoints());
+		assertSame(pt, shape.getPtAt(0));
+		assertSame(pt, pts.get(0));
+
+		final double x = pt.getX();
+		shape.translate(10, 0);
+		assertSame(pt, shape.getPtAt(0));
+		HelperTest.assertEqualsDouble(x + 10., pt.getX());
+
+		final IPoint newPt = ShapeFactory.createPoint(1, 2);
+		pts.set(0, newPt);
+		assertSame(newPt, shape.getPtAt(0));
+		HelperTest.assertEqualsDouble(x + 10., pt.getX());
+	}
+
+	@Test
+	public void testVersionIncrementedOnceAtTheEndOfTheUpdate() {
+		final long version = shape.versionProperty().get();
+		shape.beginUpdate();
+		for(int i=0; i<100; i++)
+			shape.translate(1, 1);
+		assertEquals(version, shape.versionProperty().get());
+		shape.endUpdate();
+		assertEquals(version+1, shape.versionProperty().get());
+	}
+
 	@Test
 	public void testGetSetX() {
 		shape.setX(10.);
@@ -0,0 +1,94 @@
+package test.glib.models.interfaces;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotDecimation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestPlotDecimation {
+	double[] xs;
+	double[] ys;
+
+	@Before
+	public void setUp() {
+		xs = new double[10000];
+		ys = new double[10000];
+		for(int i=0; i<xs.length; i++) {
+			xs[i] = i;
+			ys[i] = Math.sin(i/100.0);
+		}
+		ys[5000] = 10.0;
+		ys[7000] = -10.0;
+	}
+
+	@Test
+	public void testNoneKeepsData() {
+		final double[][] res = PlotDecimation.NONE.decimate(xs, ys, 100);
+		assertSame(xs, res[0]);
+		assertSame(ys, res[1]);
+	}
+
+	@Test
+	public void testSmallDataNotDecimated() {
+		for(final PlotDecimation deci : PlotDecimation.values()) {
+			final double[][] res = deci.decimate(xs, ys, xs.length);
+			assertSame(xs, res[0]);
+			assertSame(ys, res[1]);
+		}
+	}
+
+	@Test
+	public void testMinMax() {
+		final double[][] res = PlotDecimation.MIN_MAX.decimate(xs, ys, 100);
+		checkDecimated(res, 100);
+		assertEquals(10.0, max(res[1]), 0.0);
+		assertEquals(-10.0, -max(negate(res[1])), 0.0);
+	}
+
+	@Test
+	public void testLTTB() {
+		final double[][] res = PlotDecimation.LTTB.decimate(xs, ys, 100);
+		checkDecimated(res, 100);
+		assertEquals(100, res[0].length);
+		assertEquals(10.0, max(res[1]), 0.0);
+		assertEquals(-10.0, -max(negate(res[1])), 0.0);
+	}
+
+	@Test
+	public void testDecimationDoesNotModifyData() {
+		final double[] xsCopy = xs.clone();
+		final double[] ysCopy = ys.clone();
+		PlotDecimation.MIN_MAX.decimate(xs, ys, 100);
+		PlotDecimation.LTTB.decimate(xs, ys, 100);
+		assertArrayEquals(xsCopy, xs, 0.0);
+		assertArrayEquals(ysCopy, ys, 0.0);
+	}
+
+	private void checkDecimated(final double[][] res, final int threshold) {
+		assertEquals(res[0].length, res[1].length);
+		assertTrue(res[0].length<=threshold);
+		assertEquals(xs[0], res[0][0], 0.0);
+		assertEquals(xs[xs.length-1], res[0][res[0].length-1], 0.0);
+		for(int i=1; i<res[0].length; i++)
+			assertTrue(res[0][i]>res[0][i-1]);
+	}
+
+	private static double max(final double[] values) {
+		double max = Double.NEGATIVE_INFINITY;
+		for(final double value : values)
+			max = Math.max(max, value);
+		return max;
+	}
+
+	private static double[] negate(final double[] values) {
+		final double[] res = new double[values.length];
+		for(int i=0; i<values.length; i++)
+			res[i] = -values[i];
+		return res;
+	}
+}
@@ -0,0 +1,175 @@
+package test.glib.views.latex;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import net.sf.latexdraw.glib.views.latex.LaTeXCompilationCache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLaTeXCompilationCache {
+	protected LaTeXCompilationCache cache;
+	protected File dir;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("latexdrawCache").toFile(); //$NON-NLS-1$
+		cache = new LaTeXCompilationCache(dir, 100L);
+		cache.setToolchain("latex 1.0"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() {
+		cache.clear();
+		dir.delete();
+	}
+
+	protected File createFile(final String content) throws IOException {
+		final File file = File.createTempFile("latexdraw", ".ps"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKONullDir() {
+		new LaTeXCompilationCache(null, 10L);
+	}
+
+	@Test
+	public void testKeyDependsOnAllParts() {
+		final String key = cache.getKey("doc", "pkg", "ps"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(key, cache.getKey("doc", "pkg", "ps")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNotEquals(key, cache.getKey("doc2", "pkg", "ps")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNotEquals(key, cache.getKey("doc", "pkg2", "ps")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNotEquals(key, cache.getKey("doc", "pkg", "pdf")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNotEquals(key, cache.getKey("docp", "kg", "ps")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		cache.setToolchain("latex 2.0"); //$NON-NLS-1$
+		assertNotEquals(key, cache.getKey("doc", "pkg", "ps")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testKeyDependsOnIncludedPictures() throws IOException {
+		final File picture = createFile("picture1"); //$NON-NLS-1$
+		final String doc = "\\includegraphics[scale=0.5]{" + picture.getAbsolutePath() + "}"; //$NON-NLS-1$ //$NON-NLS-2$
+		final String key = cache.getKey(doc, "", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(key, cache.getKey(doc, "", "")); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.write(picture.toPath(), "picture2".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		assertNotEquals(key, cache.getKey(doc, "", "")); //$NON-NLS-1$ //$NON-NLS-2$
+		picture.delete();
+		assertNotEquals(key, cache.getKey(doc, "", "")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testKeyDependsOnInputFilesRecursively() throws IOException {
+		final File picture = createFile("picture1"); //$NON-NLS-1$
+		final File input = createFile("\\includegraphics{" + picture.getAbsolutePath() + "}"); //$NON-NLS-1$ //$NON-NLS-2$
+		final String pkg = "\\input{" + input.getAbsolutePath() + "}"; //$NON-NLS-1$ //$NON-NLS-2$
+		final String key = cache.getKey("doc", pkg, ""); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.write(picture.toPath(), "picture2".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		assertNotEquals(key, cache.getKey("doc", pkg, "")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testKeyOfAnIncludeCycle() throws IOException {
+		final File input = createFile(""); //$NON-NLS-1$
+		Files.write(input.toPath(), ("\\input{" + input.getAbsolutePath() + "}").getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$ //$NON-NLS-2$
+		final String doc = "\\input{" + input.getAbsolutePath() + "}"; //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(cache.getKey(doc, "", ""), cache.getKey(doc, "", "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	@Test
+	public void testFetchMiss() throws IOException {
+		final File target = File.createTempFile("latexdraw", ".ps"); //$NON-NLS-1$ //$NON-NLS-2$
+		target.delete();
+		assertFalse(cache.fetch(cache.getKey("doc", "", ""), ".ps", target)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertFalse(target.exists());
+		assertEquals(0L, cache.getHits());
+		assertEquals(1L, cache.getMisses());
+	}
+
+	@Test
+	public void testStoreThenFetch() throws IOException {
+		final String key = cache.getKey("doc", "", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final File target = File.createTempFile("latexdraw", ".ps"); //$NON-NLS-1$ //$NON-NLS-2$
+		target.deleteOnExit();
+		cache.store(key, ".ps", createFile("%!PS")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(cache.fetch(key, ".ps", target)); //$NON-NLS-1$
+		assertEquals("%!PS", new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8)); //$NON-NLS-1$
+		assertEquals(1L, cache.getHits());
+		assertEquals(0L, cache.getMisses());
+	}
+
+	@Test
+	public void testStoreEvictsLeastRecentlyUsed() throws IOException {
+		final String key1 = cache.getKey("doc1", "", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final String key2 = cache.getKey("doc2", "", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final String key3 = cache.getKey("doc3", "", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final String content = new String(new char[40]).replace('\0', 'a');
+		final File target = File.createTempFile("latexdraw", ".ps"); //$NON-NLS-1$ //$NON-NLS-2$
+		target.deleteOnExit();
+
+		cache.store(key1, ".ps", createFile(content)); //$NON-NLS-1$
+		cache.store(key2, ".ps", createFile(content)); //$NON-NLS-1$
+		new File(dir, key1 + ".ps").setLastModified(1000L); //$NON-NLS-1$
+		new File(dir, key2 + ".ps").setLastModified(2000L); //$NON-NLS-1$
+		cache.store(key3, ".ps", createFile(content)); //$NON-NLS-1$
+
+		assertFalse(cache.fetch(key1, ".ps", target)); //$NON-NLS-1$
+		assertTrue(cache.fetch(key2, ".ps", target)); //$NON-NLS-1$
+		assertTrue(cache.fetch(key3, ".ps", target)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testStoreIgnoresTooLargeDocuments() throws IOException {
+		final String key = cache.getKey("doc", "", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final File target = File.createTempFile("latexdraw", ".ps"); //$NON-NLS-1$ //$NON-NLS-2$
+		target.deleteOnExit();
+		cache.store(key, ".ps", createFile(new String(new char[200]).replace('\0', 'a'))); //$NON-NLS-1$
+		assertFalse(cache.fetch(key, ".ps", target)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testConcurrentStoresOfTheSameDocument() throws IOException, InterruptedException {
+		final String key = cache.getKey("doc", "", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<>();
+		final List<File> files = new ArrayList<>();
+
+		for(int i=0; i<8; i++) {
+			final File file = createFile("%!PS" + i); //$NON-NLS-1$
+			files.add(file);
+			threads.add(new Thread(() -> {
+				try {
+					start.await();
+					cache.store(key, ".ps", file); //$NON-NLS-1$
+				}catch(final InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		start.countDown();
+		for(final Thread thread : threads)
+			thread.join();
+
+		final File target = File.createTempFile("latexdraw", ".ps"); //$NON-NLS-1$ //$NON-NLS-2$
+		target.deleteOnExit();
+		assertTrue(cache.fetch(key, ".ps", target)); //$NON-NLS-1$
+		assertTrue(new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8).matches("%!PS[0-7]")); //$NON-NLS-1$
+		assertArrayEquals(new String[]{key + ".ps"}, dir.list()); //$NON-NLS-1$
+	}
+}
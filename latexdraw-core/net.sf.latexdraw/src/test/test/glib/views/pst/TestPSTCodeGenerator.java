@@ -0,0 +1,254 @@
+package test.glib.views.pst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.Color;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.views.latex.DviPsColors;
+import net.sf.latexdraw.glib.views.pst.PSTCodeGenerator;
+import net.sf.latexdraw.glib.views.synchroniser.ViewsSynchroniserHandler;
+
+public class TestPSTCodeGenerator {
+	IDrawing drawing;
+	ViewsSynchroniserHandler handler;
+	PSTCodeGenerator gen;
+
+	@Before
+	public void setUp() {
+		drawing = ShapeFactory.createDrawing();
+		handler = mock(ViewsSynchroniserHandler.class);
+		when(handler.getOriginDrawingPoint()).thenReturn(ShapeFactory.createPoint());
+		when(handler.getTopRightDrawingPoint()).thenReturn(ShapeFactory.createPoint(500, -500));
+		when(handler.getBottomLeftDrawingPoint()).thenReturn(ShapeFactory.createPoint(0, 0));
+		when(handler.getPPCDrawing()).thenReturn(IShape.PPC);
+
+		for(int i=0; i<100; i++)
+			drawing.addShape(ShapeFactory.createRectangle(ShapeFactory.createPoint(i*10, i*10), 10, 10));
+
+		gen = new PSTCodeGenerator(drawing, handler, false, false);
+	}
+
+	private String getFullCode() {
+		final PSTCodeGenerator full = new PSTCodeGenerator(drawing, handler, false, false);
+		full.updateFull();
+		return full.getCache().toString();
+	}
+
+	@Test
+	public void testUpdateDirtyEqualsUpdateFull() {
+		gen.updateDirty();
+		assertEquals(getFullCode(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyOnlyRegeneratesModifiedShapes() {
+		gen.updateDirty();
+		assertTrue(gen.getSynchro().updateDirty().isEmpty());
+
+		drawing.getShapeAt(50).translate(3, 3);
+		drawing.getShapeAt(10).translate(3, 3);
+		drawing.getShapeAt(10).setLineColour(ShapeFactory.createColorInt(10, 20, 30));
+
+		final List<IShape> updated = gen.getSynchro().updateDirty();
+		assertEquals(2, updated.size());
+		assertSame(drawing.getShapeAt(10), updated.get(0));
+		assertSame(drawing.getShapeAt(50), updated.get(1));
+	}
+
+	@Test
+	public void testUpdateDirtyRegeneratesTheCacheOfTheModifiedViewsOnly() {
+		final String marker = "%not regenerated"; //$NON-NLS-1$
+		gen.updateDirty();
+		// Marking the caches of the views: the marker is removed when the cache of a view is regenerated.
+		for(int i=0; i<drawing.size(); i++)
+			gen.getSynchro().getViewAt(i).getCache().append(marker);
+
+		drawing.getShapeAt(50).translate(3, 3);
+		drawing.getShapeAt(10).setLineColour(ShapeFactory.createColorInt(10, 20, 30));
+		gen.updateDirty();
+
+		for(int i=0; i<drawing.size(); i++)
+			assertEquals(i==10 || i==50, !gen.getSynchro().getViewAt(i).getCache().toString().endsWith(marker));
+	}
+
+	@Test
+	public void testUpdateDirtySplicesModifiedShapes() {
+		gen.updateDirty();
+		final IRectangle rec = (IRectangle) drawing.getShapeAt(42);
+		rec.translate(100, 100);
+		gen.updateDirty();
+		assertEquals(getFullCode(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyAddedRemovedShapes() {
+		gen.updateDirty();
+		drawing.removeShape(5);
+		drawing.addShape(ShapeFactory.createRectangle(ShapeFactory.createPoint(-20, -20), 5, 5), 0);
+		gen.updateDirty();
+		assertEquals(getFullCode(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyNotFlaggedAsModified() {
+		gen.updateDirty();
+		drawing.getShapeAt(1).translate(100, 100);
+		assertFalse(drawing.getShapeAt(1).isModified());
+		gen.updateDirty();
+		assertEquals(getFullCode(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyNotChanged() {
+		gen.updateDirty();
+		final String code = gen.getCache().toString();
+		gen.updateDirty();
+		assertEquals(code, gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyShapeOfGroup() {
+		final IGroup group = ShapeFactory.createGroup();
+		final IRectangle rec = ShapeFactory.createRectangle(ShapeFactory.createPoint(20, 20), 10, 10);
+		group.addShape(rec);
+		group.addShape(ShapeFactory.createRectangle(ShapeFactory.createPoint(40, 40), 10, 10));
+		drawing.addShape(group, 3);
+		gen.updateDirty();
+
+		rec.translate(15, 15);
+		assertEquals(Collections.singletonList(group), gen.getSynchro().updateDirty());
+
+		rec.setLineColour(ShapeFactory.createColorInt(1, 2, 3));
+		gen.updateDirty();
+		assertEquals(getFullCode(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyColours() {
+		gen.updateDirty();
+		drawing.getShapeAt(2).setLineColour(ShapeFactory.createColorInt(5, 6, 7));
+		drawing.getShapeAt(8).setFillingCol(ShapeFactory.createColorInt(7, 6, 5));
+		gen.updateDirty();
+		assertEquals(getFullCode(), gen.getCache().toString());
+
+		drawing.getShapeAt(2).setLineColour(DviPsColors.BLACK);
+		gen.updateDirty();
+		assertEquals(getFullCode(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyLatexParameters() {
+		gen.updateDirty();
+		gen.setWithLatexParams(true);
+		gen.setCaption("caption"); //$NON-NLS-1$
+		gen.setPositionHoriCentre(true);
+		drawing.getShapeAt(0).translate(1, 1);
+		gen.updateDirty();
+
+		final PSTCodeGenerator full = new PSTCodeGenerator(drawing, handler, true, false);
+		full.setCaption("caption"); //$NON-NLS-1$
+		full.setPositionHoriCentre(true);
+		full.updateFull();
+		assertEquals(full.getCache().toString(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateDirtyEmptyDrawing() {
+		gen.updateDirty();
+		while(!drawing.isEmpty())
+			drawing.removeShape(0);
+		gen.updateDirty();
+		assertEquals("", gen.getCache().toString()); //$NON-NLS-1$
+		gen.updateDirty();
+		assertEquals("", gen.getCache().toString()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemovedShapesNotUpdated() {
+		gen.updateDirty();
+		final IShape removed = drawing.removeShape(4);
+		gen.updateDirty();
+		removed.translate(10, 10);
+		assertTrue(gen.getSynchro().updateDirty().isEmpty());
+	}
+
+	@Test
+	public void testUpdateCodeIncremental() {
+		gen.setIncremental(true);
+		assertTrue(gen.isIncremental());
+		gen.updateCode();
+		assertEquals(getFullCode(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateFullNewColoursInDrawingOrder() {
+		for(int i=0; i<drawing.size(); i++)
+			drawing.getShapeAt(i).setLineColour(ShapeFactory.createColorInt(3, i, 250-i));
+
+		gen.updateFull();
+
+		final Matcher matcher = Pattern.compile("linecolor=(colour\\d+)").matcher(gen.getCache()); //$NON-NLS-1$
+		final List<String> names = new ArrayList<>();
+		while(matcher.find())
+			names.add(matcher.group(1));
+
+		assertEquals(drawing.size(), names.size());
+		for(int i=1; i<names.size(); i++)
+			assertTrue(Integer.parseInt(names.get(i-1).substring(6)) < Integer.parseInt(names.get(i).substring(6)));
+	}
+
+	@Test
+	public void testUpdateFullKnownAndNewColoursSameAsUpdateDirty() {
+		for(int i=0; i<drawing.size(); i+=3)
+			drawing.getShapeAt(i).setLineColour(ShapeFactory.createColorInt(4, i, 200));
+
+		final PSTCodeGenerator dirty = new PSTCodeGenerator(drawing, handler, false, false);
+		dirty.updateDirty();
+		gen.updateFull();
+		assertEquals(dirty.getCache().toString(), gen.getCache().toString());
+	}
+
+	@Test
+	public void testUpdateFullUsesTheUserColoursOfTheCaller() {
+		final Color colour = ShapeFactory.createColorInt(5, 6, 7);
+		final DviPsColors.UserColours colours = new DviPsColors.UserColours();
+		// The colour has a shared name and another name in the colours of the caller.
+		DviPsColors.INSTANCE.addUserColour(colour, "sharedColour"); //$NON-NLS-1$
+		DviPsColors.INSTANCE.withUserColours(colours, () -> {
+			DviPsColors.INSTANCE.addUserColour(colour, "callerColour"); //$NON-NLS-1$
+			return null;
+		});
+		for(int i=0; i<drawing.size(); i++)
+			drawing.getShapeAt(i).setLineColour(colour);
+
+		DviPsColors.INSTANCE.withUserColours(colours, () -> {
+			gen.updateFull();
+			return null;
+		});
+
+		final Matcher matcher = Pattern.compile("linecolor=callerColour").matcher(gen.getCache()); //$NON-NLS-1$
+		int count = 0;
+		while(matcher.find())
+			count++;
+		assertEquals(drawing.size(), count);
+		assertFalse(gen.getCache().toString().contains("sharedColour")); //$NON-NLS-1$
+	}
+}
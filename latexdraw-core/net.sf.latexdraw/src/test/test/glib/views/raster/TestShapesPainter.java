@@ -0,0 +1,158 @@
+package test.glib.views.raster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.ArcStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.ICircleArc;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.views.latex.DviPsColors;
+import net.sf.latexdraw.glib.views.raster.ShapesPainter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestShapesPainter {
+	protected BufferedImage image;
+	protected IRectangle rec;
+
+	@Before
+	public void setUp() {
+		image = new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D g = image.createGraphics();
+		g.setColor(Color.WHITE);
+		g.fillRect(0, 0, 300, 300);
+		g.dispose();
+		rec = ShapeFactory.createRectangle(ShapeFactory.createPoint(50., 50.), 100., 100.);
+		rec.setThickness(2.);
+		rec.setLineColour(DviPsColors.BLUE);
+		rec.setFillingStyle(FillingStyle.PLAIN);
+		rec.setFillingCol(DviPsColors.RED);
+	}
+
+	protected void paint(final IShape... shapes) {
+		final Graphics2D g = image.createGraphics();
+		new ShapesPainter(Arrays.asList(shapes)).paint(g);
+		g.dispose();
+	}
+
+	protected int rgb(final int x, final int y) {
+		return image.getRGB(x, y) & 0xFFFFFF;
+	}
+
+	@Test
+	public void testFilledRectanglePainted() {
+		paint(rec);
+		assertEquals(0xFF0000, rgb(100, 100));
+		assertEquals(0xFF0000, rgb(60, 140));
+	}
+
+	@Test
+	public void testBorderOfRectanglePainted() {
+		paint(rec);
+		assertEquals(0x0000FF, rgb(50, 100));
+		assertEquals(0x0000FF, rgb(100, 150));
+	}
+
+	@Test
+	public void testNothingPaintedOutsideTheShape() {
+		paint(rec);
+		assertEquals(0xFFFFFF, rgb(10, 10));
+		assertEquals(0xFFFFFF, rgb(200, 100));
+		assertEquals(0xFFFFFF, rgb(100, 200));
+	}
+
+	@Test
+	public void testNotFilledRectangle() {
+		rec.setFillingStyle(FillingStyle.NONE);
+		paint(rec);
+		assertEquals(0xFFFFFF, rgb(100, 100));
+		assertEquals(0x0000FF, rgb(50, 100));
+	}
+
+	@Test
+	public void testShapesPaintedFromBackToFront() {
+		final IRectangle rec2 = ShapeFactory.createRectangle(ShapeFactory.createPoint(90., 90.), 100., 100.);
+		rec2.setFillingStyle(FillingStyle.PLAIN);
+		rec2.setFillingCol(DviPsColors.GREEN);
+		rec2.setLineColour(DviPsColors.GREEN);
+		paint(rec, rec2);
+		assertEquals(0x00FF00, rgb(120, 120));
+		assertEquals(0xFF0000, rgb(70, 70));
+	}
+
+	@Test
+	public void testShapesOfGroupPainted() {
+		final IGroup group = ShapeFactory.createGroup();
+		group.addShape(rec);
+		paint(group);
+		assertEquals(0xFF0000, rgb(100, 100));
+	}
+
+	@Test
+	public void testRotatedRectanglePainted() {
+		rec.setRotationAngle(Math.PI / 4.);
+		paint(rec);
+		// The corners of the rotated square are out of its unrotated bounds.
+		assertEquals(0xFF0000, rgb(100, 40));
+		assertEquals(0xFFFFFF, rgb(55, 55));
+	}
+
+	@Test
+	public void testShapeOutsideClipNotPainted() {
+		final Graphics2D g = image.createGraphics();
+		g.setClip(200, 200, 100, 100);
+		new ShapesPainter(Collections.singletonList(rec)).paint(g);
+		g.dispose();
+		assertEquals(0xFFFFFF, rgb(100, 100));
+	}
+
+	@Test
+	public void testFilledArcPainted() {
+		final ICircleArc arc = ShapeFactory.createCircleArc(ShapeFactory.createPoint(50., 150.), 100.);
+		arc.setArcStyle(ArcStyle.WEDGE);
+		arc.setAngleStart(0.);
+		arc.setAngleEnd(Math.PI / 2.);
+		arc.setLineColour(DviPsColors.BLUE);
+		arc.setFillingStyle(FillingStyle.PLAIN);
+		arc.setFillingCol(DviPsColors.RED);
+		paint(arc);
+		// Only the top-right quarter of the circle is painted.
+		assertEquals(0xFF0000, rgb(120, 80));
+		assertEquals(0xFFFFFF, rgb(80, 120));
+		assertEquals(0xFFFFFF, rgb(80, 80));
+	}
+
+	@Test
+	public void testDotPainted() {
+		final IDot dot = ShapeFactory.createDot(ShapeFactory.createPoint(200., 200.));
+		dot.setDiametre(20.);
+		dot.setLineColour(DviPsColors.BLUE);
+		paint(dot);
+		assertEquals(0x0000FF, rgb(200, 200));
+		assertEquals(0xFFFFFF, rgb(200, 220));
+	}
+
+	@Test
+	public void testTextPaintedWithTheOtherShapes() {
+		paint(rec, ShapeFactory.createText(ShapeFactory.createPoint(100., 100.), "foo")); //$NON-NLS-1$
+		assertEquals(0xFF0000, rgb(100, 140));
+		boolean textPainted = false;
+		// The text is painted above its position, from its position.
+		for(int x=100; x<130 && !textPainted; x++)
+			for(int y=85; y<100 && !textPainted; y++)
+				textPainted = rgb(x, y)!=0xFF0000;
+		assertTrue(textPainted);
+	}
+}
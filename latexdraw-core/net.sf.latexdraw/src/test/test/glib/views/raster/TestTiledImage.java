@@ -0,0 +1,140 @@
+package test.glib.views.raster;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import net.sf.latexdraw.glib.views.raster.RasterExporter;
+import net.sf.latexdraw.glib.views.raster.TilePainter;
+import net.sf.latexdraw.glib.views.raster.TiledImage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTiledImage {
+	protected static final TilePainter PAINTER = g -> {
+		g.setColor(Color.RED);
+		g.fill(new Rectangle2D.Double(10., 10., 150., 100.));
+		g.setColor(Color.BLUE);
+		g.setStroke(new BasicStroke(3f));
+		g.draw(new Line2D.Double(0., 0., 200., 150.));
+	};
+
+	protected ExecutorService executor;
+	protected File file;
+
+	@Before
+	public void setUp() throws IOException {
+		executor = Executors.newFixedThreadPool(3);
+		file = File.createTempFile("latexdrawTiles", ".img"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		file.delete();
+	}
+
+	protected BufferedImage write(final TiledImage image, final String format) throws IOException {
+		final ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+		file.delete();
+		try(final ImageOutputStream ios = ImageIO.createImageOutputStream(file)) {
+			writer.setOutput(ios);
+			writer.write(null, new IIOImage(image, null, null), writer.getDefaultWriteParam());
+		}finally {
+			writer.dispose();
+		}
+		return ImageIO.read(file);
+	}
+
+	protected void assertSamePixels(final BufferedImage expected, final BufferedImage actual) {
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		for(int y=0; y<expected.getHeight(); y++)
+			for(int x=0; x<expected.getWidth(); x++)
+				assertEquals(expected.getRGB(x, y) & 0xFFFFFF, actual.getRGB(x, y) & 0xFFFFFF);
+	}
+
+	protected BufferedImage paintWithoutTiles(final int width, final int height, final AffineTransform transform) {
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+		new TiledImage(width, height, height, transform, PAINTER, null, 0).copyData(image.getRaster());
+		return image;
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKOWidth() {
+		new TiledImage(0, 10, 10, new AffineTransform(), PAINTER, null, 0);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKOTileHeight() {
+		new TiledImage(10, 10, 0, new AffineTransform(), PAINTER, null, 0);
+	}
+
+	@Test
+	public void testGetTileHeight() {
+		assertEquals(10, TiledImage.getTileHeight(100, 3000L));
+		assertEquals(1, TiledImage.getTileHeight(100, 10L));
+	}
+
+	@Test
+	public void testNbTiles() {
+		final TiledImage image = new TiledImage(100, 95, 10, new AffineTransform(), PAINTER, null, 0);
+		assertEquals(10, image.getNumYTiles());
+		assertEquals(1, image.getNumXTiles());
+		assertEquals(0, image.getNbPaintedTiles());
+	}
+
+	@Test
+	public void testPNGSameAsWithoutTiles() throws IOException {
+		final AffineTransform transform = AffineTransform.getScaleInstance(2., 2.);
+		final TiledImage image = new TiledImage(400, 300, 37, transform, PAINTER, executor, 3);
+		assertSamePixels(paintWithoutTiles(400, 300, transform), write(image, "png")); //$NON-NLS-1$
+		assertEquals(image.getNumYTiles(), image.getNbPaintedTiles());
+	}
+
+	@Test
+	public void testBMPSameAsWithoutTiles() throws IOException {
+		// The BMP writer reads the rows from the bottom to the top.
+		final AffineTransform transform = AffineTransform.getScaleInstance(2., 2.);
+		final TiledImage image = new TiledImage(400, 300, 37, transform, PAINTER, executor, 3);
+		assertSamePixels(paintWithoutTiles(400, 300, transform), write(image, "bmp")); //$NON-NLS-1$
+		assertEquals(image.getNumYTiles(), image.getNbPaintedTiles());
+	}
+
+	@Test
+	public void testPNGWithoutExecutor() throws IOException {
+		final TiledImage image = new TiledImage(200, 150, 16, new AffineTransform(), PAINTER, null, 3);
+		assertSamePixels(paintWithoutTiles(200, 150, new AffineTransform()), write(image, "png")); //$NON-NLS-1$
+		assertEquals(image.getNumYTiles(), image.getNbPaintedTiles());
+	}
+
+	@Test
+	public void testExportScale() throws IOException {
+		new RasterExporter(2, 4096L).export(PAINTER, new Rectangle2D.Double(-10., -20., 100., 50.), 1.5, "png", file, 1f); //$NON-NLS-1$
+		final BufferedImage image = ImageIO.read(file);
+		assertEquals(150, image.getWidth());
+		assertEquals(75, image.getHeight());
+	}
+
+	@Test(expected=IOException.class)
+	public void testExportUnknownFormat() throws IOException {
+		new RasterExporter(1, 4096L).export(PAINTER, new Rectangle2D.Double(0., 0., 10., 10.), 1., "foo", file, 1f); //$NON-NLS-1$
+	}
+}
@@ -1,9 +1,12 @@
 package test.gui;
 
+import java.awt.geom.Rectangle2D;
+
 import com.google.inject.AbstractModule;
 import javafx.application.Platform;
 import javafx.geometry.Point2D;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
 import javafx.scene.layout.Pane;
 import net.sf.latexdraw.glib.models.ShapeFactory;
 import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
@@ -15,13 +18,16 @@ import net.sf.latexdraw.view.jfx.Canvas;
 import net.sf.latexdraw.view.jfx.PageView;
 import net.sf.latexdraw.view.jfx.ViewRectangle;
 import org.junit.Before;
+import org.malai.undo.Undoable;
 import org.junit.Test;
 
+import test.gui.robot.FxRobotDnD;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-public class TestCanvas extends TestLatexdrawGUI {
+public class TestCanvas extends TestLatexdrawGUI implements FxRobotDnD {
 	Pencil pencil;
 	Hand hand;
 	Canvas canvas;
@@ -45,6 +51,17 @@ public class TestCanvas extends TestLatexdrawGUI {
 		});
 	};
 
+	final GUIVoidCommand addFarRec = () -> {
+		Platform.runLater(() -> {
+			addedRec = ShapeFactory.createRectangle(ShapeFactory.createPoint(10000, 8000), 100, 100);
+			canvas.getDrawing().addShape(addedRec);
+		});
+	};
+
+	final GUIVoidCommand setFarViewport = () -> Platform.runLater(() -> canvas.setViewport(Canvas.ORIGIN.getX() + 2000, Canvas.ORIGIN.getY() + 2000, 100, 100));
+
+	final GUIVoidCommand setOriginViewport = () -> Platform.runLater(() -> canvas.setViewport(0, 0, 200, 200));
+
 	final GUIVoidCommand clickOnAddedRec = () -> {
 		rightClickOn(new Point2D(50, 50));
 	};
@@ -53,6 +70,12 @@ public class TestCanvas extends TestLatexdrawGUI {
 		press(KeyCode.CONTROL).rightClickOn(new Point2D(330, 350)).release(KeyCode.CONTROL);
 	};
 
+	/** The number of times the X-coordinate of the first point of the added rectangle changed. */
+	final int[] nbMoves = {0};
+
+	final GUIVoidCommand countMoves = () -> Platform.runLater(() ->
+		addedRec.getPtAt(0).xProperty().addListener((obs, oldVal, newVal) -> nbMoves[0]++));
+
 	final GUIVoidCommand shiftClickOnAddedRec = () -> {
 		press(KeyCode.SHIFT).rightClickOn(new Point2D(55, 55)).release(KeyCode.SHIFT);
 	};
@@ -125,6 +148,71 @@ public class TestCanvas extends TestLatexdrawGUI {
 		assertTrue(vpane.getChildren().get(0) instanceof ViewRectangle);
 	}
 
+	@Test
+	public void testShapeOutOfViewportHasNoView() {
+		new CompositeGUIVoidCommand(setFarViewport, waitFXEvents, addRec, waitFXEvents).execute();
+		assertTrue(getPane().getChildren().isEmpty());
+	}
+
+	@Test
+	public void testShapeViewCreatedWhenViewportMovesCloseToIt() {
+		new CompositeGUIVoidCommand(setFarViewport, waitFXEvents, addRec, waitFXEvents, setOriginViewport, waitFXEvents).execute();
+		assertEquals(1, getPane().getChildren().size());
+		assertSame(addedRec, ((ViewRectangle)getPane().getChildren().get(0)).getModel());
+	}
+
+	@Test
+	public void testShapeViewReleasedWhenViewportMovesAway() {
+		new CompositeGUIVoidCommand(setOriginViewport, waitFXEvents, addRec, waitFXEvents, setFarViewport, waitFXEvents).execute();
+		assertTrue(getPane().getChildren().isEmpty());
+	}
+
+	@Test
+	public void testDrawingPointsConsiderOffScreenShapes() {
+		new CompositeGUIVoidCommand(setOriginViewport, waitFXEvents, addFarRec, waitFXEvents).execute();
+		assertTrue(getPane().getChildren().stream().noneMatch(view -> ((ViewRectangle)view).getModel() == addedRec));
+		final Rectangle2D bounds = new Rectangle2D.Double();
+		canvas.getDrawing().getFullBounds(bounds);
+		assertTrue(canvas.getTopRightDrawingPoint().getX() >= 10100);
+		assertTrue(canvas.getBottomLeftDrawingPoint().getY() >= 8100);
+		assertEquals(bounds.getMaxX(), canvas.getTopRightDrawingPoint().getX(), 0.000001);
+		assertEquals(bounds.getMinY(), canvas.getTopRightDrawingPoint().getY(), 0.000001);
+		assertEquals(bounds.getMinX(), canvas.getBottomLeftDrawingPoint().getX(), 0.000001);
+		assertEquals(bounds.getMaxY(), canvas.getBottomLeftDrawingPoint().getY(), 0.000001);
+		assertEquals(bounds.getMinX(), canvas.getOriginDrawingPoint().getX(), 0.000001);
+		assertEquals(bounds.getHeight() / 2.0, canvas.getOriginDrawingPoint().getY(), 0.000001);
+	}
+
+	@Test
+	public void testUndoUpdatesViews() {
+		new CompositeGUIVoidCommand(setOriginViewport, waitFXEvents, addFarRec, waitFXEvents).execute();
+		Platform.runLater(() -> {
+			addedRec.translate(-10000 - Canvas.ORIGIN.getX(), -8000 - Canvas.ORIGIN.getY());
+			canvas.onUndoableUndo(mock(Undoable.class));
+		});
+		waitFXEvents.execute();
+		assertTrue(getPane().getChildren().stream().anyMatch(view -> ((ViewRectangle)view).getModel() == addedRec));
+	}
+
+	@Test
+	public void testRedoUpdatesViews() {
+		new CompositeGUIVoidCommand(setOriginViewport, waitFXEvents, addFarRec, waitFXEvents).execute();
+		Platform.runLater(() -> {
+			addedRec.translate(-10000 - Canvas.ORIGIN.getX(), -8000 - Canvas.ORIGIN.getY());
+			canvas.onUndoableRedo(mock(Undoable.class));
+		});
+		waitFXEvents.execute();
+		assertTrue(getPane().getChildren().stream().anyMatch(view -> ((ViewRectangle)view).getModel() == addedRec));
+	}
+
+	@Test
+	public void testAllShapesHaveViewsWhenNotVirtualised() {
+		new CompositeGUIVoidCommand(setFarViewport, waitFXEvents, addRec, waitFXEvents).execute();
+		Platform.runLater(() -> canvas.setVirtualised(false));
+		waitFXEvents.execute();
+		assertTrue(getPane().getChildren().stream().anyMatch(view -> ((ViewRectangle)view).getModel() == addedRec));
+	}
+
 	@Test
 	public void testOneClickOnShapeSelectsIt() {
 		new CompositeGUIVoidCommand(addRec, waitFXEvents, clickOnAddedRec, waitFXEvents).execute();
@@ -158,4 +246,33 @@ public class TestCanvas extends TestLatexdrawGUI {
 		assertEquals(1, canvas.getDrawing().getSelection().size());
 		assertNotSame(addedRec, canvas.getDrawing().getSelection().getShapeAt(0));
 	}
+
+	@Test
+	public void testDnDTranslatesTheSelectionOnce() {
+		new CompositeGUIVoidCommand(addRec, waitFXEvents, countMoves, clickOnAddedRec, waitFXEvents).execute();
+		final double x = addedRec.getX();
+		final double y = addedRec.getY();
+		dndFromPos(new Point2D(50, 50), new Point2D(150, 100), MouseButton.PRIMARY);
+
+		assertEquals(x + 100.0, addedRec.getX(), 0.000001);
+		assertEquals(y + 50.0, addedRec.getY(), 0.000001);
+		// The shape is translated once, at the end of the DnD.
+		assertEquals(1, nbMoves[0]);
+	}
+
+	@Test
+	public void testDnDPreviewRemovedAtTheEnd() {
+		new CompositeGUIVoidCommand(addRec, waitFXEvents, clickOnAddedRec, waitFXEvents).execute();
+		dndFromPos(new Point2D(50, 50), new Point2D(150, 100), MouseButton.PRIMARY);
+		assertEquals(0.0, getPane().getChildren().get(0).getTranslateX(), 0.000001);
+		assertEquals(0.0, getPane().getChildren().get(0).getTranslateY(), 0.000001);
+	}
+
+	@Test
+	public void testDnDOnEmptySelectionDoesNotTranslate() {
+		new CompositeGUIVoidCommand(addRec, waitFXEvents).execute();
+		final double x = addedRec.getX();
+		dndFromPos(new Point2D(500, 500), new Point2D(550, 550), MouseButton.PRIMARY);
+		assertEquals(x, addedRec.getX(), 0.000001);
+	}
 }
@@ -1,5 +1,6 @@
 package test.parser.ps;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import net.sf.latexdraw.parsers.ps.InvalidFormatPSFunctionException;
 import net.sf.latexdraw.parsers.ps.PSFunctionParser;
@@ -168,4 +169,43 @@ public class TestPSFunctionParser {
 		PSFunctionParser parser = new PSFunctionParser("x add"); //$NON-NLS-1$
 		parser.getY(3);
 	}
+
+	@Test
+	public void testGetYComplexEquation() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("x dup mul 2 exch sub 3 div count exch pop"); //$NON-NLS-1$
+		assertEquals(1.0, parser.getY(4), 0.0);
+		assertEquals(1.0, parser.getY(-1), 0.0);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testGetYDivZero() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("1 x div"); //$NON-NLS-1$
+		parser.getY(0);
+	}
+
+	@Test(expected = InvalidFormatPSFunctionException.class)
+	public void testGetYClearEmpty() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("x 2 clear"); //$NON-NLS-1$
+		parser.getY(3);
+	}
+
+	@Test(expected = InvalidFormatPSFunctionException.class)
+	public void testGetYUnsupportedCommand() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("x sqrt"); //$NON-NLS-1$
+		parser.getY(3);
+	}
+
+	@Test
+	public void testGetYRange() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("x 2 mul 1 add"); //$NON-NLS-1$
+		final double[] ys = parser.getY(-1.0, 0.5, new double[5]);
+		assertArrayEquals(new double[]{-1.0, 0.0, 1.0, 2.0, 3.0}, ys, 0.0);
+	}
+
+	@Test
+	public void testGetYArray() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("x abs neg"); //$NON-NLS-1$
+		final double[] ys = parser.getY(new double[]{-2.0, 0.0, 3.0}, new double[3]);
+		assertArrayEquals(new double[]{-2.0, 0.0, -3.0}, ys, 0.0);
+	}
 }
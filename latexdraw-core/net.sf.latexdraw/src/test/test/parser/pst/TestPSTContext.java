@@ -0,0 +1,88 @@
+package test.parser.pst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.views.latex.DviPsColors;
+import net.sf.latexdraw.glib.views.pst.PSTricksConstants;
+import net.sf.latexdraw.parsers.pst.parser.PSTContext;
+import net.sf.latexdraw.parsers.pst.parser.PSTParser;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestPSTContext {
+	PSTContext ctx;
+
+	@Before
+	public void setUp() {
+		ctx = new PSTContext(false);
+		PSTParser.cleanErrors();
+	}
+
+	@Test
+	public void testChildSharesParentParameters() {
+		ctx.setParam("linewidth", 3.0); //$NON-NLS-1$
+		ctx.setParam("linecolor", DviPsColors.RED); //$NON-NLS-1$
+		final PSTContext child = new PSTContext(ctx);
+		assertEquals(3.0, child.lineWidth(), 0.0001);
+		assertEquals(DviPsColors.RED, child.lineColor());
+		assertSame(ctx.pictureNEPt(), child.pictureNEPt());
+	}
+
+	@Test
+	public void testSetParamChildDoesNotModifyParent() {
+		final PSTContext child = new PSTContext(ctx);
+		child.setParam("linewidth", 3.0); //$NON-NLS-1$
+		assertEquals(3.0, child.lineWidth(), 0.0001);
+		assertEquals(PSTricksConstants.DEFAULT_LINE_WIDTH, ctx.lineWidth(), 0.0001);
+	}
+
+	@Test
+	public void testSetParamParentDoesNotModifyChild() {
+		final PSTContext child = new PSTContext(ctx);
+		ctx.setParam("linewidth", 3.0); //$NON-NLS-1$
+		assertEquals(3.0, ctx.lineWidth(), 0.0001);
+		assertEquals(PSTricksConstants.DEFAULT_LINE_WIDTH, child.lineWidth(), 0.0001);
+	}
+
+	@Test
+	public void testSetParamSiblingsIndependent() {
+		final PSTContext child1 = new PSTContext(ctx);
+		final PSTContext child2 = new PSTContext(ctx);
+		child1.setParam("linewidth", 3.0); //$NON-NLS-1$
+		child2.setParam("linewidth", 4.0); //$NON-NLS-1$
+		assertEquals(3.0, child1.lineWidth(), 0.0001);
+		assertEquals(4.0, child2.lineWidth(), 0.0001);
+		assertEquals(PSTricksConstants.DEFAULT_LINE_WIDTH, ctx.lineWidth(), 0.0001);
+	}
+
+	@Test
+	public void testAddFillStyleIsParentFillStyle() {
+		ctx.setParam("fillstyle", FillingStyle.PLAIN); //$NON-NLS-1$
+		assertEquals(FillingStyle.PLAIN, new PSTContext(ctx).addfillstyle());
+	}
+
+	@Test
+	public void testPsCustomContextHasItsOwnLatestPoint() {
+		final PSTContext custom = new PSTContext(ctx, true);
+		assertNotSame(ctx.psCustomLatestPt(), custom.psCustomLatestPt());
+		assertNotSame(custom.psCustomLatestPt(), new PSTContext(custom).psCustomLatestPt());
+	}
+
+	@Test
+	public void testParsingParametersNotSharedBetweenCommands() throws ParseException {
+		final IGroup gp = new PSTParser().parsePSTCode("\\psset{linewidth=2cm}\\psframe(1,1)\\psframe[linewidth=3cm](1,1)\\psframe(1,1)").get(); //$NON-NLS-1$
+		assertTrue(PSTParser.errorLogs().isEmpty());
+		assertEquals(2. * IShape.PPC, gp.getShapeAt(0).getThickness(), 0.0001);
+		assertEquals(3. * IShape.PPC, gp.getShapeAt(1).getThickness(), 0.0001);
+		assertEquals(2. * IShape.PPC, gp.getShapeAt(2).getThickness(), 0.0001);
+	}
+}
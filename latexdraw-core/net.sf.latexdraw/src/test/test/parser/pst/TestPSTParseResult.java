@@ -0,0 +1,104 @@
+package test.parser.pst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.views.latex.DviPsColors;
+import net.sf.latexdraw.parsers.pst.parser.PSTBatchParseResult;
+import net.sf.latexdraw.parsers.pst.parser.PSTParseResult;
+import net.sf.latexdraw.parsers.pst.parser.PSTParser;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestPSTParseResult {
+	PSTParser parser;
+
+	@Before
+	public void setUp() {
+		parser = new PSTParser();
+		PSTParser.cleanErrors();
+	}
+
+	@Test
+	public void testParseValidCode() {
+		final PSTParseResult res = parser.parse("\\psframe(1,1)"); //$NON-NLS-1$
+		assertTrue(res.isValid());
+		assertTrue(res.errors().isEmpty());
+		assertTrue(res.shapes().get().getShapeAt(0) instanceof IRectangle);
+	}
+
+	@Test
+	public void testParseErrorsInResult() {
+		final PSTParseResult res = parser.parse("\\psframe[foo=1](1,1)"); //$NON-NLS-1$
+		assertTrue(res.isValid());
+		assertEquals(1, res.errors().size());
+		assertTrue(PSTParser.errorLogs().isEmpty());
+	}
+
+	@Test
+	public void testParseInvalidCode() {
+		final PSTParseResult res = parser.parse("\\psframe[linewidth=0.04, dimen=o"); //$NON-NLS-1$
+		assertFalse(res.isValid());
+		assertTrue(res.shapes().isEmpty());
+	}
+
+	@Test
+	public void testParseAll() {
+		final List<String> codes = new ArrayList<>();
+		for(int i = 0; i < 50; i++)
+			codes.add(i % 2 == 0 ? "\\psframe(" + (i + 1) + ",1)" : "\\psline[foo=" + i + "](1,1)(2,2)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		final PSTBatchParseResult res = PSTParser.parseAll(codes, 4);
+		assertEquals(codes.size(), res.results().size());
+		assertTrue(res.sourcesPerSecond() > 0.0);
+
+		for(int i = 0; i < codes.size(); i++) {
+			final PSTParseResult result = res.results().get(i);
+			assertTrue(result.isValid());
+			if(i % 2 == 0) {
+				assertTrue(result.errors().isEmpty());
+				assertEquals(i + 1, ((IRectangle)result.shapes().get().getShapeAt(0)).getWidth() / IShape.PPC, 0.0001);
+			}
+			else
+				assertEquals(1, result.errors().size());
+		}
+		assertTrue(PSTParser.errorLogs().isEmpty());
+	}
+
+	@Test
+	public void testParseAllColoursOfEachCode() {
+		final List<String> codes = new ArrayList<>();
+		for(int i = 0; i < 40; i++)
+			codes.add("\\definecolor{parseAllColour}{rgb}{" + i / 100. + ",0,0}\\psframe[linecolor=parseAllColour](1,1)"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		final PSTBatchParseResult res = PSTParser.parseAll(codes, 4);
+
+		for(int i = 0; i < codes.size(); i++) {
+			final PSTParseResult result = res.results().get(i);
+			assertTrue(result.errors().isEmpty());
+			assertEquals(i / 100., result.shapes().get().getShapeAt(0).getLineColour().getR(), 0.0001);
+		}
+		// The colours are registered in the order of the codes.
+		assertEquals((codes.size() - 1) / 100., DviPsColors.INSTANCE.getColour("parseAllColour").get().getR(), 0.0001); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testParseAllColoursNotSharedBetweenCodes() {
+		final List<String> codes = new ArrayList<>();
+		codes.add("\\definecolor{parseAllOwnColour}{rgb}{0.5,0,0}\\psframe(1,1)"); //$NON-NLS-1$
+		codes.add("\\psframe[linecolor=parseAllOwnColour](1,1)"); //$NON-NLS-1$
+		assertFalse(DviPsColors.INSTANCE.getColour("parseAllOwnColour").isPresent()); //$NON-NLS-1$
+
+		final PSTBatchParseResult res = PSTParser.parseAll(codes, 2);
+
+		assertEquals(DviPsColors.BLACK, res.results().get(1).shapes().get().getShapeAt(0).getLineColour());
+		assertTrue(DviPsColors.INSTANCE.getColour("parseAllOwnColour").isPresent()); //$NON-NLS-1$
+	}
+}
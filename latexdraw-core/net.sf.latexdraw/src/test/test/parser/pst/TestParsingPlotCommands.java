@@ -2,9 +2,15 @@ package test.parser.pst;
 
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
 
 import net.sf.latexdraw.glib.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
 import net.sf.latexdraw.glib.models.interfaces.shape.IPlot;
 import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle;
 import net.sf.latexdraw.parsers.pst.parser.PSTParser;
@@ -139,17 +145,23 @@ public class TestParsingPlotCommands extends TestPSTParser {
 	@Test
 	public void testDataplotStar() throws ParseException {
 		parser.parsePSTCode("\\dataplot*[plotstyle=line]{\\foo\\bar}"); //$NON-NLS-1$
-		assertEquals(1, PSTParser.errorLogs().size());
+		assertEquals(2, PSTParser.errorLogs().size());
 	}
 
 	@Test
 	public void testSavedata() throws ParseException {
-		parser.parsePSTCode("\\savedata{\\foo}[{{0, 0}, {1., 0.946083}, {2., 1.60541}, {3., 1.84865}, {4., 1.7582}," + //$NON-NLS-1$
+		final IGroup gp = parser.parsePSTCode("\\savedata{\\foo}[{{0, 0}, {1., 0.946083}, {2., 1.60541}, {3., 1.84865}, {4., 1.7582}," + //$NON-NLS-1$
 				"{5., 1.54993}, {6., 1.42469}, {7., 1.4546}, {8., 1.57419}," + //$NON-NLS-1$
 				"{9., 1.66504}, {10., 1.65835}, {11., 1.57831}, {12., 1.50497}," + //$NON-NLS-1$
 				"{13., 1.49936}, {14., 1.55621}, {15., 1.61819}, {16., 1.6313}," + //$NON-NLS-1$
-				"{17., 1.59014}, {18., 1.53661}, {19., 1.51863}, {20., 1.54824}}]"); //$NON-NLS-1$
-		assertEquals(1, PSTParser.errorLogs().size());
+				"{17., 1.59014}, {18., 1.53661}, {19., 1.51863}, {20., 1.54824}}]\\dataplot{\\foo}").get(); //$NON-NLS-1$
+		assertTrue(PSTParser.errorLogs().isEmpty());
+		final IDataPlot plot = (IDataPlot)gp.getShapeAt(0);
+		assertEquals(21, plot.getNbDataPoints());
+		assertEquals(1.0, plot.getDataX()[1], 0.0);
+		assertEquals(0.946083, plot.getDataY()[1], 0.0);
+		assertEquals(20.0, plot.getDataMaxX(), 0.0);
+		assertEquals(1.84865, plot.getDataMaxY(), 0.0);
 	}
 
 	@Test
@@ -158,6 +170,93 @@ public class TestParsingPlotCommands extends TestPSTParser {
 		assertEquals(1, PSTParser.errorLogs().size());
 	}
 
+	@Test
+	public void testListplotNumbers() throws ParseException {
+		final IDataPlot plot = (IDataPlot)parser.parsePSTCode("\\listplot[plotstyle=dots,xunit=0.5]{0 1 1 -2.5 2 1e-2 3 1.5E+2}").get().getShapeAt(0); //$NON-NLS-1$
+		assertTrue(PSTParser.errorLogs().isEmpty());
+		assertArrayEquals(new double[]{0.0, 1.0, 2.0, 3.0}, plot.getDataX(), 0.0);
+		assertArrayEquals(new double[]{1.0, -2.5, 0.01, 150.0}, plot.getDataY(), 0.0);
+		assertEquals(PlotStyle.DOTS, plot.getPlotStyle());
+		assertEquals(0.5, plot.getXScale(), 0.0);
+	}
+
+	@Test
+	public void testListplotNestedBrackets() throws ParseException {
+		final IDataPlot plot = (IDataPlot)parser.parsePSTCode("\\listplot{{0,1} {2,3}}").get().getShapeAt(0); //$NON-NLS-1$
+		assertTrue(PSTParser.errorLogs().isEmpty());
+		assertArrayEquals(new double[]{0.0, 2.0}, plot.getDataX(), 0.0);
+		assertArrayEquals(new double[]{1.0, 3.0}, plot.getDataY(), 0.0);
+	}
+
+	@Test
+	public void testListplotStarFilled() throws ParseException {
+		final IDataPlot plot = (IDataPlot)parser.parsePSTCode("\\listplot*{0 0 1 1 2 0}").get().getShapeAt(0); //$NON-NLS-1$
+		assertTrue(PSTParser.errorLogs().isEmpty());
+		assertEquals(FillingStyle.PLAIN, plot.getFillingStyle());
+	}
+
+	@Test
+	public void testListplotOddNumberOfValues() throws ParseException {
+		final IDataPlot plot = (IDataPlot)parser.parsePSTCode("\\listplot{0 0 1 1 2}").get().getShapeAt(0); //$NON-NLS-1$
+		assertEquals(1, PSTParser.errorLogs().size());
+		assertEquals(2, plot.getNbDataPoints());
+	}
+
+	@Test
+	public void testListplotSavedData() throws ParseException {
+		final IDataPlot plot = (IDataPlot)parser.parsePSTCode("\\savedata{\\mydata}[0 1 2 3]\\listplot{\\mydata}").get().getShapeAt(0); //$NON-NLS-1$
+		assertTrue(PSTParser.errorLogs().isEmpty());
+		assertArrayEquals(new double[]{0.0, 2.0}, plot.getDataX(), 0.0);
+	}
+
+	@Test
+	public void testDataplotSeveralData() throws ParseException {
+		final IDataPlot plot = (IDataPlot)parser.parsePSTCode("\\savedata{\\foo}[0 1]\\savedata{\\bar}[2 3 4 5]\\dataplot{\\foo\\bar}"). //$NON-NLS-1$
+			get().getShapeAt(0);
+		assertTrue(PSTParser.errorLogs().isEmpty());
+		assertArrayEquals(new double[]{0.0, 2.0, 4.0}, plot.getDataX(), 0.0);
+		assertArrayEquals(new double[]{1.0, 3.0, 5.0}, plot.getDataY(), 0.0);
+	}
+
+	@Test
+	public void testSavedDataNotSharedBetweenParsings() throws ParseException {
+		parser.parsePSTCode("\\savedata{\\foo}[0 1 2 3]"); //$NON-NLS-1$
+		parser.parsePSTCode("\\dataplot{\\foo}"); //$NON-NLS-1$
+		assertEquals(1, PSTParser.errorLogs().size());
+	}
+
+	@Test
+	public void testReaddataAndFileplot() throws ParseException, IOException {
+		final Path file = Files.createTempFile("latexdraw", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			Files.write(file, "% x y\n0 1\n1 2\n2 4\n".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			final String path = file.toString().replace('\\', '/');
+			final IGroup gp = parser.parsePSTCode("\\readdata{\\foo}{" + path + "}\\dataplot{\\foo}\\fileplot{" + path + "}").get(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertTrue(PSTParser.errorLogs().isEmpty());
+			assertEquals(2, gp.size());
+			assertArrayEquals(new double[]{1.0, 2.0, 4.0}, ((IDataPlot)gp.getShapeAt(0)).getDataY(), 0.0);
+			assertArrayEquals(new double[]{1.0, 2.0, 4.0}, ((IDataPlot)gp.getShapeAt(1)).getDataY(), 0.0);
+		}finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testFileplotRelativeToDocumentFolder() throws ParseException, IOException {
+		final Path folder = Files.createTempDirectory("latexdraw"); //$NON-NLS-1$
+		final Path file = folder.resolve("data.dat"); //$NON-NLS-1$
+		try {
+			Files.write(file, "0 1\n1 2\n2 4\n".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			final IGroup gp = new PSTParser(folder).parsePSTCode("\\readdata{\\foo}{data.dat}\\dataplot{\\foo}\\fileplot{data.dat}").get(); //$NON-NLS-1$
+			assertTrue(PSTParser.errorLogs().isEmpty());
+			assertEquals(2, gp.size());
+			assertArrayEquals(new double[]{1.0, 2.0, 4.0}, ((IDataPlot)gp.getShapeAt(1)).getDataY(), 0.0);
+		}finally {
+			Files.deleteIfExists(file);
+			Files.delete(folder);
+		}
+	}
+
 	@Test
 	public void testPlotstyle() throws ParseException {
 		parser.parsePSTCode("\\psframe[plotstyle=line](1,1)"); //$NON-NLS-1$
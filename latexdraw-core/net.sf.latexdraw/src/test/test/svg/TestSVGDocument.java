@@ -7,10 +7,13 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -23,6 +26,7 @@ import net.sf.latexdraw.parsers.svg.SVGDocument;
 import net.sf.latexdraw.parsers.svg.SVGElement;
 import net.sf.latexdraw.parsers.svg.SVGSVGElement;
 import net.sf.latexdraw.parsers.svg.SVGText;
+import net.sf.latexdraw.parsers.svg.SVGTextElement;
 
 public class TestSVGDocument {
 	protected SVGDocument doc1;
@@ -229,4 +233,24 @@ public class TestSVGDocument {
 		assertEquals(elt.getData(), "test"); //$NON-NLS-1$
 		assertEquals(doc1, elt.getOwnerDocument());
 	}
+
+	@Test
+	public void testSVGDocumentStreamedContent() throws MalformedSVGDocument, IOException {
+		final File file = File.createTempFile("testStream", ".svg"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+		Files.write(file.toPath(), ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><svg xmlns=\"http://www.w3.org/2000/svg\" " + //$NON-NLS-1$
+			"xmlns:ld=\"http://latexdraw.sourceforge.net/namespaces/latexdraw\"><!-- comment --><g ld:type=\"text\" id=\"id1\">" + //$NON-NLS-1$
+			"<text x=\"1\" y=\"2\">foo &amp; bar</text><unknown><rect width=\"1\" height=\"1\"/></unknown></g></svg>").getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+
+		final SVGDocument doc = new SVGDocument(file.toURI());
+		final SVGSVGElement root = doc.getFirstChild();
+		assertEquals("UTF-8", doc.getXmlEncoding()); //$NON-NLS-1$
+		assertEquals(1, root.getChildNodes().getLength());
+
+		final SVGElement g = (SVGElement)root.getChildNodes().item(0);
+		assertEquals("text", g.getAttribute("ld:type")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("http://latexdraw.sourceforge.net/namespaces/latexdraw", g.lookupNamespaceURI("ld")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, g.getChildNodes().getLength());
+		assertEquals("foo & bar", ((SVGTextElement)g.getChildNodes().item(0)).getText()); //$NON-NLS-1$
+	}
 }
@@ -0,0 +1,234 @@
+package test.svg;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import net.sf.latexdraw.generators.svg.SVGDocumentGenerator;
+import net.sf.latexdraw.generators.svg.SVGShapesImporter;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.ArrowStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.DotStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IDataPlot;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPolyline;
+import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotDecimation;
+import net.sf.latexdraw.glib.models.interfaces.shape.PlotStyle;
+import net.sf.latexdraw.parsers.svg.MalformedSVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.NodeList;
+
+public class TestSVGDocumentGenerator {
+	protected List<IShape> shapes;
+	protected ForkJoinPool pool;
+	protected File sequential;
+	protected File parallel;
+
+	@Before
+	public void setUp() throws IOException {
+		shapes = new ArrayList<>();
+		pool = new ForkJoinPool(4);
+		sequential = File.createTempFile("latexdrawTestSeq", ".svg"); //$NON-NLS-1$ //$NON-NLS-2$
+		parallel = File.createTempFile("latexdrawTestPar", ".svg"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		for(int i=0; i<300; i++) {
+			final IRectangle rec = ShapeFactory.createRectangle(ShapeFactory.createPoint(i, 2*i), 10+i, 20);
+			final IPolyline line = ShapeFactory.createPolyline();
+			line.addPoint(ShapeFactory.createPoint(i, 0));
+			line.addPoint(ShapeFactory.createPoint(0, i));
+			line.addPoint(ShapeFactory.createPoint(i, i));
+			line.setArrowStyle(ArrowStyle.LEFT_DBLE_ARROW, 0);
+			line.setArrowStyle(ArrowStyle.RIGHT_DBLE_ARROW, 1);
+			rec.setLineColour(ShapeFactory.createColorInt(i%256, 100, 255-i%256));
+			rec.setFillingStyle(i%3==0 ? FillingStyle.GRAD : i%3==1 ? FillingStyle.CLINES : FillingStyle.PLAIN);
+			rec.setHasShadow(i%2==0);
+			rec.setRotationAngle(i/10.);
+
+			if(i%10==0) {
+				final IGroup group = ShapeFactory.createGroup();
+				group.addShape(rec);
+				group.addShape(line);
+				group.addShape(ShapeFactory.createGrid(ShapeFactory.createPoint(i, i)));
+				shapes.add(group);
+			}else {
+				shapes.add(rec);
+				shapes.add(line);
+				shapes.add(ShapeFactory.createEllipse(ShapeFactory.createPoint(i, i), ShapeFactory.createPoint(2*i+1, i+5)));
+			}
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		pool.shutdown();
+		Files.deleteIfExists(sequential.toPath());
+		Files.deleteIfExists(parallel.toPath());
+	}
+
+	@Test
+	public void testSaveParallelSameAsSequential() throws IOException {
+		new SVGDocumentGenerator(null).save(shapes, sequential);
+		new SVGDocumentGenerator(pool).save(shapes, parallel);
+		assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+	}
+
+	@Test
+	public void testToSVGParallelSameAsSequential() throws IOException {
+		new SVGDocumentGenerator(null).toSVG(shapes).saveSVGDocument(sequential.getPath());
+		new SVGDocumentGenerator(pool).toSVG(shapes).saveSVGDocument(parallel.getPath());
+		assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+	}
+
+	@Test
+	public void testToSVGShapesInDrawingOrder() {
+		final SVGDocument doc = new SVGDocumentGenerator(pool).toSVG(shapes);
+		final NodeList elts = doc.getFirstChild().getFirstChild().getChildNodes();
+		assertEquals(shapes.size(), elts.getLength());
+		for(int i=0; i<shapes.size(); i++)
+			assertEquals("id" + shapes.get(i).hashCode(), ((SVGElement)elts.item(i)).getAttribute(SVGAttributes.SVG_ID)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSaveEmptyDrawing() throws IOException {
+		new SVGDocumentGenerator(null).save(new ArrayList<>(), sequential);
+		new SVGDocumentGenerator(pool).save(new ArrayList<>(), parallel);
+		assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+	}
+
+	@Test
+	public void testSaveSameAsSavedDocument() throws IOException {
+		// The start tags of the shapes have many attributes: far wider than a line.
+		new SVGDocumentGenerator(pool).save(shapes, sequential);
+		new SVGDocumentGenerator(pool).toSVG(shapes).saveSVGDocument(parallel.getPath());
+		assertArrayEquals(Files.readAllBytes(parallel.toPath()), Files.readAllBytes(sequential.toPath()));
+	}
+
+	@Test
+	public void testSaveRoundTrip() throws IOException, MalformedSVGDocument {
+		final IGroup loaded = ShapeFactory.createGroup();
+		new SVGDocumentGenerator(pool).save(shapes, sequential);
+		SVGShapesImporter.INSTANCE.importShapes(sequential.toURI(), loaded);
+
+		assertEquals(shapes.size(), loaded.size());
+		for(int i=0; i<shapes.size(); i++) {
+			final IShape sh = shapes.get(i);
+			final IShape sh2 = loaded.getShapeAt(i);
+			assertEquals(sh.getClass(), sh2.getClass());
+			if(sh instanceof IGroup) {
+				assertEquals(((IGroup)sh).size(), ((IGroup)sh2).size());
+				continue;
+			}
+			assertEquals(sh.getTopLeftPoint().getX(), sh2.getTopLeftPoint().getX(), 0.0001);
+			assertEquals(sh.getTopLeftPoint().getY(), sh2.getTopLeftPoint().getY(), 0.0001);
+			assertEquals(sh.getBottomRightPoint().getX(), sh2.getBottomRightPoint().getX(), 0.0001);
+			assertEquals(sh.getBottomRightPoint().getY(), sh2.getBottomRightPoint().getY(), 0.0001);
+			assertEquals(sh.getLineColour(), sh2.getLineColour());
+			assertEquals(sh.getRotationAngle(), sh2.getRotationAngle(), 0.0001);
+		}
+	}
+
+	@Test
+	public void testSaveRoundTripDataPlots() throws IOException, MalformedSVGDocument {
+		final IGroup loaded = ShapeFactory.createGroup();
+		final double[] xs = {0., 1.5, 2., 3.25, 4.};
+		final double[] ys = {1., -2., 4.125, 0.1, 1e-7};
+		shapes.clear();
+
+		for(final PlotStyle style : PlotStyle.values()) {
+			final IDataPlot plot = ShapeFactory.createDataPlot(ShapeFactory.createPoint(10, 200), xs, ys);
+			plot.setPlotStyle(style);
+			plot.setXScale(2.);
+			plot.setYScale(0.5);
+			plot.setDotStyle(DotStyle.SQUARE);
+			plot.setDiametre(7.);
+			plot.setDecimation(PlotDecimation.MIN_MAX);
+			plot.setDecimationThreshold(10);
+			shapes.add(plot);
+		}
+
+		new SVGDocumentGenerator(null).save(shapes, sequential);
+		SVGShapesImporter.INSTANCE.importShapes(sequential.toURI(), loaded);
+
+		assertEquals(shapes.size(), loaded.size());
+		for(int i=0; i<shapes.size(); i++) {
+			final IDataPlot plot = (IDataPlot)shapes.get(i);
+			final IDataPlot plot2 = (IDataPlot)loaded.getShapeAt(i);
+			assertArrayEquals(xs, plot2.getDataX(), 0.);
+			assertArrayEquals(ys, plot2.getDataY(), 0.);
+			assertEquals(plot.getPlotStyle(), plot2.getPlotStyle());
+			assertEquals(PlotDecimation.MIN_MAX, plot2.getDecimation());
+			assertEquals(10, plot2.getDecimationThreshold());
+			assertEquals(DotStyle.SQUARE, plot2.getDotStyle());
+			assertEquals(7., plot2.getDiametre(), 0.0001);
+			assertEquals(2., plot2.getXScale(), 0.);
+			assertEquals(0.5, plot2.getYScale(), 0.);
+			assertEquals(10., plot2.getX(), 0.0001);
+			assertEquals(200., plot2.getY(), 0.0001);
+		}
+	}
+
+	@Test
+	public void testSaveFailureKeepsTheTarget() throws IOException {
+		final byte[] content = "original".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+		final int nbFiles;
+		// The conversion of a shape fails after the first shapes were written.
+		final List<IShape> failing = new AbstractList<IShape>() {
+			@Override
+			public IShape get(final int index) {
+				if(index==size()-1)
+					throw new IllegalStateException();
+				return shapes.get(index);
+			}
+
+			@Override
+			public int size() {
+				return shapes.size();
+			}
+		};
+
+		Files.write(sequential.toPath(), content);
+
+		try(final Stream<?> files = Files.list(sequential.toPath().getParent())) {
+			nbFiles = (int)files.count();
+		}
+
+		try {
+			new SVGDocumentGenerator(null).save(failing, sequential);
+		}catch(final IllegalStateException ex) {
+			assertArrayEquals(content, Files.readAllBytes(sequential.toPath()));
+			try(final Stream<?> files = Files.list(sequential.toPath().getParent())) {
+				// The temporary file was removed.
+				assertEquals(nbFiles, files.count());
+			}
+			return;
+		}
+		fail("The save should have failed"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSaveReplacesTheTarget() throws IOException {
+		Files.write(sequential.toPath(), "original".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		new SVGDocumentGenerator(null).save(shapes, sequential);
+		new SVGDocumentGenerator(null).toSVG(shapes).saveSVGDocument(parallel.getPath());
+		assertArrayEquals(Files.readAllBytes(parallel.toPath()), Files.readAllBytes(sequential.toPath()));
+	}
+}
@@ -0,0 +1,161 @@
+package test.svg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import net.sf.latexdraw.parsers.svg.MalformedSVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGComment;
+import net.sf.latexdraw.parsers.svg.SVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGGElement;
+import net.sf.latexdraw.parsers.svg.SVGSVGElement;
+import net.sf.latexdraw.parsers.svg.SVGStreamWriter;
+import net.sf.latexdraw.parsers.svg.SVGText;
+import net.sf.latexdraw.parsers.svg.SVGTextElement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSVGStreamWriter {
+	protected SVGDocument doc;
+	protected SVGSVGElement root;
+	protected File file;
+
+	@Before
+	public void setUp() throws IOException {
+		doc = new SVGDocument();
+		root = doc.getFirstChild();
+		file = File.createTempFile("latexdrawTestStream", ".svg"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+
+		final SVGGElement g = new SVGGElement(doc);
+		final SVGGElement sub = new SVGGElement(doc);
+		final SVGTextElement text = new SVGTextElement(doc);
+		sub.setAttribute(SVGAttributes.SVG_ID, "id0"); //$NON-NLS-1$
+		text.setAttribute(SVGAttributes.SVG_X, "1"); //$NON-NLS-1$
+		text.appendChild(new SVGText("a<b & c", doc)); //$NON-NLS-1$
+		sub.appendChild(text);
+		sub.appendChild(new SVGComment(" comment ", doc)); //$NON-NLS-1$
+		sub.appendChild(new SVGGElement(doc));
+		g.appendChild(sub);
+		root.appendChild(g);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file.toPath());
+	}
+
+	protected void stream(final OutputStream output) throws IOException {
+		try(final SVGStreamWriter writer = new SVGStreamWriter(output, Charset.defaultCharset(), doc.getXmlVersion())) {
+			writer.writeStartElement(root);
+			for(int i=0; i<root.getChildNodes().getLength(); i++)
+				writer.writeNode(root.getChildNodes().item(i));
+		}
+	}
+
+	@Test
+	public void testStreamedAsSavedDocument() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		stream(output);
+		doc.saveSVGDocument(file.getPath());
+		assertEquals(new String(Files.readAllBytes(file.toPath()), Charset.defaultCharset()), new String(output.toByteArray(), Charset.defaultCharset()));
+	}
+
+	@Test
+	public void testStreamedDocumentLoads() throws IOException, MalformedSVGDocument, URISyntaxException {
+		try(final FileOutputStream output = new FileOutputStream(file)) {
+			stream(output);
+		}
+
+		final SVGDocument loaded = new SVGDocument(file.toURI());
+		final SVGElement sub = (SVGElement)loaded.getFirstChild().getFirstChild().getFirstChild();
+		assertEquals("id0", sub.getAttribute(SVGAttributes.SVG_ID)); //$NON-NLS-1$
+		assertEquals("a<b & c", sub.getFirstChild().getTextContent()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testEmptyElementAndInlineText() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		stream(output);
+		final String svg = new String(output.toByteArray(), StandardCharsets.US_ASCII);
+		assertTrue(svg.contains("<text x=\"1\">a&lt;b &amp; c</text>")); //$NON-NLS-1$
+		assertTrue(svg.contains("<g/>")); //$NON-NLS-1$
+		assertTrue(svg.startsWith("<?xml version=\"" + doc.getXmlVersion() + "\"")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testCloseEndsOpenedElements() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try(final SVGStreamWriter writer = new SVGStreamWriter(output, StandardCharsets.UTF_8, "1.0")) { //$NON-NLS-1$
+			writer.writeStartElement(root);
+			writer.writeStartElement(new SVGGElement(doc));
+		}
+		assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).trim().endsWith("</g>" + System.getProperty("line.separator") + "</svg>")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test(expected=IOException.class)
+	public void testWriteEndElementNoOpenedElement() throws IOException {
+		try(final SVGStreamWriter writer = new SVGStreamWriter(new ByteArrayOutputStream(), StandardCharsets.UTF_8, "1.0")) { //$NON-NLS-1$
+			writer.writeEndElement();
+		}
+	}
+
+	@Test
+	public void testLongStartTagsAsSavedDocument() throws IOException {
+		final SVGElement sub = (SVGElement)root.getFirstChild().getFirstChild();
+		for(int i=0; i<20; i++)
+			sub.setAttribute("attribute" + i, "a rather long value of attribute " + i); //$NON-NLS-1$ //$NON-NLS-2$
+		testStreamedAsSavedDocument();
+	}
+
+	@Test
+	public void testEscapesAsSavedDocument() throws IOException {
+		final SVGElement sub = (SVGElement)root.getFirstChild().getFirstChild();
+		sub.setAttribute("label", "a\nb\tc\r\"d\" 'e' <f> & \u00e9 \u20ac \uD83D\uDE00 \u0085"); //$NON-NLS-1$ //$NON-NLS-2$
+		sub.getFirstChild().appendChild(new SVGText("\r\n\t\"g\" 'h' > \u00e9 \u20ac \uD83D\uDE00", doc)); //$NON-NLS-1$
+		testStreamedAsSavedDocument();
+	}
+
+	@Test
+	public void testWhiteSpacesOfAttributesKept() throws IOException, MalformedSVGDocument, URISyntaxException {
+		final SVGElement sub = (SVGElement)root.getFirstChild().getFirstChild();
+		sub.setAttribute("label", "a\nb\tc\rd"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		try(final FileOutputStream output = new FileOutputStream(file)) {
+			stream(output);
+		}
+
+		final SVGDocument loaded = new SVGDocument(file.toURI());
+		assertEquals("a\nb\tc\rd", ((SVGElement)loaded.getFirstChild().getFirstChild().getFirstChild()).getAttribute("label")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testCharactersNotEncodableAsReferences() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try(final SVGStreamWriter writer = new SVGStreamWriter(output, StandardCharsets.US_ASCII, "1.0")) { //$NON-NLS-1$
+			writer.writeNode(new SVGText("\u00e9\u20ac", doc)); //$NON-NLS-1$
+		}
+		assertTrue(new String(output.toByteArray(), StandardCharsets.US_ASCII).contains("&#233;&#8364;")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRootOnTheLineOfTheDeclaration() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		stream(output);
+		assertTrue(new String(output.toByteArray(), StandardCharsets.US_ASCII).startsWith("<?xml version=\"" + doc.getXmlVersion() + //$NON-NLS-1$
+				"\" encoding=\"" + Charset.defaultCharset().name() + "\"?><svg")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
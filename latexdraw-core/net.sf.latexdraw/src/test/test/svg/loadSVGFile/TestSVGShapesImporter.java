@@ -0,0 +1,196 @@
+package test.svg.loadSVGFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import net.sf.latexdraw.generators.svg.IShapeSVGFactory;
+import net.sf.latexdraw.generators.svg.SVGShapesImporter;
+import net.sf.latexdraw.glib.models.ShapeFactory;
+import net.sf.latexdraw.glib.models.interfaces.shape.ArrowStyle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IArrowableShape;
+import net.sf.latexdraw.glib.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPolyline;
+import net.sf.latexdraw.glib.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.glib.models.interfaces.shape.IShape;
+import net.sf.latexdraw.parsers.svg.MalformedSVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.util.LNamespace;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+public class TestSVGShapesImporter {
+	static final String PATH = "src/resources/test/res/testLoad/Diracs.svg"; //$NON-NLS-1$
+
+	IGroup imported;
+	SVGDocument doc;
+
+	@Before
+	public void setUp() throws MalformedSVGDocument, URISyntaxException, IOException {
+		imported = ShapeFactory.createGroup();
+		doc = SVGShapesImporter.INSTANCE.importShapes(new URI(PATH), imported);
+	}
+
+	private static IGroup loadWithSVGTree(final String path) throws MalformedSVGDocument, URISyntaxException, IOException {
+		final IGroup shapes = ShapeFactory.createGroup();
+		final NodeList elts = new SVGDocument(new URI(path)).getDocumentElement().getChildNodes();
+
+		for(int i = 0, size = elts.getLength(); i < size; i++) {
+			final Node node = elts.item(i);
+			if(node instanceof SVGElement)
+				shapes.addShape(IShapeSVGFactory.INSTANCE.createShape((SVGElement)node));
+		}
+
+		return unwrap(shapes);
+	}
+
+	private static IGroup importShapes(final String path) throws MalformedSVGDocument, URISyntaxException, IOException {
+		final IGroup shapes = ShapeFactory.createGroup();
+		SVGShapesImporter.INSTANCE.importShapes(new URI(path), shapes);
+		return unwrap(shapes);
+	}
+
+	/** The drawing of a document may be a single group (a layer or a group of shapes): its shapes are compared. */
+	private static IGroup unwrap(final IGroup shapes) {
+		if(shapes.size() == 1 && shapes.getShapeAt(0) instanceof IGroup)
+			return (IGroup)shapes.getShapeAt(0);
+		return shapes;
+	}
+
+	private static void assertSameShapes(final IGroup expected, final IGroup actual) {
+		assertEquals(expected.size(), actual.size());
+
+		for(int i = 0; i < expected.size(); i++)
+			assertSameShape(expected.getShapeAt(i), actual.getShapeAt(i));
+	}
+
+	private static void assertSameShape(final IShape expected, final IShape actual) {
+		assertEquals(expected.getClass(), actual.getClass());
+		assertEquals(expected.getTopLeftPoint(), actual.getTopLeftPoint());
+		assertEquals(expected.getBottomRightPoint(), actual.getBottomRightPoint());
+		assertEquals(expected.getNbPoints(), actual.getNbPoints());
+		assertEquals(expected.getLineColour(), actual.getLineColour());
+		assertEquals(expected.getThickness(), actual.getThickness(), 0.0001);
+		assertEquals(expected.getLineStyle(), actual.getLineStyle());
+		assertEquals(expected.getBordersPosition(), actual.getBordersPosition());
+		assertEquals(expected.getFillingStyle(), actual.getFillingStyle());
+		assertEquals(expected.getFillingCol(), actual.getFillingCol());
+		assertEquals(expected.hasShadow(), actual.hasShadow());
+		assertEquals(expected.getShadowCol(), actual.getShadowCol());
+		assertEquals(expected.getShadowAngle(), actual.getShadowAngle(), 0.0001);
+		assertEquals(expected.getShadowSize(), actual.getShadowSize(), 0.0001);
+		assertEquals(expected.hasDbleBord(), actual.hasDbleBord());
+		assertEquals(expected.getDbleBordCol(), actual.getDbleBordCol());
+		assertEquals(expected.getDbleBordSep(), actual.getDbleBordSep(), 0.0001);
+
+		if(expected instanceof IArrowableShape) {
+			final IArrowableShape arrowable = (IArrowableShape)actual;
+			assertEquals(((IArrowableShape)expected).getNbArrows(), arrowable.getNbArrows());
+			for(int i = 0; i < arrowable.getNbArrows(); i++)
+				assertEquals(((IArrowableShape)expected).getArrowAt(i).getArrowStyle(), arrowable.getArrowAt(i).getArrowStyle());
+		}
+
+		if(expected instanceof IGroup)
+			assertSameShapes((IGroup)expected, (IGroup)actual);
+	}
+
+	/** @return True if the given element or one of its descendants is a latexdraw shape. */
+	private static boolean containsLatexdrawShape(final SVGElement elt) {
+		final String type = elt.getAttribute(elt.lookupPrefixUsable(LNamespace.LATEXDRAW_NAMESPACE_URI) + LNamespace.XML_TYPE);
+
+		if(type != null && !type.isEmpty())
+			return true;
+
+		final NodeList children = elt.getChildNodes();
+
+		for(int i = 0, size = children.getLength(); i < size; i++)
+			if(children.item(i) instanceof SVGElement && containsLatexdrawShape((SVGElement)children.item(i)))
+				return true;
+
+		return false;
+	}
+
+	@Test
+	public void testSameShapesAsSVGTree() throws MalformedSVGDocument, URISyntaxException, IOException {
+		assertSameShapes(loadWithSVGTree(PATH), unwrap(imported));
+	}
+
+	@Test
+	public void testSameRectanglesSquaresEllipsesPolygonsAsSVGTree() throws MalformedSVGDocument, URISyntaxException, IOException {
+		final String path = "src/resources/test/res/testLoad/feedback.svg"; //$NON-NLS-1$
+		assertSameShapes(loadWithSVGTree(path), importShapes(path));
+	}
+
+	@Test
+	public void testSameLinesAndGroupsAsSVGTree() throws MalformedSVGDocument, URISyntaxException, IOException {
+		final String path = "src/resources/test/res/testLoad/overview-pres.svg"; //$NON-NLS-1$
+		assertSameShapes(loadWithSVGTree(path), importShapes(path));
+	}
+
+	@Test
+	public void testSameCirclesAsSVGTree() throws MalformedSVGDocument, URISyntaxException, IOException {
+		final String path = "src/resources/test/res/testLoad/action-life-cycle.svg"; //$NON-NLS-1$
+		assertSameShapes(loadWithSVGTree(path), importShapes(path));
+	}
+
+	@Test
+	public void testLineWithShadowDoubleBordersAndArrows() throws MalformedSVGDocument, URISyntaxException, IOException {
+		final IGroup shapes = importShapes("src/resources/test/res/testLoad/testLine.svg"); //$NON-NLS-1$
+		assertEquals(1, shapes.size());
+
+		final IPolyline line = (IPolyline)shapes.getShapeAt(0);
+		assertEquals(2, line.getNbPoints());
+		assertEquals(140.0, line.getPtAt(0).getX(), 0.001);
+		assertEquals(260.0, line.getPtAt(0).getY(), 0.001);
+		assertEquals(5, line.getThickness(), 0.01);
+		assertEquals(ShapeFactory.createColorInt(209, 169, 169), line.getLineColour());
+		assertTrue(line.hasShadow());
+		assertEquals(90.0, Math.toDegrees(line.getShadowAngle()), 0.00001);
+		assertEquals(10.0, line.getShadowSize(), 0.0001);
+		assertTrue(line.hasDbleBord());
+		assertEquals(ArrowStyle.DISK_IN, line.getArrowStyle(0));
+		assertEquals(ArrowStyle.RIGHT_ARROW, line.getArrowStyle(1));
+	}
+
+	@Test
+	public void testStreamedShapesNotKeptInDocument() {
+		assertFalse(containsLatexdrawShape(doc.getDocumentElement()));
+	}
+
+	@Test
+	public void testDefsKeptInDocument() {
+		assertNotNull(doc.getDocumentElement().getDefs());
+	}
+
+	@Test
+	public void testElementsBeforeDefsKeepTheirOrder() throws IOException, MalformedSVGDocument {
+		final File file = File.createTempFile("defsAtTheEnd", ".svg"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+		Files.write(file.toPath(), ("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:latexdraw=\"" + LNamespace.LATEXDRAW_NAMESPACE_URI + "\">" + //$NON-NLS-1$ //$NON-NLS-2$
+			"<polyline points=\"0,0 10,10 20,0\" stroke=\"black\"/>" + //$NON-NLS-1$
+			"<g latexdraw:type=\"rectangle\"><rect x=\"10\" y=\"20\" width=\"30\" height=\"40\" stroke=\"black\"/></g>" + //$NON-NLS-1$
+			"<metadata/>" + //$NON-NLS-1$
+			"<polyline points=\"5,5 15,15\" stroke=\"black\"/>" + //$NON-NLS-1$
+			"<defs/></svg>").getBytes(Charset.forName("UTF-8"))); //$NON-NLS-1$ //$NON-NLS-2$
+
+		final IGroup shapes = ShapeFactory.createGroup();
+		SVGShapesImporter.INSTANCE.importShapes(file.toURI(), shapes);
+
+		assertEquals(3, shapes.size());
+		assertEquals(3, ((IPolyline)shapes.getShapeAt(0)).getNbPoints());
+		assertTrue(shapes.getShapeAt(1) instanceof IRectangle);
+		assertEquals(2, ((IPolyline)shapes.getShapeAt(2)).getNbPoints());
+	}
+}
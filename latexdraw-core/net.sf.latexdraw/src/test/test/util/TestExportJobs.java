@@ -0,0 +1,159 @@
+package test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import net.sf.latexdraw.util.ExportJob;
+import net.sf.latexdraw.util.ExportJobs;
+import net.sf.latexdraw.util.LSystem;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestExportJobs {
+	protected ExportJobs jobs;
+	protected File toolchain;
+
+	@Before
+	public void setUp() throws IOException {
+		// The fake toolchain is a shell script: it prints its arguments, sleeps if asked, and writes its output file.
+		Assume.assumeFalse(LSystem.INSTANCE.isWindows());
+		toolchain = File.createTempFile("fakeTeX", ".sh"); //$NON-NLS-1$ //$NON-NLS-2$
+		toolchain.deleteOnExit();
+		Files.write(toolchain.toPath(), ("#!/bin/sh\necho \"run $1\"\nif [ \"$1\" = sleep ]; then sleep 30; fi\n" + //$NON-NLS-1$
+				"if [ -n \"$2\" ]; then echo done > \"$2\"; fi\n").getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		toolchain.setExecutable(true);
+		jobs = new ExportJobs(2, 4, 5L, TimeUnit.SECONDS);
+	}
+
+	@After
+	public void tearDown() {
+		if(jobs!=null)
+			jobs.shutdownNow();
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKONoThread() {
+		new ExportJobs(0, 1, 1L, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testExecuteReturnsTheLog() throws Exception {
+		final ExportJob<String> job = jobs.submit(j -> j.execute(new String[]{toolchain.getAbsolutePath(), "latex"}, null)); //$NON-NLS-1$
+		assertTrue(job.get(5, TimeUnit.SECONDS).startsWith("run latex")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testLSystemExecuteUsesTheCurrentJob() throws Exception {
+		final ExportJob<Boolean> job = jobs.submit(j -> {
+			j.setNbSteps(2);
+			LSystem.INSTANCE.execute(new String[]{toolchain.getAbsolutePath(), "latex"}, null); //$NON-NLS-1$
+			return j.getProgress()==0.5;
+		});
+		assertTrue(job.get(5, TimeUnit.SECONDS));
+		assertEquals(1.0, job.getProgress(), 0.0001);
+	}
+
+	@Test
+	public void testProgressUnknownWithoutSteps() {
+		final ExportJob<String> job = jobs.submit(j -> j.execute(new String[]{toolchain.getAbsolutePath(), "sleep"}, null)); //$NON-NLS-1$
+		assertEquals(-1.0, job.getProgress(), 0.0001);
+		job.cancel(true);
+	}
+
+	@Test
+	public void testTimeoutKillsTheProcess() throws Exception {
+		final ExportJobs shortJobs = new ExportJobs(1, 1, 200L, TimeUnit.MILLISECONDS);
+		final File out = File.createTempFile("fakeTeX", ".out"); //$NON-NLS-1$ //$NON-NLS-2$
+		out.delete();
+		try {
+			shortJobs.submit(j -> j.execute(new String[]{toolchain.getAbsolutePath(), "sleep", out.getAbsolutePath()}, null)).get(5, TimeUnit.SECONDS); //$NON-NLS-1$
+			fail();
+		}catch(final ExecutionException ex) {
+			assertTrue(ex.getCause() instanceof TimeoutException);
+		}finally {
+			shortJobs.shutdownNow();
+		}
+		assertFalse(out.exists());
+	}
+
+	@Test
+	public void testCancelKillsTheProcess() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final File out = File.createTempFile("fakeTeX", ".out"); //$NON-NLS-1$ //$NON-NLS-2$
+		out.delete();
+		final ExportJob<String> job = jobs.submit(j -> {
+			started.countDown();
+			return j.execute(new String[]{toolchain.getAbsolutePath(), "sleep", out.getAbsolutePath()}, null); //$NON-NLS-1$
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		Thread.sleep(200L);
+		final long time = System.currentTimeMillis();
+		assertTrue(job.cancel(true));
+		try {
+			job.get();
+			fail();
+		}catch(final CancellationException ex) {
+			// Expected.
+		}
+		assertTrue(System.currentTimeMillis() - time < 5000L);
+		Thread.sleep(200L);
+		assertFalse(out.exists());
+	}
+
+	@Test
+	public void testCancelKillsTheSubProcesses() throws Exception {
+		final File pidFile = File.createTempFile("fakeTeX", ".pid"); //$NON-NLS-1$ //$NON-NLS-2$
+		pidFile.deleteOnExit();
+		// The shell starts sleep as a sub-process and writes its identifier.
+		final ExportJob<String> job = jobs.submit(j -> j.execute(new String[]{"sh", "-c", //$NON-NLS-1$ //$NON-NLS-2$
+				"sleep 30 & echo $! > '" + pidFile.getAbsolutePath() + "'; wait"}, null)); //$NON-NLS-1$ //$NON-NLS-2$
+		String pid = ""; //$NON-NLS-1$
+
+		for(int i=0; i<50 && pid.isEmpty(); i++) {
+			Thread.sleep(100L);
+			pid = new String(Files.readAllBytes(pidFile.toPath()), StandardCharsets.UTF_8).trim();
+		}
+
+		assertFalse(pid.isEmpty());
+		assertTrue(isAlive(pid));
+		assertTrue(job.cancel(true));
+		for(int i=0; i<20 && isAlive(pid); i++)
+			Thread.sleep(100L);
+		assertFalse(isAlive(pid));
+	}
+
+	/** @return True if a process of the given identifier exists. */
+	private static boolean isAlive(final String pid) throws IOException, InterruptedException {
+		return new ProcessBuilder("kill", "-0", pid).start().waitFor()==0; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testJobsRunConcurrently() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(2);
+		final ExportJob<Boolean> job1 = jobs.submit(j -> {
+			latch.countDown();
+			return latch.await(5, TimeUnit.SECONDS);
+		});
+		final ExportJob<Boolean> job2 = jobs.submit(j -> {
+			latch.countDown();
+			return latch.await(5, TimeUnit.SECONDS);
+		});
+		assertTrue(job1.get(10, TimeUnit.SECONDS));
+		assertTrue(job2.get(10, TimeUnit.SECONDS));
+	}
+}
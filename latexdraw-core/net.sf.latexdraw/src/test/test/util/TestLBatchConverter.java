@@ -0,0 +1,136 @@
+package test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import net.sf.latexdraw.glib.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.glib.models.interfaces.shape.IPolyline;
+import net.sf.latexdraw.glib.views.latex.DviPsColors;
+import net.sf.latexdraw.util.LBatchConverter;
+import net.sf.latexdraw.util.LBatchConverter.Format;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLBatchConverter {
+	/** A line with a shadow and double borders of three colours that are not predefined. */
+	protected static final File FIXTURE = new File("src/resources/test/res/testLoad/testLine.svg"); //$NON-NLS-1$
+
+	protected File dir;
+	protected ByteArrayOutputStream log;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("latexdrawBatch").toFile(); //$NON-NLS-1$
+		dir.deleteOnExit();
+		log = new ByteArrayOutputStream();
+	}
+
+	protected LBatchConverter createConverter(final Format format, final int nbWorkers) {
+		return new LBatchConverter(EnumSet.of(format), dir, nbWorkers, new PrintStream(log));
+	}
+
+	protected String read(final File file) throws IOException {
+		file.deleteOnExit();
+		return new String(Files.readAllBytes(file.toPath()), Charset.defaultCharset());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKONoFormat() {
+		new LBatchConverter(EnumSet.noneOf(Format.class), dir, 1, new PrintStream(log));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorKONoWorker() {
+		createConverter(Format.TEX, 0);
+	}
+
+	@Test
+	public void testConvertToPST() throws InterruptedException, IOException {
+		assertEquals(0, createConverter(Format.TEX, 1).convert(Collections.singletonList(FIXTURE)));
+
+		final String code = read(new File(dir, "testLine.tex")); //$NON-NLS-1$
+		assertTrue(code.contains("\\begin{pspicture}")); //$NON-NLS-1$
+		assertTrue(code.contains("\\end{pspicture}")); //$NON-NLS-1$
+		assertTrue(code.contains("\\psline")); //$NON-NLS-1$
+		// The colours are named by the table of the conversion: the names start at colour0.
+		assertTrue(code.contains("\\definecolor{colour0}")); //$NON-NLS-1$
+		assertTrue(code.contains("\\definecolor{colour1}")); //$NON-NLS-1$
+		assertTrue(code.contains("\\definecolor{colour2}")); //$NON-NLS-1$
+		assertTrue(log.toString().contains("[OK]")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSaveAsPSTUsesItsOwnColours() throws Exception {
+		final IDrawing drawing = LBatchConverter.load(FIXTURE);
+		final File target = new File(dir, "own.tex"); //$NON-NLS-1$
+		final DviPsColors.UserColours colours = new DviPsColors.UserColours();
+
+		DviPsColors.INSTANCE.withUserColours(colours, () -> {
+			try {
+				LBatchConverter.saveAsPST(drawing, target);
+			}catch(final IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return null;
+		});
+
+		assertTrue(colours.getNames().isEmpty());
+		assertTrue(read(target).contains("\\definecolor{colour0}")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testConvertToPSTReproducibleWithSeveralWorkers() throws InterruptedException, IOException {
+		final List<File> files = new ArrayList<>();
+
+		for(int i=0; i<8; i++) {
+			final File copy = new File(dir, "drawing" + i + ".svg"); //$NON-NLS-1$ //$NON-NLS-2$
+			copy.deleteOnExit();
+			Files.copy(FIXTURE.toPath(), copy.toPath());
+			files.add(copy);
+		}
+
+		assertEquals(0, createConverter(Format.TEX, 4).convert(files));
+
+		final String expected = read(new File(dir, "drawing0.tex")); //$NON-NLS-1$
+		for(int i=1; i<files.size(); i++)
+			assertEquals(expected, read(new File(dir, "drawing" + i + ".tex"))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(expected.contains("\\definecolor{colour0}")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testConvertToSVG() throws Exception {
+		assertEquals(0, createConverter(Format.SVG, 1).convert(Collections.singletonList(FIXTURE)));
+
+		final File saved = new File(dir, "testLine.svg"); //$NON-NLS-1$
+		saved.deleteOnExit();
+		final IDrawing source = LBatchConverter.load(FIXTURE);
+		final IDrawing drawing = LBatchConverter.load(saved);
+		assertEquals(1, drawing.size());
+		assertTrue(drawing.getShapeAt(0) instanceof IPolyline);
+
+		final IPolyline line = (IPolyline) drawing.getShapeAt(0);
+		final IPolyline expected = (IPolyline) source.getShapeAt(0);
+		assertEquals(2, line.getNbPoints());
+		assertEquals(140.0, line.getPtAt(0).getX(), 0.001);
+		assertEquals(260.0, line.getPtAt(0).getY(), 0.001);
+		assertEquals(320.0, line.getPtAt(1).getX(), 0.001);
+		assertEquals(40.0, line.getPtAt(1).getY(), 0.001);
+		assertEquals(expected.getLineColour(), line.getLineColour());
+		assertEquals(expected.getShadowCol(), line.getShadowCol());
+		assertEquals(expected.getDbleBordCol(), line.getDbleBordCol());
+		assertEquals(expected.getArrowAt(0).getArrowStyle(), line.getArrowAt(0).getArrowStyle());
+	}
+}
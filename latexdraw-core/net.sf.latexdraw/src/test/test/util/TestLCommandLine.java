@@ -0,0 +1,101 @@
+package test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.latexdraw.util.LBatchConverter;
+import net.sf.latexdraw.util.LCommandLine;
+import net.sf.latexdraw.util.LCommandLine.CmdLineState;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLCommandLine {
+	protected LCommandLine cmd;
+	protected File dir;
+
+	@Before
+	public void setUp() throws IOException {
+		cmd = new LCommandLine();
+		dir = Files.createTempDirectory("latexdrawBatch").toFile(); //$NON-NLS-1$
+		dir.deleteOnExit();
+	}
+
+	protected File createFile(final File parent, final String name) throws IOException {
+		final File file = new File(parent, name);
+		file.getParentFile().mkdirs();
+		file.createNewFile();
+		file.deleteOnExit();
+		file.getParentFile().deleteOnExit();
+		return file;
+	}
+
+	@Test
+	public void testParseNoArgument() {
+		assertEquals(CmdLineState.APPLICATION, cmd.parse(new String[0]));
+	}
+
+	@Test
+	public void testParseHelp() {
+		assertEquals(CmdLineState.STOP, cmd.parse(new String[]{LCommandLine.OPTION_HELP}));
+	}
+
+	@Test
+	public void testParseConvert() {
+		assertEquals(CmdLineState.BATCH, cmd.parse(new String[]{LCommandLine.OPTION_CONVERT, "-f", "tex,svg", "-o", "out", "-j", "3", "a.svg"})); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+	}
+
+	@Test
+	public void testParseConvertNoInput() {
+		assertEquals(CmdLineState.STOP, cmd.parse(new String[]{LCommandLine.OPTION_CONVERT, "-f", "tex"})); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testParseConvertBadFormat() {
+		assertEquals(CmdLineState.STOP, cmd.parse(new String[]{LCommandLine.OPTION_CONVERT, "-f", "foo", "a.svg"})); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testParseConvertBadWorkers() {
+		assertEquals(CmdLineState.STOP, cmd.parse(new String[]{LCommandLine.OPTION_CONVERT, "-j", "0", "a.svg"})); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testParseConvertMissingValue() {
+		assertEquals(CmdLineState.STOP, cmd.parse(new String[]{LCommandLine.OPTION_CONVERT, "a.svg", "-o"})); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testListFilesFolder() throws IOException {
+		final File f1 = createFile(dir, "a.svg"); //$NON-NLS-1$
+		final File f2 = createFile(new File(dir, "sub"), "b.svg"); //$NON-NLS-1$ //$NON-NLS-2$
+		createFile(dir, "c.tex"); //$NON-NLS-1$
+		final List<File> files = LBatchConverter.listFiles(Collections.singletonList(dir.getPath()));
+		assertEquals(2, files.size());
+		assertTrue(files.contains(f1));
+		assertTrue(files.contains(f2));
+	}
+
+	@Test
+	public void testListFilesGlob() throws IOException {
+		final File f1 = createFile(dir, "a.svg"); //$NON-NLS-1$
+		createFile(dir, "b.tex"); //$NON-NLS-1$
+		createFile(new File(dir, "sub"), "c.svg"); //$NON-NLS-1$ //$NON-NLS-2$
+		final List<File> files = LBatchConverter.listFiles(Collections.singletonList(dir.getPath() + File.separator + "*.svg")); //$NON-NLS-1$
+		assertEquals(Collections.singletonList(f1), files);
+	}
+
+	@Test
+	public void testListFilesNoDuplicate() throws IOException {
+		final File f1 = createFile(dir, "a.svg"); //$NON-NLS-1$
+		final List<File> files = LBatchConverter.listFiles(Arrays.asList(f1.getPath(), dir.getPath()));
+		assertEquals(1, files.size());
+	}
+}
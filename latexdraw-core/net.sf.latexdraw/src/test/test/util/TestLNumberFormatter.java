@@ -0,0 +1,139 @@
+package test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+
+import net.sf.latexdraw.util.LNumberFormatter;
+
+import org.junit.Test;
+
+public class TestLNumberFormatter {
+	@Test
+	public void testIntegers() {
+		assertEquals("0", LNumberFormatter.PST.format(0.)); //$NON-NLS-1$
+		assertEquals("1", LNumberFormatter.PST.format(1.)); //$NON-NLS-1$
+		assertEquals("-12", LNumberFormatter.PST.format(-12.)); //$NON-NLS-1$
+		assertEquals("100000", LNumberFormatter.PST.format(100000.)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testTrailingZerosRemoved() {
+		assertEquals("2.5", LNumberFormatter.PST.format(2.5)); //$NON-NLS-1$
+		assertEquals("0.1", LNumberFormatter.PST.format(0.1)); //$NON-NLS-1$
+		assertEquals("0.3", LNumberFormatter.PST.format(0.1+0.2)); //$NON-NLS-1$
+		assertEquals("-3.01", LNumberFormatter.PST.format(-3.01)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testLeadingZerosOfTheFraction() {
+		assertEquals("1.0001", LNumberFormatter.PST.format(1.0001)); //$NON-NLS-1$
+		assertEquals("-0.002", LNumberFormatter.PST.format(-0.002)); //$NON-NLS-1$
+		assertEquals("0.000001", LNumberFormatter.SVG.format(0.000001)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRounding() {
+		assertEquals("0.3333", LNumberFormatter.PST.format(1./3.)); //$NON-NLS-1$
+		assertEquals("0.6667", LNumberFormatter.PST.format(2./3.)); //$NON-NLS-1$
+		assertEquals("-0.6667", LNumberFormatter.PST.format(-2./3.)); //$NON-NLS-1$
+		assertEquals("10", LNumberFormatter.PST.format(9.99999)); //$NON-NLS-1$
+		assertEquals("0.333333", LNumberFormatter.SVG.format(1./3.)); //$NON-NLS-1$
+		assertEquals("3", new LNumberFormatter(0).format(2.5)); //$NON-NLS-1$
+		assertEquals("-3", new LNumberFormatter(0).format(-2.5)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testNoNegativeZero() {
+		assertEquals("0", LNumberFormatter.PST.format(-0.)); //$NON-NLS-1$
+		assertEquals("0", LNumberFormatter.PST.format(-0.00001)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testNoExponent() {
+		assertEquals("0", LNumberFormatter.PST.format(1e-9)); //$NON-NLS-1$
+		assertEquals("12345678.9", LNumberFormatter.PST.format(12345678.9)); //$NON-NLS-1$
+		assertEquals("-100000000000000000000", LNumberFormatter.PST.format(-1e20)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testNotFinite() {
+		assertEquals("NaN", LNumberFormatter.PST.format(Double.NaN)); //$NON-NLS-1$
+		assertEquals("Infinity", LNumberFormatter.PST.format(Double.POSITIVE_INFINITY)); //$NON-NLS-1$
+		assertEquals("-Infinity", LNumberFormatter.PST.format(Double.NEGATIVE_INFINITY)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testAppendStringBuilder() {
+		final StringBuilder buf = new StringBuilder("(");
+		LNumberFormatter.PST.append(buf, 1.25).append(',');
+		LNumberFormatter.PST.append(buf, -0.5).append(')');
+		assertEquals("(1.25,-0.5)", buf.toString()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testAppendCharBuffer() {
+		final CharBuffer buf = CharBuffer.allocate(32);
+		LNumberFormatter.SVG.append(buf, 12.3456789).put(' ');
+		LNumberFormatter.SVG.append(buf, 7.);
+		buf.flip();
+		assertEquals("12.345679 7", buf.toString()); //$NON-NLS-1$
+	}
+
+	@Test(expected=BufferOverflowException.class)
+	public void testAppendCharBufferTooSmall() {
+		LNumberFormatter.PST.append(CharBuffer.allocate(3), 1234.5);
+	}
+
+	@Test
+	public void testGetPrecision() {
+		assertEquals(4, LNumberFormatter.PST.getPrecision());
+		assertEquals(6, LNumberFormatter.SVG.getPrecision());
+		assertEquals(LNumberFormatter.MAX_PRECISION, new LNumberFormatter(LNumberFormatter.MAX_PRECISION).getPrecision());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativePrecision() {
+		new LNumberFormatter(-1);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testTooHighPrecision() {
+		new LNumberFormatter(LNumberFormatter.MAX_PRECISION+1);
+	}
+
+	@Test
+	public void testSignificantSmallNumbersKept() {
+		assertEquals("0.000012345679", LNumberFormatter.significant(8).format(0.0000123456789)); //$NON-NLS-1$
+		assertEquals("-0.000000003", LNumberFormatter.DATA.format(-3e-9)); //$NON-NLS-1$
+		assertEquals("0.0000000000000000000000001", LNumberFormatter.DATA.format(1e-25)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSignificantRounding() {
+		assertEquals("123456.789", LNumberFormatter.DATA.format(123456.789012345)); //$NON-NLS-1$
+		assertEquals("1000", LNumberFormatter.DATA.format(999.99999999996)); //$NON-NLS-1$
+		assertEquals("0.3", LNumberFormatter.DATA.format(0.1+0.2)); //$NON-NLS-1$
+		assertEquals("0", LNumberFormatter.DATA.format(-0.)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testIsSignificant() {
+		assertTrue(LNumberFormatter.DATA.isSignificant());
+		assertFalse(LNumberFormatter.PST.isSignificant());
+		assertEquals(10, LNumberFormatter.DATA.getPrecision());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testNoSignificantDigit() {
+		LNumberFormatter.significant(0);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testTooManySignificantDigits() {
+		LNumberFormatter.significant(LNumberFormatter.MAX_SIGNIFICANT_DIGITS+1);
+	}
+}
@@ -0,0 +1,78 @@
+package test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import net.sf.latexdraw.util.PlotDataReader;
+
+import org.junit.Test;
+
+public class TestPlotDataReader {
+	@Test
+	public void testReadEmpty() {
+		assertEquals(0, PlotDataReader.INSTANCE.read("").length); //$NON-NLS-1$
+		assertEquals(0, PlotDataReader.INSTANCE.read(" ,{} ").length); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadIntegers() {
+		assertArrayEquals(new double[]{0.0, 1.0, 20.0, 300.0}, PlotDataReader.INSTANCE.read("0 1 20 300"), 0.0); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadDecimals() {
+		assertArrayEquals(new double[]{0.1, 1.5, 0.25, 2.0}, PlotDataReader.INSTANCE.read("0.1 1.5 .25 2."), 0.0); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadSigns() {
+		assertArrayEquals(new double[]{-1.0, 2.5, -0.5}, PlotDataReader.INSTANCE.read("-1 +2.5 -.5"), 0.0); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadExponents() {
+		assertArrayEquals(new double[]{1e5, 1.5e-3, -2E+2, 3.0}, PlotDataReader.INSTANCE.read("1e5 1.5e-3 -2E+2 3e"), 0.0); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadSeparators() {
+		assertArrayEquals(new double[]{0.0, 1.0, 2.0, 3.0}, PlotDataReader.INSTANCE.read("{0,1}\t{2;3}\r\n"), 0.0); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadComments() {
+		assertArrayEquals(new double[]{1.0, 2.0, 3.0}, PlotDataReader.INSTANCE.read("% 10 20\n1 2 % 30\r3"), 0.0); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadManyDigits() {
+		assertArrayEquals(new double[]{0.12345678901234567, 12345678901234567890.0, 1e-30},
+			PlotDataReader.INSTANCE.read("0.12345678901234567 12345678901234567890 1e-30"), 0.0); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadValuesAreCorrectlyRounded() {
+		final StringBuilder data = new StringBuilder();
+		final double[] expected = new double[1000];
+		for(int i=0; i<expected.length; i++) {
+			expected[i] = Math.sin(i) * 1000.0;
+			data.append(expected[i]).append(' ');
+		}
+		assertArrayEquals(expected, PlotDataReader.INSTANCE.read(data), 0.0);
+	}
+
+	@Test
+	public void testReadStream() throws IOException {
+		final StringBuilder data = new StringBuilder();
+		for(int i=0; i<100000; i++)
+			data.append(i).append(' ').append(-i).append('\n');
+		final double[] values = PlotDataReader.INSTANCE.read(new ByteArrayInputStream(data.toString().getBytes(StandardCharsets.UTF_8)));
+		assertEquals(200000, values.length);
+		assertEquals(99999.0, values[199998], 0.0);
+		assertEquals(-99999.0, values[199999], 0.0);
+	}
+}